@@ -0,0 +1,358 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Base class for {@code TupleList} implementations that are not backed by an {@code ArrayList}.
+ * <p>
+ * Subclasses provide the storage by implementing {@link #get(int)}, {@link #size()} and, if
+ * modifiable, {@link #set(int, Object)}, {@link #add(int, Object)} and {@link #remove(int)},
+ * incrementing {@code modCount} on structural changes as specified by {@link AbstractList}
+ * and {@code version} whenever tuples are replaced in place, including by cursors.
+ * All other {@code TupleList} operations as well as co-modification-aware sublist views
+ * are provided on top of these.
+ */
+abstract class AbstractTupleList<T, U> extends AbstractList<Tuple<T, U>> implements TupleList<T, U>, RandomAccess {
+    final Class<? extends T> firstClass;
+    final Class<? extends U> lastClass;
+    /**
+     * Count of in-place writes, which leave {@code modCount} untouched but still
+     * invalidate views derived from the tuples, such as {@link #asMultimap()}.
+     */
+    int version;
+
+    AbstractTupleList(final Class<? extends T> firstClass, final Class<? extends U> lastClass) {
+        this.firstClass = firstClass;
+        this.lastClass = lastClass;
+    }
+
+    @Override
+    public TupleList<T, U> alike() {
+        return TupleList.of(firstClass, lastClass);
+    }
+
+    @Override
+    public Class<? extends T> firstClass() {
+        return firstClass;
+    }
+
+    @Override
+    public Class<? extends U> lastClass() {
+        return lastClass;
+    }
+
+    @Override
+    public TupleList<T, U> slurp(final Iterable<?> iterable) throws IllegalArgumentException {
+        final long start = Instrumentation.start();
+        final int len = size();
+        for (final Iterator<?> it = iterable.iterator(); it.hasNext();) {
+            T firstEl;
+            U secondEl;
+            try {
+                firstEl = firstClass.cast(it.next());
+                secondEl = lastClass.cast(it.next());
+            } catch (NoSuchElementException e) {
+                throw new IllegalArgumentException("TupleList.fromList expects an iterable of even legnth");
+            } catch (ClassCastException e) {
+                throw new IllegalArgumentException("TupleList.fromList: list elements are of wrong type");
+            }
+            this.put(firstEl, secondEl);
+        }
+        Instrumentation.record(TupleMetrics.Operation.SLURP, start, size() - len);
+        return this;
+    }
+
+    @Override
+    public TupleList<T, U> fromMap(final Map<T, U> map) {
+        map.forEach(this::put);
+        return this;
+    }
+
+    @Override
+    public TupleList<T, U> zip(final Iterable<? extends T> first, final Iterable<? extends U> last) throws IllegalArgumentException {
+        final Iterator<? extends T> it1 = first.iterator();
+        final Iterator<? extends U> it2 = last.iterator();
+        final int len = size();
+        final long start = Instrumentation.start();
+        while (it1.hasNext() && it2.hasNext()) {
+            this.put(it1.next(), it2.next());
+        }
+        if (it1.hasNext() || it2.hasNext()) {
+            // we only accept complete or no insertion at all
+            removeRange(len, size());
+            throw new IllegalArgumentException("cannot zip iterables of different length together");
+        }
+        Instrumentation.record(TupleMetrics.Operation.ZIP, start, size() - len);
+        return this;
+    }
+
+    @Override
+    public void replaceFirstElements(final List<? extends T> list) throws IllegalArgumentException {
+        replaceFirstElements(this, list);
+    }
+
+    @Override
+    public void replaceLastElements(final List<? extends U> list) throws IllegalArgumentException {
+        replaceLastElements(this, list);
+    }
+
+    @Override
+    public void sort(final Comparator<? super Tuple<T, U>> c) {
+        final long start = Instrumentation.start();
+        super.sort(c);
+        // tuples are only set in place, so reordering has to be reported explicitly
+        modCount++;
+        Instrumentation.record(TupleMetrics.Operation.SORT, start, size());
+    }
+
+    @Override
+    public void replaceAll(final UnaryOperator<Tuple<T, U>> operator) {
+        super.replaceAll(operator);
+        modCount++;
+    }
+
+    @Override
+    public String toString() {
+        return toString(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public TupleList<T, U> subList(final int fromIndex, final int toIndex) {
+        subListRangeCheck(fromIndex, toIndex, size());
+        return newView(null, fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public Map<T, List<U>> asMultimap() {
+        return new MultimapView<>(this, () -> modCount + version);
+    }
+
+    /**
+     * Create a sublist view over the range {@code [offset, offset + size)} of this list.
+     * Subclasses may override this in order to restrict what views can do.
+     */
+    View newView(final View parent, final int offset, final int size) {
+        return new View(parent, offset, size);
+    }
+
+    private static <T, U> void replaceFirstElements(final TupleList<T, U> tuples, final List<? extends T> list) {
+        if (list.size() != tuples.size()) {
+            throw new IllegalArgumentException("argument list and sublist are of different lengths");
+        }
+        final long start = Instrumentation.start();
+        for (int i = 0; i < list.size(); ++i) {
+            tuples.set(i, list.get(i), tuples.get(i).last());
+        }
+        Instrumentation.record(TupleMetrics.Operation.REPLACE, start, list.size());
+    }
+
+    private static <T, U> void replaceLastElements(final TupleList<T, U> tuples, final List<? extends U> list) {
+        if (list.size() != tuples.size()) {
+            throw new IllegalArgumentException("argument list and sublist are of different lengths");
+        }
+        final long start = Instrumentation.start();
+        for (int i = 0; i < list.size(); ++i) {
+            tuples.set(i, tuples.get(i).first(), list.get(i));
+        }
+        Instrumentation.record(TupleMetrics.Operation.REPLACE, start, list.size());
+    }
+
+    static String outOfBoundsMsg(final int index, final int size) {
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    static void subListRangeCheck(final int fromIndex, final int toIndex, final int size) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+        }
+        if (toIndex > size) {
+            throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+        }
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+    }
+
+    /**
+     * A co-modification-aware view over a range of the list.
+     * <p>
+     * Views always address the root list directly. Structural
+     * changes made through a view are propagated to the sizes
+     * of all enclosing views.
+     */
+    class View extends AbstractList<Tuple<T, U>> implements TupleList<T, U>, RandomAccess {
+        private final View parent;
+        private final int offset;
+        private int size;
+        private int expectedModCount;
+
+        View(final View parent, final int offset, final int size) {
+            this.parent = parent;
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = AbstractTupleList.this.modCount;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public Tuple<T, U> get(final int index) {
+            rangeCheck(index);
+            checkForComodification();
+            return AbstractTupleList.this.get(offset + index);
+        }
+
+        @Override
+        public Tuple<T, U> set(final int index, final Tuple<T, U> tuple) {
+            rangeCheck(index);
+            checkForComodification();
+            return AbstractTupleList.this.set(offset + index, tuple);
+        }
+
+        @Override
+        public void add(final int index, final Tuple<T, U> tuple) {
+            rangeCheckForAdd(index);
+            checkForComodification();
+            AbstractTupleList.this.add(offset + index, tuple);
+            updateSize(1);
+        }
+
+        @Override
+        public Tuple<T, U> remove(final int index) {
+            rangeCheck(index);
+            checkForComodification();
+            final Tuple<T, U> oldVal = AbstractTupleList.this.remove(offset + index);
+            updateSize(-1);
+            return oldVal;
+        }
+
+        @Override
+        protected void removeRange(final int fromIndex, final int toIndex) {
+            checkForComodification();
+            if (toIndex > fromIndex) {
+                AbstractTupleList.this.removeRange(offset + fromIndex, offset + toIndex);
+                updateSize(fromIndex - toIndex);
+            }
+        }
+
+        @Override
+        public void sort(final Comparator<? super Tuple<T, U>> c) {
+            checkForComodification();
+            super.sort(c);
+            AbstractTupleList.this.modCount++;
+            updateSize(0);
+        }
+
+        @Override
+        public void replaceAll(final UnaryOperator<Tuple<T, U>> operator) {
+            checkForComodification();
+            super.replaceAll(operator);
+            AbstractTupleList.this.modCount++;
+            updateSize(0);
+        }
+
+        @Override
+        public TupleList<T, U> subList(final int fromIndex, final int toIndex) {
+            subListRangeCheck(fromIndex, toIndex, size);
+            checkForComodification();
+            return newView(this, offset + fromIndex, toIndex - fromIndex);
+        }
+
+        @Override
+        public TupleList<T, U> slurp(final Iterable<?> iterable) throws IllegalArgumentException {
+            throw new UnsupportedOperationException("Tuple subLists can only be constructed by calling subList()");
+        }
+
+        @Override
+        public TupleList<T, U> fromMap(final Map<T, U> map) {
+            throw new UnsupportedOperationException("Tuple subLists can only be constructed by calling subList()");
+        }
+
+        @Override
+        public TupleList<T, U> zip(final Iterable<? extends T> first, final Iterable<? extends U> last) throws IllegalArgumentException {
+            throw new UnsupportedOperationException("Tuple subLists can only be constructed by calling subList()");
+        }
+
+        @Override
+        public TupleList<T, U> alike() {
+            return AbstractTupleList.this.alike();
+        }
+
+        @Override
+        public Class<? extends T> firstClass() {
+            return firstClass;
+        }
+
+        @Override
+        public Class<? extends U> lastClass() {
+            return lastClass;
+        }
+
+        @Override
+        public void replaceFirstElements(final List<? extends T> list) throws IllegalArgumentException {
+            AbstractTupleList.replaceFirstElements(this, list);
+        }
+
+        @Override
+        public void replaceLastElements(final List<? extends U> list) throws IllegalArgumentException {
+            AbstractTupleList.replaceLastElements(this, list);
+        }
+
+        @Override
+        public Map<T, List<U>> asMultimap() {
+            return new MultimapView<>(this, () -> {
+                checkForComodification();
+                return expectedModCount + version;
+            });
+        }
+
+        private void updateSize(final int delta) {
+            for (View view = this; view != null; view = view.parent) {
+                view.size += delta;
+                view.expectedModCount = AbstractTupleList.this.modCount;
+                view.modCount++;
+            }
+        }
+
+        private void rangeCheck(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+            }
+        }
+
+        private void rangeCheckForAdd(final int index) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+            }
+        }
+
+        final void checkForComodification() {
+            if (AbstractTupleList.this.modCount != expectedModCount) {
+                throw Instrumentation.concurrentModification();
+            }
+        }
+    }
+}
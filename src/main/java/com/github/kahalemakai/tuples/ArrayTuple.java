@@ -0,0 +1,143 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An untyped tuple of arbitrary arity, backed by a single array.
+ * <p>
+ * Meant as a fallback for arities beyond {@link Octuple}. Elements
+ * are copied on construction, so the tuple is immutable.
+ */
+public final class ArrayTuple implements NTuple {
+
+    private static final String ERROR_MSG = "expected: index in (0, ..., %d). got: ";
+
+    private final Object[] elements;
+
+    private int hash;
+
+    private ArrayTuple(final Object[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Create a new {@code ArrayTuple} instance.
+     *
+     * @param elements the tuple elements
+     * @return new {@code ArrayTuple}
+     */
+    public static ArrayTuple of(final Object... elements) {
+        return new ArrayTuple(elements.clone());
+    }
+
+    /**
+     * Get the first element of the {@code ArrayTuple}.
+     *
+     * @return the first element
+     * @throws IllegalArgumentException if the tuple is empty
+     */
+    public Object first() {
+        return get(0);
+    }
+
+    /**
+     * Get the last element of the {@code ArrayTuple}.
+     *
+     * @return the last element
+     * @throws IllegalArgumentException if the tuple is empty
+     */
+    public Object last() {
+        return get(elements.length - 1);
+    }
+
+    /**
+     * Return a copy of all tuple elements.
+     *
+     * @return new array of all elements
+     */
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < elements.length; ++i) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        for (final Object element : elements) {
+            if (Objects.equals(element, o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= elements.length) {
+            throw new IllegalArgumentException(String.format(ERROR_MSG, elements.length - 1) + index);
+        }
+        return elements[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int arity() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ArrayTuple)) return false;
+        final ArrayTuple that = (ArrayTuple) o;
+        if (hash != 0 && that.hash != 0 && hash != that.hash) return false;
+        return Arrays.equals(elements, that.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Arrays.hashCode(elements);
+            hash = h;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A {@code TupleList} that may hold more than {@code Integer.MAX_VALUE} tuples.
+ * <p>
+ * The default implementation stores the tuples in fixed-size segments, so growing
+ * the list allocates a single segment and never copies existing tuples. Besides the
+ * {@code int}-indexed {@code List} API, which only covers the first
+ * {@code Integer.MAX_VALUE} tuples, {@code long}-indexed accessors are offered.
+ * Iteration via {@link #iterator()} or {@link #forEach(BiConsumer)} covers all tuples.
+ */
+public interface BigTupleList<T, U> extends TupleList<T, U> {
+
+    /**
+     * Return the number of tuples in the list.
+     * <p>
+     * In contrast to {@link #size()}, this is not capped at {@code Integer.MAX_VALUE}.
+     *
+     * @return number of tuples
+     */
+    long longSize();
+
+    /**
+     * Return the tuple at the given position.
+     *
+     * @param index position of the tuple
+     * @return the tuple at {@code index}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    Tuple<T, U> get(long index);
+
+    /**
+     * Replace the tuple at the given position.
+     *
+     * @param index position of the tuple
+     * @param tuple new tuple
+     * @return the tuple previously at {@code index}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    Tuple<T, U> set(long index, Tuple<T, U> tuple);
+
+    /**
+     * Set tuple at the given position to {@code Tuple.of(first, last)}.
+     *
+     * @param index position where to change the list's value
+     * @param first first element of inserted {@code Tuple} instance
+     * @param last last element of inserted {@code Tuple} instance
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    default void set(long index, T first, U last) {
+        set(index, Tuple.of(first, last));
+    }
+
+    /**
+     * Remove all tuples at positions {@code newSize} and beyond.
+     *
+     * @param newSize number of tuples to retain
+     * @throws IndexOutOfBoundsException if {@code newSize} is negative or greater than {@link #longSize()}
+     */
+    void truncate(long newSize);
+
+    /**
+     * Return a new empty {@code BigTupleList} of equal type.
+     * @return new {@code BigTupleList} instance
+     */
+    @Override
+    BigTupleList<T, U> alike();
+
+    /**
+     * Create a new BigTupleList instance.
+     *
+     * @param firstClass class of first element of all included tuples
+     * @param secondClass class of second element of all included tuples
+     * @param <S> type corresponding to {@code firstClass}
+     * @param <W> type corresponding to {@code secondClass}
+     * @return new {@code BigTupleList}
+     */
+    static <S, W> BigTupleList<S, W> of(Class<? extends S> firstClass, Class<? extends W> secondClass) {
+        return new SegmentedTupleList<>(firstClass, secondClass);
+    }
+
+    /**
+     * Create a new BigTupleList instance.
+     *
+     * @param elementClass class of all tuple elements to include
+     * @param <S> type corresponding to {@code elementClass}
+     * @return new {@code BigTupleList}
+     */
+    static <S> BigTupleList<S, S> of(Class<? extends S> elementClass) {
+        return BigTupleList.of(elementClass, elementClass);
+    }
+
+}
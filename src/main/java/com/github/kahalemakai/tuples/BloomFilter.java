@@ -0,0 +1,196 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bloom filter over the tuples and/or first elements of a list, answering
+ * membership probes for absent keys without scanning the list.
+ * <p>
+ * Inserted rows are added to the filter right away. Since rows cannot be
+ * taken out of a Bloom filter, removed and overwritten rows are only counted,
+ * and the filter is rebuilt from the list on the next probe once they make up
+ * more than an eighth of the rows, or once more rows have been inserted than
+ * the filter was sized for. Probes may run concurrently as long as the list
+ * is not modified.
+ */
+final class BloomFilter {
+    private static final int MIN_KEYS = 64;
+    private static final long TUPLE_SEED = 0x9E3779B97F4A7C15L;
+    private static final long FIRST_SEED = 0xC2B2AE3D27D4EB4FL;
+
+    private final List<? extends Tuple<?, ?>> tuples;
+    private final boolean byTuple;
+    private final boolean byFirst;
+    private final double falsePositiveRate;
+    /** {@code null} until the first probe and after invalidation */
+    private volatile Bits bits;
+    private int staleRows;
+
+    BloomFilter(final List<? extends Tuple<?, ?>> tuples, final BloomFilterMode mode, final double falsePositiveRate)
+            throws IllegalArgumentException {
+        Objects.requireNonNull(mode);
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("false positive rate must be in (0, 1). got: " + falsePositiveRate);
+        }
+        this.tuples = tuples;
+        this.byTuple = mode != BloomFilterMode.FIRST_ELEMENTS;
+        this.byFirst = mode != BloomFilterMode.TUPLES;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Add a row that has been inserted into the list.
+     */
+    void inserted(final Tuple<?, ?> tuple) {
+        final Bits b = bits;
+        if (b != null) {
+            add(b, tuple);
+        }
+    }
+
+    /**
+     * Account for {@code count} rows that have been removed from or overwritten in the list.
+     */
+    void removed(final int count) {
+        if (bits != null) {
+            staleRows += count;
+        }
+    }
+
+    /**
+     * Discard the filter, so that it is rebuilt on the next probe.
+     */
+    void invalidate() {
+        bits = null;
+        staleRows = 0;
+    }
+
+    /**
+     * Return {@code false} if no row of the list can be equal to {@code o}.
+     */
+    boolean mightContain(final Object o) {
+        if (!(o instanceof Tuple)) {
+            // only tuples hash consistently with the rows they equal
+            return true;
+        }
+        final Tuple<?, ?> tuple = (Tuple<?, ?>) o;
+        final Bits b = refresh();
+        return (!byTuple || b.mightContain(Objects.hashCode(tuple), TUPLE_SEED))
+                && (!byFirst || b.mightContain(Objects.hashCode(tuple.first()), FIRST_SEED));
+    }
+
+    /**
+     * Return {@code false} if no row of the list can have a first element equal to {@code first}.
+     */
+    boolean mightContainFirst(final Object first) {
+        return !byFirst || refresh().mightContain(Objects.hashCode(first), FIRST_SEED);
+    }
+
+    long estimatedBytes() {
+        final Bits b = bits;
+        return Footprint.object(2, 14) + (b == null ? 0 : Footprint.object(1, 12) + Footprint.array(b.words.length, 8));
+    }
+
+    private Bits refresh() {
+        Bits b = bits;
+        final int keysPerRow = byTuple && byFirst ? 2 : 1;
+        if (b == null || b.keys > b.capacity || (long) staleRows * keysPerRow * 8 > b.keys) {
+            final int size = tuples.size();
+            // leave room for the list to double before the filter saturates
+            b = new Bits((int) Math.min(Integer.MAX_VALUE, Math.max(MIN_KEYS, 2L * size * keysPerRow)),
+                    falsePositiveRate);
+            for (int i = 0; i < size; ++i) {
+                add(b, tuples.get(i));
+            }
+            staleRows = 0;
+            bits = b;
+        }
+        return b;
+    }
+
+    private void add(final Bits b, final Tuple<?, ?> tuple) {
+        if (byTuple) {
+            b.add(Objects.hashCode(tuple), TUPLE_SEED);
+        }
+        if (byFirst) {
+            b.add(tuple == null ? 0 : Objects.hashCode(tuple.first()), FIRST_SEED);
+        }
+    }
+
+    /**
+     * Bit array addressed by double hashing of a mixed 64-bit hash.
+     */
+    static final class Bits {
+        final long[] words;
+        private final int hashes;
+        /** number of keys the bit array is sized for */
+        final int capacity;
+        int keys;
+
+        Bits(final int capacity, final double falsePositiveRate) {
+            final double ln2 = Math.log(2);
+            final long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.words = new long[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) >>> 6))];
+            this.hashes = (int) Math.max(1, Math.min(16, Math.round(64.0 * words.length / capacity * ln2)));
+            this.capacity = capacity;
+        }
+
+        void add(final int hash, final long seed) {
+            final long h = mix(hash, seed);
+            final int h1 = (int) h;
+            final int h2 = (int) (h >>> 32) | 1;
+            for (int i = 0; i < hashes; ++i) {
+                final int g = h1 + i * h2;
+                words[word(g)] |= 1L << g;
+            }
+            keys++;
+        }
+
+        boolean mightContain(final int hash, final long seed) {
+            final long h = mix(hash, seed);
+            final int h1 = (int) h;
+            final int h2 = (int) (h >>> 32) | 1;
+            for (int i = 0; i < hashes; ++i) {
+                final int g = h1 + i * h2;
+                if ((words[word(g)] & (1L << g)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Map a 32-bit hash onto a word by multiplication instead of division;
+         * its lowest six bits select the bit within the word.
+         */
+        private int word(final int hash) {
+            return (int) (((hash & 0xFFFFFFFFL) * words.length) >>> 32);
+        }
+
+        private static long mix(final int hash, final long seed) {
+            long h = (hash + seed) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+            h *= 0x94D049BB133111EBL;
+            return h ^ (h >>> 29);
+        }
+    }
+}
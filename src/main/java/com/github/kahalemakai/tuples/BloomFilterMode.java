@@ -0,0 +1,43 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+/**
+ * Keys a {@code TupleList}'s Bloom filter is built over.
+ *
+ * @see TupleList#enableBloomFilter(BloomFilterMode, double)
+ */
+public enum BloomFilterMode {
+    /**
+     * Filter whole tuples, which speeds up {@code contains}, {@code indexOf},
+     * {@code lastIndexOf} and {@code containsAll} for tuples that are not in the list.
+     */
+    TUPLES,
+
+    /**
+     * Filter first elements, which speeds up {@code filterByFirst} for absent values,
+     * as well as the membership checks for tuples whose first element is absent.
+     */
+    FIRST_ELEMENTS,
+
+    /**
+     * Filter both whole tuples and first elements, at about twice the memory.
+     */
+    TUPLES_AND_FIRST_ELEMENTS
+}
@@ -0,0 +1,131 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bookkeeping of the listeners of a {@code TupleList} and of the changes of the current batch.
+ * <p>
+ * Lists only create an instance once a listener is registered, so that unobserved lists
+ * pay no more than a {@code null} check per modification.
+ */
+final class ChangeSupport<T, U> {
+    private final TupleList<T, U> source;
+    private final List<TupleListListener<? super T, ? super U>> listeners = new ArrayList<>();
+    private final List<TupleChange> pending = new ArrayList<>();
+    private int depth;
+
+    ChangeSupport(final TupleList<T, U> source) {
+        this.source = source;
+    }
+
+    void addListener(final TupleListListener<? super T, ? super U> listener) {
+        listeners.add(listener);
+    }
+
+    boolean removeListener(final TupleListListener<? super T, ? super U> listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Return whether the instance can be dropped.
+     */
+    boolean isUnused() {
+        return listeners.isEmpty() && depth == 0;
+    }
+
+    void begin() {
+        ++depth;
+    }
+
+    void end() {
+        if (depth > 0 && --depth == 0) {
+            fire();
+        }
+    }
+
+    void inserted(final int from, final int to) {
+        record(TupleChange.Type.INSERTED, from, to);
+    }
+
+    void removed(final int from, final int to) {
+        record(TupleChange.Type.REMOVED, from, to);
+    }
+
+    void replaced(final int from, final int to) {
+        record(TupleChange.Type.REPLACED, from, to);
+    }
+
+    private void record(final TupleChange.Type type, final int from, final int to) {
+        if (to <= from) {
+            return;
+        }
+        final TupleChange last = pending.isEmpty() ? null : pending.get(pending.size() - 1);
+        final TupleChange merged = last != null && last.type() == type ? coalesce(last, from, to) : null;
+        if (merged != null) {
+            pending.set(pending.size() - 1, merged);
+        } else {
+            pending.add(new TupleChange(type, from, to));
+        }
+        if (depth == 0) {
+            fire();
+        }
+    }
+
+    /**
+     * Merge a change of the same type into {@code last}, or return {@code null} if the ranges are not adjacent.
+     */
+    private static TupleChange coalesce(final TupleChange last, final int from, final int to) {
+        switch (last.type()) {
+            case INSERTED:
+                // inserted within or right next to the last insertion
+                return from >= last.from() && from <= last.to()
+                        ? new TupleChange(last.type(), last.from(), last.to() + to - from)
+                        : null;
+            case REMOVED:
+                // removed at the same position again, or right before it
+                if (from == last.from()) {
+                    return new TupleChange(last.type(), from, last.to() + to - from);
+                }
+                return to == last.from()
+                        ? new TupleChange(last.type(), from, from + last.size() + to - from)
+                        : null;
+            default:
+                return from <= last.to() && to >= last.from()
+                        ? new TupleChange(last.type(), Math.min(from, last.from()), Math.max(to, last.to()))
+                        : null;
+        }
+    }
+
+    private void fire() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        final List<TupleChange> changes = Collections.unmodifiableList(new ArrayList<>(pending));
+        pending.clear();
+        for (final Object listener : listeners.toArray()) {
+            @SuppressWarnings("unchecked")
+            final TupleListListener<? super T, ? super U> l = (TupleListListener<? super T, ? super U>) listener;
+            l.onChanged(source, changes);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A growable array of values, used to store one tuple position.
+ * <p>
+ * Mutators return the column to be used afterwards, which allows an
+ * encoded column to replace itself with a plain one.
+ */
+abstract class Column {
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Create an empty column with the given encoding.
+     */
+    static Column of(final ColumnEncoding encoding) {
+        switch (encoding) {
+            case PLAIN:
+                return new Plain();
+            case DICTIONARY:
+                return new Dictionary(false);
+            default:
+                return new Dictionary(true);
+        }
+    }
+
+    abstract Object get(int index);
+
+    /**
+     * Replace the value at {@code index} of a column currently holding {@code size} values.
+     */
+    abstract Column set(int index, Object value, int size);
+
+    /**
+     * Insert {@code value} at {@code index} of a column currently holding {@code size} values.
+     */
+    abstract Column insert(int index, Object value, int size);
+
+    /**
+     * Remove the values {@code [fromIndex, toIndex)} of a column currently holding {@code size} values.
+     */
+    abstract void remove(int fromIndex, int toIndex, int size);
+
+    /**
+     * Return a predicate telling whether the value at an index equals {@code value}.
+     */
+    abstract IntPredicate matcher(Object value);
+
+    /**
+     * Return the estimated size of a column currently holding {@code size} values.
+     */
+    abstract long estimatedBytes(int size, ToLongFunction<Object> elementSizer);
+
+    static int grow(final int capacity, final int minCapacity) {
+        return Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1)));
+    }
+
+    static final class Plain extends Column {
+        private Object[] values = {};
+
+        @Override
+        Object get(final int index) {
+            return values[index];
+        }
+
+        @Override
+        Column set(final int index, final Object value, final int size) {
+            values[index] = value;
+            return this;
+        }
+
+        @Override
+        Column insert(final int index, final Object value, final int size) {
+            if (size == values.length) {
+                final long start = Instrumentation.start();
+                values = Arrays.copyOf(values, grow(size, size + 1));
+                Instrumentation.resized(start, values.length);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            return this;
+        }
+
+        @Override
+        void remove(final int fromIndex, final int toIndex, final int size) {
+            System.arraycopy(values, toIndex, values, fromIndex, size - toIndex);
+            Arrays.fill(values, size - (toIndex - fromIndex), size, null);
+        }
+
+        @Override
+        IntPredicate matcher(final Object value) {
+            return i -> Objects.equals(values[i], value);
+        }
+
+        @Override
+        long estimatedBytes(final int size, final ToLongFunction<Object> elementSizer) {
+            return Footprint.object(1, 0) + Footprint.referenceArray(values.length)
+                    + Footprint.elements(values, 0, size, elementSizer);
+        }
+    }
+
+    /**
+     * Dictionary-encoded column. Codes are stored in the narrowest of
+     * {@code byte[]}, {@code short[]} and {@code int[]} that fits the
+     * dictionary, and read as unsigned values.
+     * <p>
+     * The number of rows using each code is tracked, so that values no longer
+     * stored in any row can be dropped: the dictionary is compacted once such
+     * dead codes make up an eighth of the rows, and before the codes would
+     * have to be widened.
+     */
+    static final class Dictionary extends Column {
+        private static final int BYTE_CODES = 1 << 8;
+        private static final int SHORT_CODES = 1 << 16;
+        private static final int MIN_DEAD_CODES = 64;
+        /** number of rows from which on {@code AUTO} columns judge the ratio of distinct values */
+        static final int AUTO_MIN_ROWS = 1 << 10;
+
+        private KeyIndex dictionary = new KeyIndex();
+        private final boolean fallback;
+        private byte[] bytes = {};
+        private short[] shorts;
+        private int[] ints;
+        private int capacity;
+        /** number of rows using each code */
+        private int[] counts = new int[DEFAULT_CAPACITY];
+        /** number of codes used by at least one row */
+        private int live;
+
+        /**
+         * @param fallback whether to turn into a plain column instead of using {@code int} codes,
+         *                 or once more than half of the rows hold distinct values
+         */
+        Dictionary(final boolean fallback) {
+            this.fallback = fallback;
+        }
+
+        @Override
+        Object get(final int index) {
+            return dictionary.key(code(index));
+        }
+
+        @Override
+        Column set(final int index, final Object value, final int size) {
+            final int code = encode(value, size);
+            if (code < 0) {
+                return decode(size).set(index, value, size);
+            }
+            // read the old code only now, as encoding may have compacted the dictionary
+            final int oldCode = code(index);
+            code(index, code);
+            retain(code);
+            release(oldCode);
+            compactIfSparse(size);
+            return this;
+        }
+
+        @Override
+        Column insert(final int index, final Object value, final int size) {
+            final int code = encode(value, size);
+            if (code < 0) {
+                return decode(size).insert(index, value, size);
+            }
+            if (size == capacity) {
+                final long start = Instrumentation.start();
+                capacity = grow(size, size + 1);
+                resize(capacity);
+                Instrumentation.resized(start, capacity);
+            }
+            move(index, index + 1, size - index);
+            code(index, code);
+            retain(code);
+            return this;
+        }
+
+        @Override
+        void remove(final int fromIndex, final int toIndex, final int size) {
+            for (int i = fromIndex; i < toIndex; ++i) {
+                release(code(i));
+            }
+            move(toIndex, fromIndex, size - toIndex);
+            compactIfSparse(size - (toIndex - fromIndex));
+        }
+
+        @Override
+        IntPredicate matcher(final Object value) {
+            final int code = dictionary.find(value);
+            if (code < 0) {
+                return i -> false;
+            }
+            // compare codes instead of values
+            if (bytes != null) {
+                final byte[] codes = bytes;
+                return i -> (codes[i] & 0xFF) == code;
+            }
+            if (shorts != null) {
+                final short[] codes = shorts;
+                return i -> (codes[i] & 0xFFFF) == code;
+            }
+            final int[] codes = ints;
+            return i -> codes[i] == code;
+        }
+
+        @Override
+        long estimatedBytes(final int size, final ToLongFunction<Object> elementSizer) {
+            final long codes = bytes != null ? Footprint.array(bytes.length, 1)
+                    : shorts != null ? Footprint.array(shorts.length, Short.BYTES)
+                    : Footprint.array(ints.length, Integer.BYTES);
+            return Footprint.object(5, 1 + 2 * Integer.BYTES) + codes + Footprint.array(counts.length, Integer.BYTES)
+                    + dictionary.estimatedBytes(elementSizer);
+        }
+
+        /**
+         * Return the code of {@code value} in a column currently holding {@code size} values,
+         * adding it to the dictionary and widening the codes if necessary, or {@code -1}
+         * if the column is to be decoded instead.
+         */
+        private int encode(final Object value, final int size) {
+            final int existing = dictionary.find(value);
+            if (existing >= 0) {
+                return existing;
+            }
+            if (fallback && size >= AUTO_MIN_ROWS && live >= (size >>> 1)) {
+                // the dictionary would take more memory than the references it replaces
+                return -1;
+            }
+            final int limit = bytes != null ? BYTE_CODES : shorts != null ? SHORT_CODES : Integer.MAX_VALUE;
+            if (dictionary.size() == limit && live < limit) {
+                // reuse dead codes instead of widening
+                compact(size);
+            }
+            final int code = dictionary.add(value);
+            if (bytes != null && code == BYTE_CODES) {
+                shorts = new short[capacity];
+                for (int i = 0; i < capacity; ++i) {
+                    shorts[i] = (short) (bytes[i] & 0xFF);
+                }
+                bytes = null;
+            } else if (shorts != null && code == SHORT_CODES) {
+                if (fallback) {
+                    return -1;
+                }
+                ints = new int[capacity];
+                for (int i = 0; i < capacity; ++i) {
+                    ints[i] = shorts[i] & 0xFFFF;
+                }
+                shorts = null;
+            }
+            return code;
+        }
+
+        /**
+         * Turn the first {@code size} values into a plain column.
+         */
+        private Column decode(final int size) {
+            final Plain plain = new Plain();
+            plain.values = new Object[grow(size, size + 1)];
+            for (int i = 0; i < size; ++i) {
+                plain.values[i] = dictionary.key(code(i));
+            }
+            return plain;
+        }
+
+        private void retain(final int code) {
+            if (code >= counts.length) {
+                counts = Arrays.copyOf(counts, grow(code, code + 1));
+            }
+            if (counts[code]++ == 0) {
+                ++live;
+            }
+        }
+
+        private void release(final int code) {
+            if (--counts[code] == 0) {
+                --live;
+            }
+        }
+
+        private void compactIfSparse(final int size) {
+            final int dead = dictionary.size() - live;
+            if (dead >= MIN_DEAD_CODES && dead >= (size >>> 3)) {
+                compact(size);
+            }
+        }
+
+        /**
+         * Rebuild the dictionary from the codes used by the first {@code size} rows,
+         * keeping the width of the codes.
+         */
+        private void compact(final int size) {
+            final KeyIndex compacted = new KeyIndex(live);
+            final int[] codes = new int[dictionary.size()];
+            final int[] compactedCounts = new int[Math.max(DEFAULT_CAPACITY, live)];
+            for (int code = 0; code < codes.length; ++code) {
+                if (counts[code] > 0) {
+                    codes[code] = compacted.add(dictionary.key(code));
+                    compactedCounts[codes[code]] = counts[code];
+                }
+            }
+            for (int i = 0; i < size; ++i) {
+                code(i, codes[code(i)]);
+            }
+            dictionary = compacted;
+            counts = compactedCounts;
+        }
+
+        private int code(final int index) {
+            if (bytes != null) {
+                return bytes[index] & 0xFF;
+            }
+            if (shorts != null) {
+                return shorts[index] & 0xFFFF;
+            }
+            return ints[index];
+        }
+
+        private void code(final int index, final int code) {
+            if (bytes != null) {
+                bytes[index] = (byte) code;
+            } else if (shorts != null) {
+                shorts[index] = (short) code;
+            } else {
+                ints[index] = code;
+            }
+        }
+
+        private void move(final int from, final int to, final int length) {
+            if (bytes != null) {
+                System.arraycopy(bytes, from, bytes, to, length);
+            } else if (shorts != null) {
+                System.arraycopy(shorts, from, shorts, to, length);
+            } else {
+                System.arraycopy(ints, from, ints, to, length);
+            }
+        }
+
+        private void resize(final int newCapacity) {
+            if (bytes != null) {
+                bytes = Arrays.copyOf(bytes, newCapacity);
+            } else if (shorts != null) {
+                shorts = Arrays.copyOf(shorts, newCapacity);
+            } else {
+                ints = Arrays.copyOf(ints, newCapacity);
+            }
+        }
+    }
+}
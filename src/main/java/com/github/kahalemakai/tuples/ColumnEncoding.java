@@ -0,0 +1,46 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+/**
+ * Storage layout of a tuple position in a dictionary-encoded {@code TupleList}.
+ *
+ * @see TupleList#dictionaryEncoded(Class, Class, ColumnEncoding, ColumnEncoding)
+ */
+public enum ColumnEncoding {
+    /**
+     * Store a reference per row.
+     */
+    PLAIN,
+
+    /**
+     * Store each distinct value once in a dictionary and a compact code per row.
+     * Codes take one byte for up to 256 distinct values, two bytes for up to 65536
+     * and four bytes beyond.
+     */
+    DICTIONARY,
+
+    /**
+     * Start out dictionary-encoded and switch to plain storage once more than half
+     * of the rows hold distinct values, counted from 1024 rows on, or once the number
+     * of distinct values exceeds what fits into two-byte codes. In either case, the
+     * dictionary would not save any memory over references.
+     */
+    AUTO
+}
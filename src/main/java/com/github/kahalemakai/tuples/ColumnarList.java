@@ -0,0 +1,413 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.*;
+
+/**
+ * Base class for lists of tuples that store each tuple position
+ * in a separate array (column).
+ * <p>
+ * Tuples are only materialized on access. Subclasses define how
+ * a row is turned into a tuple and vice versa, and which
+ * type of sublist view they hand out.
+ *
+ * @param <E> the tuple type
+ */
+abstract class ColumnarList<E extends NTuple> extends AbstractList<E> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final Object[] EMPTY_COLUMN = {};
+
+    final Class<?>[] schema;
+    private final Object[][] columns;
+    private int size;
+
+    ColumnarList(final Class<?>... schema) {
+        this.schema = schema;
+        this.columns = new Object[schema.length][];
+        Arrays.fill(columns, EMPTY_COLUMN);
+    }
+
+    /**
+     * Materialize the tuple at absolute position {@code index}.
+     */
+    abstract E row(int index);
+
+    /**
+     * Write the elements of {@code tuple} to absolute position {@code index}.
+     */
+    abstract void store(int index, E tuple);
+
+    /**
+     * Create a sublist view over the absolute range {@code [offset, offset + size)}.
+     */
+    abstract View newView(View parent, int offset, int size);
+
+    final Object element(final int index, final int column) {
+        return columns[column][index];
+    }
+
+    final void element(final int index, final int column, final Object value) {
+        columns[column][index] = value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E get(final int index) {
+        rangeCheck(index);
+        return row(index);
+    }
+
+    @Override
+    public E set(final int index, final E tuple) {
+        rangeCheck(index);
+        Objects.requireNonNull(tuple);
+        final E oldVal = row(index);
+        store(index, tuple);
+        return oldVal;
+    }
+
+    @Override
+    public void add(final int index, final E tuple) {
+        rangeCheckForAdd(index);
+        Objects.requireNonNull(tuple);
+        openGap(index, 1);
+        store(index, tuple);
+    }
+
+    @Override
+    public E remove(final int index) {
+        rangeCheck(index);
+        final E oldVal = row(index);
+        closeGap(index, index + 1);
+        return oldVal;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends E> c) {
+        return addAll(size, c);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(final int index, final Collection<? extends E> c) {
+        rangeCheckForAdd(index);
+        final Object[] tuples = c.toArray();
+        if (tuples.length == 0) {
+            return false;
+        }
+        for (final Object tuple : tuples) {
+            Objects.requireNonNull(tuple);
+        }
+        openGap(index, tuples.length);
+        for (int i = 0; i < tuples.length; ++i) {
+            store(index + i, (E) tuples[i]);
+        }
+        return true;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (toIndex > fromIndex) {
+            closeGap(fromIndex, toIndex);
+        }
+    }
+
+    @Override
+    public void clear() {
+        removeRange(0, size);
+    }
+
+    @Override
+    public List<E> subList(final int fromIndex, final int toIndex) {
+        subListRangeCheck(fromIndex, toIndex, size);
+        return newView(null, fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Insert {@code length} empty rows at {@code index}.
+     */
+    final void openGap(final int index, final int length) {
+        modCount++;
+        ensureCapacity(size + length);
+        for (final Object[] column : columns) {
+            System.arraycopy(column, index, column, index + length, size - index);
+        }
+        size += length;
+    }
+
+    /**
+     * Remove the rows {@code [fromIndex, toIndex)}.
+     */
+    final void closeGap(final int fromIndex, final int toIndex) {
+        modCount++;
+        final int newSize = size - (toIndex - fromIndex);
+        for (final Object[] column : columns) {
+            System.arraycopy(column, toIndex, column, fromIndex, size - toIndex);
+            Arrays.fill(column, newSize, size, null);
+        }
+        size = newSize;
+    }
+
+    /**
+     * Return a copy of a column's elements in the absolute range {@code [fromIndex, toIndex)}.
+     */
+    final List<Object> column(final int column, final int fromIndex, final int toIndex) {
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(columns[column], fromIndex, toIndex)));
+    }
+
+    /**
+     * Append rows read from an iterable, with each element being cast to its column's class.
+     */
+    final void slurpRows(final Iterable<?> iterable) throws IllegalArgumentException {
+        final int arity = columns.length;
+        final int len = size;
+        try {
+            for (final Iterator<?> it = iterable.iterator(); it.hasNext();) {
+                final Object[] values = new Object[arity];
+                for (int c = 0; c < arity; ++c) {
+                    values[c] = schema[c].cast(it.next());
+                }
+                appendRow(values);
+            }
+        } catch (NoSuchElementException e) {
+            removeRange(len, size);
+            throw new IllegalArgumentException("slurp expects an iterable whose length is a multiple of " + arity);
+        } catch (ClassCastException e) {
+            removeRange(len, size);
+            throw new IllegalArgumentException("slurp: iterable elements are of wrong type");
+        }
+    }
+
+    /**
+     * Append rows zipped from one iterable per column. Nothing is appended
+     * if the iterables are of different length.
+     */
+    final void zipRows(final Iterable<?>... iterables) throws IllegalArgumentException {
+        final int arity = columns.length;
+        final Iterator<?>[] iterators = new Iterator<?>[arity];
+        for (int c = 0; c < arity; ++c) {
+            iterators[c] = iterables[c].iterator();
+        }
+        final int len = size;
+        while (allHaveNext(iterators)) {
+            final Object[] values = new Object[arity];
+            for (int c = 0; c < arity; ++c) {
+                values[c] = iterators[c].next();
+            }
+            appendRow(values);
+        }
+        for (final Iterator<?> it : iterators) {
+            if (it.hasNext()) {
+                // we only accept complete or no insertion at all
+                removeRange(len, size);
+                throw new IllegalArgumentException("cannot zip iterables of different length together");
+            }
+        }
+    }
+
+    private static boolean allHaveNext(final Iterator<?>[] iterators) {
+        for (final Iterator<?> it : iterators) {
+            if (!it.hasNext()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendRow(final Object[] values) {
+        openGap(size, 1);
+        for (int c = 0; c < values.length; ++c) {
+            columns[c][size - 1] = values[c];
+        }
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        final int capacity = columns[0].length;
+        if (minCapacity <= capacity) {
+            return;
+        }
+        final long start = Instrumentation.start();
+        final int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1)));
+        for (int c = 0; c < columns.length; ++c) {
+            columns[c] = Arrays.copyOf(columns[c], newCapacity);
+        }
+        Instrumentation.resized(start, newCapacity);
+    }
+
+    final void rangeCheck(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+        }
+    }
+
+    final void rangeCheckForAdd(final int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+        }
+    }
+
+    private static String outOfBoundsMsg(final int index, final int size) {
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    private static void subListRangeCheck(final int fromIndex, final int toIndex, final int size) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+        }
+        if (toIndex > size) {
+            throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+        }
+        if (fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+    }
+
+    /**
+     * A co-modification-aware view over a range of rows.
+     * <p>
+     * Views always address the root list directly. Structural
+     * changes made through a view are propagated to the sizes
+     * of all enclosing views.
+     */
+    abstract class View extends AbstractList<E> implements RandomAccess {
+        private final View parent;
+        private final int offset;
+        private int size;
+        private int expectedModCount;
+
+        View(final View parent, final int offset, final int size) {
+            this.parent = parent;
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = ColumnarList.this.modCount;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public E get(final int index) {
+            rangeCheck(index);
+            checkForComodification();
+            return row(offset + index);
+        }
+
+        @Override
+        public E set(final int index, final E tuple) {
+            rangeCheck(index);
+            checkForComodification();
+            return ColumnarList.this.set(offset + index, tuple);
+        }
+
+        @Override
+        public void add(final int index, final E tuple) {
+            rangeCheckForAdd(index);
+            checkForComodification();
+            ColumnarList.this.add(offset + index, tuple);
+            updateSize(1);
+        }
+
+        @Override
+        public E remove(final int index) {
+            rangeCheck(index);
+            checkForComodification();
+            final E oldVal = ColumnarList.this.remove(offset + index);
+            updateSize(-1);
+            return oldVal;
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends E> c) {
+            return addAll(size, c);
+        }
+
+        @Override
+        public boolean addAll(final int index, final Collection<? extends E> c) {
+            rangeCheckForAdd(index);
+            checkForComodification();
+            final int len = ColumnarList.this.size;
+            final boolean changed = ColumnarList.this.addAll(offset + index, c);
+            if (changed) {
+                updateSize(ColumnarList.this.size - len);
+            }
+            return changed;
+        }
+
+        @Override
+        protected void removeRange(final int fromIndex, final int toIndex) {
+            checkForComodification();
+            if (toIndex > fromIndex) {
+                ColumnarList.this.removeRange(offset + fromIndex, offset + toIndex);
+                updateSize(fromIndex - toIndex);
+            }
+        }
+
+        @Override
+        public List<E> subList(final int fromIndex, final int toIndex) {
+            subListRangeCheck(fromIndex, toIndex, size);
+            checkForComodification();
+            return newView(this, offset + fromIndex, toIndex - fromIndex);
+        }
+
+        final Object element(final int index, final int column) {
+            rangeCheck(index);
+            checkForComodification();
+            return ColumnarList.this.element(offset + index, column);
+        }
+
+        final List<Object> column(final int column) {
+            checkForComodification();
+            return ColumnarList.this.column(column, offset, offset + size);
+        }
+
+        private void updateSize(final int delta) {
+            for (View view = this; view != null; view = view.parent) {
+                view.size += delta;
+                view.expectedModCount = ColumnarList.this.modCount;
+                view.modCount++;
+            }
+        }
+
+        private void rangeCheck(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+            }
+        }
+
+        private void rangeCheckForAdd(final int index) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+            }
+        }
+
+        private void checkForComodification() {
+            if (ColumnarList.this.modCount != expectedModCount) {
+                throw Instrumentation.concurrentModification();
+            }
+        }
+    }
+}
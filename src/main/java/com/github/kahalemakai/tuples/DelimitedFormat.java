@@ -0,0 +1,653 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Reading and writing {@code TupleList}s as delimited text, one tuple per line.
+ * <p>
+ * Files are memory-mapped and parsed directly from the mapped bytes: integral numbers and
+ * plain decimals are converted without creating intermediate {@code String}s, and each
+ * element is converted to the {@code firstClass} or {@code lastClass} of the target list.
+ * Supported classes are the boxed primitives, {@code String} (and its supertypes),
+ * {@code BigDecimal}, {@code BigInteger} and enums.
+ * <pre>{@code
+ * TupleList<Long, Double> prices = DelimitedFormat.csv().parallel().read(path, Long.class, Double.class);
+ * DelimitedFormat.tsv().write(prices, otherPath);
+ * }</pre>
+ * Text is encoded as UTF-8. Fields may be enclosed in double quotes, which are escaped by
+ * doubling them; the writer quotes only fields that need it. An empty unquoted field is
+ * read as {@code null}, and {@code null} is written as an empty field. Both {@code \n} and
+ * {@code \r\n} line endings are accepted, blank lines are skipped.
+ * <p>
+ * Reading is all-or-nothing: if a line cannot be parsed, an {@code IllegalArgumentException}
+ * mentioning its byte offset is thrown and the target list is left unchanged. The same holds
+ * if reading a file fails with an {@code IOException} part way through.
+ */
+public final class DelimitedFormat {
+
+    /**
+     * Minimum number of bytes per chunk for parallel parsing.
+     */
+    static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Maximum number of bytes mapped at once.
+     */
+    static final int MAX_REGION_SIZE = 1 << 30;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final byte delimiter;
+    private final boolean skipHeader;
+    private final boolean parallel;
+
+    private DelimitedFormat(final byte delimiter, final boolean skipHeader, final boolean parallel) {
+        this.delimiter = delimiter;
+        this.skipHeader = skipHeader;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Return the comma-separated format.
+     *
+     * @return new {@code DelimitedFormat}
+     */
+    public static DelimitedFormat csv() {
+        return withDelimiter(',');
+    }
+
+    /**
+     * Return the tab-separated format.
+     *
+     * @return new {@code DelimitedFormat}
+     */
+    public static DelimitedFormat tsv() {
+        return withDelimiter('\t');
+    }
+
+    /**
+     * Return a format separating the elements of a tuple by {@code delimiter}.
+     *
+     * @param delimiter an ASCII character other than a double quote or line break
+     * @return new {@code DelimitedFormat}
+     * @throws IllegalArgumentException if {@code delimiter} cannot be used as delimiter
+     */
+    public static DelimitedFormat withDelimiter(final char delimiter) {
+        if (delimiter >= 0x80 || delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("invalid delimiter: " + delimiter);
+        }
+        return new DelimitedFormat((byte) delimiter, false, false);
+    }
+
+    /**
+     * Return an equivalent format that ignores the first line when reading.
+     *
+     * @return new {@code DelimitedFormat}
+     */
+    public DelimitedFormat skipHeader() {
+        return new DelimitedFormat(delimiter, true, parallel);
+    }
+
+    /**
+     * Return an equivalent format that parses chunks of the input in parallel.
+     * <p>
+     * Chunks are split at line breaks, so quoted fields must not contain line breaks.
+     * Each chunk is parsed into a list created by {@link TupleList#alike()}, which are
+     * appended to the target in order afterwards.
+     *
+     * @return new {@code DelimitedFormat}
+     */
+    public DelimitedFormat parallel() {
+        return new DelimitedFormat(delimiter, skipHeader, true);
+    }
+
+    /**
+     * Read a file into a new {@code TupleList}.
+     *
+     * @param path file to read
+     * @param firstClass class of first element of all included tuples
+     * @param lastClass class of last element of all included tuples
+     * @param <S> type corresponding to {@code firstClass}
+     * @param <W> type corresponding to {@code lastClass}
+     * @return new {@code TupleList}
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is malformed or a class is not supported
+     */
+    public <S, W> TupleList<S, W> read(final Path path, final Class<? extends S> firstClass,
+                                       final Class<? extends W> lastClass) throws IOException {
+        return read(path, TupleList.of(firstClass, lastClass));
+    }
+
+    /**
+     * Read a file and append its tuples to {@code target}.
+     * <p>
+     * Files larger than {@value #MAX_REGION_SIZE} bytes are mapped and parsed in several regions.
+     *
+     * @param path file to read
+     * @param target list to append the tuples to
+     * @param <T> type of the first elements
+     * @param <U> type of the last elements
+     * @return {@code target}
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is malformed or a class is not supported
+     */
+    public <T, U> TupleList<T, U> read(final Path path, final TupleList<T, U> target) throws IOException {
+        final int len = target.size();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                final long remaining = size - position;
+                final MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(remaining, MAX_REGION_SIZE));
+                int end = region.limit();
+                if (remaining > end) {
+                    // only parse complete lines, the rest is mapped again with the next region
+                    while (end > 0 && region.get(end - 1) != '\n') {
+                        --end;
+                    }
+                    if (end == 0) {
+                        throw new IllegalArgumentException("line exceeds " + MAX_REGION_SIZE + " bytes at byte " + position);
+                    }
+                }
+                parse(region, 0, end, position, skipHeader && position == 0, target);
+                position += end;
+            }
+        } catch (RuntimeException | IOException e) {
+            TupleListImpl.truncate(target, len);
+            throw e;
+        }
+        return target;
+    }
+
+    /**
+     * Parse the remaining bytes of {@code buffer} and append the tuples to {@code target}.
+     * <p>
+     * The position of {@code buffer} is not changed.
+     *
+     * @param buffer buffer holding UTF-8 encoded text
+     * @param target list to append the tuples to
+     * @param <T> type of the first elements
+     * @param <U> type of the last elements
+     * @return {@code target}
+     * @throws IllegalArgumentException if the text is malformed or a class is not supported
+     */
+    public <T, U> TupleList<T, U> read(final ByteBuffer buffer, final TupleList<T, U> target) {
+        final int len = target.size();
+        try {
+            parse(buffer, buffer.position(), buffer.limit(), 0, skipHeader, target);
+        } catch (RuntimeException e) {
+            TupleListImpl.truncate(target, len);
+            throw e;
+        }
+        return target;
+    }
+
+    /**
+     * Write all tuples of {@code tuples} to {@code channel}, one per line.
+     * <p>
+     * Rows are encoded into a single reused buffer, which is drained whenever it is full.
+     * The channel is not closed.
+     *
+     * @param tuples list to write
+     * @param channel channel to write to
+     * @throws IOException if writing to the channel fails
+     */
+    public void write(final TupleList<?, ?> tuples, final WritableByteChannel channel) throws IOException {
+        final Encoder encoder = new Encoder(channel);
+        for (final TupleCursor<?, ?> cursor = tuples.cursor(); cursor.advance();) {
+            encoder.value(cursor.first());
+            encoder.put(delimiter);
+            encoder.value(cursor.last());
+            encoder.put((byte) '\n');
+        }
+        encoder.drain();
+    }
+
+    /**
+     * Write all tuples of {@code tuples} to a file, which is created or truncated.
+     *
+     * @param tuples list to write
+     * @param path file to write to
+     * @throws IOException if the file cannot be written
+     */
+    public void write(final TupleList<?, ?> tuples, final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(tuples, channel);
+        }
+    }
+
+    private <T, U> void parse(final ByteBuffer buffer, final int from, final int to, final long base,
+                              final boolean header, final TupleList<T, U> target) {
+        final FieldParser firstParser = FieldParser.of(target.firstClass());
+        final FieldParser lastParser = FieldParser.of(target.lastClass());
+        final int start = header ? nextLine(buffer, from, to) : from;
+        final int chunks = parallel ? numChunks(to - start) : 1;
+        if (chunks <= 1) {
+            new Scanner(buffer, base, firstParser, lastParser).scan(start, to, target);
+            return;
+        }
+        final int[] bounds = new int[chunks + 1];
+        bounds[0] = start;
+        for (int i = 1; i < chunks; ++i) {
+            final int approx = start + (int) ((long) (to - start) * i / chunks);
+            bounds[i] = nextLine(buffer, Math.max(bounds[i - 1], approx), to);
+        }
+        bounds[chunks] = to;
+        final List<TupleList<T, U>> parts = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(i -> {
+                    final TupleList<T, U> part = target.alike();
+                    new Scanner(buffer.duplicate(), base, firstParser, lastParser).scan(bounds[i], bounds[i + 1], part);
+                    return part;
+                })
+                .collect(Collectors.toList());
+        for (final TupleList<T, U> part : parts) {
+            target.addAll(part);
+        }
+    }
+
+    /**
+     * Return the index following the next line break at or after {@code index}, or {@code to}.
+     */
+    private static int nextLine(final ByteBuffer buffer, int index, final int to) {
+        while (index < to && buffer.get(index++) != '\n') {
+            // skip
+        }
+        return index;
+    }
+
+    private static int numChunks(final int size) {
+        final int maxChunks = size / MIN_CHUNK_SIZE;
+        return Math.min(maxChunks, 4 * ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Parser of the lines in a range of a buffer.
+     */
+    private final class Scanner {
+        private final ByteBuffer buffer;
+        private final long base;
+        private final FieldParser firstParser;
+        private final FieldParser lastParser;
+        private byte[] field = new byte[64];
+        private int pos;
+        private int to;
+
+        Scanner(final ByteBuffer buffer, final long base, final FieldParser firstParser, final FieldParser lastParser) {
+            this.buffer = buffer;
+            this.base = base;
+            this.firstParser = firstParser;
+            this.lastParser = lastParser;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T, U> void scan(final int from, final int to, final TupleList<T, U> target) {
+            this.pos = from;
+            this.to = to;
+            while (pos < to) {
+                if (!atLineEnd()) {
+                    final Object first = field(firstParser);
+                    if (pos >= to || buffer.get(pos) != delimiter) {
+                        throw error("expected delimiter", pos);
+                    }
+                    ++pos;
+                    final Object last = field(lastParser);
+                    if (!atLineEnd()) {
+                        throw error("expected end of line", pos);
+                    }
+                    target.add(Tuple.of((T) first, (U) last));
+                }
+                skipLineEnd();
+            }
+        }
+
+        private Object field(final FieldParser parser) {
+            final int start = pos;
+            int length = 0;
+            final boolean quoted = pos < to && buffer.get(pos) == '"';
+            if (quoted) {
+                ++pos;
+                while (true) {
+                    if (pos >= to) {
+                        throw error("unterminated quoted field", start);
+                    }
+                    final byte b = buffer.get(pos++);
+                    if (b == '"') {
+                        if (pos >= to || buffer.get(pos) != '"') {
+                            break;
+                        }
+                        ++pos;
+                    }
+                    length = append(length, b);
+                }
+            } else {
+                while (pos < to && buffer.get(pos) != delimiter && !atLineEnd()) {
+                    length = append(length, buffer.get(pos++));
+                }
+                if (length == 0) {
+                    return null;
+                }
+            }
+            try {
+                return parser.parse(field, length);
+            } catch (IllegalArgumentException e) {
+                throw error(e.getMessage(), start);
+            }
+        }
+
+        private int append(final int length, final byte b) {
+            if (length == field.length) {
+                field = Arrays.copyOf(field, 2 * length);
+            }
+            field[length] = b;
+            return length + 1;
+        }
+
+        private boolean atLineEnd() {
+            if (pos >= to) {
+                return true;
+            }
+            final byte b = buffer.get(pos);
+            return b == '\n' || b == '\r' && (pos + 1 == to || buffer.get(pos + 1) == '\n');
+        }
+
+        private void skipLineEnd() {
+            if (pos < to && buffer.get(pos) == '\r') {
+                ++pos;
+            }
+            if (pos < to && buffer.get(pos) == '\n') {
+                ++pos;
+            }
+        }
+
+        private IllegalArgumentException error(final String msg, final int index) {
+            return new IllegalArgumentException(msg + " at byte " + (base + index));
+        }
+    }
+
+    /**
+     * Encoder of values into a reused buffer, that is drained to a channel.
+     */
+    private final class Encoder {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final byte[] digits = new byte[20];
+
+        Encoder(final WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void value(final Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                integral(((Number) value).longValue());
+            } else {
+                text(value.toString());
+            }
+        }
+
+        private void integral(final long value) throws IOException {
+            // accumulate negatively, so that Long.MIN_VALUE needs no special case
+            long v = value < 0 ? value : -value;
+            int i = digits.length;
+            do {
+                digits[--i] = (byte) ('0' - v % 10);
+                v /= 10;
+            } while (v != 0);
+            if (value < 0) {
+                digits[--i] = '-';
+            }
+            if (buffer.remaining() < digits.length - i) {
+                drain();
+            }
+            buffer.put(digits, i, digits.length - i);
+        }
+
+        private void text(final String s) throws IOException {
+            final boolean quoted = s.isEmpty() || needsQuotes(s);
+            if (quoted) {
+                put((byte) '"');
+            }
+            for (int i = 0; i < s.length(); ++i) {
+                final char c = s.charAt(i);
+                if (buffer.remaining() < 4) {
+                    drain();
+                }
+                if (c < 0x80) {
+                    if (c == '"') {
+                        buffer.put((byte) '"');
+                    }
+                    buffer.put((byte) c);
+                } else if (c < 0x800) {
+                    buffer.put((byte) (0xC0 | c >> 6));
+                    buffer.put((byte) (0x80 | c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    final int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buffer.put((byte) (0xF0 | cp >> 18));
+                    buffer.put((byte) (0x80 | cp >> 12 & 0x3F));
+                    buffer.put((byte) (0x80 | cp >> 6 & 0x3F));
+                    buffer.put((byte) (0x80 | cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // unpaired surrogate, replaced like String#getBytes does
+                    buffer.put((byte) '?');
+                } else {
+                    buffer.put((byte) (0xE0 | c >> 12));
+                    buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                    buffer.put((byte) (0x80 | c & 0x3F));
+                }
+            }
+            if (quoted) {
+                put((byte) '"');
+            }
+        }
+
+        private boolean needsQuotes(final String s) {
+            for (int i = 0; i < s.length(); ++i) {
+                final char c = s.charAt(i);
+                if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void put(final byte b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put(b);
+        }
+
+        void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Conversion of the raw UTF-8 bytes of a field into a value of a given class.
+     */
+    @FunctionalInterface
+    private interface FieldParser {
+
+        /**
+         * Parse the first {@code length} bytes of {@code bytes}.
+         *
+         * @throws IllegalArgumentException if the bytes cannot be parsed
+         */
+        Object parse(byte[] bytes, int length);
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static FieldParser of(final Class<?> clazz) {
+            if (clazz == Long.class) {
+                return (b, n) -> parseLong(b, n, Long.MIN_VALUE, Long.MAX_VALUE);
+            }
+            if (clazz == Integer.class) {
+                return (b, n) -> (int) parseLong(b, n, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            }
+            if (clazz == Short.class) {
+                return (b, n) -> (short) parseLong(b, n, Short.MIN_VALUE, Short.MAX_VALUE);
+            }
+            if (clazz == Byte.class) {
+                return (b, n) -> (byte) parseLong(b, n, Byte.MIN_VALUE, Byte.MAX_VALUE);
+            }
+            if (clazz == Double.class) {
+                return DelimitedFormat::parseDouble;
+            }
+            if (clazz == Float.class) {
+                return (b, n) -> Float.parseFloat(ascii(b, n));
+            }
+            if (clazz == Boolean.class) {
+                return DelimitedFormat::parseBoolean;
+            }
+            if (clazz == Character.class) {
+                return DelimitedFormat::parseCharacter;
+            }
+            if (clazz == BigDecimal.class) {
+                return (b, n) -> new BigDecimal(ascii(b, n));
+            }
+            if (clazz == BigInteger.class) {
+                return (b, n) -> new BigInteger(ascii(b, n));
+            }
+            if (clazz.isEnum()) {
+                return (b, n) -> Enum.valueOf((Class<? extends Enum>) clazz, utf8(b, n));
+            }
+            if (clazz.isAssignableFrom(String.class)) {
+                return DelimitedFormat::utf8;
+            }
+            throw new IllegalArgumentException("cannot parse values of " + clazz.getName());
+        }
+    }
+
+    private static String utf8(final byte[] bytes, final int length) {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static String ascii(final byte[] bytes, final int length) {
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Parse a decimal integer in {@code [min, max]}, accumulating negatively like {@link Long#parseLong(String)}.
+     */
+    private static long parseLong(final byte[] bytes, final int length, final long min, final long max) {
+        final boolean negative = length > 0 && bytes[0] == '-';
+        int i = negative || length > 0 && bytes[0] == '+' ? 1 : 0;
+        if (i == length) {
+            throw new IllegalArgumentException("not a number: '" + utf8(bytes, length) + "'");
+        }
+        final long limit = negative ? min : -max;
+        long result = 0;
+        for (; i < length; ++i) {
+            final int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("not a number: '" + utf8(bytes, length) + "'");
+            }
+            if (result < (limit + digit) / 10) {
+                throw new IllegalArgumentException("number out of range: '" + utf8(bytes, length) + "'");
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Parse a {@code double}. Plain decimals with at most 15 significant digits are exactly
+     * representable as {@code long} and are converted by a single, correctly rounded division
+     * by an exact power of ten. All other notations go through {@link Double#parseDouble(String)}.
+     */
+    private static Object parseDouble(final byte[] bytes, final int length) {
+        final boolean negative = length > 0 && bytes[0] == '-';
+        int i = negative || length > 0 && bytes[0] == '+' ? 1 : 0;
+        long mantissa = 0;
+        int digits = 0;
+        int significant = 0;
+        int scale = 0;
+        boolean point = false;
+        for (; i < length; ++i) {
+            final byte b = bytes[i];
+            if (b == '.' && !point) {
+                point = true;
+            } else if (b >= '0' && b <= '9' && significant < 15) {
+                mantissa = mantissa * 10 + (b - '0');
+                ++digits;
+                significant += mantissa == 0 ? 0 : 1;
+                scale += point ? 1 : 0;
+            } else {
+                break;
+            }
+        }
+        if (i < length || digits == 0 || scale >= POWERS_OF_TEN.length) {
+            try {
+                return Double.parseDouble(ascii(bytes, length));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("not a number: '" + utf8(bytes, length) + "'");
+            }
+        }
+        final double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static Object parseBoolean(final byte[] bytes, final int length) {
+        final String s = ascii(bytes, length);
+        if ("true".equalsIgnoreCase(s)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(s)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("not a boolean: '" + utf8(bytes, length) + "'");
+    }
+
+    private static Object parseCharacter(final byte[] bytes, final int length) {
+        final String s = utf8(bytes, length);
+        if (s.length() != 1) {
+            throw new IllegalArgumentException("not a single character: '" + s + "'");
+        }
+        return s.charAt(0);
+    }
+}
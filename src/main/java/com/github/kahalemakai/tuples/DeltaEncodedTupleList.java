@@ -0,0 +1,360 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * A read-mostly {@code TupleList} with non-decreasing {@code long} first elements,
+ * which are stored delta- and varint-encoded.
+ * <p>
+ * Keys are grouped into blocks of {@link #BLOCK_SIZE}. For each block, the first key and
+ * the offset of the block's encoded deltas are kept in a small index; all other keys are
+ * stored as the unsigned LEB128 varint of the difference to their predecessor. Closely
+ * spaced keys such as timestamps thus take one or two bytes instead of the 16 or more
+ * of a boxed {@code Long} and its reference. Random access decodes at most one block;
+ * iteration decodes sequentially.
+ * <p>
+ * Tuples can only be appended with a key not smaller than the last one, and removed from
+ * the end. The last elements can be replaced freely, first elements only with equal keys.
+ */
+final class DeltaEncodedTupleList<U> extends AbstractTupleList<Long, U> {
+    static final int BLOCK_SHIFT = 7;
+    static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private long[] blockKeys = {};
+    private int[] blockOffsets = {};
+    private byte[] deltas = {};
+    private int deltasLength;
+    private Object[] values = {};
+    private long lastKey;
+    private int size;
+
+    DeltaEncodedTupleList(final Class<? extends U> lastClass) {
+        super(Long.class, lastClass);
+    }
+
+    @Override
+    public TupleList<Long, U> alike() {
+        return new DeltaEncodedTupleList<>(lastClass);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Tuple<Long, U> get(final int index) {
+        rangeCheck(index);
+        return Tuple.of(key(index), (U) values[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the first element differs from the current one
+     */
+    @Override
+    public Tuple<Long, U> set(final int index, final Tuple<Long, U> tuple) {
+        final Tuple<Long, U> oldVal = get(index);
+        if (!oldVal.first().equals(tuple.first())) {
+            throw new IllegalArgumentException("keys of a delta-encoded list cannot be replaced");
+        }
+        values[index] = tuple.last();
+        version++;
+        return oldVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the first element is smaller than the last key
+     * @throws NullPointerException if the first element is {@code null}
+     */
+    @Override
+    public boolean add(final Tuple<Long, U> tuple) {
+        final long key = tuple.first();
+        if (size > 0 && key < lastKey) {
+            throw new IllegalArgumentException("expected: key >= " + lastKey + ". got: " + key);
+        }
+        modCount++;
+        if (size == values.length) {
+            final long start = Instrumentation.start();
+            values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+            Instrumentation.resized(start, values.length);
+        }
+        if ((size & BLOCK_MASK) == 0) {
+            final int block = size >>> BLOCK_SHIFT;
+            if (block == blockKeys.length) {
+                blockKeys = Arrays.copyOf(blockKeys, Math.max(DEFAULT_CAPACITY, block + (block >> 1)));
+                blockOffsets = Arrays.copyOf(blockOffsets, blockKeys.length);
+            }
+            blockKeys[block] = key;
+            blockOffsets[block] = deltasLength;
+        } else {
+            writeVarint(key - lastKey);
+        }
+        values[size++] = tuple.last();
+        lastKey = key;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only appending is supported, i.e. {@code index} must equal {@code size()}.
+     */
+    @Override
+    public void add(final int index, final Tuple<Long, U> tuple) {
+        if (index != size) {
+            throw new UnsupportedOperationException("delta-encoded lists only support appending");
+        }
+        add(tuple);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the last tuple can be removed.
+     */
+    @Override
+    public Tuple<Long, U> remove(final int index) {
+        final Tuple<Long, U> oldVal = get(index);
+        removeRange(index, index + 1);
+        return oldVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only a range at the end of the list can be removed.
+     */
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (toIndex <= fromIndex) {
+            return;
+        }
+        if (toIndex != size) {
+            throw new UnsupportedOperationException("delta-encoded lists only support removal from the end");
+        }
+        modCount++;
+        Arrays.fill(values, fromIndex, size, null);
+        if (fromIndex == 0) {
+            deltasLength = 0;
+        } else {
+            // re-position the end of the encoded deltas behind the new last key
+            final int last = fromIndex - 1;
+            final int block = last >>> BLOCK_SHIFT;
+            long key = blockKeys[block];
+            int pos = blockOffsets[block];
+            for (int i = 0; i < (last & BLOCK_MASK); ++i) {
+                final long delta = readVarint(pos);
+                pos += varintLength(delta);
+                key += delta;
+            }
+            deltasLength = pos;
+            lastKey = key;
+        }
+        size = fromIndex;
+    }
+
+    @Override
+    public void clear() {
+        removeRange(0, size);
+    }
+
+    @Override
+    public Iterator<Tuple<Long, U>> iterator() {
+        return new Iterator<Tuple<Long, U>>() {
+            private final TupleCursor<Long, U> cursor = cursor();
+            private boolean hasNext = cursor.advance();
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public Tuple<Long, U> next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                final Tuple<Long, U> tuple = Tuple.of(cursor.first(), cursor.last());
+                hasNext = cursor.advance();
+                return tuple;
+            }
+        };
+    }
+
+    @Override
+    public TupleCursor<Long, U> cursor() {
+        return new TupleCursor<Long, U>() {
+            private final int expectedModCount = modCount;
+            private int index = -1;
+            private int pos;
+            private long key;
+
+            @Override
+            public boolean advance() {
+                if (modCount != expectedModCount) {
+                    throw Instrumentation.concurrentModification();
+                }
+                if (index + 1 >= size) {
+                    index = size;
+                    return false;
+                }
+                ++index;
+                if ((index & BLOCK_MASK) == 0) {
+                    key = blockKeys[index >>> BLOCK_SHIFT];
+                    pos = blockOffsets[index >>> BLOCK_SHIFT];
+                } else {
+                    final long delta = readVarint(pos);
+                    pos += varintLength(delta);
+                    key += delta;
+                }
+                return true;
+            }
+
+            @Override
+            public Long first() {
+                checkRow();
+                return key;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public U last() {
+                checkRow();
+                return (U) values[index];
+            }
+
+            @Override
+            public int index() {
+                return index;
+            }
+
+            @Override
+            public void setFirst(final Long first) {
+                checkRow();
+                if (first == null || first != key) {
+                    throw new IllegalArgumentException("keys of a delta-encoded list cannot be replaced");
+                }
+            }
+
+            @Override
+            public void setLast(final U last) {
+                checkRow();
+                values[index] = last;
+                version++;
+            }
+
+            private void checkRow() {
+                if (index < 0 || index >= size) {
+                    throw new IllegalStateException("cursor does not point to a tuple. index: " + index);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super Long, ? super U> action) {
+        Objects.requireNonNull(action);
+        for (final TupleCursor<Long, U> cursor = cursor(); cursor.advance();) {
+            action.accept(cursor.first(), cursor.last());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Keys are stored encoded and never passed to {@code elementSizer}.
+     */
+    @Override
+    public long estimatedRetainedBytes(final ToLongFunction<Object> elementSizer) {
+        return Footprint.array(blockKeys.length, Long.BYTES) + Footprint.array(blockOffsets.length, Integer.BYTES)
+                + Footprint.array(deltas.length, 1) + Footprint.referenceArray(values.length)
+                + Footprint.elements(values, 0, size, elementSizer);
+    }
+
+    /**
+     * Return the number of bytes used by the encoded keys, including the block index.
+     */
+    long encodedKeyBytes() {
+        final int blocks = (size + BLOCK_MASK) >>> BLOCK_SHIFT;
+        return deltasLength + (long) blocks * (Long.BYTES + Integer.BYTES);
+    }
+
+    private long key(final int index) {
+        final int block = index >>> BLOCK_SHIFT;
+        long key = blockKeys[block];
+        int pos = blockOffsets[block];
+        for (int i = index & BLOCK_MASK; i > 0; --i) {
+            final long delta = readVarint(pos);
+            pos += varintLength(delta);
+            key += delta;
+        }
+        return key;
+    }
+
+    private void writeVarint(long value) {
+        // an unsigned 64 bit value takes at most 10 bytes
+        if (deltasLength + 10 > deltas.length) {
+            deltas = Arrays.copyOf(deltas, Math.max(64, deltas.length + (deltas.length >> 1) + 10));
+        }
+        while ((value & ~0x7FL) != 0) {
+            deltas[deltasLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        deltas[deltasLength++] = (byte) value;
+    }
+
+    /**
+     * Decode the varint written by {@link #writeVarint(long)} at position {@code pos}.
+     */
+    private long readVarint(int pos) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = deltas[pos++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * Return the number of bytes {@link #writeVarint(long)} encodes {@code value} with.
+     */
+    private static int varintLength(final long value) {
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    private void rangeCheck(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+        }
+    }
+}
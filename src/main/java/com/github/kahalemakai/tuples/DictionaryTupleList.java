@@ -0,0 +1,255 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@code TupleList} storing each tuple position in a separate {@link Column},
+ * which may be dictionary-encoded.
+ * <p>
+ * For columns with few distinct values, each row only holds a one- or two-byte code
+ * into a dictionary shared by all rows, instead of a reference. Tuples are materialized
+ * on access. Lookups by value ({@link #indexOf(Object)}, {@link #filterByFirst(Object)}, ...)
+ * translate the value into its code once and then only compare codes.
+ */
+final class DictionaryTupleList<T, U> extends AbstractTupleList<T, U> {
+    private final ColumnEncoding firstEncoding;
+    private final ColumnEncoding lastEncoding;
+    private Column first;
+    private Column last;
+    private int size;
+
+    DictionaryTupleList(final Class<? extends T> firstClass, final Class<? extends U> lastClass,
+                        final ColumnEncoding firstEncoding, final ColumnEncoding lastEncoding) {
+        super(firstClass, lastClass);
+        this.firstEncoding = Objects.requireNonNull(firstEncoding);
+        this.lastEncoding = Objects.requireNonNull(lastEncoding);
+        this.first = Column.of(firstEncoding);
+        this.last = Column.of(lastEncoding);
+    }
+
+    @Override
+    public TupleList<T, U> alike() {
+        return new DictionaryTupleList<>(firstClass, lastClass, firstEncoding, lastEncoding);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tuples are materialized on access, so only the columns are accounted for.
+     * Each distinct element of a dictionary-encoded column is counted once.
+     */
+    @Override
+    public long estimatedRetainedBytes(final ToLongFunction<Object> elementSizer) {
+        return first.estimatedBytes(size, elementSizer) + last.estimatedBytes(size, elementSizer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Tuple<T, U> get(final int index) {
+        rangeCheck(index);
+        return Tuple.of((T) first.get(index), (U) last.get(index));
+    }
+
+    @Override
+    public Tuple<T, U> set(final int index, final Tuple<T, U> tuple) {
+        Objects.requireNonNull(tuple);
+        final Tuple<T, U> oldVal = get(index);
+        first = first.set(index, tuple.first(), size);
+        last = last.set(index, tuple.last(), size);
+        version++;
+        return oldVal;
+    }
+
+    @Override
+    public void add(final int index, final Tuple<T, U> tuple) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+        }
+        Objects.requireNonNull(tuple);
+        modCount++;
+        first = first.insert(index, tuple.first(), size);
+        last = last.insert(index, tuple.last(), size);
+        ++size;
+    }
+
+    @Override
+    public Tuple<T, U> remove(final int index) {
+        final Tuple<T, U> oldVal = get(index);
+        removeRange(index, index + 1);
+        return oldVal;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (toIndex > fromIndex) {
+            modCount++;
+            first.remove(fromIndex, toIndex, size);
+            last.remove(fromIndex, toIndex, size);
+            size -= toIndex - fromIndex;
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            modCount++;
+            first = Column.of(firstEncoding);
+            last = Column.of(lastEncoding);
+            size = 0;
+        }
+    }
+
+    @Override
+    public int indexOf(final Object o) {
+        if (o instanceof Tuple) {
+            final IntPredicate matches = matcher((Tuple<?, ?>) o);
+            for (int i = 0; i < size; ++i) {
+                if (matches.test(i)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(final Object o) {
+        if (o instanceof Tuple) {
+            final IntPredicate matches = matcher((Tuple<?, ?>) o);
+            for (int i = size - 1; i >= 0; --i) {
+                if (matches.test(i)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public TupleList<T, U> filterByFirst(final Object value) {
+        return filter(first.matcher(value));
+    }
+
+    @Override
+    public TupleList<T, U> filterByLast(final Object value) {
+        return filter(last.matcher(value));
+    }
+
+    @Override
+    public TupleCursor<T, U> cursor() {
+        return new TupleCursor<T, U>() {
+            private int index = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean advance() {
+                checkForComodification();
+                if (index + 1 < size) {
+                    ++index;
+                    return true;
+                }
+                index = size;
+                return false;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T first() {
+                checkRow();
+                return (T) first.get(index);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public U last() {
+                checkRow();
+                return (U) last.get(index);
+            }
+
+            @Override
+            public int index() {
+                return index;
+            }
+
+            @Override
+            public void setFirst(final T value) {
+                checkRow();
+                checkForComodification();
+                first = first.set(index, value, size);
+                version++;
+            }
+
+            @Override
+            public void setLast(final U value) {
+                checkRow();
+                checkForComodification();
+                last = last.set(index, value, size);
+                version++;
+            }
+
+            private void checkRow() {
+                if (index < 0 || index >= size) {
+                    throw new IllegalStateException("cursor does not point to a tuple. index: " + index);
+                }
+            }
+
+            private void checkForComodification() {
+                if (modCount != expectedModCount) {
+                    throw Instrumentation.concurrentModification();
+                }
+            }
+        };
+    }
+
+    private IntPredicate matcher(final Tuple<?, ?> tuple) {
+        final IntPredicate firstMatches = first.matcher(tuple.first());
+        final IntPredicate lastMatches = last.matcher(tuple.last());
+        return i -> firstMatches.test(i) && lastMatches.test(i);
+    }
+
+    private TupleList<T, U> filter(final IntPredicate matches) {
+        final TupleList<T, U> result = alike();
+        for (int i = 0; i < size; ++i) {
+            if (matches.test(i)) {
+                result.add(get(i));
+            }
+        }
+        return result;
+    }
+
+    private void rangeCheck(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Duplicate detection for {@code TupleList}s.
+ * <p>
+ * Duplicates are found via a single {@link KeyIndex}, so no per-row
+ * hash set entries are allocated. The result of a detection is a
+ * mask of the rows to be retained, which is either copied into a new
+ * list or used to compact the list in place.
+ */
+final class Distinct {
+
+    private Distinct() {}
+
+    /**
+     * Retain the first occurrence of each tuple.
+     */
+    static boolean[] rows(final TupleList<?, ?> tuples) {
+        final boolean[] retained = new boolean[tuples.size()];
+        final KeyIndex index = new KeyIndex();
+        int row = 0;
+        for (final Tuple<?, ?> tuple : tuples) {
+            retained[row++] = isNew(index, tuple);
+        }
+        return retained;
+    }
+
+    /**
+     * Retain one tuple per first element, either its first or its last occurrence.
+     */
+    static boolean[] firstElements(final TupleList<?, ?> tuples, final boolean keepFirst) {
+        final boolean[] retained = new boolean[tuples.size()];
+        final KeyIndex index = new KeyIndex();
+        if (keepFirst) {
+            for (final TupleCursor<?, ?> cursor = tuples.cursor(); cursor.advance();) {
+                retained[cursor.index()] = isNew(index, cursor.first());
+            }
+            return retained;
+        }
+        // remember the last row of every key, then mark exactly those rows
+        int[] lastRows = new int[16];
+        for (final TupleCursor<?, ?> cursor = tuples.cursor(); cursor.advance();) {
+            final int id = index.add(cursor.first());
+            if (id == lastRows.length) {
+                lastRows = Arrays.copyOf(lastRows, id + (id >> 1));
+            }
+            lastRows[id] = cursor.index();
+        }
+        for (int id = 0; id < index.size(); ++id) {
+            retained[lastRows[id]] = true;
+        }
+        return retained;
+    }
+
+    /**
+     * Copy the retained rows into a new list of equal type.
+     */
+    static <T, U> TupleList<T, U> select(final TupleList<T, U> tuples, final boolean[] retained) {
+        final TupleList<T, U> result = tuples.alike();
+        int row = 0;
+        for (final Tuple<T, U> tuple : tuples) {
+            if (retained[row++]) {
+                result.add(tuple);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Move the retained rows to the front of the list and truncate it.
+     *
+     * @return {@code true} if any rows have been removed
+     */
+    static boolean compact(final TupleList<?, ?> tuples, final boolean[] retained) {
+        final int size = tuples.size();
+        int w = 0;
+        while (w < size && retained[w]) {
+            ++w;
+        }
+        if (w == size) {
+            return false;
+        }
+        compact(tuples, retained, w);
+        return true;
+    }
+
+    private static <T, U> void compact(final TupleList<T, U> tuples, final boolean[] retained, final int from) {
+        final int size = tuples.size();
+        if (tuples instanceof TupleListImpl) {
+            final BitSet removed = new BitSet(size);
+            for (int r = from; r < size; ++r) {
+                if (!retained[r]) {
+                    removed.set(r);
+                }
+            }
+            ((TupleListImpl<T, U>) tuples).removeRows(removed);
+            return;
+        }
+        int w = from;
+        for (int r = from + 1; r < size; ++r) {
+            if (retained[r]) {
+                tuples.set(w++, tuples.get(r));
+            }
+        }
+        tuples.subList(w, size).clear();
+    }
+
+    private static boolean isNew(final KeyIndex index, final Object key) {
+        final int size = index.size();
+        index.add(key);
+        return index.size() > size;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.ToLongFunction;
+
+/**
+ * Estimates of heap memory usage, as reported by {@link TupleList#estimatedRetainedBytes()}.
+ * <p>
+ * Sizes follow the object layout of 64-bit HotSpot VMs: objects and arrays are aligned to
+ * 8 bytes, and references take 4 bytes if compressed oops are in use, 8 bytes otherwise.
+ * Actual sizes may differ on other runtimes or with non-default alignment.
+ */
+public final class Footprint {
+    private static final boolean COMPRESSED_OOPS =
+            vmOption("UseCompressedOops", Runtime.getRuntime().maxMemory() < (32L << 30));
+    private static final boolean COMPACT_STRINGS =
+            !System.getProperty("java.specification.version").startsWith("1.") && vmOption("CompactStrings", true);
+    // compressed class pointers are assumed to accompany compressed oops
+    private static final int OBJECT_HEADER = COMPRESSED_OOPS ? 12 : 16;
+    private static final int ARRAY_HEADER = COMPRESSED_OOPS ? 16 : 24;
+
+    static final int REFERENCE = COMPRESSED_OOPS ? 4 : 8;
+    static final long TUPLE = object(2, 0);
+    /** sizer for not counting elements at all */
+    static final ToLongFunction<Object> NO_ELEMENTS = element -> 0L;
+
+    private static final long STRING = object(1, 8);
+    private static final long SMALL_BOX = object(0, 4);
+    private static final long LARGE_BOX = object(0, 8);
+
+    private Footprint() {
+    }
+
+    /**
+     * Return the number of bytes retained by {@code element} if it is a boxed primitive,
+     * a {@code String} or an enum constant, including the character array of strings.
+     * <p>
+     * Boxes that are cached by their {@code valueOf} factories and enum constants are shared
+     * and not retained by any single reference, so they count as {@code 0} bytes, as
+     * does {@code null}. Objects of any other class count as an object without fields.
+     * The method is meant to be passed to {@link TupleList#estimatedRetainedBytes(ToLongFunction)}:
+     * <pre>{@code
+     * long bytes = tuples.estimatedRetainedBytes(Footprint::shallowSize);
+     * }</pre>
+     *
+     * @param element object to estimate the size of, may be {@code null}
+     * @return estimated size in bytes
+     */
+    public static long shallowSize(final Object element) {
+        if (element == null || element instanceof Enum || element instanceof Boolean) {
+            return 0;
+        }
+        if (element instanceof String) {
+            final String s = (String) element;
+            return STRING + array(s.length(), COMPACT_STRINGS && isLatin1(s) ? 1 : 2);
+        }
+        if (element instanceof Integer) {
+            final Integer i = (Integer) element;
+            return i == Integer.valueOf(i) ? 0 : SMALL_BOX;
+        }
+        if (element instanceof Long) {
+            final Long l = (Long) element;
+            return l == Long.valueOf(l) ? 0 : LARGE_BOX;
+        }
+        if (element instanceof Double) {
+            return LARGE_BOX;
+        }
+        if (element instanceof Float) {
+            return SMALL_BOX;
+        }
+        if (element instanceof Short) {
+            final Short s = (Short) element;
+            return s == Short.valueOf(s) ? 0 : SMALL_BOX;
+        }
+        if (element instanceof Byte) {
+            final Byte b = (Byte) element;
+            return b == Byte.valueOf(b) ? 0 : SMALL_BOX;
+        }
+        if (element instanceof Character) {
+            final Character c = (Character) element;
+            return c == Character.valueOf(c) ? 0 : SMALL_BOX;
+        }
+        return object(0, 0);
+    }
+
+    /**
+     * Return the size of an object with the given fields.
+     */
+    static long object(final int references, final int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * Return the size of an array of {@code length} elements of {@code elementBytes} each.
+     */
+    static long array(final long length, final int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    static long referenceArray(final long length) {
+        return array(length, REFERENCE);
+    }
+
+    /**
+     * Return the sum of {@code sizer} over all elements the cursor advances over.
+     */
+    static long elements(final TupleCursor<?, ?> cursor, final ToLongFunction<Object> sizer) {
+        if (sizer == NO_ELEMENTS) {
+            return 0;
+        }
+        long bytes = 0;
+        while (cursor.advance()) {
+            bytes += size(cursor.first(), sizer) + size(cursor.last(), sizer);
+        }
+        return bytes;
+    }
+
+    /**
+     * Return the sum of {@code sizer} over the elements {@code [fromIndex, toIndex)} of {@code values}.
+     */
+    static long elements(final Object[] values, final int fromIndex, final int toIndex,
+                         final ToLongFunction<Object> sizer) {
+        if (sizer == NO_ELEMENTS) {
+            return 0;
+        }
+        long bytes = 0;
+        for (int i = fromIndex; i < toIndex; ++i) {
+            bytes += size(values[i], sizer);
+        }
+        return bytes;
+    }
+
+    private static long size(final Object element, final ToLongFunction<Object> sizer) {
+        return element == null ? 0 : sizer.applyAsLong(element);
+    }
+
+    private static long align(final long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static boolean isLatin1(final String s) {
+        for (int i = 0; i < s.length(); ++i) {
+            if (s.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean vmOption(final String name, final boolean fallback) {
+        try {
+            final HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return bean == null ? fallback : Boolean.parseBoolean(bean.getVMOption(name).getValue());
+        } catch (RuntimeException | LinkageError e) {
+            // not a HotSpot VM, or the option does not exist
+            return fallback;
+        }
+    }
+}
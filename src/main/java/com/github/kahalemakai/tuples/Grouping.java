@@ -0,0 +1,197 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.function.BiConsumer;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongBiFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Aggregation of the tuples of a {@code TupleList}, grouped by one of the tuple positions.
+ * <p>
+ * Instances are obtained by {@link TupleList#groupByFirst()} or {@link TupleList#groupByLast()}
+ * and are cheap to create; all work is done by the terminal operations.
+ * The numeric aggregations keep one primitive accumulator per group, addressed through
+ * an open-addressing hash table, so that no intermediate values are boxed. The result
+ * contains one tuple per distinct key, in the order of the keys' first appearance.
+ * A {@code Grouping} is a shorthand for a {@linkplain TupleList#query() query} grouped by a tuple
+ * position and aggregating the other one.
+ * <pre>{@code
+ * TupleList<String, Integer> sales = ...;
+ * TupleList<String, Long> total = sales.groupByFirst().sumLong(Integer::longValue);
+ * }</pre>
+ *
+ * @param <K> type of the grouping key
+ * @param <V> type of the aggregated values
+ */
+public final class Grouping<K, V> {
+    /**
+     * Minimum number of rows per chunk for parallel aggregation.
+     */
+    static final int MIN_CHUNK_SIZE = Query.MIN_CHUNK_SIZE;
+
+    private final TupleList<?, ?> source;
+    private final boolean byLast;
+    private final Class<? extends K> keyClass;
+    private final boolean parallel;
+
+    Grouping(final TupleList<?, ?> source, final boolean byLast, final Class<? extends K> keyClass, final boolean parallel) {
+        this.source = source;
+        this.byLast = byLast;
+        this.keyClass = keyClass;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Return an equivalent {@code Grouping} that aggregates chunks of the list
+     * in parallel and merges the partial results afterwards.
+     * <p>
+     * The list must not be modified while the aggregation is running.
+     *
+     * @return parallel {@code Grouping}
+     */
+    public Grouping<K, V> parallel() {
+        return new Grouping<>(source, byLast, keyClass, true);
+    }
+
+    /**
+     * Count the tuples per key.
+     *
+     * @return list of key-count pairs
+     */
+    public TupleList<K, Long> count() {
+        return grouped().count();
+    }
+
+    /**
+     * Sum up the values per key.
+     *
+     * @param value conversion of the values to {@code long}
+     * @return list of key-sum pairs
+     */
+    public TupleList<K, Long> sumLong(final ToLongFunction<? super V> value) {
+        return grouped().sumLong(longValue(value));
+    }
+
+    /**
+     * Determine the minimum value per key.
+     *
+     * @param value conversion of the values to {@code long}
+     * @return list of key-minimum pairs
+     */
+    public TupleList<K, Long> minLong(final ToLongFunction<? super V> value) {
+        return grouped().minLong(longValue(value));
+    }
+
+    /**
+     * Determine the maximum value per key.
+     *
+     * @param value conversion of the values to {@code long}
+     * @return list of key-maximum pairs
+     */
+    public TupleList<K, Long> maxLong(final ToLongFunction<? super V> value) {
+        return grouped().maxLong(longValue(value));
+    }
+
+    /**
+     * Sum up the values per key.
+     *
+     * @param value conversion of the values to {@code double}
+     * @return list of key-sum pairs
+     */
+    public TupleList<K, Double> sumDouble(final ToDoubleFunction<? super V> value) {
+        return grouped().sumDouble(doubleValue(value));
+    }
+
+    /**
+     * Determine the minimum value per key.
+     *
+     * @param value conversion of the values to {@code double}
+     * @return list of key-minimum pairs
+     */
+    public TupleList<K, Double> minDouble(final ToDoubleFunction<? super V> value) {
+        return grouped().minDouble(doubleValue(value));
+    }
+
+    /**
+     * Determine the maximum value per key.
+     *
+     * @param value conversion of the values to {@code double}
+     * @return list of key-maximum pairs
+     */
+    public TupleList<K, Double> maxDouble(final ToDoubleFunction<? super V> value) {
+        return grouped().maxDouble(doubleValue(value));
+    }
+
+    /**
+     * Determine the arithmetic mean of the values per key.
+     *
+     * @param value conversion of the values to {@code double}
+     * @return list of key-average pairs
+     */
+    public TupleList<K, Double> average(final ToDoubleFunction<? super V> value) {
+        return grouped().average(doubleValue(value));
+    }
+
+    /**
+     * Reduce the values per key with a {@code Collector}.
+     * <p>
+     * This is the general, boxing fallback for aggregations
+     * not covered by the primitive operations.
+     *
+     * @param resultClass class of the aggregated values
+     * @param collector collector reducing the values of a single key
+     * @param <A> the collector's accumulation type
+     * @param <R> type of the aggregated values
+     * @return list of key-result pairs
+     */
+    @SuppressWarnings("unchecked")
+    public <A, R> TupleList<K, R> collect(final Class<? extends R> resultClass,
+                                          final Collector<? super V, A, R> collector) {
+        final BiConsumer<A, ? super V> accumulator = collector.accumulator();
+        return grouped().aggregate(resultClass, collector.supplier(),
+                (container, row) -> accumulator.accept(container, (V) (byLast ? row.first() : row.last())),
+                collector.combiner(), collector.finisher());
+    }
+
+    /**
+     * Return the equivalent grouped query, which does the actual work.
+     */
+    private Query.Grouped<K, Object, Object> grouped() {
+        final Query<Object, Object> query = new Query<>(source, Object.class, Object.class);
+        return new Query.Grouped<>(parallel ? query.parallel() : query, byLast ? Query.LAST : Query.FIRST, keyClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ToLongBiFunction<Object, Object> longValue(final ToLongFunction<? super V> value) {
+        return byLast
+                ? (first, last) -> value.applyAsLong((V) first)
+                : (first, last) -> value.applyAsLong((V) last);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ToDoubleBiFunction<Object, Object> doubleValue(final ToDoubleFunction<? super V> value) {
+        return byLast
+                ? (first, last) -> value.applyAsDouble((V) first)
+                : (first, last) -> value.applyAsDouble((V) last);
+    }
+}
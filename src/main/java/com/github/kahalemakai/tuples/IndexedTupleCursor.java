@@ -0,0 +1,83 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+/**
+ * Fallback cursor for {@code TupleList} implementations that
+ * do not provide a cursor of their own.
+ * <p>
+ * Rows are looked up via {@link TupleList#get(int)}, so any
+ * co-modification checks are left to the list itself.
+ */
+class IndexedTupleCursor<T, U> implements TupleCursor<T, U> {
+    private final TupleList<T, U> tuples;
+    private int index = -1;
+    private Tuple<T, U> current;
+
+    IndexedTupleCursor(final TupleList<T, U> tuples) {
+        this.tuples = tuples;
+    }
+
+    @Override
+    public boolean advance() {
+        if (index + 1 < tuples.size()) {
+            current = tuples.get(++index);
+            return true;
+        }
+        index = tuples.size();
+        current = null;
+        return false;
+    }
+
+    @Override
+    public T first() {
+        return current().first();
+    }
+
+    @Override
+    public U last() {
+        return current().last();
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public void setFirst(final T first) {
+        final Tuple<T, U> tuple = Tuple.of(first, current().last());
+        tuples.set(index, tuple);
+        current = tuple;
+    }
+
+    @Override
+    public void setLast(final U last) {
+        final Tuple<T, U> tuple = Tuple.of(current().first(), last);
+        tuples.set(index, tuple);
+        current = tuple;
+    }
+
+    private Tuple<T, U> current() {
+        if (current == null) {
+            throw new IllegalStateException("cursor does not point to a tuple. index: " + index);
+        }
+        return current;
+    }
+}
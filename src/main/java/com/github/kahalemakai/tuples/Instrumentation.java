@@ -0,0 +1,80 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * Reporting to the installed {@link TupleMetrics}.
+ * <p>
+ * Timed operations are bracketed by {@link #start()} and {@link #record(TupleMetrics.Operation, long, long)};
+ * if no metrics are installed when the operation starts, nothing is reported.
+ */
+final class Instrumentation {
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    static volatile TupleMetrics metrics;
+
+    private Instrumentation() {
+    }
+
+    static boolean enabled() {
+        return metrics != null;
+    }
+
+    /**
+     * Return the start time of a timed operation.
+     */
+    static long start() {
+        return metrics == null ? DISABLED : System.nanoTime();
+    }
+
+    static void record(final TupleMetrics.Operation operation, final long start, final long size) {
+        if (start != DISABLED) {
+            final TupleMetrics m = metrics;
+            if (m != null) {
+                m.record(operation, System.nanoTime() - start, size);
+            }
+        }
+    }
+
+    /**
+     * Report that backing storage has grown to {@code capacity}, by an operation started at {@code start}.
+     */
+    static void resized(final long start, final long capacity) {
+        final TupleMetrics m = metrics;
+        if (m != null) {
+            m.increment(TupleMetrics.Counter.RESIZE);
+            if (capacity >= TupleMetrics.LARGE_RESIZE) {
+                record(TupleMetrics.Operation.RESIZE, start, capacity);
+            }
+        }
+    }
+
+    /**
+     * Return a new exception to be thrown on detecting a concurrent modification.
+     */
+    static ConcurrentModificationException concurrentModification() {
+        final TupleMetrics m = metrics;
+        if (m != null) {
+            m.increment(TupleMetrics.Counter.CONCURRENT_MODIFICATION);
+        }
+        return new ConcurrentModificationException();
+    }
+}
@@ -0,0 +1,339 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Equi-join of two {@code TupleList}s on their first elements.
+ * <p>
+ * Instances are obtained by {@link TupleList#join(TupleList)} and are cheap to create;
+ * all work is done by the terminal operations. By default, a hash join is performed:
+ * a hash table is built over the smaller input and probed with the rows of the larger
+ * one. If both inputs are already sorted by key, {@link #sorted(Comparator)} switches
+ * to a sort-merge join, which needs no hash table at all.
+ * <pre>{@code
+ * TupleList<Integer, String> names = ...;
+ * TupleList<Integer, Double> scores = ...;
+ * TripletList<Integer, String, Double> joined = names.join(scores).inner();
+ * }</pre>
+ * Hash joins emit their results in the order of the probing side's rows, sort-merge
+ * joins in key order. Left, semi and anti joins always retain the order of the left input.
+ *
+ * @param <K> type of the join key
+ * @param <A> type of the left input's values
+ * @param <B> type of the right input's values
+ */
+public final class Join<K, A, B> {
+    private final TupleList<? extends K, ? extends A> left;
+    private final TupleList<? extends K, ? extends B> right;
+    private final Class<? extends K> keyClass;
+    private final Comparator<? super K> order;
+
+    Join(final TupleList<? extends K, ? extends A> left,
+         final TupleList<? extends K, ? extends B> right,
+         final Class<? extends K> keyClass,
+         final Comparator<? super K> order) {
+        this.left = left;
+        this.right = right;
+        this.keyClass = keyClass;
+        this.order = order;
+    }
+
+    /**
+     * Return an equivalent {@code Join} that merges the inputs instead of hashing them.
+     * <p>
+     * Both inputs must be sorted by their first elements according to {@code order},
+     * which is not verified.
+     *
+     * @param order ordering of the keys in both inputs
+     * @return sort-merge {@code Join}
+     */
+    public Join<K, A, B> sorted(final Comparator<? super K> order) {
+        return new Join<>(left, right, keyClass, Objects.requireNonNull(order));
+    }
+
+    /**
+     * Return an equivalent {@code Join} that merges the inputs instead of hashing them.
+     * <p>
+     * Both inputs must be sorted by the natural ordering of their first elements,
+     * which is not verified.
+     *
+     * @return sort-merge {@code Join}
+     */
+    @SuppressWarnings("unchecked")
+    public Join<K, A, B> sorted() {
+        return sorted((Comparator<? super K>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Perform an inner join, i.e. combine every pair of rows with equal keys.
+     *
+     * @return list of key-left-right triplets
+     */
+    public TripletList<K, A, B> inner() {
+        final TripletList<K, A, B> result = newResult();
+        hashOrMergeInner(result::put);
+        return result;
+    }
+
+    /**
+     * Perform an inner join and append the value pairs to {@code target}.
+     *
+     * @param target list receiving the left and right values of all matching rows
+     * @param <L> type of {@code target}
+     * @return {@code target}
+     */
+    public <L extends TupleList<? super A, ? super B>> L inner(final L target) {
+        hashOrMergeInner((key, a, b) -> target.put(a, b));
+        return target;
+    }
+
+    /**
+     * Perform a left outer join, i.e. an inner join that additionally retains
+     * rows of the left input without a match, combined with {@code null}.
+     *
+     * @return list of key-left-right triplets
+     */
+    public TripletList<K, A, B> left() {
+        final TripletList<K, A, B> result = newResult();
+        hashOrMergeLeft(result::put);
+        return result;
+    }
+
+    /**
+     * Perform a left outer join and append the value pairs to {@code target}.
+     *
+     * @param target list receiving the left and right values of all rows
+     * @param <L> type of {@code target}
+     * @return {@code target}
+     */
+    public <L extends TupleList<? super A, ? super B>> L left(final L target) {
+        hashOrMergeLeft((key, a, b) -> target.put(a, b));
+        return target;
+    }
+
+    /**
+     * Return the rows of the left input with a matching key in the right input.
+     *
+     * @return new {@code TupleList} instance
+     */
+    public TupleList<K, A> semi() {
+        return filter(true);
+    }
+
+    /**
+     * Return the rows of the left input without a matching key in the right input.
+     *
+     * @return new {@code TupleList} instance
+     */
+    public TupleList<K, A> anti() {
+        return filter(false);
+    }
+
+    private TripletList<K, A, B> newResult() {
+        return TripletList.of(keyClass, left.lastClass(), right.lastClass());
+    }
+
+    private void hashOrMergeInner(final Sink<K, A, B> sink) {
+        if (order != null) {
+            merge(sink, false);
+        } else if (left.size() <= right.size()) {
+            final HashTable<A> table = new HashTable<>(left);
+            for (final TupleCursor<? extends K, ? extends B> cursor = right.cursor(); cursor.advance();) {
+                final K key = cursor.first();
+                for (int row = table.head(key); row >= 0; row = table.next(row)) {
+                    sink.accept(key, table.value(row), cursor.last());
+                }
+            }
+        } else {
+            final HashTable<B> table = new HashTable<>(right);
+            for (final TupleCursor<? extends K, ? extends A> cursor = left.cursor(); cursor.advance();) {
+                final K key = cursor.first();
+                for (int row = table.head(key); row >= 0; row = table.next(row)) {
+                    sink.accept(key, cursor.last(), table.value(row));
+                }
+            }
+        }
+    }
+
+    private void hashOrMergeLeft(final Sink<K, A, B> sink) {
+        if (order != null) {
+            merge(sink, true);
+            return;
+        }
+        final HashTable<B> table = new HashTable<>(right);
+        for (final TupleCursor<? extends K, ? extends A> cursor = left.cursor(); cursor.advance();) {
+            final K key = cursor.first();
+            int row = table.head(key);
+            if (row < 0) {
+                sink.accept(key, cursor.last(), null);
+            }
+            for (; row >= 0; row = table.next(row)) {
+                sink.accept(key, cursor.last(), table.value(row));
+            }
+        }
+    }
+
+    private TupleList<K, A> filter(final boolean matching) {
+        final TupleListImpl<K, A> result = TupleListImpl.of(keyClass, left.lastClass());
+        if (order != null) {
+            mergeFilter(result, matching);
+        } else if (left.size() <= right.size()) {
+            // index the left keys and mark those that are seen on the right
+            final KeyIndex keys = new KeyIndex();
+            final int[] ids = new int[left.size()];
+            for (final TupleCursor<? extends K, ? extends A> cursor = left.cursor(); cursor.advance();) {
+                ids[cursor.index()] = keys.add(cursor.first());
+            }
+            final boolean[] matched = new boolean[keys.size()];
+            for (final TupleCursor<? extends K, ? extends B> cursor = right.cursor(); cursor.advance();) {
+                final int id = keys.find(cursor.first());
+                if (id >= 0) {
+                    matched[id] = true;
+                }
+            }
+            for (final TupleCursor<? extends K, ? extends A> cursor = left.cursor(); cursor.advance();) {
+                if (matched[ids[cursor.index()]] == matching) {
+                    result.put(cursor.first(), cursor.last());
+                }
+            }
+        } else {
+            final KeyIndex keys = new KeyIndex();
+            for (final TupleCursor<? extends K, ? extends B> cursor = right.cursor(); cursor.advance();) {
+                keys.add(cursor.first());
+            }
+            for (final TupleCursor<? extends K, ? extends A> cursor = left.cursor(); cursor.advance();) {
+                if ((keys.find(cursor.first()) >= 0) == matching) {
+                    result.put(cursor.first(), cursor.last());
+                }
+            }
+        }
+        return result;
+    }
+
+    private void merge(final Sink<K, A, B> sink, final boolean outer) {
+        final int leftSize = left.size();
+        final int rightSize = right.size();
+        int i = 0;
+        int j = 0;
+        while (i < leftSize) {
+            final K key = left.get(i).first();
+            while (j < rightSize && order.compare(right.get(j).first(), key) < 0) {
+                ++j;
+            }
+            int runEnd = j;
+            while (runEnd < rightSize && order.compare(right.get(runEnd).first(), key) == 0) {
+                ++runEnd;
+            }
+            // all left rows with the same key are combined with the same right run
+            for (; i < leftSize && order.compare(left.get(i).first(), key) == 0; ++i) {
+                final Tuple<? extends K, ? extends A> row = left.get(i);
+                if (j == runEnd && outer) {
+                    sink.accept(row.first(), row.last(), null);
+                }
+                for (int k = j; k < runEnd; ++k) {
+                    sink.accept(row.first(), row.last(), right.get(k).last());
+                }
+            }
+            j = runEnd;
+        }
+    }
+
+    private void mergeFilter(final TupleList<K, A> result, final boolean matching) {
+        final int rightSize = right.size();
+        int j = 0;
+        for (final TupleCursor<? extends K, ? extends A> cursor = left.cursor(); cursor.advance();) {
+            final K key = cursor.first();
+            while (j < rightSize && order.compare(right.get(j).first(), key) < 0) {
+                ++j;
+            }
+            final boolean found = j < rightSize && order.compare(right.get(j).first(), key) == 0;
+            if (found == matching) {
+                result.put(key, cursor.last());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Sink<K, A, B> {
+        void accept(K key, A a, B b);
+    }
+
+    /**
+     * Hash table over the rows of a join input.
+     * <p>
+     * Keys are mapped to dense ids by a {@link KeyIndex}; the rows sharing a key
+     * are chained via an {@code int[]} in their original order.
+     */
+    private static final class HashTable<V> {
+        private final KeyIndex keys;
+        private final int[] heads;
+        private final int[] next;
+        private final Object[] values;
+
+        HashTable(final TupleList<?, ? extends V> input) {
+            final int size = input.size();
+            this.keys = new KeyIndex();
+            this.next = new int[size];
+            this.values = new Object[size];
+            int[] heads = new int[16];
+            int[] tails = new int[16];
+            for (final TupleCursor<?, ? extends V> cursor = input.cursor(); cursor.advance();) {
+                final int row = cursor.index();
+                final int id = keys.add(cursor.first());
+                if (id == heads.length) {
+                    heads = Arrays.copyOf(heads, id + (id >> 1));
+                    tails = Arrays.copyOf(tails, heads.length);
+                }
+                values[row] = cursor.last();
+                next[row] = -1;
+                if (heads[id] == 0) {
+                    heads[id] = row + 1;
+                } else {
+                    next[tails[id] - 1] = row;
+                }
+                tails[id] = row + 1;
+            }
+            this.heads = heads;
+        }
+
+        /**
+         * Return the first row with the given key, or {@code -1}.
+         */
+        int head(final Object key) {
+            final int id = keys.find(key);
+            return id < 0 ? -1 : heads[id] - 1;
+        }
+
+        /**
+         * Return the row following {@code row} with the same key, or {@code -1}.
+         */
+        int next(final int row) {
+            return next[row];
+        }
+
+        @SuppressWarnings("unchecked")
+        V value(final int row) {
+            return (V) values[row];
+        }
+    }
+}
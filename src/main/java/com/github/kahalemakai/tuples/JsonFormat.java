@@ -0,0 +1,517 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Streaming JSON encoding and decoding of {@code TupleList}s.
+ * <p>
+ * Two layouts are supported: {@link #pairs()} encodes a list as an array of two-element
+ * arrays, {@link #object()} as an object mapping the first elements (as strings) to the
+ * last elements:
+ * <pre>{@code
+ * [[1, "a"], [2, "b"]]
+ * {"1": "a", "2": "b"}
+ * }</pre>
+ * The writer appends each token to an {@code Appendable} as it goes, and the reader pulls
+ * characters from a {@code Reader} through a small buffer, converting each element to the
+ * {@code firstClass} or {@code lastClass} of the target list; neither holds the whole
+ * document in memory.
+ * <p>
+ * Numbers, booleans and {@code null} are written as JSON literals, all other values as
+ * strings of their {@code toString()} representation. When reading, boxed primitives,
+ * {@code BigDecimal} and {@code BigInteger} are accepted from numbers and strings,
+ * {@code String} (and its supertypes), {@code Character} and enums from strings only.
+ * Duplicate keys in the object layout are retained as separate tuples.
+ * <p>
+ * Reading is all-or-nothing: if the document is malformed, an {@code IllegalArgumentException}
+ * mentioning the offending character offset is thrown and the target list is left unchanged.
+ * The same holds if the reader fails with an {@code IOException} part way through.
+ */
+public final class JsonFormat {
+    private static final int BUFFER_SIZE = 1 << 13;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final boolean asObject;
+
+    private JsonFormat(final boolean asObject) {
+        this.asObject = asObject;
+    }
+
+    /**
+     * Return the format encoding a list as array of {@code [first, last]} arrays.
+     *
+     * @return {@code JsonFormat} instance
+     */
+    public static JsonFormat pairs() {
+        return new JsonFormat(false);
+    }
+
+    /**
+     * Return the format encoding a list as object of {@code "first": last} members.
+     *
+     * @return {@code JsonFormat} instance
+     */
+    public static JsonFormat object() {
+        return new JsonFormat(true);
+    }
+
+    /**
+     * Write all tuples of {@code tuples} to {@code out}.
+     *
+     * @param tuples list to write
+     * @param out destination of the JSON text
+     * @throws IOException if appending to {@code out} fails
+     * @throws IllegalArgumentException
+     *     if a number is not finite, or a first element is {@code null} in the object layout
+     */
+    public void write(final TupleList<?, ?> tuples, final Appendable out) throws IOException {
+        out.append(asObject ? '{' : '[');
+        boolean first = true;
+        for (final TupleCursor<?, ?> cursor = tuples.cursor(); cursor.advance();) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            if (asObject) {
+                if (cursor.first() == null) {
+                    throw new IllegalArgumentException("null cannot be written as object key. index: " + cursor.index());
+                }
+                string(cursor.first().toString(), out);
+                out.append(':');
+                value(cursor.last(), out);
+            } else {
+                out.append('[');
+                value(cursor.first(), out);
+                out.append(',');
+                value(cursor.last(), out);
+                out.append(']');
+            }
+        }
+        out.append(asObject ? '}' : ']');
+    }
+
+    /**
+     * Read a JSON document into a new {@code TupleList}.
+     *
+     * @param in source of the JSON text, which is not closed
+     * @param firstClass class of first element of all included tuples
+     * @param lastClass class of last element of all included tuples
+     * @param <S> type corresponding to {@code firstClass}
+     * @param <W> type corresponding to {@code lastClass}
+     * @return new {@code TupleList}
+     * @throws IOException if reading from {@code in} fails
+     * @throws IllegalArgumentException if the document is malformed or a class is not supported
+     */
+    public <S, W> TupleList<S, W> read(final Reader in, final Class<? extends S> firstClass,
+                                       final Class<? extends W> lastClass) throws IOException {
+        return read(in, TupleList.of(firstClass, lastClass));
+    }
+
+    /**
+     * Read a JSON document and append its tuples to {@code target}.
+     *
+     * @param in source of the JSON text, which is not closed
+     * @param target list to append the tuples to
+     * @param <T> type of the first elements
+     * @param <U> type of the last elements
+     * @return {@code target}
+     * @throws IOException if reading from {@code in} fails
+     * @throws IllegalArgumentException if the document is malformed or a class is not supported
+     */
+    public <T, U> TupleList<T, U> read(final Reader in, final TupleList<T, U> target) throws IOException {
+        final int len = target.size();
+        try {
+            new Parser(in, target.firstClass(), target.lastClass()).parse(target);
+        } catch (RuntimeException | IOException e) {
+            TupleListImpl.truncate(target, len);
+            throw e;
+        }
+        return target;
+    }
+
+    private static void value(final Object value, final Appendable out) throws IOException {
+        if (value == null || value instanceof Boolean) {
+            out.append(String.valueOf(value));
+        } else if (value instanceof Double || value instanceof Float) {
+            final double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                throw new IllegalArgumentException("cannot write non-finite number: " + value);
+            }
+            out.append(value.toString());
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger || value instanceof BigDecimal) {
+            out.append(value.toString());
+        } else {
+            string(value.toString(), out);
+        }
+    }
+
+    private static void string(final String s, final Appendable out) throws IOException {
+        out.append('"');
+        int run = 0;
+        for (int i = 0; i < s.length(); ++i) {
+            final char c = s.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            // append the characters not needing any escape in one go
+            out.append(s, run, i);
+            run = i + 1;
+            out.append('\\');
+            switch (c) {
+                case '"':
+                case '\\':
+                    out.append(c);
+                    break;
+                case '\n':
+                    out.append('n');
+                    break;
+                case '\r':
+                    out.append('r');
+                    break;
+                case '\t':
+                    out.append('t');
+                    break;
+                case '\b':
+                    out.append('b');
+                    break;
+                case '\f':
+                    out.append('f');
+                    break;
+                default:
+                    out.append('u').append('0').append('0').append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        out.append(s, run, s.length());
+        out.append('"');
+    }
+
+    /**
+     * Kinds of scalar JSON tokens.
+     */
+    private enum Kind {
+        STRING, NUMBER, TRUE, FALSE, NULL
+    }
+
+    /**
+     * Pull parser over a buffered {@code Reader}.
+     */
+    private final class Parser {
+        private final Reader in;
+        private final Class<?> firstClass;
+        private final Class<?> lastClass;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private final StringBuilder text = new StringBuilder();
+        private int pos;
+        private int limit;
+        private long offset;
+        private Kind kind;
+
+        Parser(final Reader in, final Class<?> firstClass, final Class<?> lastClass) {
+            this.in = in;
+            this.firstClass = firstClass;
+            this.lastClass = lastClass;
+            checkSupported(firstClass);
+            checkSupported(lastClass);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T, U> void parse(final TupleList<T, U> target) throws IOException {
+            final char close = asObject ? '}' : ']';
+            expect(asObject ? '{' : '[');
+            if (peek() == close) {
+                ++pos;
+            } else {
+                do {
+                    final Object first;
+                    final Object last;
+                    if (asObject) {
+                        if (peek() != '"') {
+                            throw error("expected '\"'");
+                        }
+                        first = scalar(firstClass);
+                        expect(':');
+                        last = scalar(lastClass);
+                    } else {
+                        expect('[');
+                        first = scalar(firstClass);
+                        expect(',');
+                        last = scalar(lastClass);
+                        expect(']');
+                    }
+                    target.add(Tuple.of((T) first, (U) last));
+                } while (next(',', close) == ',');
+            }
+            if (peek() != -1) {
+                throw error("unexpected content after document");
+            }
+        }
+
+        /**
+         * Read a scalar token and convert it to {@code clazz}.
+         */
+        private Object scalar(final Class<?> clazz) throws IOException {
+            final long start = offset + pos;
+            final int c = peek();
+            text.setLength(0);
+            if (c == '"') {
+                ++pos;
+                kind = Kind.STRING;
+                string();
+            } else if (c == '-' || c >= '0' && c <= '9') {
+                kind = Kind.NUMBER;
+                for (int d = c; d == '-' || d == '+' || d == '.' || d == 'e' || d == 'E' || d >= '0' && d <= '9'; d = read()) {
+                    text.append((char) d);
+                    ++pos;
+                }
+            } else if (c == 't' || c == 'f' || c == 'n') {
+                for (int d = c; d >= 'a' && d <= 'z'; d = read()) {
+                    text.append((char) d);
+                    ++pos;
+                }
+                kind = literal();
+            } else {
+                throw error(c == -1 ? "unexpected end of input" : "unexpected '" + (char) c + "'");
+            }
+            try {
+                return convert(clazz);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(e.getMessage() + " at character " + start);
+            }
+        }
+
+        private Kind literal() {
+            switch (text.toString()) {
+                case "true":
+                    return Kind.TRUE;
+                case "false":
+                    return Kind.FALSE;
+                case "null":
+                    return Kind.NULL;
+                default:
+                    throw error("unexpected '" + text + "'");
+            }
+        }
+
+        private void string() throws IOException {
+            while (true) {
+                final int c = read();
+                ++pos;
+                if (c == '"') {
+                    return;
+                }
+                if (c == -1 || c < 0x20) {
+                    throw error(c == -1 ? "unterminated string" : "unescaped control character in string");
+                }
+                if (c != '\\') {
+                    text.append((char) c);
+                    continue;
+                }
+                final int e = read();
+                ++pos;
+                switch (e) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        text.append((char) e);
+                        break;
+                    case 'n':
+                        text.append('\n');
+                        break;
+                    case 'r':
+                        text.append('\r');
+                        break;
+                    case 't':
+                        text.append('\t');
+                        break;
+                    case 'b':
+                        text.append('\b');
+                        break;
+                    case 'f':
+                        text.append('\f');
+                        break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; ++i) {
+                            final int digit = Character.digit(read(), 16);
+                            ++pos;
+                            if (digit < 0) {
+                                throw error("invalid unicode escape");
+                            }
+                            code = code << 4 | digit;
+                        }
+                        text.append((char) code);
+                        break;
+                    default:
+                        throw error("invalid escape");
+                }
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object convert(final Class<?> clazz) {
+            if (kind == Kind.NULL) {
+                return null;
+            }
+            if (clazz == Long.class) {
+                return parseLong(Long.MIN_VALUE, Long.MAX_VALUE);
+            }
+            if (clazz == Integer.class) {
+                return (int) parseLong(Integer.MIN_VALUE, Integer.MAX_VALUE);
+            }
+            if (clazz == Short.class) {
+                return (short) parseLong(Short.MIN_VALUE, Short.MAX_VALUE);
+            }
+            if (clazz == Byte.class) {
+                return (byte) parseLong(Byte.MIN_VALUE, Byte.MAX_VALUE);
+            }
+            if (clazz == Double.class) {
+                return Double.parseDouble(number());
+            }
+            if (clazz == Float.class) {
+                return Float.parseFloat(number());
+            }
+            if (clazz == BigDecimal.class) {
+                return new BigDecimal(number());
+            }
+            if (clazz == BigInteger.class) {
+                return new BigInteger(number());
+            }
+            if (clazz == Boolean.class) {
+                if (kind == Kind.TRUE || kind == Kind.STRING && "true".contentEquals(text)) {
+                    return Boolean.TRUE;
+                }
+                if (kind == Kind.FALSE || kind == Kind.STRING && "false".contentEquals(text)) {
+                    return Boolean.FALSE;
+                }
+                throw new IllegalArgumentException("expected boolean. got: " + text);
+            }
+            if (kind != Kind.STRING) {
+                throw new IllegalArgumentException("expected string. got: " + text);
+            }
+            if (clazz == Character.class) {
+                if (text.length() != 1) {
+                    throw new IllegalArgumentException("not a single character: '" + text + "'");
+                }
+                return text.charAt(0);
+            }
+            if (clazz.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) clazz, text.toString());
+            }
+            return text.toString();
+        }
+
+        private String number() {
+            if (kind != Kind.NUMBER && kind != Kind.STRING) {
+                throw new IllegalArgumentException("expected number. got: " + text);
+            }
+            return text.toString();
+        }
+
+        /**
+         * Parse the current token as decimal integer in {@code [min, max]}, without creating a {@code String}.
+         */
+        private long parseLong(final long min, final long max) {
+            if (kind != Kind.NUMBER && kind != Kind.STRING) {
+                throw new IllegalArgumentException("expected number. got: " + text);
+            }
+            final int length = text.length();
+            final boolean negative = length > 0 && text.charAt(0) == '-';
+            int i = negative ? 1 : 0;
+            if (i == length) {
+                throw new IllegalArgumentException("not a number: '" + text + "'");
+            }
+            final long limit = negative ? min : -max;
+            long result = 0;
+            for (; i < length; ++i) {
+                final int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new IllegalArgumentException("not an integral number: '" + text + "'");
+                }
+                if (result < (limit + digit) / 10) {
+                    throw new IllegalArgumentException("number out of range: '" + text + "'");
+                }
+                result = result * 10 - digit;
+            }
+            return negative ? result : -result;
+        }
+
+        private void expect(final char expected) throws IOException {
+            if (peek() != expected) {
+                throw error("expected '" + expected + "'");
+            }
+            ++pos;
+        }
+
+        private int next(final char a, final char b) throws IOException {
+            final int c = peek();
+            if (c != a && c != b) {
+                throw error("expected '" + a + "' or '" + b + "'");
+            }
+            ++pos;
+            return c;
+        }
+
+        /**
+         * Skip whitespace and return the next character without consuming it, or {@code -1} at the end.
+         */
+        private int peek() throws IOException {
+            int c = read();
+            while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                ++pos;
+                c = read();
+            }
+            return c;
+        }
+
+        /**
+         * Return the character at the current position without consuming it, or {@code -1} at the end.
+         */
+        private int read() throws IOException {
+            if (pos == limit) {
+                offset += limit;
+                pos = 0;
+                limit = Math.max(0, in.read(buffer));
+                if (limit == 0) {
+                    return -1;
+                }
+            }
+            return buffer[pos];
+        }
+
+        private IllegalArgumentException error(final String msg) {
+            return new IllegalArgumentException(msg + " at character " + (offset + pos));
+        }
+    }
+
+    private static void checkSupported(final Class<?> clazz) {
+        if (clazz == Long.class || clazz == Integer.class || clazz == Short.class || clazz == Byte.class
+                || clazz == Double.class || clazz == Float.class || clazz == BigDecimal.class || clazz == BigInteger.class
+                || clazz == Boolean.class || clazz == Character.class || clazz.isEnum()
+                || clazz.isAssignableFrom(String.class)) {
+            return;
+        }
+        throw new IllegalArgumentException("cannot read values of " + clazz.getName());
+    }
+}
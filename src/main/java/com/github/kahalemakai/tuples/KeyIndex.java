@@ -0,0 +1,152 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Open-addressing hash index assigning dense ids to keys.
+ * <p>
+ * Ids are handed out in insertion order, starting at 0, so they can be used
+ * to address parallel arrays of per-key state (accumulators, row lists, ...).
+ * The table uses linear probing over an {@code int[]} of ids and caches each
+ * key's hash, so that neither lookups nor insertions allocate. {@code null}
+ * is a valid key.
+ */
+final class KeyIndex {
+    private static final int MIN_CAPACITY = 16;
+
+    /** id + 1 for occupied slots, 0 for free ones */
+    private int[] slots;
+    private Object[] keys;
+    private int[] hashes;
+    private int size;
+    private int mask;
+
+    KeyIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    KeyIndex(final int expectedSize) {
+        final int capacity = tableSizeFor(expectedSize);
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        this.keys = new Object[Math.max(MIN_CAPACITY, expectedSize)];
+        this.hashes = new int[keys.length];
+    }
+
+    /**
+     * Return the number of distinct keys.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Return the estimated size of the index, counting each key with {@code keySizer}.
+     */
+    long estimatedBytes(final ToLongFunction<Object> keySizer) {
+        return Footprint.object(3, 2 * Integer.BYTES) + Footprint.array(slots.length, Integer.BYTES)
+                + Footprint.referenceArray(keys.length) + Footprint.array(hashes.length, Integer.BYTES)
+                + Footprint.elements(keys, 0, size, keySizer);
+    }
+
+    /**
+     * Return the key associated with {@code id}.
+     */
+    Object key(final int id) {
+        return keys[id];
+    }
+
+    /**
+     * Return the id of {@code key}, or {@code -1} if it is absent.
+     */
+    int find(final Object key) {
+        final int hash = hash(key);
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            final int slot = slots[i];
+            if (slot == 0) {
+                return -1;
+            }
+            final int id = slot - 1;
+            if (hashes[id] == hash && Objects.equals(keys[id], key)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Return the id of {@code key}, assigning the next free id if it is absent.
+     * Whether the key has been added can be told by comparing {@code size()}
+     * before and after the call.
+     */
+    int add(final Object key) {
+        final int hash = hash(key);
+        int i = hash & mask;
+        for (int slot = slots[i]; slot != 0; slot = slots[i]) {
+            final int id = slot - 1;
+            if (hashes[id] == hash && Objects.equals(keys[id], key)) {
+                return id;
+            }
+            i = (i + 1) & mask;
+        }
+        final int id = size++;
+        if (id == keys.length) {
+            final int newLength = keys.length + (keys.length >> 1);
+            keys = Arrays.copyOf(keys, newLength);
+            hashes = Arrays.copyOf(hashes, newLength);
+        }
+        keys[id] = key;
+        hashes[id] = hash;
+        slots[i] = id + 1;
+        if (size > (slots.length >> 1)) {
+            rehash(slots.length << 1);
+        }
+        return id;
+    }
+
+    private void rehash(final int capacity) {
+        slots = new int[capacity];
+        mask = capacity - 1;
+        for (int id = 0; id < size; ++id) {
+            int i = hashes[id] & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = id + 1;
+        }
+    }
+
+    static int hash(final Object key) {
+        final int h = key == null ? 0 : key.hashCode();
+        // spread the bits, as linear probing is sensitive to clustered hashes
+        final int x = h * 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < (1 << 30) && capacity < (long) expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
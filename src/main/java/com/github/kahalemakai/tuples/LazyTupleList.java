@@ -0,0 +1,463 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Read-only view of a {@code TupleList} that maps and filters its tuples on access.
+ * <p>
+ * Consecutive transformations are not nested, but appended to a single pipeline of
+ * stages over the source list. The stages pass the elements of a row on via a reused
+ * {@link MutableTuple}, so that traversing the view with a cursor or {@code forEach}
+ * only allocates what the mapping functions return. {@link #iterator()} only allocates
+ * the resulting {@code Tuple}, and {@link #get(int)} a {@code MutableTuple} for the row as well.
+ * <p>
+ * Views without filters have the size of their source and support positional access
+ * in the time of the source's; they implement {@code RandomAccess} if their source does.
+ * Filtered views compute their size and locate rows by traversing the source.
+ */
+class LazyTupleList<T, U> extends AbstractList<Tuple<T, U>> implements TupleList<T, U> {
+    private final TupleList<?, ?> source;
+    private final Stage[] stages;
+    private final boolean filtered;
+    private final Class<?> firstClass;
+    private final Class<?> lastClass;
+
+    private LazyTupleList(final TupleList<?, ?> source, final Stage[] stages,
+                          final Class<?> firstClass, final Class<?> lastClass) {
+        this.source = source;
+        this.stages = stages;
+        this.firstClass = firstClass;
+        this.lastClass = lastClass;
+        this.filtered = isFiltered(stages);
+    }
+
+    /**
+     * Create a view applying {@code stage} to the tuples of {@code source}.
+     */
+    static <T, U> TupleList<T, U> of(final TupleList<?, ?> source, final Stage stage,
+                                     final Class<?> firstClass, final Class<?> lastClass) {
+        if (source instanceof LazyTupleList) {
+            return ((LazyTupleList<?, ?>) source).then(stage, firstClass, lastClass);
+        }
+        return create(source, new Stage[] {stage}, firstClass, lastClass);
+    }
+
+    private static <T, U> LazyTupleList<T, U> create(final TupleList<?, ?> source, final Stage[] stages,
+                                                     final Class<?> firstClass, final Class<?> lastClass) {
+        if (source instanceof RandomAccess && !isFiltered(stages)) {
+            return new RandomAccessView<>(source, stages, firstClass, lastClass);
+        }
+        return new LazyTupleList<>(source, stages, firstClass, lastClass);
+    }
+
+    private static boolean isFiltered(final Stage[] stages) {
+        for (final Stage stage : stages) {
+            if (stage instanceof Filter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <R, S> TupleList<R, S> then(final Stage stage, final Class<?> firstClass, final Class<?> lastClass) {
+        final Stage[] next = Arrays.copyOf(stages, stages.length + 1);
+        next[stages.length] = stage;
+        return create(source, next, firstClass, lastClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Stage mappingFirst(final Function<?, ?> mapper) {
+        final Function<Object, Object> f = (Function<Object, Object>) Objects.requireNonNull(mapper);
+        return row -> {
+            row.first(f.apply(row.first()));
+            return true;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static Stage mappingLast(final Function<?, ?> mapper) {
+        final Function<Object, Object> f = (Function<Object, Object>) Objects.requireNonNull(mapper);
+        return row -> {
+            row.last(f.apply(row.last()));
+            return true;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static Stage mappingToTuple(final BiFunction<?, ?, ? extends Tuple<?, ?>> mapper) {
+        final BiFunction<Object, Object, ? extends Tuple<?, ?>> f =
+                (BiFunction<Object, Object, ? extends Tuple<?, ?>>) Objects.requireNonNull(mapper);
+        return row -> {
+            final Tuple<?, ?> tuple = f.apply(row.first(), row.last());
+            row.set(tuple.first(), tuple.last());
+            return true;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static Stage filtering(final BiPredicate<?, ?> predicate) {
+        return new Filter((BiPredicate<Object, Object>) Objects.requireNonNull(predicate));
+    }
+
+    private boolean apply(final MutableTuple<Object, Object> row) {
+        return apply(stages, row);
+    }
+
+    /**
+     * Run a pipeline on the elements held by {@code row}.
+     *
+     * @return whether the row passed all filters
+     */
+    static boolean apply(final Stage[] stages, final MutableTuple<Object, Object> row) {
+        for (final Stage stage : stages) {
+            if (!stage.apply(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Tuple<T, U> tuple(final MutableTuple<Object, Object> row) {
+        return Tuple.of((T) row.first(), (U) row.last());
+    }
+
+    @Override
+    public int size() {
+        if (!filtered) {
+            return source.size();
+        }
+        int size = 0;
+        for (final Cursor cursor = new Cursor(); cursor.advance();) {
+            ++size;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return filtered ? !new Cursor().advance() : source.isEmpty();
+    }
+
+    @Override
+    public Tuple<T, U> get(final int index) {
+        if (!filtered) {
+            final Tuple<?, ?> tuple = source.get(index);
+            final MutableTuple<Object, Object> row = MutableTuple.of(tuple.first(), tuple.last());
+            apply(row);
+            return tuple(row);
+        }
+        if (index >= 0) {
+            final Cursor cursor = new Cursor();
+            while (cursor.advance()) {
+                if (cursor.index() == index) {
+                    return tuple(cursor.row);
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException(AbstractTupleList.outOfBoundsMsg(index, size()));
+    }
+
+    @Override
+    public int indexOf(final Object o) {
+        int i = 0;
+        for (final Tuple<T, U> tuple : this) {
+            if (Objects.equals(o, tuple)) {
+                return i;
+            }
+            ++i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(final Object o) {
+        int index = -1;
+        int i = 0;
+        for (final Tuple<T, U> tuple : this) {
+            if (Objects.equals(o, tuple)) {
+                index = i;
+            }
+            ++i;
+        }
+        return index;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof List)) {
+            return false;
+        }
+        // AbstractList compares by list iterators, which would locate each row of a filtered view anew
+        final Iterator<?> it = ((List<?>) o).iterator();
+        for (final Tuple<T, U> tuple : this) {
+            if (!it.hasNext() || !Objects.equals(tuple, it.next())) {
+                return false;
+            }
+        }
+        return !it.hasNext();
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    @Override
+    public Iterator<Tuple<T, U>> iterator() {
+        return new Iterator<Tuple<T, U>>() {
+            private final Cursor cursor = new Cursor();
+            private boolean hasNext = cursor.advance();
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public Tuple<T, U> next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                final Tuple<T, U> tuple = tuple(cursor.row);
+                hasNext = cursor.advance();
+                return tuple;
+            }
+        };
+    }
+
+    @Override
+    public TupleCursor<T, U> cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(final BiConsumer<? super T, ? super U> action) {
+        Objects.requireNonNull(action);
+        for (final Cursor cursor = new Cursor(); cursor.advance();) {
+            action.accept((T) cursor.row.first(), (U) cursor.row.last());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The source is traversed once, so each stage runs exactly once per row. Views with
+     * filters append the rows passing them to a growing list, which is trimmed to size once at the end.
+     */
+    @Override
+    public TupleList<T, U> materialize() {
+        final TupleListImpl<T, U> result = new TupleListImpl<>(firstClass(), lastClass(), filtered ? 0 : source.size());
+        for (final Cursor cursor = new Cursor(); cursor.advance();) {
+            result.add(tuple(cursor.row));
+        }
+        if (filtered) {
+            result.trimToSize();
+        }
+        return result;
+    }
+
+    @Override
+    public TupleList<T, U> subList(final int fromIndex, final int toIndex) {
+        if (!filtered) {
+            return create(source.subList(fromIndex, toIndex), stages, firstClass, lastClass);
+        }
+        AbstractTupleList.subListRangeCheck(fromIndex, toIndex, size());
+        if (fromIndex == toIndex) {
+            return create(source.subList(0, 0), stages, firstClass, lastClass);
+        }
+        // the rows in between are filtered just the same when viewed through a sublist of the source
+        int from = -1;
+        int to = -1;
+        for (final Cursor cursor = new Cursor(); to < 0 && cursor.advance();) {
+            if (cursor.index() == fromIndex) {
+                from = cursor.sourceIndex();
+            }
+            if (cursor.index() == toIndex - 1) {
+                to = cursor.sourceIndex() + 1;
+            }
+        }
+        return create(source.subList(from, to), stages, firstClass, lastClass);
+    }
+
+    @Override
+    public TupleList<T, U> alike() {
+        return TupleList.of(firstClass(), lastClass());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<? extends T> firstClass() {
+        return (Class<? extends T>) firstClass;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<? extends U> lastClass() {
+        return (Class<? extends U>) lastClass;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Views do not store any tuples and are accounted for with {@code 0} bytes.
+     */
+    @Override
+    public long estimatedRetainedBytes(final ToLongFunction<Object> elementSizer) {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return toString(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public TupleList<T, U> slurp(final Iterable<?> iterable) throws IllegalArgumentException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TupleList<T, U> fromMap(final Map<T, U> map) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TupleList<T, U> zip(final Iterable<? extends T> first, final Iterable<? extends U> last) throws IllegalArgumentException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void replaceFirstElements(final List<? extends T> list) throws IllegalArgumentException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void replaceLastElements(final List<? extends U> list) throws IllegalArgumentException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean dedupe() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean dedupeByFirst(final boolean keepFirst) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A step of the pipeline, transforming the elements of a row in place.
+     */
+    @FunctionalInterface
+    interface Stage {
+        /**
+         * @return {@code false} if the row is to be dropped
+         */
+        boolean apply(MutableTuple<Object, Object> row);
+    }
+
+    private static final class Filter implements Stage {
+        private final BiPredicate<Object, Object> predicate;
+
+        Filter(final BiPredicate<Object, Object> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean apply(final MutableTuple<Object, Object> row) {
+            return predicate.test(row.first(), row.last());
+        }
+    }
+
+    private static final class RandomAccessView<T, U> extends LazyTupleList<T, U> implements RandomAccess {
+        RandomAccessView(final TupleList<?, ?> source, final Stage[] stages,
+                         final Class<?> firstClass, final Class<?> lastClass) {
+            super(source, stages, firstClass, lastClass);
+        }
+    }
+
+    /**
+     * Cursor over the rows passing the pipeline, reading from a cursor over the source.
+     */
+    private final class Cursor implements TupleCursor<T, U> {
+        private final TupleCursor<?, ?> rows = source.cursor();
+        private final MutableTuple<Object, Object> row = new MutableTuple<>();
+        private int index = -1;
+        private int count;
+        private boolean valid;
+
+        @Override
+        public boolean advance() {
+            while (rows.advance()) {
+                row.set(rows.first(), rows.last());
+                if (apply(row)) {
+                    index = count++;
+                    valid = true;
+                    return true;
+                }
+            }
+            index = count;
+            valid = false;
+            row.set(null, null);
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T first() {
+            checkRow();
+            return (T) row.first();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public U last() {
+            checkRow();
+            return (U) row.last();
+        }
+
+        @Override
+        public int index() {
+            return index;
+        }
+
+        int sourceIndex() {
+            return rows.index();
+        }
+
+        private void checkRow() {
+            if (!valid) {
+                throw new IllegalStateException("cursor does not point to a tuple. index: " + index);
+            }
+        }
+    }
+}
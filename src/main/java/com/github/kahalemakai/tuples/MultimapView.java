@@ -0,0 +1,176 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.*;
+import java.util.function.IntSupplier;
+
+/**
+ * Read-only view of a {@code TupleList} as a map from each first element
+ * to the list of its last elements.
+ * <p>
+ * The view is backed by a compact index in compressed sparse row layout:
+ * the row ids of all groups are stored consecutively in a single {@code int[]},
+ * and the group of key id {@code k} spans {@code rows[offsets[k]] ... rows[offsets[k + 1] - 1]}.
+ * The index is built in O(n) on first access and rebuilt lazily whenever the
+ * underlying list's modification count has changed. Group lists handed out
+ * before a rebuild throw a {@code ConcurrentModificationException} when accessed
+ * afterwards.
+ *
+ * @param <K> type of the keys, i.e. first elements
+ * @param <V> type of the values, i.e. last elements
+ */
+final class MultimapView<K, V> extends AbstractMap<K, List<V>> {
+    private final TupleList<K, V> tuples;
+    private final IntSupplier version;
+    private Index index;
+    private Set<Entry<K, List<V>>> entrySet;
+
+    MultimapView(final TupleList<K, V> tuples, final IntSupplier version) {
+        this.tuples = tuples;
+        this.version = version;
+    }
+
+    @Override
+    public int size() {
+        return index().keys.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return index().keys.find(key) >= 0;
+    }
+
+    @Override
+    public List<V> get(final Object key) {
+        final Index index = index();
+        final int id = index.keys.find(key);
+        return id < 0 ? null : new Group(index, id);
+    }
+
+    @Override
+    public Set<Entry<K, List<V>>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<K, List<V>>>() {
+                @Override
+                public int size() {
+                    return MultimapView.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<K, List<V>>> iterator() {
+                    final Index index = index();
+                    return new Iterator<Entry<K, List<V>>>() {
+                        private int id = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return id < index.keys.size();
+                        }
+
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public Entry<K, List<V>> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final Group group = new Group(index, id++);
+                            return new SimpleImmutableEntry<>((K) index.keys.key(group.id), group);
+                        }
+                    };
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private Index index() {
+        final int expectedModCount = version.getAsInt();
+        if (index == null || index.modCount != expectedModCount) {
+            index = new Index(tuples, expectedModCount);
+        }
+        return index;
+    }
+
+    /**
+     * Grouped row ids of the list at a given modification count.
+     */
+    private static final class Index {
+        final int modCount;
+        final KeyIndex keys = new KeyIndex();
+        final int[] offsets;
+        final int[] rows;
+
+        Index(final TupleList<?, ?> tuples, final int modCount) {
+            this.modCount = modCount;
+            final int size = tuples.size();
+            final int[] ids = new int[size];
+            int[] counts = new int[16];
+            for (final TupleCursor<?, ?> cursor = tuples.cursor(); cursor.advance();) {
+                final int id = keys.add(cursor.first());
+                if (id == counts.length) {
+                    counts = Arrays.copyOf(counts, id + (id >> 1));
+                }
+                ids[cursor.index()] = id;
+                counts[id]++;
+            }
+            final int numKeys = keys.size();
+            offsets = new int[numKeys + 1];
+            for (int id = 0; id < numKeys; ++id) {
+                offsets[id + 1] = offsets[id] + counts[id];
+            }
+            // reuse the counts as insertion positions
+            System.arraycopy(offsets, 0, counts, 0, numKeys);
+            rows = new int[size];
+            for (int row = 0; row < size; ++row) {
+                rows[counts[ids[row]]++] = row;
+            }
+        }
+    }
+
+    private final class Group extends AbstractList<V> implements RandomAccess {
+        private final Index index;
+        private final int id;
+
+        Group(final Index index, final int id) {
+            this.index = index;
+            this.id = id;
+        }
+
+        @Override
+        public V get(final int i) {
+            if (i < 0 || i >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size());
+            }
+            checkForComodification();
+            return tuples.get(index.rows[index.offsets[id] + i]).last();
+        }
+
+        @Override
+        public int size() {
+            return index.offsets[id + 1] - index.offsets[id];
+        }
+
+        private void checkForComodification() {
+            if (version.getAsInt() != index.modCount) {
+                throw Instrumentation.concurrentModification();
+            }
+        }
+    }
+}
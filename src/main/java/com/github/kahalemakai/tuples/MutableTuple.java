@@ -0,0 +1,124 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.util.Objects;
+
+/**
+ * A mutable pair, meant to be reused as a flyweight in hot loops.
+ * <p>
+ * {@code TupleList} methods accepting a {@code MutableTuple} only copy
+ * its elements and never retain the instance itself. Contrary to
+ * {@link Tuple}, equality is identity based, since the elements may
+ * change at any time. Use {@link #freeze()} to obtain an immutable copy.
+ */
+@Getter
+@Setter
+@Accessors(fluent = true)
+@NoArgsConstructor
+@AllArgsConstructor(staticName = "of")
+public final class MutableTuple<T, U> implements NTuple {
+
+    private static final String ERROR_MSG = "expected: index in (0, 1). got: ";
+
+    /**
+     * Get or set the first element of the {@code MutableTuple}.
+     */
+    private T first;
+
+    /**
+     * Get or set the second element of the {@code MutableTuple}.
+     */
+    private U last;
+
+    /**
+     * Set both elements at once.
+     *
+     * @param first the new first element
+     * @param last the new second element
+     * @return the {@code MutableTuple} instance
+     */
+    public MutableTuple<T, U> set(final T first, final U last) {
+        this.first = first;
+        this.last = last;
+        return this;
+    }
+
+    /**
+     * Copy both elements from a {@code Tuple}.
+     *
+     * @param tuple tuple to copy the elements from
+     * @return the {@code MutableTuple} instance
+     */
+    public MutableTuple<T, U> set(final Tuple<? extends T, ? extends U> tuple) {
+        return set(tuple.first(), tuple.last());
+    }
+
+    /**
+     * Return an immutable {@code Tuple} holding the current elements.
+     *
+     * @return new {@code Tuple} instance
+     */
+    public Tuple<T, U> freeze() {
+        return Tuple.of(first, last);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + first + ", " + last + ")";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        return Objects.equals(first, o) || Objects.equals(last, o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object get(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return last;
+            default:
+                throw new IllegalArgumentException(ERROR_MSG + index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int arity() {
+        return 2;
+    }
+
+}
@@ -1,5 +1,8 @@
 package com.github.kahalemakai.tuples;
 
+import java.io.IOException;
+import java.util.function.Function;
+
 /**
  * Allow for retrieval of arbitrary tuple elements.
  */
@@ -27,4 +30,72 @@ public interface NTuple {
      *     whether object is present or not
      */
     boolean contains(Object o);
+
+    /**
+     * Return the number of elements of the tuple.
+     * <p>
+     * The default implementation probes {@link #get(int)} until it fails,
+     * implementations should override it with a constant.
+     *
+     * @return number of tuple elements
+     */
+    default int arity() {
+        int arity = 0;
+        try {
+            while (true) {
+                get(arity);
+                ++arity;
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            return arity;
+        }
+    }
+
+    /**
+     * Append a string representation of the tuple to {@code out}, in the same
+     * format as {@code toString()}, e.g. {@code (a, 1)}.
+     *
+     * @param out destination of the representation
+     * @param <A> type of {@code out}
+     * @return {@code out}
+     * @throws IOException if appending to {@code out} fails
+     */
+    default <A extends Appendable> A appendTo(final A out) throws IOException {
+        out.append('(');
+        final int arity = arity();
+        for (int i = 0; i < arity; ++i) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(String.valueOf(get(i)));
+        }
+        out.append(')');
+        return out;
+    }
+
+    /**
+     * Return a comparator ordering tuples by the element at {@code index}.
+     * <p>
+     * Elements are looked up via {@link #get(int)}. For {@code Tuple}, {@code Triplet}
+     * and {@code Quadruple}, prefer the position-specific factories such as
+     * {@link Tuple#byFirst()}, which access the elements directly.
+     *
+     * @param index the tuple position to compare
+     * @param <E> the tuple type
+     * @return comparator using the natural order of the element at {@code index}
+     */
+    static <E extends NTuple> TupleComparator<E> byPosition(final int index) {
+        return new TupleComparator.ByIndex<>(index, null, TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a function projecting tuples onto the element at {@code index}.
+     *
+     * @param index the tuple position to project onto
+     * @param <E> the tuple type
+     * @return projection onto the element at {@code index}
+     */
+    static <E extends NTuple> Function<E, Object> toPosition(final int index) {
+        return tuple -> tuple.get(index);
+    }
 }
@@ -23,6 +23,10 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+
 /**
  * A typed {@code Quadruple} class.
  */
@@ -33,6 +37,11 @@ public final class Quadruple<T, U, V, W> implements NTuple {
 
     private static final String ERROR_MSG = "expected: index in (0, 1, 2, 3). got: ";
 
+    private static final Function<Quadruple<?, ?, ?, ?>, ?> TO_FIRST = Quadruple::first;
+    private static final Function<Quadruple<?, ?, ?, ?>, ?> TO_SECOND = Quadruple::second;
+    private static final Function<Quadruple<?, ?, ?, ?>, ?> TO_THIRD = Quadruple::third;
+    private static final Function<Quadruple<?, ?, ?, ?>, ?> TO_LAST = Quadruple::last;
+
     /**
      * Get the first element of the {@code Quadruple}.
      *
@@ -65,9 +74,150 @@ public final class Quadruple<T, U, V, W> implements NTuple {
     @Getter
     final private W last;
 
+    /**
+     * Return a comparator ordering {@code Quadruple} instances by their first element.
+     *
+     * @return comparator using the natural order of the first element
+     */
+    public static <T extends Comparable<? super T>, U, V, W> TupleComparator<Quadruple<T, U, V, W>> byFirst() {
+        return TupleComparator.natural(TupleComparator.QuadrupleFirst.NATURAL);
+    }
+
+    /**
+     * Return a comparator ordering {@code Quadruple} instances by their first element.
+     *
+     * @param order order of the first element
+     * @return comparator using {@code order} on the first element
+     */
+    public static <T, U, V, W> TupleComparator<Quadruple<T, U, V, W>> byFirst(final Comparator<? super T> order) {
+        return new TupleComparator.QuadrupleFirst<>(Objects.requireNonNull(order), TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a comparator ordering {@code Quadruple} instances by their second element.
+     *
+     * @return comparator using the natural order of the second element
+     */
+    public static <T, U extends Comparable<? super U>, V, W> TupleComparator<Quadruple<T, U, V, W>> bySecond() {
+        return TupleComparator.natural(TupleComparator.QuadrupleSecond.NATURAL);
+    }
+
+    /**
+     * Return a comparator ordering {@code Quadruple} instances by their second element.
+     *
+     * @param order order of the second element
+     * @return comparator using {@code order} on the second element
+     */
+    public static <T, U, V, W> TupleComparator<Quadruple<T, U, V, W>> bySecond(final Comparator<? super U> order) {
+        return new TupleComparator.QuadrupleSecond<>(Objects.requireNonNull(order), TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a comparator ordering {@code Quadruple} instances by their third element.
+     *
+     * @return comparator using the natural order of the third element
+     */
+    public static <T, U, V extends Comparable<? super V>, W> TupleComparator<Quadruple<T, U, V, W>> byThird() {
+        return TupleComparator.natural(TupleComparator.QuadrupleThird.NATURAL);
+    }
+
+    /**
+     * Return a comparator ordering {@code Quadruple} instances by their third element.
+     *
+     * @param order order of the third element
+     * @return comparator using {@code order} on the third element
+     */
+    public static <T, U, V, W> TupleComparator<Quadruple<T, U, V, W>> byThird(final Comparator<? super V> order) {
+        return new TupleComparator.QuadrupleThird<>(Objects.requireNonNull(order), TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a comparator ordering {@code Quadruple} instances by their fourth element.
+     *
+     * @return comparator using the natural order of the fourth element
+     */
+    public static <T, U, V, W extends Comparable<? super W>> TupleComparator<Quadruple<T, U, V, W>> byLast() {
+        return TupleComparator.natural(TupleComparator.QuadrupleLast.NATURAL);
+    }
+
+    /**
+     * Return a comparator ordering {@code Quadruple} instances by their fourth element.
+     *
+     * @param order order of the fourth element
+     * @return comparator using {@code order} on the fourth element
+     */
+    public static <T, U, V, W> TupleComparator<Quadruple<T, U, V, W>> byLast(final Comparator<? super W> order) {
+        return new TupleComparator.QuadrupleLast<>(Objects.requireNonNull(order), TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a comparator ordering {@code Quadruple} instances by the element at {@code index}.
+     * <p>
+     * The position is resolved once, so the comparator is the same
+     * as the one returned by the position-specific factory.
+     *
+     * @param index the tuple position to compare, in range (0, 1, 2, 3)
+     * @return comparator using the natural order of the element at {@code index}
+     * @throws IllegalArgumentException if {@code index} is out of range
+     */
+    public static <T, U, V, W> TupleComparator<Quadruple<T, U, V, W>> byPosition(final int index) {
+        switch (index) {
+            case 0:
+                return TupleComparator.natural(TupleComparator.QuadrupleFirst.NATURAL);
+            case 1:
+                return TupleComparator.natural(TupleComparator.QuadrupleSecond.NATURAL);
+            case 2:
+                return TupleComparator.natural(TupleComparator.QuadrupleThird.NATURAL);
+            case 3:
+                return TupleComparator.natural(TupleComparator.QuadrupleLast.NATURAL);
+            default:
+                throw new IllegalArgumentException(ERROR_MSG + index);
+        }
+    }
+
+    /**
+     * Return a function projecting {@code Quadruple} instances onto their first element.
+     *
+     * @return projection onto the first element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U, V, W> Function<Quadruple<T, U, V, W>, T> toFirst() {
+        return (Function<Quadruple<T, U, V, W>, T>) (Function<?, ?>) TO_FIRST;
+    }
+
+    /**
+     * Return a function projecting {@code Quadruple} instances onto their second element.
+     *
+     * @return projection onto the second element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U, V, W> Function<Quadruple<T, U, V, W>, U> toSecond() {
+        return (Function<Quadruple<T, U, V, W>, U>) (Function<?, ?>) TO_SECOND;
+    }
+
+    /**
+     * Return a function projecting {@code Quadruple} instances onto their third element.
+     *
+     * @return projection onto the third element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U, V, W> Function<Quadruple<T, U, V, W>, V> toThird() {
+        return (Function<Quadruple<T, U, V, W>, V>) (Function<?, ?>) TO_THIRD;
+    }
+
+    /**
+     * Return a function projecting {@code Quadruple} instances onto their fourth element.
+     *
+     * @return projection onto the fourth element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U, V, W> Function<Quadruple<T, U, V, W>, W> toLast() {
+        return (Function<Quadruple<T, U, V, W>, W>) (Function<?, ?>) TO_LAST;
+    }
+
     @Override
     public String toString() {
-        return String.format("(%s, %s, %s, %s)", first, second, third, last);
+        return "(" + first + ", " + second + ", " + third + ", " + last + ")";
     }
 
     /**
@@ -86,18 +236,25 @@ public final class Quadruple<T, U, V, W> implements NTuple {
      */
     @Override
     public Object get(int index) {
-        if (index == 0) {
-            return first;
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            case 3:
+                return last;
+            default:
+                throw new IllegalArgumentException(ERROR_MSG + index);
         }
-        else if (index == 1) {
-            return second;
-        }
-        else if (index == 2) {
-            return third;
-        }
-        else if (index == 3) {
-            return last;
-        }
-        throw new IllegalArgumentException(ERROR_MSG + index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int arity() {
+        return 4;
     }
 }
@@ -0,0 +1,261 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A type-safe, compile-time checked list of quadruples.
+ * <p>
+ * The default implementation stores each quadruple position in a separate
+ * column, so that quadruples are only materialized when requested.
+ */
+public interface QuadrupleList<T, U, V, W> extends List<Quadruple<T, U, V, W>> {
+
+    /**
+     * Convert elements from an iterable into quadruples and put them to the {@code QuadrupleList}.
+     *
+     * @param iterable iterable whose length is a multiple of 4
+     * @return the {@code QuadrupleList} instance
+     * @throws IllegalArgumentException if {@code iterable}'s length is not a multiple of 4 or
+     * {@code iterable} is not a sequence of types {@code T, U, V, W}
+     */
+    QuadrupleList<T, U, V, W> slurp(final Iterable<?> iterable) throws IllegalArgumentException;
+
+    /**
+     * Zip elements from four iterables into quadruples and put them to the {@code QuadrupleList}.
+     *
+     * @param first iterable whose elements are used as first elements in the quadruples
+     * @param second iterable whose elements are used as second elements in the quadruples
+     * @param third iterable whose elements are used as third elements in the quadruples
+     * @param last iterable whose elements are used as fourth elements in the quadruples
+     * @return the {@code QuadrupleList} instance
+     * @throws IllegalArgumentException if iterables are of different length
+     */
+    QuadrupleList<T, U, V, W> zip(final Iterable<? extends T> first,
+                                  final Iterable<? extends U> second,
+                                  final Iterable<? extends V> third,
+                                  final Iterable<? extends W> last) throws IllegalArgumentException;
+
+    /**
+     * Return a new empty {@code QuadrupleList} of equal type.
+     * @return new {@code QuadrupleList} instance
+     */
+    QuadrupleList<T, U, V, W> alike();
+
+    /**
+     * Add a new quadruple to the end of the list.
+     *
+     * @param first first quadruple element
+     * @param second second quadruple element
+     * @param third third quadruple element
+     * @param last fourth quadruple element
+     */
+    default void put(final T first, final U second, final V third, final W last) {
+        put(size(), first, second, third, last);
+    }
+
+    /**
+     * Add a new quadruple at some position of the quadruple list.
+     *
+     * @param index position where to put the quadruple
+     * @param first first quadruple element
+     * @param second second quadruple element
+     * @param third third quadruple element
+     * @param last fourth quadruple element
+     */
+    default void put(final int index, final T first, final U second, final V third, final W last) {
+        add(index, Quadruple.of(first, second, third, last));
+    }
+
+    /**
+     * Set quadruple at the given position to {@code Quadruple.of(first, second, third, last)}.
+     *
+     * @param index position where to change the list's value
+     * @param first first element of inserted {@code Quadruple} instance
+     * @param second second element of inserted {@code Quadruple} instance
+     * @param third third element of inserted {@code Quadruple} instance
+     * @param last last element of inserted {@code Quadruple} instance
+     */
+    default void set(final int index, final T first, final U second, final V third, final W last) {
+        set(index, Quadruple.of(first, second, third, last));
+    }
+
+    /**
+     * Get the first element of the quadruple at the given position.
+     *
+     * @param index position of the quadruple
+     * @return the first element
+     */
+    default T first(final int index) {
+        return get(index).first();
+    }
+
+    /**
+     * Get the second element of the quadruple at the given position.
+     *
+     * @param index position of the quadruple
+     * @return the second element
+     */
+    default U second(final int index) {
+        return get(index).second();
+    }
+
+    /**
+     * Get the third element of the quadruple at the given position.
+     *
+     * @param index position of the quadruple
+     * @return the third element
+     */
+    default V third(final int index) {
+        return get(index).third();
+    }
+
+    /**
+     * Get the last element of the quadruple at the given position.
+     *
+     * @param index position of the quadruple
+     * @return the last element
+     */
+    default W last(final int index) {
+        return get(index).last();
+    }
+
+    /**
+     * Return an unmodifiable list of all first elements in the quadruples.
+     * @return list of first elements.
+     */
+    default List<T> firstElements() {
+        final List<T> li = new ArrayList<>(size());
+        for (int i = 0; i < size(); ++i) {
+            li.add(first(i));
+        }
+        return Collections.unmodifiableList(li);
+    }
+
+    /**
+     * Return an unmodifiable list of all second elements in the quadruples.
+     * @return list of second elements.
+     */
+    default List<U> secondElements() {
+        final List<U> li = new ArrayList<>(size());
+        for (int i = 0; i < size(); ++i) {
+            li.add(second(i));
+        }
+        return Collections.unmodifiableList(li);
+    }
+
+    /**
+     * Return an unmodifiable list of all third elements in the quadruples.
+     * @return list of third elements.
+     */
+    default List<V> thirdElements() {
+        final List<V> li = new ArrayList<>(size());
+        for (int i = 0; i < size(); ++i) {
+            li.add(third(i));
+        }
+        return Collections.unmodifiableList(li);
+    }
+
+    /**
+     * Return an unmodifiable list of all last elements in the quadruples.
+     * @return list of last elements.
+     */
+    default List<W> lastElements() {
+        final List<W> li = new ArrayList<>(size());
+        for (int i = 0; i < size(); ++i) {
+            li.add(last(i));
+        }
+        return Collections.unmodifiableList(li);
+    }
+
+    /**
+     * Return a sublist view of the quadruple list.
+     *
+     * @param fromIndex first index of list to be included
+     * @param toIndex final index, not included by itself
+     * @return a sublist view
+     */
+    @Override
+    QuadrupleList<T, U, V, W> subList(int fromIndex, int toIndex);
+
+    /**
+     * Create a new QuadrupleList instance.
+     *
+     * @param firstClass class of first element of all included quadruples
+     * @param secondClass class of second element of all included quadruples
+     * @param thirdClass class of third element of all included quadruples
+     * @param lastClass class of fourth element of all included quadruples
+     * @param <P> type corresponding to {@code firstClass}
+     * @param <R> type corresponding to {@code secondClass}
+     * @param <S> type corresponding to {@code thirdClass}
+     * @param <X> type corresponding to {@code lastClass}
+     * @return new {@code QuadrupleList}
+     */
+    static <P, R, S, X> QuadrupleList<P, R, S, X> of(Class<? extends P> firstClass,
+                                                     Class<? extends R> secondClass,
+                                                     Class<? extends S> thirdClass,
+                                                     Class<? extends X> lastClass) {
+        return new QuadrupleListImpl<>(firstClass, secondClass, thirdClass, lastClass);
+    }
+
+    /**
+     * Create a new QuadrupleList instance.
+     *
+     * @param elementClass class of all quadruple elements to include
+     * @param <S> type corresponding to {@code elementClass}
+     * @return new {@code QuadrupleList}
+     */
+    static <S> QuadrupleList<S, S, S, S> of(Class<? extends S> elementClass) {
+        return QuadrupleList.of(elementClass, elementClass, elementClass, elementClass);
+    }
+
+    /**
+     * Return an empty and unmodifiable QuadrupleList instance.
+     * <p>
+     * The empty list is a singleton.
+     *
+     * @param <P> class of first element in the quadruples
+     * @param <R> class of second element in the quadruples
+     * @param <S> class of third element in the quadruples
+     * @param <X> class of fourth element in the quadruples
+     * @return unmodifiable QuadrupleList
+     */
+    @SuppressWarnings("unchecked")
+    static <P, R, S, X> QuadrupleList<P, R, S, X> emptyList() {
+        return (QuadrupleList<P, R, S, X>) UnmodifiableQuadrupleList.EMPTY_LIST;
+    }
+
+    /**
+     * Return an unmodifiable version of a quadruple list.
+     *
+     * @param quadruples the original quadruple list
+     * @param <P> class of first element in included quadruples
+     * @param <R> class of second element in included quadruples
+     * @param <S> class of third element in included quadruples
+     * @param <X> class of fourth element in included quadruples
+     * @return unmodifiable version of {@code quadruples}
+     */
+    static <P, R, S, X> QuadrupleList<P, R, S, X> unmodifiableQuadrupleList(final QuadrupleList<P, R, S, X> quadruples) {
+        return new UnmodifiableQuadrupleList<>(quadruples);
+    }
+
+}
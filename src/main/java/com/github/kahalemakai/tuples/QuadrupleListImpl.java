@@ -0,0 +1,244 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.List;
+
+/**
+ * Columnar {@code QuadrupleList} implementation.
+ */
+class QuadrupleListImpl<T, U, V, W> extends ColumnarList<Quadruple<T, U, V, W>> implements QuadrupleList<T, U, V, W> {
+    final Class<? extends T> firstClass;
+    final Class<? extends U> secondClass;
+    final Class<? extends V> thirdClass;
+    final Class<? extends W> lastClass;
+
+    QuadrupleListImpl(Class<? extends T> firstClass, Class<? extends U> secondClass,
+                      Class<? extends V> thirdClass, Class<? extends W> lastClass) {
+        super(firstClass, secondClass, thirdClass, lastClass);
+        this.firstClass = firstClass;
+        this.secondClass = secondClass;
+        this.thirdClass = thirdClass;
+        this.lastClass = lastClass;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Quadruple<T, U, V, W> row(int index) {
+        return Quadruple.of((T) element(index, 0), (U) element(index, 1), (V) element(index, 2), (W) element(index, 3));
+    }
+
+    @Override
+    void store(int index, Quadruple<T, U, V, W> quadruple) {
+        element(index, 0, quadruple.first());
+        element(index, 1, quadruple.second());
+        element(index, 2, quadruple.third());
+        element(index, 3, quadruple.last());
+    }
+
+    @Override
+    View newView(View parent, int offset, int size) {
+        return new QuadrupleSubList(parent, offset, size);
+    }
+
+    @Override
+    public QuadrupleListImpl<T, U, V, W> slurp(Iterable<?> iterable) throws IllegalArgumentException {
+        slurpRows(iterable);
+        return this;
+    }
+
+    @Override
+    public QuadrupleListImpl<T, U, V, W> zip(Iterable<? extends T> first,
+                                           Iterable<? extends U> second,
+                                           Iterable<? extends V> third,
+                                           Iterable<? extends W> last) throws IllegalArgumentException {
+        zipRows(first, second, third, last);
+        return this;
+    }
+
+    @Override
+    public QuadrupleList<T, U, V, W> alike() {
+        return new QuadrupleListImpl<>(firstClass, secondClass, thirdClass, lastClass);
+    }
+
+    @Override
+    public void put(int index, T first, U second, V third, W last) {
+        rangeCheckForAdd(index);
+        openGap(index, 1);
+        element(index, 0, first);
+        element(index, 1, second);
+        element(index, 2, third);
+        element(index, 3, last);
+    }
+
+    @Override
+    public void set(int index, T first, U second, V third, W last) {
+        rangeCheck(index);
+        element(index, 0, first);
+        element(index, 1, second);
+        element(index, 2, third);
+        element(index, 3, last);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T first(int index) {
+        rangeCheck(index);
+        return (T) element(index, 0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public U second(int index) {
+        rangeCheck(index);
+        return (U) element(index, 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V third(int index) {
+        rangeCheck(index);
+        return (V) element(index, 2);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public W last(int index) {
+        rangeCheck(index);
+        return (W) element(index, 3);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> firstElements() {
+        return (List<T>) (List<?>) column(0, 0, size());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<U> secondElements() {
+        return (List<U>) (List<?>) column(1, 0, size());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<V> thirdElements() {
+        return (List<V>) (List<?>) column(2, 0, size());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<W> lastElements() {
+        return (List<W>) (List<?>) column(3, 0, size());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public QuadrupleList<T, U, V, W> subList(int fromIndex, int toIndex) {
+        return (QuadrupleList<T, U, V, W>) super.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "QuadrupleList<" + firstClass.getSimpleName()
+                + ", " + secondClass.getSimpleName()
+                + ", " + thirdClass.getSimpleName()
+                + ", " + lastClass.getSimpleName()
+                + ">" + super.toString();
+    }
+
+    private class QuadrupleSubList extends View implements QuadrupleList<T, U, V, W> {
+
+        QuadrupleSubList(View parent, int offset, int size) {
+            super(parent, offset, size);
+        }
+
+        @Override
+        public QuadrupleList<T, U, V, W> slurp(Iterable<?> iterable) throws IllegalArgumentException {
+            throw new UnsupportedOperationException("Quadruple subLists can only be constructed by calling subList()");
+        }
+
+        @Override
+        public QuadrupleList<T, U, V, W> zip(Iterable<? extends T> first,
+                                             Iterable<? extends U> second,
+                                             Iterable<? extends V> third,
+                                             Iterable<? extends W> last) throws IllegalArgumentException {
+            throw new UnsupportedOperationException("Quadruple subLists can only be constructed by calling subList()");
+        }
+
+        @Override
+        public QuadrupleList<T, U, V, W> alike() {
+            return QuadrupleListImpl.this.alike();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T first(int index) {
+            return (T) element(index, 0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public U second(int index) {
+            return (U) element(index, 1);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V third(int index) {
+            return (V) element(index, 2);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public W last(int index) {
+            return (W) element(index, 3);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<T> firstElements() {
+            return (List<T>) (List<?>) column(0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<U> secondElements() {
+            return (List<U>) (List<?>) column(1);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<V> thirdElements() {
+            return (List<V>) (List<?>) column(2);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<W> lastElements() {
+            return (List<W>) (List<?>) column(3);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public QuadrupleList<T, U, V, W> subList(int fromIndex, int toIndex) {
+            return (QuadrupleList<T, U, V, W>) super.subList(fromIndex, toIndex);
+        }
+    }
+}
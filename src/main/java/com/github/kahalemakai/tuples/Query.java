@@ -0,0 +1,856 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToLongBiFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A query over the tuples of a {@code TupleList}, run as a single pass over the list.
+ * <p>
+ * Instances are obtained by {@link TupleList#query()} and are immutable; each builder
+ * method returns a new query and is cheap, as all work is done by the terminal operations.
+ * {@link #where(BiPredicate)} and {@link #select(BiFunction, BiFunction)} steps are applied
+ * in the order they were added, to the elements of one row at a time, which are read from the
+ * list's {@linkplain TupleList#cursor() cursor} and passed on through a reused {@link MutableTuple}.
+ * So no intermediate tuples are created, and rows are fed straight into the terminal operation.
+ * The numeric aggregations take primitive functions of both elements and keep primitive
+ * accumulators, per group if grouped, so nothing is boxed per row either.
+ * <pre>{@code
+ * TupleList<String, Long> revenue = orders.query()
+ *         .where((region, amount) -> amount > 0)
+ *         .groupByFirst()
+ *         .sumLong((region, amount) -> amount);
+ * }</pre>
+ *
+ * @param <T> type of the first elements
+ * @param <U> type of the last elements
+ */
+public final class Query<T, U> {
+    static final int COUNT = 0;
+    static final int SUM = 1;
+    static final int MIN = 2;
+    static final int MAX = 3;
+    static final int AVERAGE = 4;
+
+    /**
+     * Minimum number of rows per chunk for parallel queries.
+     */
+    static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    private static final LazyTupleList.Stage[] NO_STAGES = {};
+    static final BiFunction<Object, Object, Object> FIRST = (first, last) -> first;
+    static final BiFunction<Object, Object, Object> LAST = (first, last) -> last;
+
+    private final TupleList<?, ?> source;
+    private final LazyTupleList.Stage[] stages;
+    private final Class<?> firstClass;
+    private final Class<?> lastClass;
+    private final long limit;
+    private final boolean parallel;
+
+    Query(final TupleList<?, ?> source, final Class<?> firstClass, final Class<?> lastClass) {
+        this(source, NO_STAGES, firstClass, lastClass, Long.MAX_VALUE, false);
+    }
+
+    private Query(final TupleList<?, ?> source, final LazyTupleList.Stage[] stages,
+                  final Class<?> firstClass, final Class<?> lastClass, final long limit, final boolean parallel) {
+        this.source = source;
+        this.stages = stages;
+        this.firstClass = firstClass;
+        this.lastClass = lastClass;
+        this.limit = limit;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Keep only the rows whose elements satisfy {@code predicate}.
+     *
+     * @param predicate condition on the elements of a row
+     * @return new {@code Query} instance
+     */
+    public Query<T, U> where(final BiPredicate<? super T, ? super U> predicate) {
+        return then(LazyTupleList.filtering(predicate), firstClass, lastClass);
+    }
+
+    /**
+     * Replace the elements of each row by the values computed from them.
+     *
+     * @param first function computing the new first element
+     * @param last function computing the new last element
+     * @param <R> type of the new first elements
+     * @param <S> type of the new last elements
+     * @return new {@code Query} instance
+     */
+    @SuppressWarnings("unchecked")
+    public <R, S> Query<R, S> select(final BiFunction<? super T, ? super U, ? extends R> first,
+                                     final BiFunction<? super T, ? super U, ? extends S> last) {
+        final BiFunction<Object, Object, ?> f = (BiFunction<Object, Object, ?>) Objects.requireNonNull(first);
+        final BiFunction<Object, Object, ?> g = (BiFunction<Object, Object, ?>) Objects.requireNonNull(last);
+        return then(row -> {
+            final Object a = row.first();
+            final Object b = row.last();
+            row.set(f.apply(a, b), g.apply(a, b));
+            return true;
+        }, Object.class, Object.class);
+    }
+
+    /**
+     * Stop after {@code maxRows} rows have passed all {@code where} steps.
+     * <p>
+     * Queries with a limit always run sequentially, so that they process the first matching rows.
+     *
+     * @param maxRows maximum number of rows to process
+     * @return new {@code Query} instance
+     * @throws IllegalArgumentException if {@code maxRows} is negative
+     */
+    public Query<T, U> limit(final long maxRows) {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("expected: maxRows >= 0. got: " + maxRows);
+        }
+        return new Query<>(source, stages, firstClass, lastClass, Math.min(limit, maxRows), parallel);
+    }
+
+    /**
+     * Return an equivalent query that processes chunks of the list in parallel
+     * and merges the partial results in list order afterwards.
+     * <p>
+     * The list must not be modified while the query is running, and the functions
+     * passed to the query must be safe to call from several threads.
+     *
+     * @return new {@code Query} instance
+     */
+    public Query<T, U> parallel() {
+        return new Query<>(source, stages, firstClass, lastClass, limit, true);
+    }
+
+    /**
+     * Group the rows by their first elements.
+     *
+     * @return grouped query
+     */
+    @SuppressWarnings("unchecked")
+    public Grouped<T, T, U> groupByFirst() {
+        return new Grouped<>(this, FIRST, (Class<? extends T>) firstClass);
+    }
+
+    /**
+     * Group the rows by their last elements.
+     *
+     * @return grouped query
+     */
+    @SuppressWarnings("unchecked")
+    public Grouped<U, T, U> groupByLast() {
+        return new Grouped<>(this, LAST, (Class<? extends U>) lastClass);
+    }
+
+    /**
+     * Group the rows by the key computed from their elements.
+     *
+     * @param keyClass class of the keys
+     * @param key function computing the key of a row
+     * @param <K> type of the keys
+     * @return grouped query
+     */
+    @SuppressWarnings("unchecked")
+    public <K> Grouped<K, T, U> groupBy(final Class<? extends K> keyClass,
+                                        final BiFunction<? super T, ? super U, ? extends K> key) {
+        return new Grouped<>(this, (BiFunction<Object, Object, Object>) Objects.requireNonNull(key),
+                Objects.requireNonNull(keyClass));
+    }
+
+    /**
+     * Run the query and collect the resulting rows into a new list.
+     *
+     * @return new array-backed {@code TupleList} instance
+     */
+    @SuppressWarnings("unchecked")
+    public TupleList<T, U> toList() {
+        return run(() -> new Rows<T, U>((Class<? extends T>) firstClass, (Class<? extends U>) lastClass)).rows;
+    }
+
+    /**
+     * Count the resulting rows.
+     *
+     * @return number of rows
+     */
+    public long count() {
+        return run(() -> new LongTotal(COUNT, null)).count;
+    }
+
+    /**
+     * Sum up the values of all rows.
+     *
+     * @param value value of a row
+     * @return the sum, {@code 0} if there are no rows
+     */
+    public long sumLong(final ToLongBiFunction<? super T, ? super U> value) {
+        return run(() -> new LongTotal(SUM, value)).value;
+    }
+
+    /**
+     * Determine the minimum value of all rows.
+     *
+     * @param value value of a row
+     * @return the minimum, empty if there are no rows
+     */
+    public OptionalLong minLong(final ToLongBiFunction<? super T, ? super U> value) {
+        return run(() -> new LongTotal(MIN, value)).result();
+    }
+
+    /**
+     * Determine the maximum value of all rows.
+     *
+     * @param value value of a row
+     * @return the maximum, empty if there are no rows
+     */
+    public OptionalLong maxLong(final ToLongBiFunction<? super T, ? super U> value) {
+        return run(() -> new LongTotal(MAX, value)).result();
+    }
+
+    /**
+     * Sum up the values of all rows.
+     *
+     * @param value value of a row
+     * @return the sum, {@code 0} if there are no rows
+     */
+    public double sumDouble(final ToDoubleBiFunction<? super T, ? super U> value) {
+        return run(() -> new DoubleTotal(SUM, value)).value;
+    }
+
+    /**
+     * Determine the minimum value of all rows.
+     *
+     * @param value value of a row
+     * @return the minimum, empty if there are no rows
+     */
+    public OptionalDouble minDouble(final ToDoubleBiFunction<? super T, ? super U> value) {
+        return run(() -> new DoubleTotal(MIN, value)).result();
+    }
+
+    /**
+     * Determine the maximum value of all rows.
+     *
+     * @param value value of a row
+     * @return the maximum, empty if there are no rows
+     */
+    public OptionalDouble maxDouble(final ToDoubleBiFunction<? super T, ? super U> value) {
+        return run(() -> new DoubleTotal(MAX, value)).result();
+    }
+
+    /**
+     * Determine the arithmetic mean of the values of all rows.
+     *
+     * @param value value of a row
+     * @return the mean, empty if there are no rows
+     */
+    public OptionalDouble average(final ToDoubleBiFunction<? super T, ? super U> value) {
+        return run(() -> new DoubleTotal(AVERAGE, value)).result();
+    }
+
+    /**
+     * Reduce the resulting rows with a {@code Collector}.
+     * <p>
+     * This is the general, boxing fallback for aggregations not covered by the
+     * primitive operations, as each row is handed to {@code collector} as a new {@code Tuple}.
+     *
+     * @param collector collector reducing the rows
+     * @param <A> the collector's accumulation type
+     * @param <R> type of the result
+     * @return the result
+     */
+    public <A, R> R aggregate(final Collector<? super Tuple<T, U>, A, R> collector) {
+        final BiConsumer<A, ? super Tuple<T, U>> accumulator = collector.accumulator();
+        final Collected<A> collected = run(() -> new Collected<>(collector.supplier().get(),
+                (container, row) -> accumulator.accept(container, tuple(row)), collector.combiner()));
+        return collector.finisher().apply(collected.container);
+    }
+
+    private <R, S> Query<R, S> then(final LazyTupleList.Stage stage, final Class<?> firstClass, final Class<?> lastClass) {
+        final LazyTupleList.Stage[] next = Arrays.copyOf(stages, stages.length + 1);
+        next[stages.length] = stage;
+        return new Query<>(source, next, firstClass, lastClass, limit, parallel);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, U> Tuple<T, U> tuple(final MutableTuple<Object, Object> row) {
+        return Tuple.of((T) row.first(), (U) row.last());
+    }
+
+    /**
+     * Run the query, either in a single pass or per chunk followed by a merge
+     * of the partial results in chunk order.
+     */
+    private <P extends Partial<P>> P run(final Supplier<P> factory) {
+        final int size = source.size();
+        final int chunks = parallel && limit == Long.MAX_VALUE ? numChunks(size) : 1;
+        if (chunks <= 1) {
+            final P partial = factory.get();
+            scan(source, partial);
+            return partial;
+        }
+        final int chunkSize = (size + chunks - 1) / chunks;
+        final List<P> partials = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(i -> {
+                    final int from = i * chunkSize;
+                    final P partial = factory.get();
+                    scan(source.subList(from, Math.min(size, from + chunkSize)), partial);
+                    return partial;
+                })
+                .collect(Collectors.toList());
+        P result = partials.get(0);
+        for (int i = 1; i < partials.size(); ++i) {
+            result = result.merge(partials.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * The fused loop: read each row, run the steps and feed the row to {@code partial}.
+     */
+    private void scan(final TupleList<?, ?> rows, final Partial<?> partial) {
+        final MutableTuple<Object, Object> row = new MutableTuple<>();
+        long remaining = limit;
+        for (final TupleCursor<?, ?> cursor = rows.cursor(); remaining > 0 && cursor.advance();) {
+            row.set(cursor.first(), cursor.last());
+            if (LazyTupleList.apply(stages, row)) {
+                partial.accept(row);
+                --remaining;
+            }
+        }
+    }
+
+    private static int numChunks(final int size) {
+        final int maxChunks = size / MIN_CHUNK_SIZE;
+        return Math.min(maxChunks, 4 * ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Aggregation of the rows of a {@link Query} per key.
+     * <p>
+     * The result contains one tuple per distinct key, in the order of the keys' first
+     * appearance. Keys are looked up in an open-addressing hash table, which addresses
+     * one primitive accumulator per group for the numeric aggregations.
+     *
+     * @param <K> type of the keys
+     * @param <T> type of the first elements
+     * @param <U> type of the last elements
+     */
+    public static final class Grouped<K, T, U> {
+        private final Query<T, U> query;
+        private final BiFunction<Object, Object, Object> key;
+        private final Class<? extends K> keyClass;
+
+        Grouped(final Query<T, U> query, final BiFunction<Object, Object, Object> key,
+                final Class<? extends K> keyClass) {
+            this.query = query;
+            this.key = key;
+            this.keyClass = keyClass;
+        }
+
+        /**
+         * Count the rows per key.
+         *
+         * @return list of key-count pairs
+         */
+        public TupleList<K, Long> count() {
+            return aggregateLong(null, COUNT);
+        }
+
+        /**
+         * Sum up the values per key.
+         *
+         * @param value value of a row
+         * @return list of key-sum pairs
+         */
+        public TupleList<K, Long> sumLong(final ToLongBiFunction<? super T, ? super U> value) {
+            return aggregateLong(value, SUM);
+        }
+
+        /**
+         * Determine the minimum value per key.
+         *
+         * @param value value of a row
+         * @return list of key-minimum pairs
+         */
+        public TupleList<K, Long> minLong(final ToLongBiFunction<? super T, ? super U> value) {
+            return aggregateLong(value, MIN);
+        }
+
+        /**
+         * Determine the maximum value per key.
+         *
+         * @param value value of a row
+         * @return list of key-maximum pairs
+         */
+        public TupleList<K, Long> maxLong(final ToLongBiFunction<? super T, ? super U> value) {
+            return aggregateLong(value, MAX);
+        }
+
+        /**
+         * Sum up the values per key.
+         *
+         * @param value value of a row
+         * @return list of key-sum pairs
+         */
+        public TupleList<K, Double> sumDouble(final ToDoubleBiFunction<? super T, ? super U> value) {
+            return aggregateDouble(value, SUM);
+        }
+
+        /**
+         * Determine the minimum value per key.
+         *
+         * @param value value of a row
+         * @return list of key-minimum pairs
+         */
+        public TupleList<K, Double> minDouble(final ToDoubleBiFunction<? super T, ? super U> value) {
+            return aggregateDouble(value, MIN);
+        }
+
+        /**
+         * Determine the maximum value per key.
+         *
+         * @param value value of a row
+         * @return list of key-maximum pairs
+         */
+        public TupleList<K, Double> maxDouble(final ToDoubleBiFunction<? super T, ? super U> value) {
+            return aggregateDouble(value, MAX);
+        }
+
+        /**
+         * Determine the arithmetic mean of the values per key.
+         *
+         * @param value value of a row
+         * @return list of key-average pairs
+         */
+        public TupleList<K, Double> average(final ToDoubleBiFunction<? super T, ? super U> value) {
+            return aggregateDouble(value, AVERAGE);
+        }
+
+        /**
+         * Reduce the rows per key with a {@code Collector}.
+         * <p>
+         * This is the general, boxing fallback for aggregations not covered by the primitive
+         * operations, as each row is handed to {@code collector} as a new {@code Tuple}.
+         *
+         * @param resultClass class of the aggregated values
+         * @param collector collector reducing the rows of a single key
+         * @param <A> the collector's accumulation type
+         * @param <R> type of the aggregated values
+         * @return list of key-result pairs
+         */
+        public <A, R> TupleList<K, R> aggregate(final Class<? extends R> resultClass,
+                                                final Collector<? super Tuple<T, U>, A, R> collector) {
+            final BiConsumer<A, ? super Tuple<T, U>> accumulator = collector.accumulator();
+            return aggregate(resultClass, collector.supplier(),
+                    (container, row) -> accumulator.accept(container, tuple(row)),
+                    collector.combiner(), collector.finisher());
+        }
+
+        /**
+         * Reduce the rows per key, accumulating the elements of each row directly.
+         */
+        <A, R> TupleList<K, R> aggregate(final Class<? extends R> resultClass, final Supplier<A> supplier,
+                                         final BiConsumer<A, MutableTuple<Object, Object>> accumulator,
+                                         final BinaryOperator<A> combiner, final Function<A, R> finisher) {
+            final ObjectGroups<A> groups = query.run(() -> new ObjectGroups<>(key, supplier, accumulator, combiner));
+            final TupleListImpl<K, R> result = new TupleListImpl<>(keyClass, resultClass, groups.keys.size());
+            for (int id = 0; id < groups.keys.size(); ++id) {
+                result.put(key(groups.keys, id), finisher.apply(groups.container(id)));
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private TupleList<K, Long> aggregateLong(final ToLongBiFunction<? super T, ? super U> value, final int op) {
+            final LongGroups groups = query.run(() -> new LongGroups(op, key, (ToLongBiFunction<Object, Object>) value));
+            final TupleListImpl<K, Long> result = new TupleListImpl<>(keyClass, Long.class, groups.keys.size());
+            for (int id = 0; id < groups.keys.size(); ++id) {
+                result.put(key(groups.keys, id), groups.values[id]);
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private TupleList<K, Double> aggregateDouble(final ToDoubleBiFunction<? super T, ? super U> value,
+                                                     final int op) {
+            final DoubleGroups groups = query.run(() -> new DoubleGroups(op, key, (ToDoubleBiFunction<Object, Object>) value));
+            final TupleListImpl<K, Double> result = new TupleListImpl<>(keyClass, Double.class, groups.keys.size());
+            for (int id = 0; id < groups.keys.size(); ++id) {
+                final double v = op == AVERAGE ? groups.values[id] / groups.counts[id] : groups.values[id];
+                result.put(key(groups.keys, id), v);
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private K key(final KeyIndex keys, final int id) {
+            return (K) keys.key(id);
+        }
+    }
+
+    /**
+     * Result of running a query over the whole list or a chunk of it.
+     */
+    private abstract static class Partial<P extends Partial<P>> {
+        abstract void accept(MutableTuple<Object, Object> row);
+
+        /**
+         * Merge the result of the following chunk into this one.
+         */
+        abstract P merge(P next);
+    }
+
+    private static final class Rows<T, U> extends Partial<Rows<T, U>> {
+        final TupleListImpl<T, U> rows;
+
+        Rows(final Class<? extends T> firstClass, final Class<? extends U> lastClass) {
+            this.rows = new TupleListImpl<>(firstClass, lastClass);
+        }
+
+        @Override
+        void accept(final MutableTuple<Object, Object> row) {
+            rows.add(tuple(row));
+        }
+
+        @Override
+        Rows<T, U> merge(final Rows<T, U> next) {
+            rows.addAll(next.rows);
+            return this;
+        }
+    }
+
+    private static final class LongTotal extends Partial<LongTotal> {
+        final int op;
+        final ToLongBiFunction<Object, Object> function;
+        long value;
+        long count;
+
+        @SuppressWarnings("unchecked")
+        LongTotal(final int op, final ToLongBiFunction<?, ?> function) {
+            this.op = op;
+            this.function = (ToLongBiFunction<Object, Object>) function;
+            this.value = op == MIN ? Long.MAX_VALUE : op == MAX ? Long.MIN_VALUE : 0L;
+        }
+
+        @Override
+        void accept(final MutableTuple<Object, Object> row) {
+            ++count;
+            switch (op) {
+                case COUNT:
+                    break;
+                case SUM:
+                    value += function.applyAsLong(row.first(), row.last());
+                    break;
+                case MIN:
+                    value = Math.min(value, function.applyAsLong(row.first(), row.last()));
+                    break;
+                default:
+                    value = Math.max(value, function.applyAsLong(row.first(), row.last()));
+            }
+        }
+
+        @Override
+        LongTotal merge(final LongTotal next) {
+            count += next.count;
+            value = op == MIN ? Math.min(value, next.value) : op == MAX ? Math.max(value, next.value) : value + next.value;
+            return this;
+        }
+
+        OptionalLong result() {
+            return count == 0 ? OptionalLong.empty() : OptionalLong.of(value);
+        }
+    }
+
+    private static final class DoubleTotal extends Partial<DoubleTotal> {
+        final int op;
+        final ToDoubleBiFunction<Object, Object> function;
+        double value;
+        long count;
+
+        @SuppressWarnings("unchecked")
+        DoubleTotal(final int op, final ToDoubleBiFunction<?, ?> function) {
+            this.op = op;
+            this.function = (ToDoubleBiFunction<Object, Object>) function;
+            this.value = op == MIN ? Double.POSITIVE_INFINITY : op == MAX ? Double.NEGATIVE_INFINITY : 0.0;
+        }
+
+        @Override
+        void accept(final MutableTuple<Object, Object> row) {
+            ++count;
+            final double v = function.applyAsDouble(row.first(), row.last());
+            switch (op) {
+                case SUM:
+                case AVERAGE:
+                    value += v;
+                    break;
+                case MIN:
+                    value = Math.min(value, v);
+                    break;
+                default:
+                    value = Math.max(value, v);
+            }
+        }
+
+        @Override
+        DoubleTotal merge(final DoubleTotal next) {
+            count += next.count;
+            value = op == MIN ? Math.min(value, next.value) : op == MAX ? Math.max(value, next.value) : value + next.value;
+            return this;
+        }
+
+        OptionalDouble result() {
+            if (count == 0) {
+                return OptionalDouble.empty();
+            }
+            return OptionalDouble.of(op == AVERAGE ? value / count : value);
+        }
+    }
+
+    private static final class Collected<A> extends Partial<Collected<A>> {
+        final BiConsumer<A, MutableTuple<Object, Object>> accumulator;
+        final BinaryOperator<A> combiner;
+        A container;
+
+        Collected(final A container, final BiConsumer<A, MutableTuple<Object, Object>> accumulator,
+                  final BinaryOperator<A> combiner) {
+            this.container = container;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        void accept(final MutableTuple<Object, Object> row) {
+            accumulator.accept(container, row);
+        }
+
+        @Override
+        Collected<A> merge(final Collected<A> next) {
+            container = combiner.apply(container, next.container);
+            return this;
+        }
+    }
+
+    private static final class LongGroups extends Partial<LongGroups> {
+        final KeyIndex keys = new KeyIndex();
+        final int op;
+        final BiFunction<Object, Object, Object> key;
+        final ToLongBiFunction<Object, Object> function;
+        long[] values = new long[0];
+
+        LongGroups(final int op, final BiFunction<Object, Object, Object> key,
+                   final ToLongBiFunction<Object, Object> function) {
+            this.op = op;
+            this.key = key;
+            this.function = function;
+        }
+
+        @Override
+        void accept(final MutableTuple<Object, Object> row) {
+            final int id = group(key.apply(row.first(), row.last()));
+            switch (op) {
+                case COUNT:
+                    values[id]++;
+                    break;
+                case SUM:
+                    values[id] += function.applyAsLong(row.first(), row.last());
+                    break;
+                case MIN:
+                    values[id] = Math.min(values[id], function.applyAsLong(row.first(), row.last()));
+                    break;
+                default:
+                    values[id] = Math.max(values[id], function.applyAsLong(row.first(), row.last()));
+            }
+        }
+
+        @Override
+        LongGroups merge(final LongGroups next) {
+            for (int nextId = 0; nextId < next.keys.size(); ++nextId) {
+                final int id = group(next.keys.key(nextId));
+                final long v = next.values[nextId];
+                switch (op) {
+                    case COUNT:
+                    case SUM:
+                        values[id] += v;
+                        break;
+                    case MIN:
+                        values[id] = Math.min(values[id], v);
+                        break;
+                    default:
+                        values[id] = Math.max(values[id], v);
+                }
+            }
+            return this;
+        }
+
+        private int group(final Object key) {
+            final int id = keys.add(key);
+            if (id == values.length) {
+                final int oldLength = values.length;
+                values = Arrays.copyOf(values, Math.max(16, oldLength + (oldLength >> 1)));
+                Arrays.fill(values, oldLength, values.length, identity());
+            }
+            return id;
+        }
+
+        private long identity() {
+            return op == MIN ? Long.MAX_VALUE : op == MAX ? Long.MIN_VALUE : 0L;
+        }
+    }
+
+    private static final class DoubleGroups extends Partial<DoubleGroups> {
+        final KeyIndex keys = new KeyIndex();
+        final int op;
+        final BiFunction<Object, Object, Object> key;
+        final ToDoubleBiFunction<Object, Object> function;
+        double[] values = new double[0];
+        long[] counts = new long[0];
+
+        DoubleGroups(final int op, final BiFunction<Object, Object, Object> key,
+                     final ToDoubleBiFunction<Object, Object> function) {
+            this.op = op;
+            this.key = key;
+            this.function = function;
+        }
+
+        @Override
+        void accept(final MutableTuple<Object, Object> row) {
+            final int id = group(key.apply(row.first(), row.last()));
+            final double v = function.applyAsDouble(row.first(), row.last());
+            switch (op) {
+                case SUM:
+                    values[id] += v;
+                    break;
+                case AVERAGE:
+                    values[id] += v;
+                    counts[id]++;
+                    break;
+                case MIN:
+                    values[id] = Math.min(values[id], v);
+                    break;
+                default:
+                    values[id] = Math.max(values[id], v);
+            }
+        }
+
+        @Override
+        DoubleGroups merge(final DoubleGroups next) {
+            for (int nextId = 0; nextId < next.keys.size(); ++nextId) {
+                final int id = group(next.keys.key(nextId));
+                final double v = next.values[nextId];
+                switch (op) {
+                    case SUM:
+                        values[id] += v;
+                        break;
+                    case AVERAGE:
+                        values[id] += v;
+                        counts[id] += next.counts[nextId];
+                        break;
+                    case MIN:
+                        values[id] = Math.min(values[id], v);
+                        break;
+                    default:
+                        values[id] = Math.max(values[id], v);
+                }
+            }
+            return this;
+        }
+
+        private int group(final Object key) {
+            final int id = keys.add(key);
+            if (id == values.length) {
+                final int oldLength = values.length;
+                final int newLength = Math.max(16, oldLength + (oldLength >> 1));
+                values = Arrays.copyOf(values, newLength);
+                if (op == AVERAGE) {
+                    counts = Arrays.copyOf(counts, newLength);
+                }
+                Arrays.fill(values, oldLength, newLength, identity());
+            }
+            return id;
+        }
+
+        private double identity() {
+            return op == MIN ? Double.POSITIVE_INFINITY : op == MAX ? Double.NEGATIVE_INFINITY : 0.0;
+        }
+    }
+
+    private static final class ObjectGroups<A> extends Partial<ObjectGroups<A>> {
+        final KeyIndex keys = new KeyIndex();
+        final BiFunction<Object, Object, Object> key;
+        final Supplier<A> supplier;
+        final BiConsumer<A, MutableTuple<Object, Object>> accumulator;
+        final BinaryOperator<A> combiner;
+        Object[] containers = new Object[0];
+
+        ObjectGroups(final BiFunction<Object, Object, Object> key, final Supplier<A> supplier,
+                     final BiConsumer<A, MutableTuple<Object, Object>> accumulator, final BinaryOperator<A> combiner) {
+            this.key = key;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        void accept(final MutableTuple<Object, Object> row) {
+            accumulator.accept(container(group(key.apply(row.first(), row.last()))), row);
+        }
+
+        @Override
+        ObjectGroups<A> merge(final ObjectGroups<A> next) {
+            for (int nextId = 0; nextId < next.keys.size(); ++nextId) {
+                final int id = group(next.keys.key(nextId));
+                containers[id] = combiner.apply(container(id), next.container(nextId));
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        A container(final int id) {
+            return (A) containers[id];
+        }
+
+        private int group(final Object key) {
+            final int id = keys.add(key);
+            if (id == containers.length) {
+                containers = Arrays.copyOf(containers, Math.max(16, id + (id >> 1)));
+            }
+            if (containers[id] == null) {
+                containers[id] = supplier.get();
+            }
+            return id;
+        }
+    }
+}
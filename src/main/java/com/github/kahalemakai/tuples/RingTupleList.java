@@ -0,0 +1,218 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@code TupleList} of fixed capacity, backed by a circular array.
+ * <p>
+ * Once the capacity is reached, adding a tuple evicts the oldest one. Appending
+ * and evicting take constant time, as does removing from either end. Indices are
+ * relative to the current window, i.e. {@code get(0)} always returns the oldest
+ * retained tuple. An optional callback is notified of each evicted tuple.
+ * <p>
+ * Sublist views support reading, replacing and removing tuples, but no insertions,
+ * since an eviction would shift the window under the view.
+ */
+final class RingTupleList<T, U> extends AbstractTupleList<T, U> {
+    private final Object[] elements;
+    private final Consumer<? super Tuple<T, U>> onEviction;
+    private int head;
+    private int size;
+
+    RingTupleList(final int capacity,
+                  final Class<? extends T> firstClass,
+                  final Class<? extends U> lastClass,
+                  final Consumer<? super Tuple<T, U>> onEviction) {
+        super(firstClass, lastClass);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("expected: capacity > 0. got: " + capacity);
+        }
+        this.elements = new Object[capacity];
+        this.onEviction = onEviction;
+    }
+
+    /**
+     * Return the maximum number of tuples retained.
+     */
+    int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    public TupleList<T, U> alike() {
+        return new RingTupleList<>(elements.length, firstClass, lastClass, null);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long estimatedRetainedBytes(final ToLongFunction<Object> elementSizer) {
+        return Footprint.referenceArray(elements.length) + size * Footprint.TUPLE
+                + Footprint.elements(cursor(), elementSizer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Tuple<T, U> get(final int index) {
+        rangeCheck(index);
+        return (Tuple<T, U>) elements[physical(index)];
+    }
+
+    @Override
+    public Tuple<T, U> set(final int index, final Tuple<T, U> tuple) {
+        final Tuple<T, U> oldVal = get(index);
+        elements[physical(index)] = tuple;
+        version++;
+        return oldVal;
+    }
+
+    @Override
+    public boolean add(final Tuple<T, U> tuple) {
+        modCount++;
+        if (size == elements.length) {
+            evict();
+        }
+        elements[physical(size++)] = tuple;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the list is full, the oldest tuple is evicted beforehand. If {@code index}
+     * is {@code 0} in that case, {@code tuple} itself would be the oldest one and is
+     * evicted right away instead.
+     */
+    @Override
+    public void add(int index, final Tuple<T, U> tuple) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+        }
+        if (index == size) {
+            add(tuple);
+            return;
+        }
+        modCount++;
+        if (size == elements.length) {
+            if (index == 0) {
+                notifyEviction(tuple);
+                return;
+            }
+            evict();
+            --index;
+        }
+        // shift the tuples behind index one slot to the right, starting at the end
+        for (int i = size; i > index; --i) {
+            elements[physical(i)] = elements[physical(i - 1)];
+        }
+        elements[physical(index)] = tuple;
+        ++size;
+    }
+
+    @Override
+    public Tuple<T, U> remove(final int index) {
+        final Tuple<T, U> oldVal = get(index);
+        removeRange(index, index + 1);
+        return oldVal;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (toIndex <= fromIndex) {
+            return;
+        }
+        modCount++;
+        final int length = toIndex - fromIndex;
+        if (fromIndex == 0) {
+            // dropping the oldest tuples only moves the head
+            for (int i = 0; i < length; ++i) {
+                elements[physical(i)] = null;
+            }
+            head = physical(length);
+        } else {
+            for (int i = fromIndex; i < size - length; ++i) {
+                elements[physical(i)] = elements[physical(i + length)];
+            }
+            for (int i = size - length; i < size; ++i) {
+                elements[physical(i)] = null;
+            }
+        }
+        size -= length;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            modCount++;
+            Arrays.fill(elements, null);
+            head = 0;
+            size = 0;
+        }
+    }
+
+    @Override
+    View newView(final View parent, final int offset, final int size) {
+        return new Window(parent, offset, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evict() {
+        final Tuple<T, U> oldest = (Tuple<T, U>) elements[head];
+        elements[head] = null;
+        head = physical(1);
+        --size;
+        notifyEviction(oldest);
+    }
+
+    private void notifyEviction(final Tuple<T, U> tuple) {
+        if (onEviction != null) {
+            onEviction.accept(tuple);
+        }
+    }
+
+    private int physical(final int index) {
+        final int i = head + index;
+        return i >= elements.length ? i - elements.length : i;
+    }
+
+    private void rangeCheck(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+        }
+    }
+
+    private final class Window extends View {
+        Window(final View parent, final int offset, final int size) {
+            super(parent, offset, size);
+        }
+
+        @Override
+        public void add(final int index, final Tuple<T, U> tuple) {
+            throw new UnsupportedOperationException("cannot insert into ring buffer views");
+        }
+
+    }
+}
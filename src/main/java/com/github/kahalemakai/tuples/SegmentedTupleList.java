@@ -0,0 +1,374 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@code BigTupleList} backed by fixed-size segments.
+ * <p>
+ * Tuple {@code i} lives in segment {@code i >>> SEGMENT_BITS} at offset
+ * {@code i & SEGMENT_MASK}. Growing the list allocates one segment at a time and
+ * only copies the small array of segment references, so there is neither a copy
+ * of all tuples nor a single huge allocation. Segments are small enough to never
+ * be treated as humongous objects by G1.
+ */
+final class SegmentedTupleList<T, U> extends AbstractTupleList<T, U> implements BigTupleList<T, U> {
+    static final int SEGMENT_BITS = 14;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int MAX_SEGMENTS = Integer.MAX_VALUE - 8;
+    private static final Object[][] NO_SEGMENTS = {};
+
+    private Object[][] segments = NO_SEGMENTS;
+    private long size;
+
+    SegmentedTupleList(final Class<? extends T> firstClass, final Class<? extends U> lastClass) {
+        super(firstClass, lastClass);
+    }
+
+    @Override
+    public BigTupleList<T, U> alike() {
+        return new SegmentedTupleList<>(firstClass, lastClass);
+    }
+
+    @Override
+    public long longSize() {
+        return size;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long estimatedRetainedBytes(final ToLongFunction<Object> elementSizer) {
+        long bytes = Footprint.referenceArray(segments.length) + size * Footprint.TUPLE;
+        for (final Object[] segment : segments) {
+            if (segment != null) {
+                bytes += Footprint.referenceArray(segment.length);
+            }
+        }
+        return bytes + Footprint.elements(cursor(), elementSizer);
+    }
+
+    @Override
+    public Tuple<T, U> get(final int index) {
+        return get((long) index);
+    }
+
+    @Override
+    public Tuple<T, U> get(final long index) {
+        rangeCheck(index);
+        return element(index);
+    }
+
+    @Override
+    public Tuple<T, U> set(final int index, final Tuple<T, U> tuple) {
+        return set((long) index, tuple);
+    }
+
+    @Override
+    public Tuple<T, U> set(final long index, final Tuple<T, U> tuple) {
+        rangeCheck(index);
+        final Tuple<T, U> oldVal = element(index);
+        store(index, tuple);
+        version++;
+        return oldVal;
+    }
+
+    @Override
+    public boolean add(final Tuple<T, U> tuple) {
+        modCount++;
+        ensureCapacity(size + 1);
+        store(size++, tuple);
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final Tuple<T, U> tuple) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+        }
+        if (index == size) {
+            add(tuple);
+            return;
+        }
+        modCount++;
+        ensureCapacity(size + 1);
+        copyBackward(index, index + 1, size - index);
+        store(index, tuple);
+        ++size;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends Tuple<T, U>> c) {
+        if (c.isEmpty()) {
+            return false;
+        }
+        modCount++;
+        ensureCapacity(size + c.size());
+        for (final Tuple<T, U> tuple : c) {
+            store(size++, tuple);
+        }
+        return true;
+    }
+
+    @Override
+    public Tuple<T, U> remove(final int index) {
+        final Tuple<T, U> oldVal = get(index);
+        removeRange(index, index + 1);
+        return oldVal;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (toIndex > fromIndex) {
+            modCount++;
+            copyForward(toIndex, fromIndex, size - toIndex);
+            shrink(size - (toIndex - fromIndex));
+        }
+    }
+
+    @Override
+    public void truncate(final long newSize) {
+        if (newSize < 0 || newSize > size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(newSize, size));
+        }
+        if (newSize < size) {
+            modCount++;
+            shrink(newSize);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            modCount++;
+            segments = NO_SEGMENTS;
+            size = 0;
+        }
+    }
+
+    @Override
+    public TupleList<T, U> zip(final Iterable<? extends T> first, final Iterable<? extends U> last) throws IllegalArgumentException {
+        final Iterator<? extends T> it1 = first.iterator();
+        final Iterator<? extends U> it2 = last.iterator();
+        final long len = size;
+        final long start = Instrumentation.start();
+        while (it1.hasNext() && it2.hasNext()) {
+            this.put(it1.next(), it2.next());
+        }
+        if (it1.hasNext() || it2.hasNext()) {
+            // we only accept complete or no insertion at all
+            truncate(len);
+            throw new IllegalArgumentException("cannot zip iterables of different length together");
+        }
+        Instrumentation.record(TupleMetrics.Operation.ZIP, start, size - len);
+        return this;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super Tuple<T, U>> filter) {
+        Objects.requireNonNull(filter);
+        final int expectedModCount = modCount;
+        // evaluate the filter for all tuples before the list is modified,
+        // in a bit set addressable by long indices
+        final long[] removed = new long[(int) ((size + 63) >>> 6)];
+        boolean any = false;
+        for (long i = 0; i < size; ++i) {
+            if (filter.test(element(i))) {
+                removed[(int) (i >>> 6)] |= 1L << i;
+                any = true;
+            }
+            if (modCount != expectedModCount) {
+                throw Instrumentation.concurrentModification();
+            }
+        }
+        if (!any) {
+            return false;
+        }
+        // compact the retained tuples towards the front in a single pass
+        long retained = 0;
+        for (long i = 0; i < size; ++i) {
+            if ((removed[(int) (i >>> 6)] & (1L << i)) == 0) {
+                if (retained != i) {
+                    store(retained, element(i));
+                }
+                ++retained;
+            }
+        }
+        modCount++;
+        shrink(retained);
+        return true;
+    }
+
+    @Override
+    public Iterator<Tuple<T, U>> iterator() {
+        return new Iterator<Tuple<T, U>>() {
+            private long index = 0;
+            private boolean removalAllowed = false;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Tuple<T, U> next() {
+                checkForComodification();
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                removalAllowed = true;
+                return element(index++);
+            }
+
+            @Override
+            public void remove() {
+                if (!removalAllowed) {
+                    throw new IllegalStateException("trying to remove Tuple, before calling next()");
+                }
+                checkForComodification();
+                removalAllowed = false;
+                modCount++;
+                --index;
+                copyForward(index + 1, index, size - index - 1);
+                shrink(size - 1);
+                expectedModCount = modCount;
+            }
+
+            private void checkForComodification() {
+                if (modCount != expectedModCount) {
+                    throw Instrumentation.concurrentModification();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super T, ? super U> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        final long size = this.size;
+        for (int s = 0; (long) s << SEGMENT_BITS < size; ++s) {
+            final Object[] segment = segments[s];
+            final int end = (int) Math.min(SEGMENT_SIZE, size - ((long) s << SEGMENT_BITS));
+            for (int i = 0; i < end && modCount == expectedModCount; ++i) {
+                @SuppressWarnings("unchecked")
+                final Tuple<T, U> tuple = (Tuple<T, U>) segment[i];
+                action.accept(tuple.first(), tuple.last());
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw Instrumentation.concurrentModification();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Tuple<T, U> element(final long index) {
+        return (Tuple<T, U>) segments[(int) (index >>> SEGMENT_BITS)][(int) index & SEGMENT_MASK];
+    }
+
+    private void store(final long index, final Tuple<T, U> tuple) {
+        segments[(int) (index >>> SEGMENT_BITS)][(int) index & SEGMENT_MASK] = tuple;
+    }
+
+    private void ensureCapacity(final long minCapacity) {
+        final long required = (minCapacity + SEGMENT_MASK) >>> SEGMENT_BITS;
+        if (required > MAX_SEGMENTS) {
+            throw new OutOfMemoryError("Required tuple list size too large: " + minCapacity);
+        }
+        if (required > segments.length) {
+            // grow the spine, which only holds references to segments
+            final long start = Instrumentation.start();
+            final int n = segments.length;
+            segments = Arrays.copyOf(segments, (int) Math.min(MAX_SEGMENTS, Math.max(required, n + (n >> 1) + 1L)));
+            Instrumentation.resized(start, (long) segments.length << SEGMENT_BITS);
+        }
+        for (int s = (int) (size >>> SEGMENT_BITS); s < required; ++s) {
+            if (segments[s] == null) {
+                segments[s] = new Object[SEGMENT_SIZE];
+            }
+        }
+    }
+
+    /**
+     * Null out the tuples at {@code newSize} and beyond and release unused segments.
+     */
+    private void shrink(final long newSize) {
+        for (long i = newSize; i < size; ++i) {
+            if ((i & SEGMENT_MASK) == 0) {
+                segments[(int) (i >>> SEGMENT_BITS)] = null;
+                i += SEGMENT_MASK;
+            } else {
+                segments[(int) (i >>> SEGMENT_BITS)][(int) i & SEGMENT_MASK] = null;
+            }
+        }
+        size = newSize;
+    }
+
+    /**
+     * Copy {@code length} tuples from {@code src} to the lower position {@code dst}.
+     */
+    private void copyForward(long src, long dst, long length) {
+        while (length > 0) {
+            final int srcOffset = (int) src & SEGMENT_MASK;
+            final int dstOffset = (int) dst & SEGMENT_MASK;
+            final int run = (int) Math.min(length, SEGMENT_SIZE - Math.max(srcOffset, dstOffset));
+            System.arraycopy(segments[(int) (src >>> SEGMENT_BITS)], srcOffset,
+                    segments[(int) (dst >>> SEGMENT_BITS)], dstOffset, run);
+            src += run;
+            dst += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * Copy {@code length} tuples from {@code src} to the higher position {@code dst},
+     * starting with the last one.
+     */
+    private void copyBackward(final long src, final long dst, long length) {
+        while (length > 0) {
+            final long srcLast = src + length - 1;
+            final long dstLast = dst + length - 1;
+            final int srcOffset = (int) srcLast & SEGMENT_MASK;
+            final int dstOffset = (int) dstLast & SEGMENT_MASK;
+            final int run = (int) Math.min(length, Math.min(srcOffset, dstOffset) + 1);
+            System.arraycopy(segments[(int) (srcLast >>> SEGMENT_BITS)], srcOffset - run + 1,
+                    segments[(int) (dstLast >>> SEGMENT_BITS)], dstOffset - run + 1, run);
+            length -= run;
+        }
+    }
+
+    private void rangeCheck(final long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size));
+        }
+    }
+
+    private static String outOfBoundsMsg(final long index, final long size) {
+        return "Index: " + index + ", Size: " + size;
+    }
+}
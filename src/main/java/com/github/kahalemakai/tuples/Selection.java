@@ -0,0 +1,344 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Partial sorting of {@code TupleList}s.
+ * <p>
+ * The k greatest tuples are found with a bounded binary min-heap holding the
+ * current candidates, so that each tuple costs at most O(log k) comparisons.
+ * The primitive variants keep the keys in a {@code long[]} or {@code double[]}
+ * heap alongside the row indices, so the key function is evaluated once per
+ * row and nothing is boxed. Single elements are selected by quickselect.
+ */
+final class Selection {
+
+    /**
+     * Minimum number of rows per chunk for parallel selection.
+     */
+    static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    private Selection() {}
+
+    /**
+     * Return the {@code k} greatest tuples in descending order.
+     */
+    static <T, U> TupleList<T, U> top(final TupleList<T, U> tuples, final int k,
+                                      final Comparator<? super Tuple<T, U>> order) {
+        checkK(k);
+        final TupleList<T, U> result = tuples.alike();
+        result.addAll(top(tuples, k, order, new Object[Math.min(k, tuples.size())]));
+        return result;
+    }
+
+    /**
+     * Return the {@code k} greatest tuples in descending order, selecting
+     * candidates per chunk in parallel and merging them afterwards.
+     */
+    static <T, U> TupleList<T, U> parallelTop(final TupleList<T, U> tuples, final int k,
+                                              final Comparator<? super Tuple<T, U>> order) {
+        checkK(k);
+        final int size = tuples.size();
+        final int chunks = Math.min(size / Math.max(MIN_CHUNK_SIZE, k), 4 * ForkJoinPool.getCommonPoolParallelism());
+        if (chunks <= 1) {
+            return top(tuples, k, order);
+        }
+        final int chunkSize = (size + chunks - 1) / chunks;
+        final List<Tuple<T, U>> candidates = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(i -> {
+                    final List<Tuple<T, U>> chunk = tuples.subList(i * chunkSize, Math.min(size, (i + 1) * chunkSize));
+                    return top(chunk, k, order, new Object[Math.min(k, chunk.size())]);
+                })
+                .collect(ArrayList::new, List::addAll, List::addAll);
+        final TupleList<T, U> result = tuples.alike();
+        result.addAll(top(candidates, k, order, new Object[Math.min(k, candidates.size())]));
+        return result;
+    }
+
+    /**
+     * Return the {@code k} tuples with the greatest keys in descending order of their keys.
+     */
+    static <T, U> TupleList<T, U> topByLong(final TupleList<T, U> tuples, final int k,
+                                            final ToLongFunction<? super Tuple<T, U>> key, final boolean reversed) {
+        checkK(k);
+        final int capacity = Math.min(k, tuples.size());
+        final long[] keys = new long[capacity];
+        final int[] rows = new int[capacity];
+        int n = 0;
+        int row = 0;
+        for (final Tuple<T, U> tuple : tuples) {
+            // bitwise complement reverses the order without overflowing, unlike negation
+            final long x = reversed ? ~key.applyAsLong(tuple) : key.applyAsLong(tuple);
+            if (n < capacity) {
+                keys[n] = x;
+                rows[n] = row;
+                siftUp(keys, rows, n++);
+            } else if (capacity > 0 && x > keys[0]) {
+                keys[0] = x;
+                rows[0] = row;
+                siftDown(keys, rows, 0, n);
+            }
+            ++row;
+        }
+        for (int end = n - 1; end > 0; --end) {
+            swap(keys, rows, 0, end);
+            siftDown(keys, rows, 0, end);
+        }
+        return collect(tuples, rows, n);
+    }
+
+    /**
+     * Return the {@code k} tuples with the greatest keys in descending order of their keys.
+     */
+    static <T, U> TupleList<T, U> topByDouble(final TupleList<T, U> tuples, final int k,
+                                              final ToDoubleFunction<? super Tuple<T, U>> key, final boolean reversed) {
+        checkK(k);
+        final int capacity = Math.min(k, tuples.size());
+        final double[] keys = new double[capacity];
+        final int[] rows = new int[capacity];
+        int n = 0;
+        int row = 0;
+        for (final Tuple<T, U> tuple : tuples) {
+            final double x = reversed ? -key.applyAsDouble(tuple) : key.applyAsDouble(tuple);
+            if (n < capacity) {
+                keys[n] = x;
+                rows[n] = row;
+                siftUp(keys, rows, n++);
+            } else if (capacity > 0 && Double.compare(x, keys[0]) > 0) {
+                keys[0] = x;
+                rows[0] = row;
+                siftDown(keys, rows, 0, n);
+            }
+            ++row;
+        }
+        for (int end = n - 1; end > 0; --end) {
+            swap(keys, rows, 0, end);
+            siftDown(keys, rows, 0, end);
+        }
+        return collect(tuples, rows, n);
+    }
+
+    /**
+     * Return the tuple that would be at position {@code n} if the list were sorted.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, U> Tuple<T, U> nth(final TupleList<T, U> tuples, final int n,
+                                  final Comparator<? super Tuple<T, U>> order) {
+        final Object[] a = tuples.toArray();
+        if (n < 0 || n >= a.length) {
+            throw new IndexOutOfBoundsException("Index: " + n + ", Size: " + a.length);
+        }
+        final Comparator<Object> c = (Comparator<Object>) order;
+        int lo = 0;
+        int hi = a.length - 1;
+        while (lo < hi) {
+            // median of three as pivot, then Hoare partitioning
+            final int mid = (lo + hi) >>> 1;
+            if (c.compare(a[mid], a[lo]) < 0) swap(a, lo, mid);
+            if (c.compare(a[hi], a[lo]) < 0) swap(a, lo, hi);
+            if (c.compare(a[hi], a[mid]) < 0) swap(a, mid, hi);
+            final Object pivot = a[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (c.compare(a[i], pivot) < 0) ++i;
+                while (c.compare(a[j], pivot) > 0) --j;
+                if (i <= j) {
+                    swap(a, i++, j--);
+                }
+            }
+            if (n <= j) {
+                hi = j;
+            } else if (n >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+        return (Tuple<T, U>) a[n];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> List<E> top(final List<E> rows, final int k, final Comparator<? super E> order, final Object[] heap) {
+        final Comparator<Object> c = (Comparator<Object>) order;
+        int n = 0;
+        for (final E e : rows) {
+            if (n < heap.length) {
+                heap[n] = e;
+                siftUp(heap, n++, c);
+            } else if (n > 0 && c.compare(e, heap[0]) > 0) {
+                heap[0] = e;
+                siftDown(heap, 0, n, c);
+            }
+        }
+        // heap sort the candidates, leaving them in descending order
+        for (int end = n - 1; end > 0; --end) {
+            swap(heap, 0, end);
+            siftDown(heap, 0, end, c);
+        }
+        final List<E> result = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            result.add((E) heap[i]);
+        }
+        return result;
+    }
+
+    private static <T, U> TupleList<T, U> collect(final TupleList<T, U> tuples, final int[] rows, final int n) {
+        final TupleList<T, U> result = tuples.alike();
+        for (int i = 0; i < n; ++i) {
+            result.add(tuples.get(rows[i]));
+        }
+        return result;
+    }
+
+    private static void checkK(final int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("expected: k >= 0. got: " + k);
+        }
+    }
+
+    private static void siftUp(final Object[] heap, int i, final Comparator<Object> c) {
+        final Object e = heap[i];
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (c.compare(e, heap[parent]) >= 0) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = e;
+    }
+
+    private static void siftDown(final Object[] heap, int i, final int n, final Comparator<Object> c) {
+        final Object e = heap[i];
+        for (int child = 2 * i + 1; child < n; child = 2 * i + 1) {
+            if (child + 1 < n && c.compare(heap[child + 1], heap[child]) < 0) {
+                ++child;
+            }
+            if (c.compare(e, heap[child]) <= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    private static void siftUp(final long[] keys, final int[] rows, int i) {
+        final long key = keys[i];
+        final int row = rows[i];
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (key >= keys[parent]) {
+                break;
+            }
+            keys[i] = keys[parent];
+            rows[i] = rows[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        rows[i] = row;
+    }
+
+    private static void siftDown(final long[] keys, final int[] rows, int i, final int n) {
+        final long key = keys[i];
+        final int row = rows[i];
+        for (int child = 2 * i + 1; child < n; child = 2 * i + 1) {
+            if (child + 1 < n && keys[child + 1] < keys[child]) {
+                ++child;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[i] = keys[child];
+            rows[i] = rows[child];
+            i = child;
+        }
+        keys[i] = key;
+        rows[i] = row;
+    }
+
+    private static void siftUp(final double[] keys, final int[] rows, int i) {
+        final double key = keys[i];
+        final int row = rows[i];
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (Double.compare(key, keys[parent]) >= 0) {
+                break;
+            }
+            keys[i] = keys[parent];
+            rows[i] = rows[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        rows[i] = row;
+    }
+
+    private static void siftDown(final double[] keys, final int[] rows, int i, final int n) {
+        final double key = keys[i];
+        final int row = rows[i];
+        for (int child = 2 * i + 1; child < n; child = 2 * i + 1) {
+            if (child + 1 < n && Double.compare(keys[child + 1], keys[child]) < 0) {
+                ++child;
+            }
+            if (Double.compare(key, keys[child]) <= 0) {
+                break;
+            }
+            keys[i] = keys[child];
+            rows[i] = rows[child];
+            i = child;
+        }
+        keys[i] = key;
+        rows[i] = row;
+    }
+
+    private static void swap(final Object[] a, final int i, final int j) {
+        final Object tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+    private static void swap(final long[] keys, final int[] rows, final int i, final int j) {
+        final long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        final int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+    }
+
+    private static void swap(final double[] keys, final int[] rows, final int i, final int j) {
+        final double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        final int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+    }
+}
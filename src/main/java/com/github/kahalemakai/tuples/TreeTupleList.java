@@ -0,0 +1,507 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@code TupleList} backed by a counted B+-tree.
+ * <p>
+ * Tuples are kept in leaves of up to {@link #MAX_CHILDREN} tuples, and every node knows
+ * the number of tuples below it. Positional access, insertion and removal therefore
+ * take O(log n) time instead of the O(n) array shifts of {@code ArrayList}. Iteration
+ * reads leaf arrays sequentially and only descends the tree once per leaf, which keeps
+ * it close to the speed of iterating an array.
+ * <p>
+ * Nodes are split when they overflow and merged with a neighbour when they fall below
+ * a quarter of their capacity and the merged node fits, so the tree stays shallow
+ * under arbitrary sequences of insertions and removals.
+ */
+final class TreeTupleList<T, U> extends AbstractTupleList<T, U> {
+    static final int MAX_CHILDREN = 64;
+    private static final int MIN_CHILDREN = MAX_CHILDREN / 4;
+
+    private Node root = new Leaf();
+
+    TreeTupleList(final Class<? extends T> firstClass, final Class<? extends U> lastClass) {
+        super(firstClass, lastClass);
+    }
+
+    @Override
+    public TupleList<T, U> alike() {
+        return new TreeTupleList<>(firstClass, lastClass);
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    @Override
+    public long estimatedRetainedBytes(final ToLongFunction<Object> elementSizer) {
+        return root.estimatedBytes() + size() * Footprint.TUPLE + Footprint.elements(cursor(), elementSizer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Tuple<T, U> get(final int index) {
+        rangeCheck(index);
+        return (Tuple<T, U>) root.get(index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Tuple<T, U> set(final int index, final Tuple<T, U> tuple) {
+        rangeCheck(index);
+        version++;
+        return (Tuple<T, U>) root.set(index, tuple);
+    }
+
+    @Override
+    public void add(final int index, final Tuple<T, U> tuple) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size()));
+        }
+        modCount++;
+        final Node split = root.insert(index, tuple);
+        if (split != null) {
+            final Inner newRoot = new Inner();
+            newRoot.children[0] = root;
+            newRoot.children[1] = split;
+            newRoot.count = 2;
+            newRoot.size = root.size + split.size;
+            root = newRoot;
+        }
+    }
+
+    @Override
+    public Tuple<T, U> remove(final int index) {
+        rangeCheck(index);
+        modCount++;
+        @SuppressWarnings("unchecked")
+        final Tuple<T, U> oldVal = (Tuple<T, U>) root.remove(index);
+        while (root instanceof Inner && ((Inner) root).count == 1) {
+            root = ((Inner) root).children[0];
+        }
+        return oldVal;
+    }
+
+    @Override
+    public void clear() {
+        if (size() > 0) {
+            modCount++;
+            root = new Leaf();
+        }
+    }
+
+    @Override
+    public Iterator<Tuple<T, U>> iterator() {
+        return new Iterator<Tuple<T, U>>() {
+            private final LeafWalker walker = new LeafWalker(0);
+            private boolean removalAllowed = false;
+
+            @Override
+            public boolean hasNext() {
+                return walker.index < size();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Tuple<T, U> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                removalAllowed = true;
+                return (Tuple<T, U>) walker.next();
+            }
+
+            @Override
+            public void remove() {
+                if (!removalAllowed) {
+                    throw new IllegalStateException("trying to remove Tuple, before calling next()");
+                }
+                walker.checkForComodification();
+                removalAllowed = false;
+                TreeTupleList.this.remove(walker.index - 1);
+                walker.reset(walker.index - 1);
+            }
+        };
+    }
+
+    @Override
+    public TupleCursor<T, U> cursor() {
+        return new TupleCursor<T, U>() {
+            private final LeafWalker walker = new LeafWalker(0);
+            private int index = -1;
+            private Tuple<T, U> current;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean advance() {
+                walker.checkForComodification();
+                if (index + 1 < size()) {
+                    current = (Tuple<T, U>) walker.next();
+                    ++index;
+                    return true;
+                }
+                index = size();
+                current = null;
+                return false;
+            }
+
+            @Override
+            public T first() {
+                return current().first();
+            }
+
+            @Override
+            public U last() {
+                return current().last();
+            }
+
+            @Override
+            public int index() {
+                return index;
+            }
+
+            @Override
+            public void setFirst(final T first) {
+                replace(Tuple.of(first, current().last()));
+            }
+
+            @Override
+            public void setLast(final U last) {
+                replace(Tuple.of(current().first(), last));
+            }
+
+            private void replace(final Tuple<T, U> tuple) {
+                walker.checkForComodification();
+                walker.leaf.elements[walker.offset - 1] = tuple;
+                version++;
+                current = tuple;
+            }
+
+            private Tuple<T, U> current() {
+                if (current == null) {
+                    throw new IllegalStateException("cursor does not point to a tuple. index: " + index());
+                }
+                return current;
+            }
+        };
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super T, ? super U> action) {
+        Objects.requireNonNull(action);
+        for (final TupleCursor<T, U> cursor = cursor(); cursor.advance();) {
+            action.accept(cursor.first(), cursor.last());
+        }
+    }
+
+    private void rangeCheck(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index, size()));
+        }
+    }
+
+    /**
+     * Sequential reader over the leaves, descending the tree once per leaf.
+     */
+    private final class LeafWalker {
+        private Leaf leaf;
+        private int offset;
+        private int index;
+        private int expectedModCount;
+
+        LeafWalker(final int index) {
+            reset(index);
+        }
+
+        void reset(final int index) {
+            this.index = index;
+            this.leaf = null;
+            this.expectedModCount = modCount;
+        }
+
+        Object next() {
+            checkForComodification();
+            if (leaf == null || offset == leaf.size) {
+                leaf = root.leaf(index, this);
+            }
+            ++index;
+            return leaf.elements[offset++];
+        }
+
+        void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw Instrumentation.concurrentModification();
+            }
+        }
+    }
+
+    private abstract static class Node {
+        /** number of tuples in this subtree */
+        int size;
+
+        /**
+         * Return the element at {@code index} of this subtree.
+         */
+        abstract Object get(int index);
+
+        /**
+         * Replace the element at {@code index} of this subtree.
+         */
+        abstract Object set(int index, Object e);
+
+        /**
+         * Return the leaf holding {@code index} of this subtree and
+         * position {@code walker} at the element within the leaf.
+         */
+        abstract Leaf leaf(int index, TreeTupleList<?, ?>.LeafWalker walker);
+
+        /**
+         * Insert {@code e} at {@code index} of this subtree.
+         *
+         * @return the new right sibling if this node had to be split, {@code null} otherwise
+         */
+        abstract Node insert(int index, Object e);
+
+        /**
+         * Remove and return the element at {@code index} of this subtree.
+         */
+        abstract Object remove(int index);
+
+        /**
+         * Return the number of entries in this node itself.
+         */
+        abstract int count();
+
+        /**
+         * Move all entries of {@code right} to the end of this node.
+         */
+        abstract void absorb(Node right);
+
+        /**
+         * Return the estimated size of this subtree's nodes, excluding the tuples.
+         */
+        abstract long estimatedBytes();
+    }
+
+    private static final class Leaf extends Node {
+        final Object[] elements = new Object[MAX_CHILDREN];
+
+        @Override
+        Object get(final int index) {
+            return elements[index];
+        }
+
+        @Override
+        Object set(final int index, final Object e) {
+            final Object oldVal = elements[index];
+            elements[index] = e;
+            return oldVal;
+        }
+
+        @Override
+        Leaf leaf(final int index, final TreeTupleList<?, ?>.LeafWalker walker) {
+            walker.offset = index;
+            return this;
+        }
+
+        @Override
+        Node insert(final int index, final Object e) {
+            if (size < MAX_CHILDREN) {
+                System.arraycopy(elements, index, elements, index + 1, size - index);
+                elements[index] = e;
+                ++size;
+                return null;
+            }
+            final Leaf right = new Leaf();
+            final int half = MAX_CHILDREN / 2;
+            System.arraycopy(elements, half, right.elements, 0, MAX_CHILDREN - half);
+            Arrays.fill(elements, half, MAX_CHILDREN, null);
+            size = half;
+            right.size = MAX_CHILDREN - half;
+            if (index <= half) {
+                insert(index, e);
+            } else {
+                right.insert(index - half, e);
+            }
+            return right;
+        }
+
+        @Override
+        Object remove(final int index) {
+            final Object oldVal = elements[index];
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            elements[--size] = null;
+            return oldVal;
+        }
+
+        @Override
+        int count() {
+            return size;
+        }
+
+        @Override
+        long estimatedBytes() {
+            return Footprint.object(1, Integer.BYTES) + Footprint.referenceArray(MAX_CHILDREN);
+        }
+
+        @Override
+        void absorb(final Node right) {
+            final Leaf leaf = (Leaf) right;
+            System.arraycopy(leaf.elements, 0, elements, size, leaf.size);
+            size += leaf.size;
+        }
+    }
+
+    private static final class Inner extends Node {
+        final Node[] children = new Node[MAX_CHILDREN];
+        int count;
+
+        @Override
+        Object get(int index) {
+            int c = 0;
+            while (index >= children[c].size) {
+                index -= children[c++].size;
+            }
+            return children[c].get(index);
+        }
+
+        @Override
+        Object set(int index, final Object e) {
+            int c = 0;
+            while (index >= children[c].size) {
+                index -= children[c++].size;
+            }
+            return children[c].set(index, e);
+        }
+
+        @Override
+        Leaf leaf(int index, final TreeTupleList<?, ?>.LeafWalker walker) {
+            int c = 0;
+            while (index >= children[c].size) {
+                index -= children[c++].size;
+            }
+            return children[c].leaf(index, walker);
+        }
+
+        @Override
+        Node insert(int index, final Object e) {
+            int c = 0;
+            // an index equal to the size appends to the last child
+            while (c < count - 1 && index > children[c].size) {
+                index -= children[c++].size;
+            }
+            if (c < count - 1 && index == children[c].size && children[c].count() == MAX_CHILDREN) {
+                index -= children[c++].size;
+            }
+            ++size;
+            final Node split = children[c].insert(index, e);
+            if (split == null) {
+                return null;
+            }
+            if (count < MAX_CHILDREN) {
+                insertChild(c + 1, split);
+                return null;
+            }
+            final Inner right = new Inner();
+            final int half = MAX_CHILDREN / 2;
+            System.arraycopy(children, half, right.children, 0, MAX_CHILDREN - half);
+            Arrays.fill(children, half, MAX_CHILDREN, null);
+            count = half;
+            right.count = MAX_CHILDREN - half;
+            if (c < half) {
+                insertChild(c + 1, split);
+            } else {
+                right.insertChild(c + 1 - half, split);
+            }
+            recount();
+            right.recount();
+            return right;
+        }
+
+        @Override
+        Object remove(int index) {
+            int c = 0;
+            while (index >= children[c].size) {
+                index -= children[c++].size;
+            }
+            --size;
+            final Node child = children[c];
+            final Object oldVal = child.remove(index);
+            if (child.size == 0) {
+                removeChild(c);
+            } else if (child.count() < MIN_CHILDREN) {
+                // merge with a neighbour if the result fits into one node
+                if (c + 1 < count && child.count() + children[c + 1].count() <= MAX_CHILDREN) {
+                    child.absorb(children[c + 1]);
+                    removeChild(c + 1);
+                } else if (c > 0 && children[c - 1].count() + child.count() <= MAX_CHILDREN) {
+                    children[c - 1].absorb(child);
+                    removeChild(c);
+                }
+            }
+            return oldVal;
+        }
+
+        @Override
+        int count() {
+            return count;
+        }
+
+        @Override
+        long estimatedBytes() {
+            long bytes = Footprint.object(1, 2 * Integer.BYTES) + Footprint.referenceArray(MAX_CHILDREN);
+            for (int c = 0; c < count; ++c) {
+                bytes += children[c].estimatedBytes();
+            }
+            return bytes;
+        }
+
+        @Override
+        void absorb(final Node right) {
+            final Inner inner = (Inner) right;
+            System.arraycopy(inner.children, 0, children, count, inner.count);
+            count += inner.count;
+            size += inner.size;
+        }
+
+        private void insertChild(final int c, final Node child) {
+            System.arraycopy(children, c, children, c + 1, count - c);
+            children[c] = child;
+            ++count;
+        }
+
+        private void removeChild(final int c) {
+            System.arraycopy(children, c + 1, children, c, count - c - 1);
+            children[--count] = null;
+        }
+
+        private void recount() {
+            size = 0;
+            for (int c = 0; c < count; ++c) {
+                size += children[c].size;
+            }
+        }
+    }
+}
@@ -23,6 +23,10 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+
 /**
  * A typed triplet class.
  */
@@ -32,6 +36,10 @@ import lombok.experimental.Accessors;
 public final class Triplet<T, U, V> implements NTuple {
     private static final String ERROR_MSG = "expected: index in (0, 1, 2). got: ";
 
+    private static final Function<Triplet<?, ?, ?>, ?> TO_FIRST = Triplet::first;
+    private static final Function<Triplet<?, ?, ?>, ?> TO_SECOND = Triplet::second;
+    private static final Function<Triplet<?, ?, ?>, ?> TO_LAST = Triplet::last;
+
     /**
      * Get the first element of the {@code Triplet}.
      *
@@ -56,9 +64,119 @@ public final class Triplet<T, U, V> implements NTuple {
     @Getter
     final private V last;
 
+    /**
+     * Return a comparator ordering {@code Triplet} instances by their first element.
+     *
+     * @return comparator using the natural order of the first element
+     */
+    public static <T extends Comparable<? super T>, U, V> TupleComparator<Triplet<T, U, V>> byFirst() {
+        return TupleComparator.natural(TupleComparator.TripletFirst.NATURAL);
+    }
+
+    /**
+     * Return a comparator ordering {@code Triplet} instances by their first element.
+     *
+     * @param order order of the first element
+     * @return comparator using {@code order} on the first element
+     */
+    public static <T, U, V> TupleComparator<Triplet<T, U, V>> byFirst(final Comparator<? super T> order) {
+        return new TupleComparator.TripletFirst<>(Objects.requireNonNull(order), TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a comparator ordering {@code Triplet} instances by their second element.
+     *
+     * @return comparator using the natural order of the second element
+     */
+    public static <T, U extends Comparable<? super U>, V> TupleComparator<Triplet<T, U, V>> bySecond() {
+        return TupleComparator.natural(TupleComparator.TripletSecond.NATURAL);
+    }
+
+    /**
+     * Return a comparator ordering {@code Triplet} instances by their second element.
+     *
+     * @param order order of the second element
+     * @return comparator using {@code order} on the second element
+     */
+    public static <T, U, V> TupleComparator<Triplet<T, U, V>> bySecond(final Comparator<? super U> order) {
+        return new TupleComparator.TripletSecond<>(Objects.requireNonNull(order), TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a comparator ordering {@code Triplet} instances by their third element.
+     *
+     * @return comparator using the natural order of the third element
+     */
+    public static <T, U, V extends Comparable<? super V>> TupleComparator<Triplet<T, U, V>> byLast() {
+        return TupleComparator.natural(TupleComparator.TripletLast.NATURAL);
+    }
+
+    /**
+     * Return a comparator ordering {@code Triplet} instances by their third element.
+     *
+     * @param order order of the third element
+     * @return comparator using {@code order} on the third element
+     */
+    public static <T, U, V> TupleComparator<Triplet<T, U, V>> byLast(final Comparator<? super V> order) {
+        return new TupleComparator.TripletLast<>(Objects.requireNonNull(order), TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a comparator ordering {@code Triplet} instances by the element at {@code index}.
+     * <p>
+     * The position is resolved once, so the comparator is the same
+     * as the one returned by the position-specific factory.
+     *
+     * @param index the tuple position to compare, in range (0, 1, 2)
+     * @return comparator using the natural order of the element at {@code index}
+     * @throws IllegalArgumentException if {@code index} is out of range
+     */
+    public static <T, U, V> TupleComparator<Triplet<T, U, V>> byPosition(final int index) {
+        switch (index) {
+            case 0:
+                return TupleComparator.natural(TupleComparator.TripletFirst.NATURAL);
+            case 1:
+                return TupleComparator.natural(TupleComparator.TripletSecond.NATURAL);
+            case 2:
+                return TupleComparator.natural(TupleComparator.TripletLast.NATURAL);
+            default:
+                throw new IllegalArgumentException(ERROR_MSG + index);
+        }
+    }
+
+    /**
+     * Return a function projecting {@code Triplet} instances onto their first element.
+     *
+     * @return projection onto the first element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U, V> Function<Triplet<T, U, V>, T> toFirst() {
+        return (Function<Triplet<T, U, V>, T>) (Function<?, ?>) TO_FIRST;
+    }
+
+    /**
+     * Return a function projecting {@code Triplet} instances onto their second element.
+     *
+     * @return projection onto the second element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U, V> Function<Triplet<T, U, V>, U> toSecond() {
+        return (Function<Triplet<T, U, V>, U>) (Function<?, ?>) TO_SECOND;
+    }
+
+    /**
+     * Return a function projecting {@code Triplet} instances onto their third element.
+     *
+     * @return projection onto the third element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U, V> Function<Triplet<T, U, V>, V> toLast() {
+        return (Function<Triplet<T, U, V>, V>) (Function<?, ?>) TO_LAST;
+    }
+
     @Override
     public String toString() {
-        return String.format("(%s, %s, %s)", first, second, last);
+        return "(" + first + ", " + second + ", " + last + ")";
     }
 
     /**
@@ -76,15 +194,23 @@ public final class Triplet<T, U, V> implements NTuple {
      */
     @Override
     public Object get(int index) {
-        if (index == 0) {
-            return first;
-        }
-        else if (index == 1) {
-            return second;
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return last;
+            default:
+                throw new IllegalArgumentException(ERROR_MSG + index);
         }
-        else if (index == 2) {
-            return last;
-        }
-        throw new IllegalArgumentException(ERROR_MSG + index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int arity() {
+        return 3;
     }
 }
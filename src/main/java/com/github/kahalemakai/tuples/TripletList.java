@@ -0,0 +1,229 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A type-safe, compile-time checked list of triplets.
+ * <p>
+ * The default implementation stores each triplet position in a separate
+ * column, so that triplets are only materialized when requested.
+ */
+public interface TripletList<T, U, V> extends List<Triplet<T, U, V>> {
+
+    /**
+     * Convert elements from an iterable into triplets and put them to the {@code TripletList}.
+     *
+     * @param iterable iterable whose length is a multiple of 3
+     * @return the {@code TripletList} instance
+     * @throws IllegalArgumentException if {@code iterable}'s length is not a multiple of 3 or
+     * {@code iterable} is not a sequence of types {@code T, U, V}
+     */
+    TripletList<T, U, V> slurp(final Iterable<?> iterable) throws IllegalArgumentException;
+
+    /**
+     * Zip elements from three iterables into triplets and put them to the {@code TripletList}.
+     *
+     * @param first iterable whose elements are used as first elements in the triplets
+     * @param second iterable whose elements are used as second elements in the triplets
+     * @param last iterable whose elements are used as third elements in the triplets
+     * @return the {@code TripletList} instance
+     * @throws IllegalArgumentException if iterables are of different length
+     */
+    TripletList<T, U, V> zip(final Iterable<? extends T> first,
+                             final Iterable<? extends U> second,
+                             final Iterable<? extends V> last) throws IllegalArgumentException;
+
+    /**
+     * Return a new empty {@code TripletList} of equal type.
+     * @return new {@code TripletList} instance
+     */
+    TripletList<T, U, V> alike();
+
+    /**
+     * Add a new triplet to the end of the list.
+     *
+     * @param first first triplet element
+     * @param second second triplet element
+     * @param last third triplet element
+     */
+    default void put(final T first, final U second, final V last) {
+        put(size(), first, second, last);
+    }
+
+    /**
+     * Add a new triplet at some position of the triplet list.
+     *
+     * @param index position where to put the triplet
+     * @param first first triplet element
+     * @param second second triplet element
+     * @param last third triplet element
+     */
+    default void put(final int index, final T first, final U second, final V last) {
+        add(index, Triplet.of(first, second, last));
+    }
+
+    /**
+     * Set triplet at the given position to {@code Triplet.of(first, second, last)}.
+     *
+     * @param index position where to change the list's value
+     * @param first first element of inserted {@code Triplet} instance
+     * @param second second element of inserted {@code Triplet} instance
+     * @param last last element of inserted {@code Triplet} instance
+     */
+    default void set(final int index, final T first, final U second, final V last) {
+        set(index, Triplet.of(first, second, last));
+    }
+
+    /**
+     * Get the first element of the triplet at the given position.
+     *
+     * @param index position of the triplet
+     * @return the first element
+     */
+    default T first(final int index) {
+        return get(index).first();
+    }
+
+    /**
+     * Get the second element of the triplet at the given position.
+     *
+     * @param index position of the triplet
+     * @return the second element
+     */
+    default U second(final int index) {
+        return get(index).second();
+    }
+
+    /**
+     * Get the last element of the triplet at the given position.
+     *
+     * @param index position of the triplet
+     * @return the last element
+     */
+    default V last(final int index) {
+        return get(index).last();
+    }
+
+    /**
+     * Return an unmodifiable list of all first elements in the triplets.
+     * @return list of first elements.
+     */
+    default List<T> firstElements() {
+        final List<T> li = new ArrayList<>(size());
+        for (int i = 0; i < size(); ++i) {
+            li.add(first(i));
+        }
+        return Collections.unmodifiableList(li);
+    }
+
+    /**
+     * Return an unmodifiable list of all second elements in the triplets.
+     * @return list of second elements.
+     */
+    default List<U> secondElements() {
+        final List<U> li = new ArrayList<>(size());
+        for (int i = 0; i < size(); ++i) {
+            li.add(second(i));
+        }
+        return Collections.unmodifiableList(li);
+    }
+
+    /**
+     * Return an unmodifiable list of all last elements in the triplets.
+     * @return list of last elements.
+     */
+    default List<V> lastElements() {
+        final List<V> li = new ArrayList<>(size());
+        for (int i = 0; i < size(); ++i) {
+            li.add(last(i));
+        }
+        return Collections.unmodifiableList(li);
+    }
+
+    /**
+     * Return a sublist view of the triplet list.
+     *
+     * @param fromIndex first index of list to be included
+     * @param toIndex final index, not included by itself
+     * @return a sublist view
+     */
+    @Override
+    TripletList<T, U, V> subList(int fromIndex, int toIndex);
+
+    /**
+     * Create a new TripletList instance.
+     *
+     * @param firstClass class of first element of all included triplets
+     * @param secondClass class of second element of all included triplets
+     * @param lastClass class of third element of all included triplets
+     * @param <R> type corresponding to {@code firstClass}
+     * @param <S> type corresponding to {@code secondClass}
+     * @param <W> type corresponding to {@code lastClass}
+     * @return new {@code TripletList}
+     */
+    static <R, S, W> TripletList<R, S, W> of(Class<? extends R> firstClass,
+                                             Class<? extends S> secondClass,
+                                             Class<? extends W> lastClass) {
+        return new TripletListImpl<>(firstClass, secondClass, lastClass);
+    }
+
+    /**
+     * Create a new TripletList instance.
+     *
+     * @param elementClass class of all triplet elements to include
+     * @param <S> type corresponding to {@code elementClass}
+     * @return new {@code TripletList}
+     */
+    static <S> TripletList<S, S, S> of(Class<? extends S> elementClass) {
+        return TripletList.of(elementClass, elementClass, elementClass);
+    }
+
+    /**
+     * Return an empty and unmodifiable TripletList instance.
+     * <p>
+     * The empty list is a singleton.
+     *
+     * @param <R> class of first element in the triplets
+     * @param <S> class of second element in the triplets
+     * @param <W> class of third element in the triplets
+     * @return unmodifiable TripletList
+     */
+    @SuppressWarnings("unchecked")
+    static <R, S, W> TripletList<R, S, W> emptyList() {
+        return (TripletList<R, S, W>) UnmodifiableTripletList.EMPTY_LIST;
+    }
+
+    /**
+     * Return an unmodifiable version of a triplet list.
+     *
+     * @param triplets the original triplet list
+     * @param <R> class of first element in included triplets
+     * @param <S> class of second element in included triplets
+     * @param <W> class of third element in included triplets
+     * @return unmodifiable version of {@code triplets}
+     */
+    static <R, S, W> TripletList<R, S, W> unmodifiableTripletList(final TripletList<R, S, W> triplets) {
+        return new UnmodifiableTripletList<>(triplets);
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.List;
+
+/**
+ * Columnar {@code TripletList} implementation.
+ */
+class TripletListImpl<T, U, V> extends ColumnarList<Triplet<T, U, V>> implements TripletList<T, U, V> {
+    final Class<? extends T> firstClass;
+    final Class<? extends U> secondClass;
+    final Class<? extends V> lastClass;
+
+    TripletListImpl(Class<? extends T> firstClass, Class<? extends U> secondClass, Class<? extends V> lastClass) {
+        super(firstClass, secondClass, lastClass);
+        this.firstClass = firstClass;
+        this.secondClass = secondClass;
+        this.lastClass = lastClass;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Triplet<T, U, V> row(int index) {
+        return Triplet.of((T) element(index, 0), (U) element(index, 1), (V) element(index, 2));
+    }
+
+    @Override
+    void store(int index, Triplet<T, U, V> triplet) {
+        element(index, 0, triplet.first());
+        element(index, 1, triplet.second());
+        element(index, 2, triplet.last());
+    }
+
+    @Override
+    View newView(View parent, int offset, int size) {
+        return new TripletSubList(parent, offset, size);
+    }
+
+    @Override
+    public TripletListImpl<T, U, V> slurp(Iterable<?> iterable) throws IllegalArgumentException {
+        slurpRows(iterable);
+        return this;
+    }
+
+    @Override
+    public TripletListImpl<T, U, V> zip(Iterable<? extends T> first,
+                                        Iterable<? extends U> second,
+                                        Iterable<? extends V> last) throws IllegalArgumentException {
+        zipRows(first, second, last);
+        return this;
+    }
+
+    @Override
+    public TripletList<T, U, V> alike() {
+        return new TripletListImpl<>(firstClass, secondClass, lastClass);
+    }
+
+    @Override
+    public void put(int index, T first, U second, V last) {
+        rangeCheckForAdd(index);
+        openGap(index, 1);
+        element(index, 0, first);
+        element(index, 1, second);
+        element(index, 2, last);
+    }
+
+    @Override
+    public void set(int index, T first, U second, V last) {
+        rangeCheck(index);
+        element(index, 0, first);
+        element(index, 1, second);
+        element(index, 2, last);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T first(int index) {
+        rangeCheck(index);
+        return (T) element(index, 0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public U second(int index) {
+        rangeCheck(index);
+        return (U) element(index, 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V last(int index) {
+        rangeCheck(index);
+        return (V) element(index, 2);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> firstElements() {
+        return (List<T>) (List<?>) column(0, 0, size());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<U> secondElements() {
+        return (List<U>) (List<?>) column(1, 0, size());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<V> lastElements() {
+        return (List<V>) (List<?>) column(2, 0, size());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TripletList<T, U, V> subList(int fromIndex, int toIndex) {
+        return (TripletList<T, U, V>) super.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "TripletList<" + firstClass.getSimpleName()
+                + ", " + secondClass.getSimpleName()
+                + ", " + lastClass.getSimpleName()
+                + ">" + super.toString();
+    }
+
+    private class TripletSubList extends View implements TripletList<T, U, V> {
+
+        TripletSubList(View parent, int offset, int size) {
+            super(parent, offset, size);
+        }
+
+        @Override
+        public TripletList<T, U, V> slurp(Iterable<?> iterable) throws IllegalArgumentException {
+            throw new UnsupportedOperationException("Triplet subLists can only be constructed by calling subList()");
+        }
+
+        @Override
+        public TripletList<T, U, V> zip(Iterable<? extends T> first,
+                                        Iterable<? extends U> second,
+                                        Iterable<? extends V> last) throws IllegalArgumentException {
+            throw new UnsupportedOperationException("Triplet subLists can only be constructed by calling subList()");
+        }
+
+        @Override
+        public TripletList<T, U, V> alike() {
+            return TripletListImpl.this.alike();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T first(int index) {
+            return (T) element(index, 0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public U second(int index) {
+            return (U) element(index, 1);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V last(int index) {
+            return (V) element(index, 2);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<T> firstElements() {
+            return (List<T>) (List<?>) column(0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<U> secondElements() {
+            return (List<U>) (List<?>) column(1);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<V> lastElements() {
+            return (List<V>) (List<?>) column(2);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public TripletList<T, U, V> subList(int fromIndex, int toIndex) {
+            return (TripletList<T, U, V>) super.subList(fromIndex, toIndex);
+        }
+    }
+}
@@ -23,6 +23,10 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+
 /**
  * A typed {@code Tuple} class.
  */
@@ -33,6 +37,9 @@ public final class Tuple<T, U> implements NTuple {
 
     private static final String ERROR_MSG = "expected: index in (0, 1). got: ";
 
+    private static final Function<Tuple<?, ?>, ?> TO_FIRST = Tuple::first;
+    private static final Function<Tuple<?, ?>, ?> TO_LAST = Tuple::last;
+
     /**
      * Get the first element of the {@code Tuple}.
      *
@@ -49,9 +56,88 @@ public final class Tuple<T, U> implements NTuple {
     @Getter
     final private U last;
 
+    /**
+     * Return a comparator ordering {@code Tuple} instances by their first element.
+     *
+     * @return comparator using the natural order of the first element
+     */
+    public static <T extends Comparable<? super T>, U> TupleComparator<Tuple<T, U>> byFirst() {
+        return TupleComparator.natural(TupleComparator.TupleFirst.NATURAL);
+    }
+
+    /**
+     * Return a comparator ordering {@code Tuple} instances by their first element.
+     *
+     * @param order order of the first element
+     * @return comparator using {@code order} on the first element
+     */
+    public static <T, U> TupleComparator<Tuple<T, U>> byFirst(final Comparator<? super T> order) {
+        return new TupleComparator.TupleFirst<>(Objects.requireNonNull(order), TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a comparator ordering {@code Tuple} instances by their second element.
+     *
+     * @return comparator using the natural order of the second element
+     */
+    public static <T, U extends Comparable<? super U>> TupleComparator<Tuple<T, U>> byLast() {
+        return TupleComparator.natural(TupleComparator.TupleLast.NATURAL);
+    }
+
+    /**
+     * Return a comparator ordering {@code Tuple} instances by their second element.
+     *
+     * @param order order of the second element
+     * @return comparator using {@code order} on the second element
+     */
+    public static <T, U> TupleComparator<Tuple<T, U>> byLast(final Comparator<? super U> order) {
+        return new TupleComparator.TupleLast<>(Objects.requireNonNull(order), TupleComparator.NULLS_HOSTILE);
+    }
+
+    /**
+     * Return a comparator ordering {@code Tuple} instances by the element at {@code index}.
+     * <p>
+     * The position is resolved once, so the comparator is the same
+     * as the one returned by the position-specific factory.
+     *
+     * @param index the tuple position to compare, in range (0, 1)
+     * @return comparator using the natural order of the element at {@code index}
+     * @throws IllegalArgumentException if {@code index} is out of range
+     */
+    public static <T, U> TupleComparator<Tuple<T, U>> byPosition(final int index) {
+        switch (index) {
+            case 0:
+                return TupleComparator.natural(TupleComparator.TupleFirst.NATURAL);
+            case 1:
+                return TupleComparator.natural(TupleComparator.TupleLast.NATURAL);
+            default:
+                throw new IllegalArgumentException(ERROR_MSG + index);
+        }
+    }
+
+    /**
+     * Return a function projecting {@code Tuple} instances onto their first element.
+     *
+     * @return projection onto the first element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U> Function<Tuple<T, U>, T> toFirst() {
+        return (Function<Tuple<T, U>, T>) (Function<?, ?>) TO_FIRST;
+    }
+
+    /**
+     * Return a function projecting {@code Tuple} instances onto their second element.
+     *
+     * @return projection onto the second element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U> Function<Tuple<T, U>, U> toLast() {
+        return (Function<Tuple<T, U>, U>) (Function<?, ?>) TO_LAST;
+    }
+
     @Override
     public String toString() {
-        return String.format("(%s, %s)", first, last);
+        return "(" + first + ", " + last + ")";
     }
 
     /**
@@ -67,13 +153,22 @@ public final class Tuple<T, U> implements NTuple {
      */
     @Override
     public Object get(int index) {
-        if (index == 0) {
-            return first;
-        }
-        else if (index == 1) {
-            return last;
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return last;
+            default:
+                throw new IllegalArgumentException(ERROR_MSG + index);
         }
-        throw new IllegalArgumentException(ERROR_MSG + index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int arity() {
+        return 2;
     }
 
 }
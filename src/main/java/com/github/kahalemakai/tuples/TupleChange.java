@@ -0,0 +1,76 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * A contiguous range of tuples that has been inserted into, removed from or replaced in a {@code TupleList}.
+ * <p>
+ * Changes are reported in batches to a {@link TupleListListener}. The indices of each change
+ * refer to the list as it was after all preceding changes of the same batch had been applied,
+ * so replaying the changes in order transforms the old list into the new one. For removals,
+ * {@code [from, to)} is the range the removed tuples occupied before their removal.
+ */
+@Getter
+@EqualsAndHashCode
+@Accessors(fluent = true)
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class TupleChange {
+
+    /**
+     * The kind of a change.
+     */
+    public enum Type {
+        INSERTED, REMOVED, REPLACED
+    }
+
+    /**
+     * Get the kind of the change.
+     */
+    private final Type type;
+
+    /**
+     * Get the index of the first affected tuple.
+     */
+    private final int from;
+
+    /**
+     * Get the index following the last affected tuple.
+     */
+    private final int to;
+
+    /**
+     * Return the number of affected tuples.
+     *
+     * @return {@code to - from}
+     */
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public String toString() {
+        return type + "[" + from + ", " + to + ")";
+    }
+}
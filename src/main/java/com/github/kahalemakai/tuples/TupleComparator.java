@@ -0,0 +1,361 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * A {@code Comparator} for tuples that compares by tuple position.
+ * <p>
+ * Instances are obtained from the static factories of the tuple classes,
+ * e.g. {@link Tuple#byFirst()} or {@link Triplet#bySecond(Comparator)}.
+ * Each tuple position has its own comparator class, which reads the
+ * element through the typed accessor instead of {@link NTuple#get(int)}.
+ * Comparators without an explicit element order are singletons.
+ * <p>
+ * By default, {@code null} elements cause a {@code NullPointerException}.
+ * Use {@link #nullsFirst()} or {@link #nullsLast()} to order them instead.
+ *
+ * @param <E> the tuple type
+ */
+public abstract class TupleComparator<E extends NTuple> implements Comparator<E> {
+
+    static final int NULLS_HOSTILE = 0;
+    static final int NULLS_FIRST = -1;
+    static final int NULLS_LAST = 1;
+
+    TupleComparator() {
+    }
+
+    /**
+     * Return a comparator that uses {@code next} to break ties.
+     *
+     * @param next comparator to use if this comparator considers two tuples equal
+     * @return new {@code TupleComparator} instance
+     */
+    public TupleComparator<E> thenBy(final Comparator<? super E> next) {
+        return new Chain<>(this, Objects.requireNonNull(next));
+    }
+
+    /**
+     * Return a comparator imposing the reverse ordering.
+     *
+     * @return new {@code TupleComparator} instance
+     */
+    @Override
+    public TupleComparator<E> reversed() {
+        return new Reversed<>(this);
+    }
+
+    /**
+     * Return a comparator that considers {@code null} elements
+     * to be less than non-null elements.
+     *
+     * @return {@code TupleComparator} with nulls ordered first
+     */
+    public TupleComparator<E> nullsFirst() {
+        return withNulls(NULLS_FIRST);
+    }
+
+    /**
+     * Return a comparator that considers {@code null} elements
+     * to be greater than non-null elements.
+     *
+     * @return {@code TupleComparator} with nulls ordered last
+     */
+    public TupleComparator<E> nullsLast() {
+        return withNulls(NULLS_LAST);
+    }
+
+    abstract TupleComparator<E> withNulls(int nulls);
+
+    @SuppressWarnings("unchecked")
+    static <E extends NTuple> TupleComparator<E> natural(final TupleComparator<?> comparator) {
+        return (TupleComparator<E>) comparator;
+    }
+
+    private static final class Chain<E extends NTuple> extends TupleComparator<E> {
+        private final TupleComparator<E> first;
+        private final Comparator<? super E> next;
+
+        Chain(final TupleComparator<E> first, final Comparator<? super E> next) {
+            this.first = first;
+            this.next = next;
+        }
+
+        @Override
+        public int compare(final E a, final E b) {
+            final int result = first.compare(a, b);
+            return result != 0 ? result : next.compare(a, b);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        TupleComparator<E> withNulls(final int nulls) {
+            final Comparator<? super E> nextWithNulls = next instanceof TupleComparator
+                    ? ((TupleComparator<E>) next).withNulls(nulls)
+                    : next;
+            return new Chain<>(first.withNulls(nulls), nextWithNulls);
+        }
+    }
+
+    private static final class Reversed<E extends NTuple> extends TupleComparator<E> {
+        private final TupleComparator<E> comparator;
+
+        Reversed(final TupleComparator<E> comparator) {
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int compare(final E a, final E b) {
+            return comparator.compare(b, a);
+        }
+
+        @Override
+        public TupleComparator<E> reversed() {
+            return comparator;
+        }
+
+        @Override
+        TupleComparator<E> withNulls(final int nulls) {
+            // the reversal would move nulls to the other end
+            return new Reversed<>(comparator.withNulls(-nulls));
+        }
+    }
+
+    /**
+     * Base class of all single-position comparators.
+     */
+    abstract static class Position<E extends NTuple> extends TupleComparator<E> {
+        final Comparator<Object> order;
+        final int nulls;
+
+        @SuppressWarnings("unchecked")
+        Position(final Comparator<?> order, final int nulls) {
+            this.order = (Comparator<Object>) order;
+            this.nulls = nulls;
+        }
+
+        abstract Position<E> create(Comparator<Object> order, int nulls);
+
+        @Override
+        TupleComparator<E> withNulls(final int nulls) {
+            return nulls == this.nulls ? this : create(order, nulls);
+        }
+
+        @SuppressWarnings("unchecked")
+        final int compareElements(final Object a, final Object b) {
+            if (a == null || b == null) {
+                if (nulls == NULLS_HOSTILE) {
+                    throw new NullPointerException("cannot compare null tuple elements");
+                }
+                if (a == b) {
+                    return 0;
+                }
+                return a == null ? nulls : -nulls;
+            }
+            if (order == null) {
+                return ((Comparable<Object>) a).compareTo(b);
+            }
+            return order.compare(a, b);
+        }
+    }
+
+    static final class ByIndex<E extends NTuple> extends Position<E> {
+        private final int index;
+
+        ByIndex(final int index, final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+            this.index = index;
+        }
+
+        @Override
+        public int compare(final E a, final E b) {
+            return compareElements(a.get(index), b.get(index));
+        }
+
+        @Override
+        Position<E> create(final Comparator<Object> order, final int nulls) {
+            return new ByIndex<>(index, order, nulls);
+        }
+    }
+
+    static final class TupleFirst<T, U> extends Position<Tuple<T, U>> {
+        static final TupleFirst<?, ?> NATURAL = new TupleFirst<>(null, NULLS_HOSTILE);
+
+        TupleFirst(final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+        }
+
+        @Override
+        public int compare(final Tuple<T, U> a, final Tuple<T, U> b) {
+            return compareElements(a.first(), b.first());
+        }
+
+        @Override
+        Position<Tuple<T, U>> create(final Comparator<Object> order, final int nulls) {
+            return new TupleFirst<>(order, nulls);
+        }
+    }
+
+    static final class TupleLast<T, U> extends Position<Tuple<T, U>> {
+        static final TupleLast<?, ?> NATURAL = new TupleLast<>(null, NULLS_HOSTILE);
+
+        TupleLast(final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+        }
+
+        @Override
+        public int compare(final Tuple<T, U> a, final Tuple<T, U> b) {
+            return compareElements(a.last(), b.last());
+        }
+
+        @Override
+        Position<Tuple<T, U>> create(final Comparator<Object> order, final int nulls) {
+            return new TupleLast<>(order, nulls);
+        }
+    }
+
+    static final class TripletFirst<T, U, V> extends Position<Triplet<T, U, V>> {
+        static final TripletFirst<?, ?, ?> NATURAL = new TripletFirst<>(null, NULLS_HOSTILE);
+
+        TripletFirst(final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+        }
+
+        @Override
+        public int compare(final Triplet<T, U, V> a, final Triplet<T, U, V> b) {
+            return compareElements(a.first(), b.first());
+        }
+
+        @Override
+        Position<Triplet<T, U, V>> create(final Comparator<Object> order, final int nulls) {
+            return new TripletFirst<>(order, nulls);
+        }
+    }
+
+    static final class TripletSecond<T, U, V> extends Position<Triplet<T, U, V>> {
+        static final TripletSecond<?, ?, ?> NATURAL = new TripletSecond<>(null, NULLS_HOSTILE);
+
+        TripletSecond(final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+        }
+
+        @Override
+        public int compare(final Triplet<T, U, V> a, final Triplet<T, U, V> b) {
+            return compareElements(a.second(), b.second());
+        }
+
+        @Override
+        Position<Triplet<T, U, V>> create(final Comparator<Object> order, final int nulls) {
+            return new TripletSecond<>(order, nulls);
+        }
+    }
+
+    static final class TripletLast<T, U, V> extends Position<Triplet<T, U, V>> {
+        static final TripletLast<?, ?, ?> NATURAL = new TripletLast<>(null, NULLS_HOSTILE);
+
+        TripletLast(final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+        }
+
+        @Override
+        public int compare(final Triplet<T, U, V> a, final Triplet<T, U, V> b) {
+            return compareElements(a.last(), b.last());
+        }
+
+        @Override
+        Position<Triplet<T, U, V>> create(final Comparator<Object> order, final int nulls) {
+            return new TripletLast<>(order, nulls);
+        }
+    }
+
+    static final class QuadrupleFirst<T, U, V, W> extends Position<Quadruple<T, U, V, W>> {
+        static final QuadrupleFirst<?, ?, ?, ?> NATURAL = new QuadrupleFirst<>(null, NULLS_HOSTILE);
+
+        QuadrupleFirst(final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+        }
+
+        @Override
+        public int compare(final Quadruple<T, U, V, W> a, final Quadruple<T, U, V, W> b) {
+            return compareElements(a.first(), b.first());
+        }
+
+        @Override
+        Position<Quadruple<T, U, V, W>> create(final Comparator<Object> order, final int nulls) {
+            return new QuadrupleFirst<>(order, nulls);
+        }
+    }
+
+    static final class QuadrupleSecond<T, U, V, W> extends Position<Quadruple<T, U, V, W>> {
+        static final QuadrupleSecond<?, ?, ?, ?> NATURAL = new QuadrupleSecond<>(null, NULLS_HOSTILE);
+
+        QuadrupleSecond(final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+        }
+
+        @Override
+        public int compare(final Quadruple<T, U, V, W> a, final Quadruple<T, U, V, W> b) {
+            return compareElements(a.second(), b.second());
+        }
+
+        @Override
+        Position<Quadruple<T, U, V, W>> create(final Comparator<Object> order, final int nulls) {
+            return new QuadrupleSecond<>(order, nulls);
+        }
+    }
+
+    static final class QuadrupleThird<T, U, V, W> extends Position<Quadruple<T, U, V, W>> {
+        static final QuadrupleThird<?, ?, ?, ?> NATURAL = new QuadrupleThird<>(null, NULLS_HOSTILE);
+
+        QuadrupleThird(final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+        }
+
+        @Override
+        public int compare(final Quadruple<T, U, V, W> a, final Quadruple<T, U, V, W> b) {
+            return compareElements(a.third(), b.third());
+        }
+
+        @Override
+        Position<Quadruple<T, U, V, W>> create(final Comparator<Object> order, final int nulls) {
+            return new QuadrupleThird<>(order, nulls);
+        }
+    }
+
+    static final class QuadrupleLast<T, U, V, W> extends Position<Quadruple<T, U, V, W>> {
+        static final QuadrupleLast<?, ?, ?, ?> NATURAL = new QuadrupleLast<>(null, NULLS_HOSTILE);
+
+        QuadrupleLast(final Comparator<?> order, final int nulls) {
+            super(order, nulls);
+        }
+
+        @Override
+        public int compare(final Quadruple<T, U, V, W> a, final Quadruple<T, U, V, W> b) {
+            return compareElements(a.last(), b.last());
+        }
+
+        @Override
+        Position<Quadruple<T, U, V, W>> create(final Comparator<Object> order, final int nulls) {
+            return new QuadrupleLast<>(order, nulls);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+/**
+ * A forward-only cursor over the rows of a {@code TupleList}.
+ * <p>
+ * In contrast to an {@code Iterator}, the cursor exposes the elements
+ * of the current row directly, so that no {@code Tuple} instance has
+ * to be handed out per row. A new cursor is positioned before the first
+ * row, hence {@link #advance()} has to be called before accessing any
+ * elements:
+ * <pre>{@code
+ * for (TupleCursor<T, U> c = tuples.cursor(); c.advance();) {
+ *     c.first();
+ *     c.last();
+ * }
+ * }</pre>
+ */
+public interface TupleCursor<T, U> {
+
+    /**
+     * Move the cursor to the next row.
+     *
+     * @return
+     *     {@code true} if the cursor points to a valid row afterwards,
+     *     {@code false} if all rows have been visited
+     * @throws java.util.ConcurrentModificationException
+     *     if the underlying list has been structurally modified
+     *     by anything but the cursor itself
+     */
+    boolean advance();
+
+    /**
+     * Get the first element of the current row.
+     *
+     * @return the first element
+     * @throws IllegalStateException if the cursor does not point to a valid row
+     */
+    T first();
+
+    /**
+     * Get the last element of the current row.
+     *
+     * @return the last element
+     * @throws IllegalStateException if the cursor does not point to a valid row
+     */
+    U last();
+
+    /**
+     * Get the index of the current row.
+     *
+     * @return
+     *     the index of the current row, {@code -1} before the
+     *     first call to {@link #advance()}
+     */
+    int index();
+
+    /**
+     * Replace the first element of the current row (optional operation).
+     *
+     * @param first the new first element
+     * @throws UnsupportedOperationException if the underlying list is unmodifiable
+     * @throws IllegalStateException if the cursor does not point to a valid row
+     */
+    default void setFirst(T first) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Replace the last element of the current row (optional operation).
+     *
+     * @param last the new last element
+     * @throws UnsupportedOperationException if the underlying list is unmodifiable
+     * @throws IllegalStateException if the cursor does not point to a valid row
+     */
+    default void setLast(U last) {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -18,7 +18,16 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 
 package com.github.kahalemakai.tuples;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * A type-safe, compile-time checked list of tuples.
@@ -81,6 +90,28 @@ public interface TupleList<T, U> extends List<Tuple<T, U>> {
      */
     TupleList<T, U> alike();
 
+    /**
+     * Return the class of the first elements, as passed to {@link #of(Class, Class)}.
+     * <p>
+     * Implementations that do not track element classes return {@code Object.class}.
+     * @return class of the first elements
+     */
+    @SuppressWarnings("unchecked")
+    default Class<? extends T> firstClass() {
+        return (Class<? extends T>) Object.class;
+    }
+
+    /**
+     * Return the class of the last elements, as passed to {@link #of(Class, Class)}.
+     * <p>
+     * Implementations that do not track element classes return {@code Object.class}.
+     * @return class of the last elements
+     */
+    @SuppressWarnings("unchecked")
+    default Class<? extends U> lastClass() {
+        return (Class<? extends U>) Object.class;
+    }
+
     /**
      * Set tuple at the given position to {@code Tuple.of(first, last)}.
      * @param index position where to change the list's value
@@ -91,6 +122,53 @@ public interface TupleList<T, U> extends List<Tuple<T, U>> {
         set(index, Tuple.of(first, last));
     }
 
+    /**
+     * Add a new tuple with the elements of {@code tuple} to the end of the list.
+     * <p>
+     * The {@code MutableTuple} itself is not retained and may be reused afterwards.
+     *
+     * @param tuple tuple to copy the elements from
+     */
+    default void put(final MutableTuple<? extends T, ? extends U> tuple) {
+        put(tuple.first(), tuple.last());
+    }
+
+    /**
+     * Add a new tuple with the elements of {@code tuple} at some position of the tuple list.
+     * <p>
+     * The {@code MutableTuple} itself is not retained and may be reused afterwards.
+     *
+     * @param index position where to put the tuple
+     * @param tuple tuple to copy the elements from
+     */
+    default void put(final int index, final MutableTuple<? extends T, ? extends U> tuple) {
+        put(index, tuple.first(), tuple.last());
+    }
+
+    /**
+     * Set tuple at the given position to the elements of {@code tuple}.
+     * <p>
+     * The {@code MutableTuple} itself is not retained and may be reused afterwards.
+     *
+     * @param index position where to change the list's value
+     * @param tuple tuple to copy the elements from
+     */
+    default void set(final int index, final MutableTuple<? extends T, ? extends U> tuple) {
+        set(index, tuple.first(), tuple.last());
+    }
+
+    /**
+     * Copy the elements of the tuple at the given position into {@code target}.
+     *
+     * @param index position of the tuple to read
+     * @param target tuple receiving the elements
+     * @return {@code target}
+     */
+    default MutableTuple<T, U> get(final int index, final MutableTuple<T, U> target) {
+        final Tuple<T, U> tuple = get(index);
+        return target.set(tuple.first(), tuple.last());
+    }
+
     /**
      * Replace all first elements of the {@code TupleList} instance.
      * @param list list of new elements inserted into first slot of the Tuples
@@ -222,6 +300,647 @@ public interface TupleList<T, U> extends List<Tuple<T, U>> {
         return Collections.unmodifiableList(li);
     }
 
+    /**
+     * Return a read-only view of the list as a map from each first element
+     * to all of its last elements, in list order.
+     * <p>
+     * In contrast to {@link #asMap()}, no values are lost and no copy is made:
+     * the view is backed by a compact index over the list, which is rebuilt
+     * lazily after the list has been modified.
+     * Implementations should override this method to supply their modification count;
+     * the default implementation only detects changes of the list's size.
+     *
+     * @return multimap view of the list
+     */
+    default Map<T, List<U>> asMultimap() {
+        return new MultimapView<>(this, this::size);
+    }
+
+    /**
+     * Register a listener to be notified after each modification of the list (optional operation).
+     * <p>
+     * Modifications made through sublists, iterators and cursors are reported as well,
+     * with indices relative to this list.
+     *
+     * @param listener the listener to notify
+     * @throws UnsupportedOperationException if the list does not support listeners
+     */
+    default void addListener(TupleListListener<? super T, ? super U> listener) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Unregister a listener (optional operation).
+     *
+     * @param listener the listener to remove
+     * @return whether the listener had been registered
+     */
+    default boolean removeListener(TupleListListener<? super T, ? super U> listener) {
+        return false;
+    }
+
+    /**
+     * Maintain a Bloom filter over the list's tuples and/or first elements (optional operation).
+     * <p>
+     * Membership checks for tuples the filter rules out return without scanning the list,
+     * which pays off for large, read-mostly lists that are mostly probed for absent tuples.
+     * Only probes that are {@code Tuple}s are accelerated. The filter is updated on insertion
+     * and rebuilt lazily on a later probe after enough tuples have been removed or replaced,
+     * so results are always exact. Enabling a filter replaces any filter enabled before.
+     *
+     * @param mode keys to build the filter over
+     * @param falsePositiveRate probability of a probe for an absent key passing the filter,
+     *                          in {@code (0, 1)}
+     * @throws IllegalArgumentException if the false positive rate is out of range
+     * @throws UnsupportedOperationException if the list does not support Bloom filters
+     * @see BloomFilterMode
+     */
+    default void enableBloomFilter(BloomFilterMode mode, double falsePositiveRate) throws IllegalArgumentException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Maintain a Bloom filter with a false positive rate of 1% (optional operation).
+     *
+     * @param mode keys to build the filter over
+     * @throws UnsupportedOperationException if the list does not support Bloom filters
+     * @see #enableBloomFilter(BloomFilterMode, double)
+     */
+    default void enableBloomFilter(BloomFilterMode mode) {
+        enableBloomFilter(mode, 0.01);
+    }
+
+    /**
+     * Drop the list's Bloom filter (optional operation).
+     *
+     * @return whether a Bloom filter had been enabled
+     */
+    default boolean disableBloomFilter() {
+        return false;
+    }
+
+    /**
+     * Run {@code mutations} and report all modifications they make to the list's listeners
+     * as one batch, after {@code mutations} completed.
+     * <p>
+     * Batches may be nested; only the outermost batch notifies the listeners.
+     *
+     * @param mutations modifications of the list
+     */
+    default void batch(Runnable mutations) {
+        mutations.run();
+    }
+
+    /**
+     * Append a string representation of the list to {@code out}, listing at most {@code maxRows} tuples.
+     * <p>
+     * The tuples are streamed to {@code out} one by one, so the representation of large lists
+     * is never built in memory as a whole. Omitted tuples are summarized:
+     * <pre>{@code
+     * TupleList<String, Integer>[(a, 1), (b, 2), ... 4,999,998 more]
+     * }</pre>
+     *
+     * @param out destination of the representation
+     * @param maxRows maximum number of tuples to list
+     * @param <A> type of {@code out}
+     * @return {@code out}
+     * @throws IOException if appending to {@code out} fails
+     * @throws IllegalArgumentException if {@code maxRows} is negative
+     */
+    default <A extends Appendable> A appendTo(A out, int maxRows) throws IOException {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("expected: maxRows >= 0. got: " + maxRows);
+        }
+        out.append("TupleList<")
+                .append(firstClass().getSimpleName())
+                .append(", ")
+                .append(lastClass().getSimpleName())
+                .append(">[");
+        final TupleCursor<T, U> cursor = cursor();
+        int rows = 0;
+        while (rows < maxRows && cursor.advance()) {
+            if (rows++ > 0) {
+                out.append(", ");
+            }
+            out.append('(')
+                    .append(String.valueOf(cursor.first()))
+                    .append(", ")
+                    .append(String.valueOf(cursor.last()))
+                    .append(')');
+        }
+        final int remaining = size() - rows;
+        if (remaining > 0) {
+            out.append(rows > 0 ? ", ... " : "... ");
+            final String digits = Integer.toString(remaining);
+            for (int i = 0; i < digits.length(); ++i) {
+                if (i > 0 && (digits.length() - i) % 3 == 0) {
+                    out.append(',');
+                }
+                out.append(digits.charAt(i));
+            }
+            out.append(" more");
+        }
+        out.append(']');
+        return out;
+    }
+
+    /**
+     * Return a string representation of the list, listing at most {@code maxRows} tuples.
+     *
+     * @param maxRows maximum number of tuples to list
+     * @return string representation, as produced by {@link #appendTo(Appendable, int)}
+     * @throws IllegalArgumentException if {@code maxRows} is negative
+     */
+    default String toString(int maxRows) {
+        try {
+            return appendTo(new StringBuilder(), maxRows).toString();
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Return an estimate of the heap memory retained by the list, not counting its elements.
+     *
+     * @return estimated size in bytes
+     * @see #estimatedRetainedBytes(ToLongFunction)
+     */
+    default long estimatedRetainedBytes() {
+        return estimatedRetainedBytes(Footprint.NO_ELEMENTS);
+    }
+
+    /**
+     * Return an estimate of the heap memory retained by the list, counting each element with
+     * the size {@code elementSizer} returns for it.
+     * <p>
+     * The estimate covers the backing storage including its unused capacity and the
+     * {@code Tuple} objects held by the list. Lists that materialize tuples on access
+     * only account for their encoded storage. {@code elementSizer} is applied to each
+     * non-null element the list stores: an element referenced by several rows is counted
+     * once per row, unless the list stores distinct elements only once, as dictionary-encoded
+     * columns do. {@link Footprint#shallowSize(Object)} covers boxed primitives and strings.
+     * <p>
+     * The default implementation assumes the tuples to be held by an array without unused capacity.
+     *
+     * @param elementSizer size of an element in bytes
+     * @return estimated size in bytes
+     */
+    default long estimatedRetainedBytes(ToLongFunction<Object> elementSizer) {
+        final int size = size();
+        return Footprint.referenceArray(size) + size * Footprint.TUPLE + Footprint.elements(cursor(), elementSizer);
+    }
+
+    /**
+     * Return a cursor positioned before the first tuple of the list.
+     * <p>
+     * Implementations should override this method in order to
+     * read the elements directly from their backing storage.
+     *
+     * @return new {@code TupleCursor} instance
+     */
+    default TupleCursor<T, U> cursor() {
+        return new IndexedTupleCursor<>(this);
+    }
+
+    /**
+     * Perform an action for the elements of each tuple in the list.
+     *
+     * @param action action receiving the first and last element of each tuple
+     * @throws java.util.ConcurrentModificationException if the list is
+     * structurally modified during iteration
+     */
+    default void forEach(final BiConsumer<? super T, ? super U> action) {
+        Objects.requireNonNull(action);
+        for (final TupleCursor<T, U> cursor = cursor(); cursor.advance();) {
+            action.accept(cursor.first(), cursor.last());
+        }
+    }
+
+    /**
+     * Group the tuples by their first element for aggregating the last elements.
+     * <pre>{@code
+     * TupleList<String, Long> sums = tuples.groupByFirst().sumLong(Integer::longValue);
+     * }</pre>
+     *
+     * @return new {@code Grouping} instance
+     */
+    default Grouping<T, U> groupByFirst() {
+        return new Grouping<>(this, false, firstClass(), false);
+    }
+
+    /**
+     * Group the tuples by their last element for aggregating the first elements.
+     *
+     * @return new {@code Grouping} instance
+     */
+    default Grouping<U, T> groupByLast() {
+        return new Grouping<>(this, true, lastClass(), false);
+    }
+
+    /**
+     * Return a query over the tuples of this list.
+     * <pre>{@code
+     * TupleList<String, Double> averages = tuples.query()
+     *         .where((name, score) -> score >= 0)
+     *         .groupByFirst()
+     *         .average((name, score) -> score);
+     * }</pre>
+     *
+     * @return new {@code Query} instance
+     */
+    default Query<T, U> query() {
+        return new Query<>(this, firstClass(), lastClass());
+    }
+
+    /**
+     * Return a new list holding all tuples whose first element equals {@code value}.
+     *
+     * @param value first element to look for
+     * @return new {@code TupleList} instance
+     */
+    default TupleList<T, U> filterByFirst(final Object value) {
+        final TupleList<T, U> result = alike();
+        for (final TupleCursor<T, U> cursor = cursor(); cursor.advance();) {
+            if (Objects.equals(cursor.first(), value)) {
+                result.put(cursor.first(), cursor.last());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return a new list holding all tuples whose last element equals {@code value}.
+     *
+     * @param value last element to look for
+     * @return new {@code TupleList} instance
+     */
+    default TupleList<T, U> filterByLast(final Object value) {
+        final TupleList<T, U> result = alike();
+        for (final TupleCursor<T, U> cursor = cursor(); cursor.advance();) {
+            if (Objects.equals(cursor.last(), value)) {
+                result.put(cursor.first(), cursor.last());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return a new list holding the first occurrence of each distinct tuple.
+     *
+     * @return new {@code TupleList} instance
+     */
+    default TupleList<T, U> distinct() {
+        return Distinct.select(this, Distinct.rows(this));
+    }
+
+    /**
+     * Return a new list holding one tuple per distinct first element.
+     *
+     * @param keepFirst
+     *     {@code true} to keep the first tuple of each first element,
+     *     {@code false} to keep the last one
+     * @return new {@code TupleList} instance
+     */
+    default TupleList<T, U> distinctByFirst(final boolean keepFirst) {
+        return Distinct.select(this, Distinct.firstElements(this, keepFirst));
+    }
+
+    /**
+     * Remove all but the first occurrence of each distinct tuple in place.
+     * <p>
+     * The remaining tuples keep their relative order.
+     *
+     * @return {@code true} if the list has been changed
+     */
+    default boolean dedupe() {
+        return Distinct.compact(this, Distinct.rows(this));
+    }
+
+    /**
+     * Remove all but one tuple per distinct first element in place.
+     * <p>
+     * The remaining tuples keep their relative order.
+     *
+     * @param keepFirst
+     *     {@code true} to keep the first tuple of each first element,
+     *     {@code false} to keep the last one
+     * @return {@code true} if the list has been changed
+     */
+    default boolean dedupeByFirst(final boolean keepFirst) {
+        return Distinct.compact(this, Distinct.firstElements(this, keepFirst));
+    }
+
+    /**
+     * Return the {@code k} greatest tuples in descending order.
+     * <p>
+     * Only the current candidates are kept in a bounded heap, so this takes
+     * O(n log k) instead of the O(n log n) of sorting the whole list.
+     * The order of tuples comparing equal is unspecified.
+     *
+     * @param k maximum number of tuples to return
+     * @param order ordering of the tuples
+     * @return new {@code TupleList} instance
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    default TupleList<T, U> topK(final int k, final Comparator<? super Tuple<T, U>> order) {
+        return Selection.top(this, k, order);
+    }
+
+    /**
+     * Return the {@code k} smallest tuples in ascending order.
+     *
+     * @param k maximum number of tuples to return
+     * @param order ordering of the tuples
+     * @return new {@code TupleList} instance
+     * @throws IllegalArgumentException if {@code k} is negative
+     * @see #topK(int, Comparator)
+     */
+    default TupleList<T, U> bottomK(final int k, final Comparator<? super Tuple<T, U>> order) {
+        return Selection.top(this, k, Collections.reverseOrder(order));
+    }
+
+    /**
+     * Return the {@code k} greatest tuples in descending order,
+     * selecting candidates from chunks of the list in parallel.
+     * <p>
+     * The list must not be modified while the selection is running.
+     *
+     * @param k maximum number of tuples to return
+     * @param order ordering of the tuples
+     * @return new {@code TupleList} instance
+     * @throws IllegalArgumentException if {@code k} is negative
+     * @see #topK(int, Comparator)
+     */
+    default TupleList<T, U> parallelTopK(final int k, final Comparator<? super Tuple<T, U>> order) {
+        return Selection.parallelTop(this, k, order);
+    }
+
+    /**
+     * Return the {@code k} tuples with the greatest keys in descending order of their keys.
+     * <p>
+     * Keys are compared as primitives and computed once per tuple.
+     *
+     * @param k maximum number of tuples to return
+     * @param key key extractor
+     * @return new {@code TupleList} instance
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    default TupleList<T, U> topKByLong(final int k, final ToLongFunction<? super Tuple<T, U>> key) {
+        return Selection.topByLong(this, k, key, false);
+    }
+
+    /**
+     * Return the {@code k} tuples with the smallest keys in ascending order of their keys.
+     *
+     * @param k maximum number of tuples to return
+     * @param key key extractor
+     * @return new {@code TupleList} instance
+     * @throws IllegalArgumentException if {@code k} is negative
+     * @see #topKByLong(int, ToLongFunction)
+     */
+    default TupleList<T, U> bottomKByLong(final int k, final ToLongFunction<? super Tuple<T, U>> key) {
+        return Selection.topByLong(this, k, key, true);
+    }
+
+    /**
+     * Return the {@code k} tuples with the greatest keys in descending order of their keys.
+     * <p>
+     * Keys are compared as by {@link Double#compare(double, double)} and computed once per tuple.
+     *
+     * @param k maximum number of tuples to return
+     * @param key key extractor
+     * @return new {@code TupleList} instance
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    default TupleList<T, U> topKByDouble(final int k, final ToDoubleFunction<? super Tuple<T, U>> key) {
+        return Selection.topByDouble(this, k, key, false);
+    }
+
+    /**
+     * Return the {@code k} tuples with the smallest keys in ascending order of their keys.
+     *
+     * @param k maximum number of tuples to return
+     * @param key key extractor
+     * @return new {@code TupleList} instance
+     * @throws IllegalArgumentException if {@code k} is negative
+     * @see #topKByDouble(int, ToDoubleFunction)
+     */
+    default TupleList<T, U> bottomKByDouble(final int k, final ToDoubleFunction<? super Tuple<T, U>> key) {
+        return Selection.topByDouble(this, k, key, true);
+    }
+
+    /**
+     * Return the tuple that would be at position {@code n} if the list were sorted,
+     * without sorting it.
+     * <p>
+     * Runs a quickselect over a copy of the list in expected linear time.
+     *
+     * @param n position in the sorted list
+     * @param order ordering of the tuples
+     * @return the {@code n}-th smallest tuple
+     * @throws IndexOutOfBoundsException if {@code n} is out of range
+     */
+    default Tuple<T, U> nth(final int n, final Comparator<? super Tuple<T, U>> order) {
+        return Selection.nth(this, n, order);
+    }
+
+    /**
+     * Join this list with another one on equal first elements.
+     * <pre>{@code
+     * TripletList<K, A, B> joined = tuples.join(others).inner();
+     * }</pre>
+     *
+     * @param other the right input of the join
+     * @param <B> type of the last elements of {@code other}
+     * @return new {@code Join} instance
+     */
+    default <B> Join<T, U, B> join(final TupleList<? extends T, ? extends B> other) {
+        return new Join<>(this, Objects.requireNonNull(other), firstClass(), null);
+    }
+
+    /**
+     * Return a read-only view of this list with each first element replaced by its image under {@code mapper}.
+     * <p>
+     * The view computes its tuples on access and reflects changes of this list. Chained views
+     * share a single pass over this list, see {@link #materialize()}. Views without filters
+     * support positional access as fast as this list's and implement {@code RandomAccess} if
+     * this list does. {@code mapper} is applied on each access and should be free of side effects.
+     *
+     * @param mapper function mapping first elements
+     * @param <R> type of the new first elements
+     * @return read-only view of the mapped tuples
+     */
+    default <R> TupleList<R, U> mapFirst(Function<? super T, ? extends R> mapper) {
+        return LazyTupleList.of(this, LazyTupleList.mappingFirst(mapper), Object.class, lastClass());
+    }
+
+    /**
+     * Return a read-only view of this list with each last element replaced by its image under {@code mapper}.
+     *
+     * @param mapper function mapping last elements
+     * @param <S> type of the new last elements
+     * @return read-only view of the mapped tuples
+     * @see #mapFirst(Function)
+     */
+    default <S> TupleList<T, S> mapLast(Function<? super U, ? extends S> mapper) {
+        return LazyTupleList.of(this, LazyTupleList.mappingLast(mapper), firstClass(), Object.class);
+    }
+
+    /**
+     * Return a read-only view of this list with each tuple replaced by the one {@code mapper} returns for its elements.
+     *
+     * @param mapper function mapping the elements of a tuple to a new tuple
+     * @param <R> type of the new first elements
+     * @param <S> type of the new last elements
+     * @return read-only view of the mapped tuples
+     * @see #mapFirst(Function)
+     */
+    default <R, S> TupleList<R, S> mapToTuple(BiFunction<? super T, ? super U, ? extends Tuple<? extends R, ? extends S>> mapper) {
+        return LazyTupleList.of(this, LazyTupleList.mappingToTuple(mapper), Object.class, Object.class);
+    }
+
+    /**
+     * Return a read-only view of the tuples of this list whose elements satisfy {@code predicate}.
+     * <p>
+     * In contrast to {@link #mapFirst(Function)}, the size of a filtered view and the position
+     * of its tuples are only known after traversing this list, so {@code size()} and {@code get(int)}
+     * take linear time. Iterate, use {@link #cursor()} or {@link #materialize()} instead.
+     *
+     * @param predicate condition on the elements of a tuple
+     * @return read-only view of the matching tuples
+     */
+    default TupleList<T, U> filter(BiPredicate<? super T, ? super U> predicate) {
+        return LazyTupleList.of(this, LazyTupleList.filtering(predicate), firstClass(), lastClass());
+    }
+
+    /**
+     * Return a new array-backed list holding the tuples of this list.
+     * <p>
+     * The result is allocated once with exactly the required capacity. Views created by
+     * {@link #mapFirst(Function)}, {@link #filter(BiPredicate)} and the like compute each tuple
+     * once, however many steps have been chained. As the size of a filtered view is not known
+     * in advance, its result grows while the matching tuples are appended and is trimmed to
+     * size at the end.
+     *
+     * @return new {@code TupleList} instance
+     */
+    default TupleList<T, U> materialize() {
+        final TupleList<T, U> result = new TupleListImpl<>(firstClass(), lastClass(), size());
+        for (final Tuple<T, U> tuple : this) {
+            result.add(tuple);
+        }
+        return result;
+    }
+
+    /**
+     * Create a new TupleList instance, that dictionary-encodes both tuple positions
+     * as long as they have few distinct values.
+     * <p>
+     * Each distinct value is stored once, and each row holds a one- or two-byte code
+     * instead of a reference. This saves most of the memory of columns with up to a few
+     * thousand distinct values, such as enums or categories. Tuples are materialized on access.
+     *
+     * @param firstClass class of first element of all included tuples
+     * @param secondClass class of second element of all included tuples
+     * @param <S> type corresponding to {@code firstClass}
+     * @param <W> type corresponding to {@code secondClass}
+     * @return new {@code TupleList}
+     * @see ColumnEncoding#AUTO
+     */
+    static <S, W> TupleList<S, W> dictionaryEncoded(Class<? extends S> firstClass, Class<? extends W> secondClass) {
+        return dictionaryEncoded(firstClass, secondClass, ColumnEncoding.AUTO, ColumnEncoding.AUTO);
+    }
+
+    /**
+     * Create a new TupleList instance, storing each tuple position with the given encoding.
+     *
+     * @param firstClass class of first element of all included tuples
+     * @param secondClass class of second element of all included tuples
+     * @param firstEncoding encoding of the first elements
+     * @param lastEncoding encoding of the last elements
+     * @param <S> type corresponding to {@code firstClass}
+     * @param <W> type corresponding to {@code secondClass}
+     * @return new {@code TupleList}
+     */
+    static <S, W> TupleList<S, W> dictionaryEncoded(Class<? extends S> firstClass, Class<? extends W> secondClass,
+                                                    ColumnEncoding firstEncoding, ColumnEncoding lastEncoding) {
+        return new DictionaryTupleList<>(firstClass, secondClass, firstEncoding, lastEncoding);
+    }
+
+    /**
+     * Create a new TupleList instance backed by a counted B+-tree.
+     * <p>
+     * In contrast to {@link #of(Class, Class)}, inserting and removing tuples at arbitrary
+     * positions takes O(log n) instead of O(n) time, at the cost of O(log n) positional access.
+     * Iteration is almost as fast as for the array-backed list.
+     *
+     * @param firstClass class of first element of all included tuples
+     * @param secondClass class of second element of all included tuples
+     * @param <S> type corresponding to {@code firstClass}
+     * @param <W> type corresponding to {@code secondClass}
+     * @return new {@code TupleList}
+     */
+    static <S, W> TupleList<S, W> treeList(Class<? extends S> firstClass, Class<? extends W> secondClass) {
+        return new TreeTupleList<>(firstClass, secondClass);
+    }
+
+    /**
+     * Create a new TupleList instance with non-decreasing {@code Long} first elements,
+     * which are stored delta- and varint-encoded in blocks.
+     * <p>
+     * Suited for append-mostly data keyed by timestamps or sequence numbers: closely
+     * spaced keys take one or two bytes each. Random access decodes at most one small
+     * block, iteration decodes sequentially. Tuples can only be appended (with a key
+     * not smaller than the last one) or removed from the end, and first elements can
+     * not be replaced by a different key.
+     *
+     * @param lastClass class of last element of all included tuples
+     * @param <W> type corresponding to {@code lastClass}
+     * @return new {@code TupleList}
+     */
+    static <W> TupleList<Long, W> deltaEncoded(Class<? extends W> lastClass) {
+        return new DeltaEncodedTupleList<>(lastClass);
+    }
+
+    /**
+     * Create a new TupleList instance of fixed capacity, that evicts its oldest
+     * tuple when a tuple is added to the full list.
+     * <p>
+     * The list is backed by a circular array, so appending and evicting
+     * take constant time. {@code get(0)} always returns the oldest tuple.
+     *
+     * @param capacity maximum number of tuples retained
+     * @param firstClass class of first element of all included tuples
+     * @param secondClass class of second element of all included tuples
+     * @param <S> type corresponding to {@code firstClass}
+     * @param <W> type corresponding to {@code secondClass}
+     * @return new {@code TupleList}
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    static <S, W> TupleList<S, W> ringBuffer(int capacity, Class<? extends S> firstClass, Class<? extends W> secondClass) {
+        return new RingTupleList<>(capacity, firstClass, secondClass, null);
+    }
+
+    /**
+     * Create a new TupleList instance of fixed capacity, that evicts its oldest
+     * tuple when a tuple is added to the full list.
+     *
+     * @param capacity maximum number of tuples retained
+     * @param firstClass class of first element of all included tuples
+     * @param secondClass class of second element of all included tuples
+     * @param onEviction callback receiving each evicted tuple
+     * @param <S> type corresponding to {@code firstClass}
+     * @param <W> type corresponding to {@code secondClass}
+     * @return new {@code TupleList}
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     * @see #ringBuffer(int, Class, Class)
+     */
+    static <S, W> TupleList<S, W> ringBuffer(int capacity, Class<? extends S> firstClass, Class<? extends W> secondClass,
+                                             Consumer<? super Tuple<S, W>> onEviction) {
+        return new RingTupleList<>(capacity, firstClass, secondClass, Objects.requireNonNull(onEviction));
+    }
+
     /**
      * Return an unmodifiable version of a tuple list.
      *
@@ -19,7 +19,9 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 package com.github.kahalemakai.tuples;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 
 /**
@@ -27,16 +29,31 @@ import java.util.function.UnaryOperator;
  * Created by lars on 14.04.16.
  */
 class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T, U> {
+    private static final int DEFAULT_CAPACITY = 10;
+
     final Class<? extends T> firstClass;
 
     final Class<? extends U> lastClass;
     int modCount = 0;
+    private transient ChangeSupport<T, U> changes;
+    private transient BloomFilter bloomFilter;
+    /**
+     * Capacity of the backing array as estimated from {@code ArrayList}'s growth policy.
+     */
+    private int capacity;
 
     TupleListImpl(Class<? extends T> firstClass, Class<? extends U> lastClass) {
         this.firstClass = firstClass;
         this.lastClass = lastClass;
     }
 
+    TupleListImpl(Class<? extends T> firstClass, Class<? extends U> lastClass, int initialCapacity) {
+        super(initialCapacity);
+        this.firstClass = firstClass;
+        this.lastClass = lastClass;
+        this.capacity = initialCapacity;
+    }
+
     @Override
     public TupleList<T, U> alike() {
         @SuppressWarnings("unchecked")
@@ -44,17 +61,29 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
         return tuples;
     }
 
+    @Override
+    public Class<? extends T> firstClass() {
+        return firstClass;
+    }
+
+    @Override
+    public Class<? extends U> lastClass() {
+        return lastClass;
+    }
+
     @Override
     public void replaceFirstElements(List<? extends T> list) throws IllegalArgumentException {
         final int len = list.size();
         if (len != size()) {
             throw new IllegalArgumentException("argument list and sublist are of different lengths");
         }
+        final long start = Instrumentation.start();
         for (int i = 0; i < size(); ++i) {
             final U last = this.get(i).last();
             final T newEl = list.get(i);
             this.set(i, newEl, last);
         }
+        Instrumentation.record(TupleMetrics.Operation.REPLACE, start, len);
     }
 
     @Override
@@ -63,16 +92,20 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
         if (len != size()) {
             throw new IllegalArgumentException("argument list and sublist are of different lengths");
         }
+        final long start = Instrumentation.start();
         for (int i = 0; i < size(); ++i) {
             final T first = this.get(i).first();
             final U newEl = list.get(i);
             this.set(i, first, newEl);
         }
+        Instrumentation.record(TupleMetrics.Operation.REPLACE, start, len);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public TupleListImpl<T, U> slurp(final Iterable<?> iterable) throws IllegalArgumentException {
+        final long start = Instrumentation.start();
+        final int len = size();
         for (final Iterator<?> it = iterable.iterator(); it.hasNext();) {
             T firstEl;
             U secondEl;
@@ -86,6 +119,7 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
             }
             this.put(firstEl, secondEl);
         }
+        Instrumentation.record(TupleMetrics.Operation.SLURP, start, size() - len);
         return this;
     }
 
@@ -100,6 +134,7 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
         final Iterator<? extends T> it1 = first.iterator();
         final Iterator<? extends U> it2 = last.iterator();
         final int len = size();
+        final long start = Instrumentation.start();
         while (it1.hasNext() && it2.hasNext()) {
             final T t = it1.next();
             final U u = it2.next();
@@ -111,6 +146,7 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
             removeRange(len, size());
             throw new IllegalArgumentException("cannot zip iterables of different length together");
         }
+        Instrumentation.record(TupleMetrics.Operation.ZIP, start, size() - len);
         return this;
     }
 
@@ -125,6 +161,21 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
         return new TupleListImpl<>(elementClass, elementClass);
     }
 
+    /**
+     * Remove all tuples from position {@code newSize} on, with a single range removal if
+     * {@code tuples} supports it, as {@code subList(newSize, size).clear()} removes the
+     * tuples of a {@code TupleListImpl} one at a time.
+     */
+    static void truncate(final TupleList<?, ?> tuples, final int newSize) {
+        if (tuples instanceof TupleListImpl) {
+            ((TupleListImpl<?, ?>) tuples).removeRange(newSize, tuples.size());
+        } else if (tuples instanceof BigTupleList) {
+            ((BigTupleList<?, ?>) tuples).truncate(newSize);
+        } else {
+            tuples.subList(newSize, tuples.size()).clear();
+        }
+    }
+
     @Override
     public boolean add(Tuple<T, U> tuple) {
         add(size(), tuple);
@@ -134,54 +185,82 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
     @Override
     public void add(int index, Tuple<T, U> element) {
         modCount++;
-        super.add(index, element);
+        if (size() >= capacity) {
+            final long start = Instrumentation.start();
+            super.add(index, element);
+            grown(start);
+        } else {
+            super.add(index, element);
+        }
+        if (bloomFilter != null) bloomFilter.inserted(element);
+        if (changes != null) changes.inserted(index, index + 1);
     }
 
     @Override
     public boolean addAll(Collection<? extends Tuple<T, U>> c) {
-        if (c.size() > 0) modCount++;
-        return super.addAll(c);
+        return addAll(size(), c);
     }
 
     @Override
     public boolean addAll(int index, Collection<? extends Tuple<T, U>> c) {
         if (c.size() > 0) modCount++;
-        return super.addAll(index, c);
+        final int initialSize = size();
+        final boolean grows = initialSize + c.size() > capacity;
+        final long start = grows ? Instrumentation.start() : 0;
+        boolean result = super.addAll(index, c);
+        if (grows) grown(start);
+        if (bloomFilter != null) {
+            for (int i = index, end = index + size() - initialSize; i < end; ++i) {
+                bloomFilter.inserted(super.get(i));
+            }
+        }
+        if (changes != null) changes.inserted(index, index + size() - initialSize);
+        return result;
     }
 
     @Override
     public void clear() {
-        if (size() > 0) modCount++;
+        final int initialSize = size();
+        if (initialSize > 0) modCount++;
         super.clear();
+        if (bloomFilter != null) bloomFilter.invalidate();
+        if (changes != null) changes.removed(0, initialSize);
     }
 
     @Override
     public Tuple<T, U> remove(int index) {
         Tuple<T, U> tuple = super.remove(index);
         modCount++;
+        if (bloomFilter != null) bloomFilter.removed(1);
+        if (changes != null) changes.removed(index, index + 1);
         return tuple;
     }
 
     @Override
     public boolean remove(Object o) {
-        boolean result = super.remove(o);
-        if (result) modCount++;
-        return result;
+        final int index = indexOf(o);
+        if (index < 0) return false;
+        remove(index);
+        return true;
     }
 
     @Override
     public boolean removeAll(Collection<?> c) {
+        if (changes != null) return removeMatching(c::contains);
         final int initialSize = size();
         boolean result = super.removeAll(c);
         if (initialSize != size()) modCount++;
+        if (bloomFilter != null) bloomFilter.removed(initialSize - size());
         return result;
     }
 
     @Override
     public boolean removeIf(Predicate<? super Tuple<T, U>> filter) {
+        if (changes != null) return removeMatching(filter);
         final int initialSize = size();
         boolean result = super.removeIf(filter);
         if (initialSize != size()) modCount++;
+        if (bloomFilter != null) bloomFilter.removed(initialSize - size());
         return result;
     }
 
@@ -189,26 +268,215 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
     protected void removeRange(int fromIndex, int toIndex) {
         super.removeRange(fromIndex, toIndex);
         if (toIndex > fromIndex) modCount++;
+        if (bloomFilter != null) bloomFilter.removed(toIndex - fromIndex);
+        if (changes != null) changes.removed(fromIndex, toIndex);
     }
 
     @Override
     public void replaceAll(UnaryOperator<Tuple<T, U>> operator) {
         super.replaceAll(operator);
         modCount++;
+        if (bloomFilter != null) bloomFilter.invalidate();
+        if (changes != null) changes.replaced(0, size());
     }
 
     @Override
     public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        if (changes != null) return removeMatching(tuple -> !c.contains(tuple));
         final int initialSize = size();
         boolean result = super.retainAll(c);
         if (initialSize != size()) modCount++;
+        if (bloomFilter != null) bloomFilter.removed(initialSize - size());
         return result;
     }
 
     @Override
     public Tuple<T, U> set(int index, Tuple<T, U> element) {
-        if (get(index) != element) modCount++;
-        return super.set(index, element);
+        final Tuple<T, U> oldVal = super.set(index, element);
+        if (oldVal != element) {
+            modCount++;
+            if (bloomFilter != null) {
+                bloomFilter.inserted(element);
+                bloomFilter.removed(1);
+            }
+            if (changes != null) changes.replaced(index, index + 1);
+        }
+        return oldVal;
+    }
+
+    @Override
+    public void sort(Comparator<? super Tuple<T, U>> c) {
+        final long start = Instrumentation.start();
+        super.sort(c);
+        // ArrayList.sort only increments the modCount shadowed by this class
+        modCount++;
+        Instrumentation.record(TupleMetrics.Operation.SORT, start, size());
+        if (changes != null) changes.replaced(0, size());
+    }
+
+    @Override
+    public void addListener(final TupleListListener<? super T, ? super U> listener) {
+        Objects.requireNonNull(listener);
+        if (changes == null) {
+            changes = new ChangeSupport<>(this);
+        }
+        changes.addListener(listener);
+    }
+
+    @Override
+    public boolean removeListener(final TupleListListener<? super T, ? super U> listener) {
+        if (changes == null || !changes.removeListener(listener)) {
+            return false;
+        }
+        if (changes.isUnused()) {
+            changes = null;
+        }
+        return true;
+    }
+
+    @Override
+    public void batch(final Runnable mutations) {
+        beginBatch();
+        try {
+            mutations.run();
+        } finally {
+            endBatch();
+        }
+    }
+
+    @Override
+    public void enableBloomFilter(final BloomFilterMode mode, final double falsePositiveRate)
+            throws IllegalArgumentException {
+        bloomFilter = new BloomFilter(this, mode, falsePositiveRate);
+    }
+
+    @Override
+    public boolean disableBloomFilter() {
+        final boolean enabled = bloomFilter != null;
+        bloomFilter = null;
+        return enabled;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (bloomFilter != null && !bloomFilter.mightContain(o)) return -1;
+        return super.indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (bloomFilter != null && !bloomFilter.mightContain(o)) return -1;
+        return super.lastIndexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public TupleList<T, U> filterByFirst(final Object value) {
+        if (bloomFilter != null && !bloomFilter.mightContainFirst(value)) return alike();
+        return TupleList.super.filterByFirst(value);
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        // like ArrayList, an empty list only grows beyond the default capacity
+        if (minCapacity > capacity && (capacity > 0 || minCapacity > DEFAULT_CAPACITY)) {
+            final long start = Instrumentation.start();
+            super.ensureCapacity(minCapacity);
+            capacity = Math.max(minCapacity, capacity + (capacity >> 1));
+            Instrumentation.resized(start, capacity);
+        } else {
+            super.ensureCapacity(minCapacity);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The backing array is accounted for with the capacity {@code ArrayList} would have grown it to,
+     * which is exact unless the list has been deserialized.
+     */
+    @Override
+    public long estimatedRetainedBytes(final ToLongFunction<Object> elementSizer) {
+        final int size = size();
+        return Footprint.referenceArray(Math.max(capacity, size)) + size * Footprint.TUPLE
+                + Footprint.elements(cursor(), elementSizer)
+                + (bloomFilter != null ? bloomFilter.estimatedBytes() : 0);
+    }
+
+    @Override
+    public void trimToSize() {
+        super.trimToSize();
+        capacity = size();
+    }
+
+    /**
+     * Report that the backing array has grown to hold the current size, following {@code ArrayList}'s growth policy.
+     */
+    private void grown(final long start) {
+        capacity = Math.max(size(), Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1)));
+        Instrumentation.resized(start, capacity);
+    }
+
+    void beginBatch() {
+        if (changes != null) changes.begin();
+    }
+
+    void endBatch() {
+        if (changes != null) {
+            changes.end();
+            if (changes.isUnused()) {
+                changes = null;
+            }
+        }
+    }
+
+    /**
+     * Remove all tuples matching {@code filter} in one pass, reporting each run of removed tuples.
+     * <p>
+     * The filter is evaluated for all tuples before the list is modified.
+     */
+    private boolean removeMatching(final Predicate<? super Tuple<T, U>> filter) {
+        Objects.requireNonNull(filter);
+        final int size = size();
+        final BitSet removed = new BitSet(size);
+        for (int i = 0; i < size; ++i) {
+            if (filter.test(super.get(i))) {
+                removed.set(i);
+            }
+        }
+        return removeRows(removed);
+    }
+
+    /**
+     * Remove the tuples at the indices set in {@code removed}, moving the remaining tuples
+     * to the front of the backing array in one pass and truncating it once.
+     *
+     * @return {@code true} if any tuples have been removed
+     */
+    boolean removeRows(final BitSet removed) {
+        final int size = size();
+        int w = removed.nextSetBit(0);
+        if (w < 0 || w >= size) {
+            return false;
+        }
+        if (changes != null) changes.begin();
+        for (int r = w; r < size; ++r) {
+            if (removed.get(r)) {
+                if (changes != null) changes.removed(w, w + 1);
+            } else {
+                super.set(w++, super.get(r));
+            }
+        }
+        super.removeRange(w, size);
+        modCount++;
+        if (bloomFilter != null) bloomFilter.removed(size - w);
+        if (changes != null) changes.end();
+        return true;
     }
 
     @Override
@@ -235,10 +503,7 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
 
     @Override
     public String toString() {
-        return String.format("TupleList<%s, %s>%s",
-                firstClass.getSimpleName(),
-                lastClass.getSimpleName(),
-                super.toString());
+        return toString(Integer.MAX_VALUE);
     }
 
     @Override
@@ -246,6 +511,109 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
         return new TupleSubList<>(this, fromIndex, toIndex);
     }
 
+    @Override
+    public TupleCursor<T, U> cursor() {
+        return new Cursor(this, 0, size());
+    }
+
+    @Override
+    public Map<T, List<U>> asMultimap() {
+        return new MultimapView<>(this, () -> modCount);
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super T, ? super U> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        final int size = size();
+        for (int i = 0; i < size && modCount == expectedModCount; ++i) {
+            final Tuple<T, U> tuple = get(i);
+            action.accept(tuple.first(), tuple.last());
+        }
+        if (modCount != expectedModCount) {
+            throw Instrumentation.concurrentModification();
+        }
+    }
+
+    /**
+     * Cursor reading directly from the backing array.
+     * <p>
+     * Writes are delegated to {@code owner}, which is either
+     * this list or one of its sublists, so that the owner's
+     * modCount bookkeeping stays intact.
+     */
+    class Cursor implements TupleCursor<T, U> {
+        private final TupleList<T, U> owner;
+        private final int offset;
+        private final int size;
+        private int index = -1;
+        private Tuple<T, U> current;
+        private int expectedModCount = modCount;
+
+        Cursor(final TupleList<T, U> owner, final int offset, final int size) {
+            this.owner = owner;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public boolean advance() {
+            checkForComodification();
+            if (index + 1 < size) {
+                current = get(offset + ++index);
+                return true;
+            }
+            index = size;
+            current = null;
+            return false;
+        }
+
+        @Override
+        public T first() {
+            return current().first();
+        }
+
+        @Override
+        public U last() {
+            return current().last();
+        }
+
+        @Override
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public void setFirst(final T first) {
+            replace(Tuple.of(first, current().last()));
+        }
+
+        @Override
+        public void setLast(final U last) {
+            replace(Tuple.of(current().first(), last));
+        }
+
+        private void replace(final Tuple<T, U> tuple) {
+            checkForComodification();
+            owner.set(index, tuple);
+            current = tuple;
+            expectedModCount = modCount;
+        }
+
+        private Tuple<T, U> current() {
+            if (current == null) {
+                throw new IllegalStateException("cursor does not point to a tuple. index: " + index);
+            }
+            return current;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw Instrumentation.concurrentModification();
+            }
+        }
+    }
+
     private static class TupleSubList<T, U> extends AbstractList<Tuple<T, U>> implements RandomAccess, TupleList<T, U> {
         private final TupleList<T, U> parent;
         private final int offset;
@@ -335,6 +703,44 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
             }
         }
 
+        @Override
+        protected void removeRange(final int fromIndex, final int toIndex) {
+            final TupleListImpl<T, U> root = root();
+            root.beginBatch();
+            try {
+                super.removeRange(fromIndex, toIndex);
+            } finally {
+                root.endBatch();
+            }
+        }
+
+        @Override
+        public boolean removeIf(final Predicate<? super Tuple<T, U>> filter) {
+            final TupleListImpl<T, U> root = root();
+            root.beginBatch();
+            try {
+                return super.removeIf(filter);
+            } finally {
+                root.endBatch();
+            }
+        }
+
+        @Override
+        public boolean removeAll(final Collection<?> c) {
+            return removeIf(c::contains);
+        }
+
+        @Override
+        public boolean retainAll(final Collection<?> c) {
+            Objects.requireNonNull(c);
+            return removeIf(tuple -> !c.contains(tuple));
+        }
+
+        @Override
+        public void batch(final Runnable mutations) {
+            root().batch(mutations);
+        }
+
         public Iterator<Tuple<T, U>> iterator() {
             return new Iterator<Tuple<T, U>>() {
                 int curIdx = 0;
@@ -350,7 +756,7 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
                     if (!removalAllowed) {
                         throw new IllegalStateException("trying to remove Tuple, before calling next()");
                     }
-                    TupleSubList.this.remove(curIdx - 1);
+                    TupleSubList.this.remove(--curIdx);
                     removalAllowed = false;
                 }
 
@@ -367,6 +773,16 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
             return parent.alike();
         }
 
+        @Override
+        public Class<? extends T> firstClass() {
+            return parent.firstClass();
+        }
+
+        @Override
+        public Class<? extends U> lastClass() {
+            return parent.lastClass();
+        }
+
         @Override
         public void replaceFirstElements(List<? extends T> list) throws IllegalArgumentException {
             final int len = list.size();
@@ -393,6 +809,20 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
             }
         }
 
+        @Override
+        public TupleCursor<T, U> cursor() {
+            checkForComodification();
+            return root().new Cursor(this, rootOffset(), size);
+        }
+
+        @Override
+        public Map<T, List<U>> asMultimap() {
+            return new MultimapView<>(this, () -> {
+                checkForComodification();
+                return modCount;
+            });
+        }
+
         public TupleSubList<T, U> subList(int firstIndex, int lastIndex) {
             if (firstIndex >= size) {
                 throw new IndexOutOfBoundsException("start of sublist: " + firstIndex + " is larger than parent list's size: " + size);
@@ -431,13 +861,27 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
             incrementModCount();
         }
 
+        private TupleListImpl<T, U> root() {
+            if (parent instanceof TupleListImpl) {
+                return (TupleListImpl<T, U>) parent;
+            }
+            return ((TupleSubList<T, U>) parent).root();
+        }
+
+        private int rootOffset() {
+            if (parent instanceof TupleListImpl) {
+                return offset;
+            }
+            return offset + ((TupleSubList<T, U>) parent).rootOffset();
+        }
+
         private int getParentModCount() throws UnsupportedOperationException {
             if (parent instanceof TupleListImpl) {
                 return ((TupleListImpl<T, U>) parent).modCount;
             }
             else if (parent instanceof TupleSubList) {
                 TupleSubList<T, U> parentTuples = (TupleSubList<T, U>) this.parent;
-                if (parentTuples.getParentModCount() != parentTuples.modCount) throw new ConcurrentModificationException();
+                if (parentTuples.getParentModCount() != parentTuples.modCount) throw Instrumentation.concurrentModification();
                 else return ((TupleSubList) parent).modCount;
             }
             else {
@@ -447,7 +891,7 @@ class TupleListImpl<T, U> extends ArrayList<Tuple<T, U>> implements TupleList<T,
 
         private void checkForComodification() {
             if (modCount != getParentModCount()) {
-                throw new ConcurrentModificationException();
+                throw Instrumentation.concurrentModification();
             }
         }
 
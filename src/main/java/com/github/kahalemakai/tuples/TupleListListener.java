@@ -0,0 +1,45 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.List;
+
+/**
+ * Listener notified about changes of a {@code TupleList}, so that derived structures
+ * such as indexes or aggregates can be updated incrementally.
+ * <p>
+ * Each modifying call on the list results in one notification. Calls wrapped in
+ * {@link TupleList#batch(Runnable)} are reported together, once the outermost batch
+ * completes. Adjacent changes of the same kind are coalesced into a single range.
+ *
+ * @param <T> type of the first elements
+ * @param <U> type of the last elements
+ */
+@FunctionalInterface
+public interface TupleListListener<T, U> {
+
+    /**
+     * Called after the list has been modified.
+     *
+     * @param source the modified list
+     * @param changes unmodifiable, non-empty list of the changes, in the order they were applied
+     */
+    void onChanged(TupleList<? extends T, ? extends U> source, List<TupleChange> changes);
+
+}
@@ -0,0 +1,85 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+/**
+ * Service provider interface for operational metrics of {@code TupleList}s.
+ * <p>
+ * Instrumentation is disabled by default and costs a single branch per instrumented
+ * operation then. Once an implementation is installed via {@link #install(TupleMetrics)},
+ * it receives counter increments and timed operations from all lists, from any thread:
+ * <ul>
+ *     <li>{@link Counter#RESIZE} whenever the backing storage of a list grows,
+ *     {@link Counter#CONCURRENT_MODIFICATION} whenever a {@code ConcurrentModificationException} is thrown;</li>
+ *     <li>{@link Operation#SLURP}, {@link Operation#ZIP}, {@link Operation#REPLACE} (of all first or last
+ *     elements) and {@link Operation#SORT} with their duration and number of tuples;</li>
+ *     <li>{@link Operation#RESIZE} for growths to at least {@value #LARGE_RESIZE} elements,
+ *     with the time spent on the growing operation and the new capacity.</li>
+ * </ul>
+ * Implementations are meant to feed counters and histograms of a metrics library, or to emit
+ * flight recorder events on runtimes that provide {@code jdk.jfr}. They must be thread-safe and
+ * should return quickly.
+ */
+public interface TupleMetrics {
+
+    /**
+     * Minimum new capacity for a growth to be recorded as {@link Operation#RESIZE}.
+     */
+    int LARGE_RESIZE = 1 << 16;
+
+    /**
+     * Events that are counted.
+     */
+    enum Counter {
+        RESIZE, CONCURRENT_MODIFICATION
+    }
+
+    /**
+     * Operations that are timed.
+     */
+    enum Operation {
+        SLURP, ZIP, REPLACE, SORT, RESIZE
+    }
+
+    /**
+     * Increment a counter by one.
+     *
+     * @param counter the counter to increment
+     */
+    void increment(Counter counter);
+
+    /**
+     * Record a completed operation.
+     *
+     * @param operation the operation
+     * @param nanos duration of the operation in nanoseconds
+     * @param size number of tuples processed, or the new capacity for {@link Operation#RESIZE}
+     */
+    void record(Operation operation, long nanos, long size);
+
+    /**
+     * Install the metrics implementation, replacing any previously installed one.
+     *
+     * @param metrics the implementation to report to, {@code null} to disable instrumentation
+     */
+    static void install(TupleMetrics metrics) {
+        Instrumentation.metrics = metrics;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-only view of a {@code QuadrupleList}.
+ * <p>
+ * All mutators inherited from {@code AbstractList} already
+ * throw an {@code UnsupportedOperationException}.
+ */
+class UnmodifiableQuadrupleList<T, U, V, W> extends AbstractList<Quadruple<T, U, V, W>> implements QuadrupleList<T, U, V, W>, RandomAccess {
+    final QuadrupleList<T, U, V, W> parent;
+
+    static QuadrupleList<Object, Object, Object, Object> EMPTY_LIST =
+            new UnmodifiableQuadrupleList<>(new QuadrupleListImpl<>(Object.class, Object.class, Object.class, Object.class));
+
+    UnmodifiableQuadrupleList(final QuadrupleList<T, U, V, W> quadruples) {
+        this.parent = quadruples;
+    }
+
+    @Override
+    public QuadrupleList<T, U, V, W> slurp(Iterable<?> iterable) throws IllegalArgumentException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public QuadrupleList<T, U, V, W> zip(Iterable<? extends T> first,
+                                         Iterable<? extends U> second,
+                                         Iterable<? extends V> third,
+                                         Iterable<? extends W> last) throws IllegalArgumentException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public QuadrupleList<T, U, V, W> alike() {
+        return parent.alike();
+    }
+
+    @Override
+    public int size() {
+        return parent.size();
+    }
+
+    @Override
+    public Quadruple<T, U, V, W> get(int index) {
+        return parent.get(index);
+    }
+
+    @Override
+    public T first(int index) {
+        return parent.first(index);
+    }
+
+    @Override
+    public U second(int index) {
+        return parent.second(index);
+    }
+
+    @Override
+    public V third(int index) {
+        return parent.third(index);
+    }
+
+    @Override
+    public W last(int index) {
+        return parent.last(index);
+    }
+
+    @Override
+    public List<T> firstElements() {
+        return parent.firstElements();
+    }
+
+    @Override
+    public List<U> secondElements() {
+        return parent.secondElements();
+    }
+
+    @Override
+    public List<V> thirdElements() {
+        return parent.thirdElements();
+    }
+
+    @Override
+    public List<W> lastElements() {
+        return parent.lastElements();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Quadruple<T, U, V, W>> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<Quadruple<T, U, V, W>> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sort(Comparator<? super Quadruple<T, U, V, W>> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public UnmodifiableQuadrupleList<T, U, V, W> subList(int fromIndex, int toIndex) {
+        return new UnmodifiableQuadrupleList<>(parent.subList(fromIndex, toIndex));
+    }
+
+    @Override
+    public String toString() {
+        return "Unmodifiable" + parent.toString();
+    }
+}
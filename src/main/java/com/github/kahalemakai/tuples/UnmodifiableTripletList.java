@@ -0,0 +1,127 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-only view of a {@code TripletList}.
+ * <p>
+ * All mutators inherited from {@code AbstractList} already
+ * throw an {@code UnsupportedOperationException}.
+ */
+class UnmodifiableTripletList<T, U, V> extends AbstractList<Triplet<T, U, V>> implements TripletList<T, U, V>, RandomAccess {
+    final TripletList<T, U, V> parent;
+
+    static TripletList<Object, Object, Object> EMPTY_LIST =
+            new UnmodifiableTripletList<>(new TripletListImpl<>(Object.class, Object.class, Object.class));
+
+    UnmodifiableTripletList(final TripletList<T, U, V> triplets) {
+        this.parent = triplets;
+    }
+
+    @Override
+    public TripletList<T, U, V> slurp(Iterable<?> iterable) throws IllegalArgumentException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TripletList<T, U, V> zip(Iterable<? extends T> first,
+                                    Iterable<? extends U> second,
+                                    Iterable<? extends V> last) throws IllegalArgumentException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TripletList<T, U, V> alike() {
+        return parent.alike();
+    }
+
+    @Override
+    public int size() {
+        return parent.size();
+    }
+
+    @Override
+    public Triplet<T, U, V> get(int index) {
+        return parent.get(index);
+    }
+
+    @Override
+    public T first(int index) {
+        return parent.first(index);
+    }
+
+    @Override
+    public U second(int index) {
+        return parent.second(index);
+    }
+
+    @Override
+    public V last(int index) {
+        return parent.last(index);
+    }
+
+    @Override
+    public List<T> firstElements() {
+        return parent.firstElements();
+    }
+
+    @Override
+    public List<U> secondElements() {
+        return parent.secondElements();
+    }
+
+    @Override
+    public List<V> lastElements() {
+        return parent.lastElements();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Triplet<T, U, V>> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<Triplet<T, U, V>> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sort(Comparator<? super Triplet<T, U, V>> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public UnmodifiableTripletList<T, U, V> subList(int fromIndex, int toIndex) {
+        return new UnmodifiableTripletList<>(parent.subList(fromIndex, toIndex));
+    }
+
+    @Override
+    public String toString() {
+        return "Unmodifiable" + parent.toString();
+    }
+}
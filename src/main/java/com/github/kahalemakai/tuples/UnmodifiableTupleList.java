@@ -18,8 +18,11 @@ along with this program.  If not, see <http://www.gnu.org/licenses/>.
 
 package com.github.kahalemakai.tuples;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 /**
  *
@@ -72,6 +75,16 @@ class UnmodifiableTupleList<T, U> implements TupleList<T, U> {
         return parent.alike();
     }
 
+    @Override
+    public Class<? extends T> firstClass() {
+        return parent.firstClass();
+    }
+
+    @Override
+    public Class<? extends U> lastClass() {
+        return parent.lastClass();
+    }
+
     @Override
     public void replaceFirstElements(List<? extends T> list) throws IllegalArgumentException {
         throw new UnsupportedOperationException();
@@ -116,6 +129,43 @@ class UnmodifiableTupleList<T, U> implements TupleList<T, U> {
         };
     }
 
+    @Override
+    public TupleCursor<T, U> cursor() {
+        return new TupleCursor<T, U>() {
+            private final TupleCursor<T, U> cursor = parent.cursor();
+
+            public boolean advance() {return cursor.advance();}
+            public T first()         {return cursor.first();}
+            public U last()          {return cursor.last();}
+            public int index()       {return cursor.index();}
+        };
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super T, ? super U> action) {
+        parent.forEach(action);
+    }
+
+    @Override
+    public Map<T, List<U>> asMultimap() {
+        return parent.asMultimap();
+    }
+
+    @Override
+    public long estimatedRetainedBytes(ToLongFunction<Object> elementSizer) {
+        return parent.estimatedRetainedBytes(elementSizer);
+    }
+
+    @Override
+    public boolean dedupe() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean dedupeByFirst(boolean keepFirst) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public Object[] toArray() {
         return parent.toArray();
@@ -196,6 +246,11 @@ class UnmodifiableTupleList<T, U> implements TupleList<T, U> {
         return parent.lastIndexOf(o);
     }
 
+    @Override
+    public TupleList<T, U> filterByFirst(Object value) {
+        return parent.filterByFirst(value);
+    }
+
     @Override
     public ListIterator<Tuple<T, U>> listIterator() {
         return listIterator(0);
@@ -236,8 +291,14 @@ class UnmodifiableTupleList<T, U> implements TupleList<T, U> {
         return new UnmodifiableTupleList<>(parent.subList(fromIndex, toIndex));
     }
 
+    @Override
+    public <A extends Appendable> A appendTo(final A out, final int maxRows) throws IOException {
+        out.append("Unmodifiable");
+        return parent.appendTo(out, maxRows);
+    }
+
     @Override
     public String toString() {
-        return String.format("Unmodifiable%s", parent.toString());
+        return "Unmodifiable" + parent.toString();
     }
 }
@@ -0,0 +1,87 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntConsumer;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Assertions on the number of bytes allocated per operation by the current thread.
+ * <p>
+ * Allocations are measured with {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ * Each measurement runs the operation in several rounds and keeps the round allocating the
+ * least, so that one-off allocations by class loading or the first compilation of the measured
+ * code do not count. Tests are skipped on JVMs that cannot measure thread allocation.
+ */
+final class AllocationBudget {
+    private static final int ROUNDS = 5;
+
+    /**
+     * Allocation tolerated per round, independent of the number of operations,
+     * e.g. for the measurement itself or an iterator created once per round.
+     */
+    static final long FIXED_OVERHEAD = 1024;
+
+    private AllocationBudget() {
+    }
+
+    /**
+     * Assert that {@code operation} allocates at most {@code bytesPerOp} bytes on average,
+     * when invoked with the arguments {@code 0, ..., ops - 1}.
+     */
+    static void assertAllocatesAtMost(final String name, final long bytesPerOp, final int ops, final IntConsumer operation) {
+        final long allocated = measure(ops, operation);
+        assertTrue(name + ": allocated " + allocated + " bytes for " + ops + " operations, budget is "
+                        + bytesPerOp + " bytes per operation",
+                allocated <= bytesPerOp * ops + FIXED_OVERHEAD);
+    }
+
+    /**
+     * Assert that {@code operation} does not allocate at all.
+     */
+    static void assertAllocationFree(final String name, final int ops, final IntConsumer operation) {
+        assertAllocatesAtMost(name, 0, ops, operation);
+    }
+
+    /**
+     * Return the fewest bytes allocated by a round of {@code ops} invocations of {@code operation}.
+     */
+    static long measure(final int ops, final IntConsumer operation) {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue("thread allocation cannot be measured", threads instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue("thread allocation cannot be measured", mxBean.isThreadAllocatedMemorySupported());
+        if (!mxBean.isThreadAllocatedMemoryEnabled()) {
+            mxBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        final long thread = Thread.currentThread().getId();
+        long min = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; ++round) {
+            final long before = mxBean.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < ops; ++i) {
+                operation.accept(i);
+            }
+            min = Math.min(min, mxBean.getThreadAllocatedBytes(thread) - before);
+        }
+        return min;
+    }
+}
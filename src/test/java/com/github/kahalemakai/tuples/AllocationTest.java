@@ -0,0 +1,114 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static com.github.kahalemakai.tuples.AllocationBudget.assertAllocatesAtMost;
+import static com.github.kahalemakai.tuples.AllocationBudget.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Allocation budgets of the hot paths, guarding against allocation regressions.
+ */
+public class AllocationTest {
+    private static final int SIZE = 10_000;
+    /**
+     * Upper bound of the size of a {@code Tuple}, without compressed references.
+     */
+    private static final int TUPLE_BYTES = 32;
+    /**
+     * Allowance per pass over a list, for a cursor, iterator or capturing lambda.
+     * Any allocation per tuple exceeds it by far.
+     */
+    private static final int PASS_BYTES = 64;
+
+    private TupleList<Integer, Integer> t0;
+    private Tuple<Integer, Integer> tuple;
+    private long sink;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.of(Integer.class, Integer.class);
+        for (int i = 0; i < SIZE; ++i) {
+            t0.put(i, -i);
+        }
+        tuple = Tuple.of(1, 2);
+    }
+
+    @Test
+    public void testIndexedGet() throws Exception {
+        assertAllocationFree("get", SIZE, i -> sink += t0.get(i).first());
+        final TupleList<Integer, Integer> sub = t0.subList(10, SIZE - 10);
+        assertAllocationFree("subList get", SIZE - 20, i -> sink += sub.get(i).last());
+    }
+
+    @Test
+    public void testSet() throws Exception {
+        assertAllocationFree("set", SIZE, i -> t0.set(i, tuple));
+        assertEquals(tuple, t0.get(SIZE - 1));
+    }
+
+    @Test
+    public void testCursorIteration() throws Exception {
+        assertAllocatesAtMost("cursor", PASS_BYTES, 100, pass -> {
+            for (final TupleCursor<Integer, Integer> cursor = t0.cursor(); cursor.advance();) {
+                sink += cursor.first();
+            }
+        });
+        final TupleList<Integer, Integer> sub = t0.subList(1, SIZE);
+        assertAllocatesAtMost("subList cursor", PASS_BYTES, 100, pass -> {
+            for (final TupleCursor<Integer, Integer> cursor = sub.cursor(); cursor.advance();) {
+                sink += cursor.last();
+            }
+        });
+        final TupleList<Integer, Integer> tree = TupleList.treeList(Integer.class, Integer.class);
+        tree.addAll(t0);
+        assertAllocatesAtMost("tree cursor", PASS_BYTES, 100, pass -> {
+            for (final TupleCursor<Integer, Integer> cursor = tree.cursor(); cursor.advance();) {
+                sink += cursor.first();
+            }
+        });
+    }
+
+    @Test
+    public void testIteration() throws Exception {
+        assertAllocatesAtMost("iterator", PASS_BYTES, 100, pass -> {
+            for (final Iterator<Tuple<Integer, Integer>> it = t0.iterator(); it.hasNext();) {
+                sink += it.next().first();
+            }
+        });
+        assertAllocatesAtMost("forEach", PASS_BYTES, 100, pass -> t0.forEach((first, last) -> sink += first));
+    }
+
+    @Test
+    public void testMaterializingLists() throws Exception {
+        final TupleList<Integer, Integer> dictionary = TupleList.dictionaryEncoded(Integer.class, Integer.class);
+        dictionary.addAll(t0);
+        assertAllocatesAtMost("dictionary get", TUPLE_BYTES, SIZE, i -> sink += dictionary.get(i).first());
+        assertAllocatesAtMost("dictionary cursor", PASS_BYTES, 100, pass -> {
+            for (final TupleCursor<Integer, Integer> cursor = dictionary.cursor(); cursor.advance();) {
+                sink += cursor.first();
+            }
+        });
+    }
+}
@@ -0,0 +1,149 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class BigTupleListTest {
+
+    private static final int N = 3 * SegmentedTupleList.SEGMENT_SIZE + 123;
+
+    private BigTupleList<Integer, Integer> t0;
+    private List<Tuple<Integer, Integer>> expected;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = BigTupleList.of(Integer.class);
+        expected = new ArrayList<>();
+        for (int i = 0; i < N; ++i) {
+            t0.put(i, -i);
+            expected.add(Tuple.of(i, -i));
+        }
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        assertEquals(N, t0.size());
+        assertEquals(N, t0.longSize());
+        assertEquals(Tuple.of(N - 1, 1 - N), t0.get(N - 1));
+        assertEquals(Tuple.of(SegmentedTupleList.SEGMENT_SIZE, -SegmentedTupleList.SEGMENT_SIZE),
+                t0.get((long) SegmentedTupleList.SEGMENT_SIZE));
+        assertEquals(expected, t0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() throws Exception {
+        t0.get((long) N);
+    }
+
+    @Test
+    public void testInsertAndRemoveAcrossSegments() throws Exception {
+        for (int index : new int[] {0, 5, SegmentedTupleList.SEGMENT_SIZE - 1, SegmentedTupleList.SEGMENT_SIZE, N / 2}) {
+            t0.put(index, 7, 7);
+            expected.add(index, Tuple.of(7, 7));
+        }
+        assertEquals(expected, t0);
+        for (int index : new int[] {N / 2, SegmentedTupleList.SEGMENT_SIZE + 1, 3, 0}) {
+            assertEquals(expected.remove(index), t0.remove(index));
+        }
+        assertEquals(expected, t0);
+        t0.subList(100, 2 * SegmentedTupleList.SEGMENT_SIZE).clear();
+        expected.subList(100, 2 * SegmentedTupleList.SEGMENT_SIZE).clear();
+        assertEquals(expected, t0);
+        t0.put(1, 1);
+        expected.add(Tuple.of(1, 1));
+        assertEquals(expected, t0);
+    }
+
+    @Test
+    public void testSetAndTruncate() throws Exception {
+        t0.set(10L, 1, 2);
+        assertEquals(Tuple.of(1, 2), t0.get(10));
+        t0.truncate(SegmentedTupleList.SEGMENT_SIZE + 1);
+        assertEquals(SegmentedTupleList.SEGMENT_SIZE + 1, t0.longSize());
+        t0.put(0, 0);
+        assertEquals(Tuple.of(0, 0), t0.get(SegmentedTupleList.SEGMENT_SIZE + 1));
+        t0.clear();
+        assertTrue(t0.isEmpty());
+        t0.put(4, 2);
+        assertEquals(Collections.singletonList(Tuple.of(4, 2)), t0);
+    }
+
+    @Test
+    public void testIteration() throws Exception {
+        final long[] sum = new long[1];
+        t0.forEach((first, last) -> sum[0] += first);
+        assertEquals((long) N * (N - 1) / 2, sum[0]);
+        final Iterator<Tuple<Integer, Integer>> it = t0.iterator();
+        it.next();
+        it.remove();
+        assertEquals(Tuple.of(1, -1), t0.get(0));
+        assertEquals(N - 1, t0.size());
+        assertTrue(t0.removeIf(t -> t.first() % 2 == 0));
+        assertEquals(N / 2, t0.size());
+    }
+
+    @Test
+    public void testRemoveIfThrowingFilter() throws Exception {
+        try {
+            t0.removeIf(t -> {
+                if (t.first() == N - 10) {
+                    throw new IllegalStateException();
+                }
+                return t.first() % 2 == 0;
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(expected, t0);
+        assertFalse(t0.removeIf(t -> false));
+        assertEquals(expected, t0);
+    }
+
+    @Test
+    public void testSubList() throws Exception {
+        final TupleList<Integer, Integer> sl = t0.subList(SegmentedTupleList.SEGMENT_SIZE - 2, SegmentedTupleList.SEGMENT_SIZE + 2);
+        assertEquals(4, sl.size());
+        sl.put(9, 9);
+        assertEquals(Tuple.of(9, 9), t0.get(SegmentedTupleList.SEGMENT_SIZE + 2));
+        t0.put(0, 0);
+        try {
+            sl.size();
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAlike() throws Exception {
+        final BigTupleList<Integer, Integer> t1 = t0.alike();
+        assertTrue(t1.isEmpty());
+        t1.zip(Arrays.asList(1, 2), Arrays.asList(3, 4));
+        assertEquals(Arrays.asList(Tuple.of(1, 3), Tuple.of(2, 4)), t1);
+        assertEquals(Integer.class, t1.firstClass());
+    }
+
+}
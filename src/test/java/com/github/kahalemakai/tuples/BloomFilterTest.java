@@ -0,0 +1,168 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class BloomFilterTest {
+
+    private TupleList<String, Integer> t0;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.of(String.class, Integer.class);
+        for (int i = 0; i < 1000; ++i) {
+            t0.put("s" + i, i);
+        }
+        t0.enableBloomFilter(BloomFilterMode.TUPLES_AND_FIRST_ELEMENTS);
+    }
+
+    @Test
+    public void testProbes() throws Exception {
+        assertTrue(t0.contains(Tuple.of("s17", 17)));
+        assertEquals(17, t0.indexOf(Tuple.of("s17", 17)));
+        assertEquals(999, t0.lastIndexOf(Tuple.of("s999", 999)));
+        assertFalse(t0.contains(Tuple.of("s17", 18)));
+        assertFalse(t0.contains(Tuple.of("x", 17)));
+        assertEquals(-1, t0.indexOf(Tuple.of("s1000", 1000)));
+        assertFalse(t0.contains("s17"));
+        assertFalse(t0.contains(null));
+        assertTrue(t0.containsAll(Arrays.asList(Tuple.of("s1", 1), Tuple.of("s2", 2))));
+        assertFalse(t0.containsAll(Arrays.asList(Tuple.of("s1", 1), Tuple.of("s2", 3))));
+        assertEquals(Collections.singletonList(Tuple.of("s5", 5)), t0.filterByFirst("s5"));
+        assertTrue(t0.filterByFirst("x").isEmpty());
+    }
+
+    @Test
+    public void testModifications() throws Exception {
+        t0.put("new", -1);
+        t0.add(0, Tuple.of("head", -2));
+        t0.addAll(Arrays.asList(Tuple.of("a", -3), Tuple.of(null, null)));
+        assertEquals(0, t0.indexOf(Tuple.of("head", -2)));
+        assertTrue(t0.contains(Tuple.of("new", -1)));
+        assertTrue(t0.contains(Tuple.of("a", -3)));
+        assertTrue(t0.contains(Tuple.of(null, null)));
+        assertEquals(1, t0.filterByFirst(null).size());
+
+        t0.set(1, Tuple.of("replaced", 0));
+        assertTrue(t0.contains(Tuple.of("replaced", 0)));
+        assertFalse(t0.contains(Tuple.of("s0", 0)));
+
+        t0.removeIf(tuple -> tuple.last() != null && tuple.last() % 2 == 0);
+        assertFalse(t0.contains(Tuple.of("s2", 2)));
+        assertTrue(t0.contains(Tuple.of("s3", 3)));
+        assertTrue(t0.remove(Tuple.of("s3", 3)));
+        assertFalse(t0.remove(Tuple.of("s3", 3)));
+
+        t0.replaceAll(tuple -> tuple.last() == null ? tuple : Tuple.of(tuple.first(), -tuple.last()));
+        assertTrue(t0.contains(Tuple.of("s5", -5)));
+        assertFalse(t0.contains(Tuple.of("s5", 5)));
+
+        t0.subList(0, 10).clear();
+        t0.subList(0, 1).add(Tuple.of("sub", 1));
+        assertTrue(t0.contains(Tuple.of("sub", 1)));
+        for (final ListIterator<Tuple<String, Integer>> it = t0.listIterator(); it.hasNext();) {
+            if (it.next().equals(Tuple.of("sub", 1))) {
+                it.set(Tuple.of("iter", 1));
+            }
+        }
+        assertTrue(t0.contains(Tuple.of("iter", 1)));
+
+        t0.clear();
+        assertFalse(t0.contains(Tuple.of("iter", 1)));
+        t0.put("again", 1);
+        assertTrue(t0.contains(Tuple.of("again", 1)));
+        assertEquals(1, t0.filterByFirst("again").size());
+    }
+
+    @Test
+    public void testAgreesWithScan() throws Exception {
+        final Random random = new Random(42);
+        final List<Tuple<String, Integer>> expected = new ArrayList<>(t0);
+        for (int round = 0; round < 20000; ++round) {
+            final Tuple<String, Integer> tuple = Tuple.of("s" + random.nextInt(1500), random.nextInt(1500));
+            switch (random.nextInt(4)) {
+                case 0:
+                    t0.add(tuple);
+                    expected.add(tuple);
+                    break;
+                case 1:
+                    if (!expected.isEmpty()) {
+                        final int index = random.nextInt(expected.size());
+                        assertEquals(expected.remove(index), t0.remove(index));
+                    }
+                    break;
+                default:
+                    assertEquals(expected.indexOf(tuple), t0.indexOf(tuple));
+                    assertEquals(expected.lastIndexOf(tuple), t0.lastIndexOf(tuple));
+            }
+        }
+        assertEquals(expected, t0);
+    }
+
+    @Test
+    public void testFalsePositiveRate() throws Exception {
+        final BloomFilter.Bits bits = new BloomFilter.Bits(10000, 0.01);
+        for (int i = 0; i < 10000; ++i) {
+            bits.add(i, 0);
+        }
+        int falsePositives = 0;
+        for (int i = 10000; i < 110000; ++i) {
+            if (bits.mightContain(i, 0)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("false positives: " + falsePositives, falsePositives < 2000);
+        for (int i = 0; i < 10000; ++i) {
+            assertTrue(bits.mightContain(i, 0));
+        }
+    }
+
+    @Test
+    public void testUnmodifiableDelegates() throws Exception {
+        final TupleList<String, Integer> view = TupleList.unmodifiableTupleList(t0);
+        assertTrue(view.contains(Tuple.of("s1", 1)));
+        assertFalse(view.contains(Tuple.of("s1", 2)));
+        assertEquals(1, view.filterByFirst("s1").size());
+    }
+
+    @Test
+    public void testFootprint() throws Exception {
+        final long withFilter = t0.estimatedRetainedBytes();
+        assertTrue(t0.disableBloomFilter());
+        assertFalse(t0.disableBloomFilter());
+        assertTrue(withFilter > t0.estimatedRetainedBytes());
+        assertTrue(t0.contains(Tuple.of("s1", 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRate() throws Exception {
+        t0.enableBloomFilter(BloomFilterMode.TUPLES, 1.0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnsupported() throws Exception {
+        TupleList.unmodifiableTupleList(t0).enableBloomFilter(BloomFilterMode.TUPLES);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DelimitedFormatTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static ByteBuffer utf8(final String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReadNumbers() throws Exception {
+        final TupleList<Long, Double> tuples = DelimitedFormat.csv().read(
+                utf8("1,0.5\n-2,1e3\r\n\n9223372036854775807,-0.125\n-9223372036854775808,3.14159\n4,"),
+                TupleList.of(Long.class, Double.class));
+        assertEquals(Arrays.asList(1L, -2L, Long.MAX_VALUE, Long.MIN_VALUE, 4L), tuples.firstElements());
+        assertEquals(Arrays.asList(0.5, 1000.0, -0.125, 3.14159, null), tuples.lastElements());
+    }
+
+    @Test
+    public void testDecimalsAreCorrectlyRounded() throws Exception {
+        final Random random = new Random(7);
+        final StringBuilder sb = new StringBuilder();
+        final List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; ++i) {
+            final String value = BigDecimal.valueOf(random.nextLong() % 1_000_000_000_000L, random.nextInt(16)).toPlainString();
+            values.add(value);
+            sb.append(i).append('\t').append(value).append('\n');
+        }
+        final TupleList<Integer, Double> tuples = DelimitedFormat.tsv().read(utf8(sb.toString()),
+                TupleList.of(Integer.class, Double.class));
+        for (int i = 0; i < values.size(); ++i) {
+            assertEquals(values.get(i), Double.valueOf(values.get(i)), tuples.get(i).last());
+        }
+    }
+
+    @Test
+    public void testQuotedFields() throws Exception {
+        final TupleList<String, String> tuples = DelimitedFormat.csv().skipHeader().read(
+                utf8("key,value\n\"a,b\",\"say \"\"hi\"\"\"\n\"\",\ngrüße,\"line\nbreak\"\n"),
+                TupleList.of(String.class, String.class));
+        assertEquals(Arrays.asList(Tuple.of("a,b", "say \"hi\""), Tuple.of("", null), Tuple.of("grüße", "line\nbreak")), tuples);
+    }
+
+    @Test
+    public void testMalformedInputLeavesTargetUnchanged() throws Exception {
+        final TupleList<Integer, Integer> tuples = TupleList.of(Integer.class, Integer.class);
+        tuples.put(0, 0);
+        for (final String input : Arrays.asList("1,2\n3,x\n", "1,2\n3\n", "1,2,3\n", "1,\"2\n", "2147483648,1\n")) {
+            try {
+                DelimitedFormat.csv().read(utf8(input), tuples);
+                fail("expected failure for " + input);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains(" at byte "));
+            }
+            assertEquals(Collections.singletonList(Tuple.of(0, 0)), tuples);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testRollbackOfLargeInputIsLinear() throws Exception {
+        // removing the parsed rows one at a time takes minutes for this many rows
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1_000_000; ++i) {
+            sb.append(i).append(',').append(-i).append('\n');
+        }
+        sb.append("x,0\n");
+        final TupleList<Integer, Integer> tuples = TupleList.of(Integer.class, Integer.class);
+        tuples.put(0, 0);
+        try {
+            DelimitedFormat.csv().read(utf8(sb.toString()), tuples);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(Collections.singletonList(Tuple.of(0, 0)), tuples);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedClassFails() throws Exception {
+        DelimitedFormat.csv().read(utf8("1,2\n"), TupleList.of(Integer.class, Object[].class));
+    }
+
+    @Test
+    public void testEnumsAndBooleans() throws Exception {
+        final TupleList<ColumnEncoding, Boolean> tuples = DelimitedFormat.withDelimiter(';').read(
+                utf8("AUTO;true\nPLAIN;FALSE\n"), TupleList.of(ColumnEncoding.class, Boolean.class));
+        assertEquals(Arrays.asList(Tuple.of(ColumnEncoding.AUTO, true), Tuple.of(ColumnEncoding.PLAIN, false)), tuples);
+    }
+
+    @Test
+    public void testWriteAndReadRoundTrip() throws Exception {
+        final TupleList<Long, String> tuples = TupleList.of(Long.class, String.class);
+        tuples.put(Long.MIN_VALUE, "plain");
+        tuples.put(0L, "with,comma");
+        tuples.put(42L, "with \"quotes\"");
+        tuples.put(-7L, "");
+        tuples.put(null, null);
+        tuples.put(1L, "😀 ünïcode\r\n");
+        final Path path = folder.getRoot().toPath().resolve("tuples.csv");
+        DelimitedFormat.csv().write(tuples, path);
+        assertEquals(tuples, DelimitedFormat.csv().read(path, Long.class, String.class));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DelimitedFormat.csv().write(tuples.subList(0, 3), Channels.newChannel(out));
+        assertEquals("-9223372036854775808,plain\n0,\"with,comma\"\n42,\"with \"\"quotes\"\"\"\n", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void testParallelRead() throws Exception {
+        final TupleList<Integer, Double> tuples = TupleList.of(Integer.class, Double.class);
+        for (int i = 0; tuples.size() < 300_000; ++i) {
+            tuples.put(i, i / 8.0);
+        }
+        final Path path = folder.getRoot().toPath().resolve("tuples.tsv");
+        DelimitedFormat.tsv().write(tuples, path);
+        assertTrue(Files.size(path) > 2 * DelimitedFormat.MIN_CHUNK_SIZE);
+        assertEquals(tuples, DelimitedFormat.tsv().parallel().read(path, Integer.class, Double.class));
+        assertEquals(tuples.subList(1, tuples.size()),
+                DelimitedFormat.tsv().parallel().skipHeader().read(path, Integer.class, Double.class));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DeltaEncodedTupleListTest {
+
+    private TupleList<Long, String> t0;
+    private List<Tuple<Long, String>> expected;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.deltaEncoded(String.class);
+        expected = new ArrayList<>();
+        final Random random = new Random(42);
+        long key = -1_000L;
+        for (int i = 0; i < 1_000; ++i) {
+            // mix of small, equal and very large gaps
+            key += i % 100 == 0 ? random.nextInt(Integer.MAX_VALUE) * 1_000L : random.nextInt(3);
+            t0.put(key, "v" + i);
+            expected.add(Tuple.of(key, "v" + i));
+        }
+    }
+
+    @Test
+    public void testRandomAccess() throws Exception {
+        assertEquals(expected.size(), t0.size());
+        for (int i = expected.size() - 1; i >= 0; --i) {
+            assertEquals(expected.get(i), t0.get(i));
+        }
+        assertEquals(expected, t0);
+    }
+
+    @Test
+    public void testSequentialDecoding() throws Exception {
+        final List<Tuple<Long, String>> visited = new ArrayList<>();
+        for (final TupleCursor<Long, String> cursor = t0.cursor(); cursor.advance();) {
+            visited.add(Tuple.of(cursor.first(), cursor.last()));
+        }
+        assertEquals(expected, visited);
+        visited.clear();
+        t0.forEach((k, v) -> visited.add(Tuple.of(k, v)));
+        assertEquals(expected, visited);
+        assertEquals(expected, new ArrayList<>(t0));
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        final TupleList<Long, String> timestamps = TupleList.deltaEncoded(String.class);
+        for (long t = 1_500_000_000_000L; timestamps.size() < 10_000; t += 100) {
+            timestamps.put(t, null);
+        }
+        final long bytes = ((DeltaEncodedTupleList<String>) timestamps).encodedKeyBytes();
+        assertTrue("encoded size: " + bytes, bytes < 2 * 10_000);
+        assertEquals(Long.valueOf(1_500_000_000_000L + 100 * 9_999L), timestamps.get(9_999).first());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreasingKeyFails() throws Exception {
+        t0.put(expected.get(expected.size() - 1).first() - 1, "x");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testInsertFails() throws Exception {
+        t0.put(0, Long.MIN_VALUE, "x");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemoveFromMiddleFails() throws Exception {
+        t0.remove(10);
+    }
+
+    @Test
+    public void testReplaceLastElements() throws Exception {
+        t0.set(3, Tuple.of(expected.get(3).first(), "x"));
+        assertEquals("x", t0.get(3).last());
+        for (final TupleCursor<Long, String> cursor = t0.cursor(); cursor.advance();) {
+            cursor.setLast("y");
+        }
+        assertEquals(Collections.nCopies(expected.size(), "y"), t0.lastElements());
+        assertEquals(expected.get(17).first(), t0.get(17).first());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReplaceKeyFails() throws Exception {
+        t0.set(3, Tuple.of(expected.get(3).first() + 1, "x"));
+    }
+
+    @Test
+    public void testTruncateAndAppend() throws Exception {
+        t0.subList(300, t0.size()).clear();
+        assertEquals(expected.subList(0, 300), t0);
+        final long last = expected.get(299).first();
+        t0.put(last, "a");
+        t0.put(last + 5, "b");
+        assertEquals(Tuple.of(last + 5, "b"), t0.get(301));
+        t0.remove(t0.size() - 1);
+        t0.clear();
+        assertTrue(t0.isEmpty());
+        t0.put(Long.MIN_VALUE, "min");
+        t0.put(Long.MAX_VALUE, "max");
+        assertEquals(Arrays.asList(Long.MIN_VALUE, Long.MAX_VALUE), t0.firstElements());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testCursorDetectsModification() throws Exception {
+        final TupleCursor<Long, String> cursor = t0.cursor();
+        cursor.advance();
+        t0.put(Long.MAX_VALUE, "x");
+        cursor.advance();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DictionaryTupleListTest {
+
+    private TupleList<String, Integer> t0;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.dictionaryEncoded(String.class, Integer.class)
+                .slurp(Arrays.asList("a", 1, "b", 2, "a", 3, null, 4, "b", 1));
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        assertEquals(5, t0.size());
+        assertEquals(Tuple.of("a", 3), t0.get(2));
+        assertEquals(Tuple.of(null, 4), t0.get(3));
+        assertEquals(Arrays.asList("a", "b", "a", null, "b"), t0.firstElements());
+    }
+
+    @Test
+    public void testModification() throws Exception {
+        t0.set(0, "c", 0);
+        t0.put(1, "d", 5);
+        t0.remove(3);
+        assertEquals(Arrays.asList(
+                Tuple.of("c", 0), Tuple.of("d", 5), Tuple.of("b", 2), Tuple.of(null, 4), Tuple.of("b", 1)), t0);
+        t0.subList(1, 3).clear();
+        assertEquals(Arrays.asList(Tuple.of("c", 0), Tuple.of(null, 4), Tuple.of("b", 1)), t0);
+        t0.clear();
+        assertTrue(t0.isEmpty());
+    }
+
+    @Test
+    public void testLookups() throws Exception {
+        assertEquals(4, t0.indexOf(Tuple.of("b", 1)));
+        assertEquals(2, t0.lastIndexOf(Tuple.of("a", 3)));
+        assertEquals(-1, t0.indexOf(Tuple.of("z", 1)));
+        assertFalse(t0.contains("a"));
+        assertTrue(t0.contains(Tuple.of(null, 4)));
+        assertEquals(Arrays.asList(Tuple.of("b", 2), Tuple.of("b", 1)), t0.filterByFirst("b"));
+        assertEquals(Arrays.asList(Tuple.of("a", 1), Tuple.of("b", 1)), t0.filterByLast(1));
+        assertTrue(t0.filterByFirst("z").isEmpty());
+    }
+
+    @Test
+    public void testCodeWidening() throws Exception {
+        final TupleList<Integer, String> tuples = TupleList.dictionaryEncoded(Integer.class, String.class,
+                ColumnEncoding.DICTIONARY, ColumnEncoding.AUTO);
+        final List<Tuple<Integer, String>> expected = new ArrayList<>();
+        for (int i = 0; i < 70_000; ++i) {
+            tuples.put(0, i, i % 3 == 0 ? "x" : String.valueOf(i));
+            expected.add(0, Tuple.of(i, i % 3 == 0 ? "x" : String.valueOf(i)));
+            if (i == 255 || i == 256 || i == 65_535 || i == 65_536) {
+                assertEquals(expected, tuples);
+            }
+        }
+        assertEquals(expected, tuples);
+        assertEquals(70_000 / 3 + 1, tuples.filterByLast("x").size());
+        assertEquals(69_999 - 300, tuples.indexOf(Tuple.of(300, "x")));
+    }
+
+    @Test
+    public void testAutoFallback() throws Exception {
+        final TupleList<Integer, Integer> tuples = TupleList.dictionaryEncoded(Integer.class, Integer.class);
+        for (int i = 0; i < 70_000; ++i) {
+            tuples.put(i, i % 7);
+        }
+        tuples.set(5, 1, 1);
+        assertEquals(Tuple.of(69_999, 69_999 % 7), tuples.get(69_999));
+        assertEquals(Tuple.of(1, 1), tuples.get(5));
+        assertEquals(2, tuples.filterByFirst(1).size());
+        assertEquals(10_000, tuples.filterByLast(0).size());
+    }
+
+    @Test
+    public void testRemovedValuesAreReleased() throws Exception {
+        final TupleList<String, Integer> tuples = TupleList.dictionaryEncoded(String.class, Integer.class,
+                ColumnEncoding.DICTIONARY, ColumnEncoding.DICTIONARY);
+        tuples.put("x", 0);
+        for (int i = 0; i < 200_000; ++i) {
+            tuples.set(0, "s" + i, i);
+        }
+        assertEquals(Collections.singletonList(Tuple.of("s199999", 199_999)), tuples);
+        assertTrue(tuples.estimatedRetainedBytes(Footprint::shallowSize) < 16_384);
+
+        for (int i = 0; i < 100_000; ++i) {
+            tuples.put("t" + i, i);
+        }
+        assertTrue(tuples.estimatedRetainedBytes(Footprint::shallowSize) > 4_000_000);
+        tuples.subList(1, tuples.size()).clear();
+        assertEquals(Collections.singletonList(Tuple.of("s199999", 199_999)), tuples);
+        // like an ArrayList, the code arrays keep their capacity of 400 kB each, but the values are gone
+        assertTrue(tuples.estimatedRetainedBytes(Footprint::shallowSize) < 1_000_000);
+    }
+
+    @Test
+    public void testCompactionKeepsContents() throws Exception {
+        final TupleList<Integer, Integer> tuples = TupleList.dictionaryEncoded(Integer.class, Integer.class,
+                ColumnEncoding.DICTIONARY, ColumnEncoding.AUTO);
+        final List<Tuple<Integer, Integer>> expected = new ArrayList<>();
+        final Random random = new Random(7);
+        for (int round = 0; round < 50_000; ++round) {
+            // the range of values drifts, so that old values die and codes get widened
+            final Tuple<Integer, Integer> tuple = Tuple.of(round / 4 + random.nextInt(300), random.nextInt(3));
+            final int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+            switch (random.nextInt(3)) {
+                case 0:
+                    tuples.add(index, tuple);
+                    expected.add(index, tuple);
+                    break;
+                case 1:
+                    if (!expected.isEmpty()) {
+                        assertEquals(expected.set(index, tuple), tuples.set(index, tuple));
+                    }
+                    break;
+                default:
+                    if (expected.size() > 500) {
+                        assertEquals(expected.remove(index), tuples.remove(index));
+                    }
+            }
+        }
+        assertEquals(expected, tuples);
+        final int value = expected.get(expected.size() / 2).first();
+        assertEquals(expected.stream().filter(t -> t.first() == value).count(), tuples.filterByFirst(value).size());
+    }
+
+    @Test
+    public void testAutoFallbackForHighCardinality() throws Exception {
+        final TupleList<Integer, Integer> auto = TupleList.dictionaryEncoded(Integer.class, Integer.class);
+        final TupleList<Integer, Integer> plain = TupleList.dictionaryEncoded(Integer.class, Integer.class,
+                ColumnEncoding.PLAIN, ColumnEncoding.PLAIN);
+        final TupleList<Integer, Integer> encoded = TupleList.dictionaryEncoded(Integer.class, Integer.class,
+                ColumnEncoding.DICTIONARY, ColumnEncoding.DICTIONARY);
+        for (int i = 0; i < 10_000; ++i) {
+            auto.put(i, -i);
+            plain.put(i, -i);
+            encoded.put(i, -i);
+        }
+        assertEquals(plain, auto);
+        assertTrue(auto.estimatedRetainedBytes() <= plain.estimatedRetainedBytes());
+        assertTrue(encoded.estimatedRetainedBytes() > plain.estimatedRetainedBytes());
+
+        final TupleList<Integer, Integer> repeated = TupleList.dictionaryEncoded(Integer.class, Integer.class);
+        for (int i = 0; i < 10_000; ++i) {
+            repeated.put(i % (Column.Dictionary.AUTO_MIN_ROWS / 2), i % 3);
+        }
+        assertTrue(repeated.estimatedRetainedBytes() < plain.estimatedRetainedBytes() / 2);
+    }
+
+    @Test
+    public void testCursor() throws Exception {
+        final TupleCursor<String, Integer> cursor = t0.cursor();
+        while (cursor.advance()) {
+            cursor.setLast(cursor.last() * 10);
+        }
+        assertEquals(Arrays.asList(10, 20, 30, 40, 10), t0.lastElements());
+    }
+
+    @Test
+    public void testPlain() throws Exception {
+        final TupleList<String, Integer> tuples = TupleList.dictionaryEncoded(String.class, Integer.class,
+                ColumnEncoding.PLAIN, ColumnEncoding.PLAIN);
+        tuples.addAll(t0);
+        assertEquals(t0, tuples);
+        assertEquals(t0.filterByFirst("a"), tuples.filterByFirst("a"));
+        assertEquals(t0, TupleList.of(String.class, Integer.class).slurp(t0.flatten()));
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DistinctTest {
+
+    private TupleList<String, Integer> t0;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.of(String.class, Integer.class)
+                .slurp(Arrays.asList("a", 1, "b", 2, "a", 1, "a", 3, null, null, "b", 2, null, null));
+    }
+
+    @Test
+    public void testDistinct() throws Exception {
+        final TupleList<String, Integer> distinct = t0.distinct();
+        assertEquals(Arrays.asList(Tuple.of("a", 1), Tuple.of("b", 2), Tuple.of("a", 3), Tuple.of(null, null)),
+                distinct);
+        assertEquals(7, t0.size());
+        assertEquals(distinct, distinct.distinct());
+    }
+
+    @Test
+    public void testDistinctByFirst() throws Exception {
+        assertEquals(Arrays.asList(Tuple.of("a", 1), Tuple.of("b", 2), Tuple.of(null, null)),
+                t0.distinctByFirst(true));
+        assertEquals(Arrays.asList(Tuple.of("a", 3), Tuple.of("b", 2), Tuple.of(null, null)),
+                t0.distinctByFirst(false));
+    }
+
+    @Test
+    public void testDedupe() throws Exception {
+        assertTrue(t0.dedupe());
+        assertEquals(Arrays.asList(Tuple.of("a", 1), Tuple.of("b", 2), Tuple.of("a", 3), Tuple.of(null, null)), t0);
+        assertFalse(t0.dedupe());
+        assertTrue(t0.dedupeByFirst(false));
+        assertEquals(Arrays.asList(Tuple.of("b", 2), Tuple.of("a", 3), Tuple.of(null, null)), t0);
+    }
+
+    @Test
+    public void testDedupeSubList() throws Exception {
+        final TupleList<String, Integer> sl = t0.subList(1, 6);
+        assertTrue(sl.dedupeByFirst(true));
+        assertEquals(Arrays.asList(Tuple.of("b", 2), Tuple.of("a", 1), Tuple.of(null, null)), sl);
+        assertEquals(Arrays.asList(Tuple.of("a", 1), Tuple.of("b", 2), Tuple.of("a", 1), Tuple.of(null, null),
+                Tuple.of(null, null)), t0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDedupeUnmodifiable() throws Exception {
+        TupleList.unmodifiableTupleList(t0).dedupe();
+    }
+
+    @Test
+    public void testLarge() throws Exception {
+        final TupleList<Integer, Integer> tuples = TupleList.of(Integer.class);
+        for (int i = 0; i < 100_000; ++i) {
+            tuples.put(i % 1000, i % 7);
+        }
+        assertEquals(1000, tuples.distinctByFirst(true).size());
+        assertTrue(tuples.dedupe());
+        assertEquals(7000, tuples.size());
+        assertEquals(new HashSet<>(tuples).size(), tuples.size());
+    }
+
+    @Test(timeout = 10_000)
+    public void testDedupeIsLinear() throws Exception {
+        // a compaction removing rows one at a time takes minutes for this many duplicates
+        final TupleList<Integer, Integer> tuples = TupleList.of(Integer.class);
+        for (int i = 0; i < 1_000_000; ++i) {
+            tuples.put(i >> 1, 0);
+        }
+        assertTrue(tuples.dedupe());
+        assertEquals(500_000, tuples.size());
+        assertEquals(Tuple.of(499_999, 0), tuples.get(499_999));
+        assertFalse(tuples.dedupeByFirst(true));
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Reports the estimated bytes per row of each storage variant for several element types,
+ * once for the list structure alone and once including the elements as sized by
+ * {@link Footprint#shallowSize(Object)}.
+ * <p>
+ * Run with {@code gradle footprintBenchmark}, optionally passing the number of rows
+ * as {@code -Prows=...}.
+ */
+public final class FootprintBenchmark {
+    private static final int DEFAULT_ROWS = 1_000_000;
+
+    private FootprintBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        final int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+
+        final Map<String, IntFunction<Object>> elements = new LinkedHashMap<>();
+        elements.put("small int", i -> i % 100);
+        elements.put("int", i -> i);
+        elements.put("long", i -> (long) i << 20);
+        elements.put("double", i -> i * 0.5);
+        elements.put("category", i -> "category-" + i % 50);
+        elements.put("unique string", i -> "row-" + i);
+
+        final Map<String, Supplier<TupleList<Object, Object>>> variants = new LinkedHashMap<>();
+        variants.put("array", () -> TupleList.of(Object.class, Object.class));
+        variants.put("tree", () -> TupleList.treeList(Object.class, Object.class));
+        variants.put("ring", () -> TupleList.ringBuffer(rows, Object.class, Object.class));
+        variants.put("segmented", () -> BigTupleList.of(Object.class, Object.class));
+        variants.put("dictionary", () -> TupleList.dictionaryEncoded(Object.class, Object.class));
+
+        System.out.printf("%-12s %-14s %10s %10s%n", "variant", "elements", "structure", "total");
+        for (final Map.Entry<String, IntFunction<Object>> element : elements.entrySet()) {
+            final IntFunction<Object> value = element.getValue();
+            for (final Map.Entry<String, Supplier<TupleList<Object, Object>>> variant : variants.entrySet()) {
+                final TupleList<Object, Object> tuples = variant.getValue().get();
+                for (int i = 0; i < rows; ++i) {
+                    tuples.put(value.apply(i), value.apply(i + 1));
+                }
+                report(variant.getKey(), element.getKey(), tuples, rows);
+            }
+            // delta encoding requires ordered long keys, so only the last elements vary
+            final TupleList<Long, Object> delta = TupleList.deltaEncoded(Object.class);
+            for (int i = 0; i < rows; ++i) {
+                delta.put((long) i, value.apply(i));
+            }
+            report("delta", element.getKey(), delta, rows);
+        }
+    }
+
+    private static void report(final String variant, final String element, final TupleList<?, ?> tuples,
+                               final int rows) {
+        System.out.printf("%-12s %-14s %10.1f %10.1f%n", variant, element,
+                tuples.estimatedRetainedBytes() / (double) rows,
+                tuples.estimatedRetainedBytes(Footprint::shallowSize) / (double) rows);
+    }
+}
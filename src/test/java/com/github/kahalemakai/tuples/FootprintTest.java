@@ -0,0 +1,120 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class FootprintTest {
+
+    @Test
+    public void testShallowSize() throws Exception {
+        assertEquals(0, Footprint.shallowSize(null));
+        assertEquals(0, Footprint.shallowSize(true));
+        assertEquals(0, Footprint.shallowSize(TimeUnit.SECONDS));
+        assertEquals(0, Footprint.shallowSize(42));
+        assertEquals(0, Footprint.shallowSize(42L));
+        assertTrue(Footprint.shallowSize(100_000) >= 16);
+        assertTrue(Footprint.shallowSize(100_000L) >= Footprint.shallowSize(100_000));
+        assertTrue(Footprint.shallowSize(1.0) >= 16);
+        assertTrue(Footprint.shallowSize("") >= 24);
+        assertTrue(Footprint.shallowSize("a somewhat longer string") > Footprint.shallowSize("short"));
+        assertEquals(0, Footprint.shallowSize(100_000) % 8);
+        assertEquals(0, Footprint.shallowSize("abc") % 8);
+    }
+
+    @Test
+    public void testArrayListSlack() throws Exception {
+        final TupleList<String, Integer> tuples = TupleList.of(String.class, Integer.class);
+        assertEquals(Footprint.referenceArray(0), tuples.estimatedRetainedBytes());
+        tuples.put("a", 1);
+        assertEquals(Footprint.referenceArray(10) + Footprint.TUPLE, tuples.estimatedRetainedBytes());
+        for (int i = 1; i < 11; ++i) {
+            tuples.put("a", i);
+        }
+        assertEquals(Footprint.referenceArray(15) + 11 * Footprint.TUPLE, tuples.estimatedRetainedBytes());
+        ((TupleListImpl<String, Integer>) tuples).trimToSize();
+        assertEquals(Footprint.referenceArray(11) + 11 * Footprint.TUPLE, tuples.estimatedRetainedBytes());
+        tuples.clear();
+        assertEquals(Footprint.referenceArray(11), tuples.estimatedRetainedBytes());
+    }
+
+    @Test
+    public void testElementSizer() throws Exception {
+        final TupleList<String, Integer> tuples = TupleList.of(String.class, Integer.class);
+        tuples.put("abc", 1);
+        tuples.put("abc", 100_000);
+        tuples.add(Tuple.of(null, null));
+        final long expected = tuples.estimatedRetainedBytes()
+                + 2 * Footprint.shallowSize("abc") + Footprint.shallowSize(100_000);
+        assertEquals(expected, tuples.estimatedRetainedBytes(Footprint::shallowSize));
+        final AtomicInteger calls = new AtomicInteger();
+        tuples.estimatedRetainedBytes(e -> calls.incrementAndGet());
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void testDictionaryCountsDistinctElementsOnce() throws Exception {
+        final TupleList<String, Integer> plain = TupleList.of(String.class, Integer.class);
+        final TupleList<String, Integer> dictionary = TupleList.dictionaryEncoded(String.class, Integer.class);
+        for (int i = 0; i < 1000; ++i) {
+            plain.put(i % 2 == 0 ? "even" : "odd", i % 3);
+            dictionary.put(i % 2 == 0 ? "even" : "odd", i % 3);
+        }
+        final AtomicInteger calls = new AtomicInteger();
+        dictionary.estimatedRetainedBytes(e -> calls.incrementAndGet());
+        assertEquals(5, calls.get());
+        assertTrue(dictionary.estimatedRetainedBytes() < plain.estimatedRetainedBytes() / 4);
+    }
+
+    @Test
+    public void testOtherStorage() throws Exception {
+        final TupleList<Integer, Integer> ring = TupleList.ringBuffer(100, Integer.class, Integer.class);
+        final TupleList<Integer, Integer> tree = TupleList.treeList(Integer.class, Integer.class);
+        final TupleList<Long, Integer> delta = TupleList.deltaEncoded(Integer.class);
+        final BigTupleList<Integer, Integer> big = BigTupleList.of(Integer.class, Integer.class);
+        for (int i = 0; i < 1000; ++i) {
+            ring.put(i, i);
+            tree.put(i, i);
+            delta.put((long) i, i);
+            big.put(i, i);
+        }
+        assertEquals(Footprint.referenceArray(100) + 100 * Footprint.TUPLE, ring.estimatedRetainedBytes());
+        assertTrue(tree.estimatedRetainedBytes() > 1000 * (Footprint.TUPLE + Footprint.REFERENCE));
+        assertTrue(big.estimatedRetainedBytes() > Footprint.referenceArray(SegmentedTupleList.SEGMENT_SIZE));
+        // keys are encoded and not sized, values are
+        final AtomicInteger calls = new AtomicInteger();
+        final long unsized = delta.estimatedRetainedBytes();
+        assertEquals(unsized + 1000, delta.estimatedRetainedBytes(e -> calls.incrementAndGet() > 0 ? 1 : 0));
+        assertEquals(1000, calls.get());
+        assertTrue(unsized < 1000 * (Footprint.TUPLE + Footprint.REFERENCE));
+    }
+
+    @Test
+    public void testUnmodifiableDelegates() throws Exception {
+        final TupleList<String, Integer> tuples = TupleList.of(String.class, Integer.class);
+        tuples.put("a", 1);
+        assertEquals(tuples.estimatedRetainedBytes(Footprint::shallowSize),
+                TupleList.unmodifiableTupleList(tuples).estimatedRetainedBytes(Footprint::shallowSize));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class GroupingTest {
+
+    private TupleList<String, Integer> t0;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.of(String.class, Integer.class)
+                .slurp(Arrays.asList("b", 2, "a", 3, "c", 1, "a", 1, null, 5, "b", 7));
+    }
+
+    @Test
+    public void testCount() throws Exception {
+        final TupleList<String, Long> counts = t0.groupByFirst().count();
+        assertEquals(Arrays.asList("b", "a", "c", null), counts.firstElements());
+        assertEquals(Arrays.asList(2L, 2L, 1L, 1L), counts.lastElements());
+    }
+
+    @Test
+    public void testSumMinMax() throws Exception {
+        assertEquals(Arrays.asList(9L, 4L, 1L, 5L), t0.groupByFirst().sumLong(Integer::longValue).lastElements());
+        assertEquals(Arrays.asList(2L, 1L, 1L, 5L), t0.groupByFirst().minLong(Integer::longValue).lastElements());
+        assertEquals(Arrays.asList(7L, 3L, 1L, 5L), t0.groupByFirst().maxLong(Integer::longValue).lastElements());
+        assertEquals(Arrays.asList(4.5, 2.0, 1.0, 5.0), t0.groupByFirst().average(Integer::doubleValue).lastElements());
+        assertEquals(Arrays.asList(7.0, 3.0, 1.0, 5.0), t0.groupByFirst().maxDouble(Integer::doubleValue).lastElements());
+    }
+
+    @Test
+    public void testGroupByLast() throws Exception {
+        final TupleList<Integer, String> groups = t0.groupByLast()
+                .collect(String.class, Collectors.joining(","));
+        assertEquals(Arrays.asList(2, 3, 1, 5, 7), groups.firstElements());
+        assertEquals("c,a", groups.get(2).last());
+        assertEquals(Integer.class, groups.firstClass());
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        assertTrue(t0.alike().groupByFirst().count().isEmpty());
+        assertTrue(t0.alike().groupByFirst().parallel().sumDouble(Integer::doubleValue).isEmpty());
+    }
+
+    @Test
+    public void testSubList() throws Exception {
+        final TupleList<String, Long> sums = t0.subList(1, 4).groupByFirst().sumLong(Integer::longValue);
+        assertEquals(Arrays.asList(Tuple.of("a", 4L), Tuple.of("c", 1L)), sums);
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        final int n = 8 * Grouping.MIN_CHUNK_SIZE + 17;
+        final TupleList<Integer, Integer> tuples = TupleList.of(Integer.class, Integer.class);
+        for (int i = 0; i < n; ++i) {
+            tuples.put(i % 1000, i);
+        }
+        final Grouping<Integer, Integer> grouping = tuples.groupByFirst();
+        assertEquals(grouping.sumLong(Integer::longValue), grouping.parallel().sumLong(Integer::longValue));
+        assertEquals(grouping.minLong(Integer::longValue), grouping.parallel().minLong(Integer::longValue));
+        assertEquals(grouping.average(Integer::doubleValue), grouping.parallel().average(Integer::doubleValue));
+        assertEquals(grouping.collect(Long.class, Collectors.counting()),
+                grouping.parallel().collect(Long.class, Collectors.counting()));
+        assertEquals(1000, grouping.parallel().count().size());
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class JoinTest {
+
+    private TupleList<Integer, String> names;
+    private TupleList<Integer, Double> scores;
+
+    @Before
+    public void setUp() throws Exception {
+        names = TupleList.of(Integer.class, String.class)
+                .slurp(Arrays.asList(1, "a", 2, "b", 3, "c", 4, "d", 5, "e"));
+        scores = TupleList.of(Integer.class, Double.class)
+                .slurp(Arrays.asList(2, 2.0, 4, 4.0, 4, 4.5, 6, 6.0));
+    }
+
+    @Test
+    public void testInner() throws Exception {
+        final List<Triplet<Integer, String, Double>> expected = Arrays.asList(
+                Triplet.of(2, "b", 2.0), Triplet.of(4, "d", 4.0), Triplet.of(4, "d", 4.5));
+        assertEquals(expected, names.join(scores).inner());
+        assertEquals(expected, names.join(scores).sorted().inner());
+        final TripletList<Integer, Double, String> swapped = scores.join(names).inner();
+        assertEquals(Arrays.asList(Triplet.of(2, 2.0, "b"), Triplet.of(4, 4.0, "d"), Triplet.of(4, 4.5, "d")),
+                swapped);
+    }
+
+    @Test
+    public void testInnerBuildOnSmallerSide() throws Exception {
+        scores.put(4, 4.7);
+        scores.put(2, 2.5);
+        scores.put(7, 7.0);
+        names.put(2, "bb");
+        // the left input is smaller, so the rows are emitted in the order of the right one
+        assertEquals(Arrays.asList(
+                Triplet.of(2, "b", 2.0), Triplet.of(2, "bb", 2.0), Triplet.of(4, "d", 4.0), Triplet.of(4, "d", 4.5),
+                Triplet.of(4, "d", 4.7), Triplet.of(2, "b", 2.5), Triplet.of(2, "bb", 2.5)),
+                names.join(scores).inner());
+    }
+
+    @Test
+    public void testInnerIntoTupleList() throws Exception {
+        final TupleList<String, Double> target = TupleList.of(String.class, Double.class);
+        assertSame(target, names.join(scores).inner(target));
+        assertEquals(Arrays.asList(Tuple.of("b", 2.0), Tuple.of("d", 4.0), Tuple.of("d", 4.5)), target);
+    }
+
+    @Test
+    public void testLeft() throws Exception {
+        final List<Triplet<Integer, String, Double>> expected = Arrays.asList(
+                Triplet.of(1, "a", null), Triplet.of(2, "b", 2.0), Triplet.of(3, "c", null),
+                Triplet.of(4, "d", 4.0), Triplet.of(4, "d", 4.5), Triplet.of(5, "e", null));
+        assertEquals(expected, names.join(scores).left());
+        assertEquals(expected, names.join(scores).sorted().left());
+    }
+
+    @Test
+    public void testSemiAnti() throws Exception {
+        final List<Tuple<Integer, String>> semi = Arrays.asList(Tuple.of(2, "b"), Tuple.of(4, "d"));
+        final List<Tuple<Integer, String>> anti = Arrays.asList(Tuple.of(1, "a"), Tuple.of(3, "c"), Tuple.of(5, "e"));
+        assertEquals(semi, names.join(scores).semi());
+        assertEquals(anti, names.join(scores).anti());
+        assertEquals(semi, names.join(scores).sorted(Comparator.naturalOrder()).semi());
+        assertEquals(anti, names.join(scores).sorted(Comparator.naturalOrder()).anti());
+        assertEquals(Arrays.asList(Tuple.of(2, 2.0), Tuple.of(4, 4.0), Tuple.of(4, 4.5)), scores.join(names).semi());
+        assertEquals(Collections.singletonList(Tuple.of(6, 6.0)), scores.join(names).anti());
+    }
+
+    @Test
+    public void testNullKeys() throws Exception {
+        names.put(null, "x");
+        scores.put(null, 0.0);
+        assertEquals(Triplet.of(null, "x", 0.0), names.join(scores).inner().get(3));
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        assertTrue(names.join(scores.alike()).inner().isEmpty());
+        assertEquals(names, names.join(scores.alike()).anti());
+        assertEquals(5, names.join(scores.alike()).left().size());
+    }
+
+}
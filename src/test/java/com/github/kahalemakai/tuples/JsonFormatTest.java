@@ -0,0 +1,182 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class JsonFormatTest {
+
+    @Test
+    public void testWritePairs() throws Exception {
+        final TupleList<Integer, String> tuples = TupleList.of(Integer.class, String.class);
+        tuples.put(1, "a");
+        tuples.add(Tuple.of(null, "quote \" backslash \\ newline \n tab \t bell \u0007"));
+        tuples.add(Tuple.of(3, null));
+        final StringBuilder sb = new StringBuilder();
+        JsonFormat.pairs().write(tuples, sb);
+        assertEquals("[[1,\"a\"],[null,\"quote \\\" backslash \\\\ newline \\n tab \\t bell \\u0007\"],[3,null]]",
+                sb.toString());
+    }
+
+    @Test
+    public void testWriteObject() throws Exception {
+        final TupleList<ColumnEncoding, Double> tuples = TupleList.of(ColumnEncoding.class, Double.class);
+        tuples.put(ColumnEncoding.PLAIN, 0.5);
+        tuples.put(ColumnEncoding.AUTO, -1e300);
+        final StringBuilder sb = new StringBuilder();
+        JsonFormat.object().write(tuples, sb);
+        assertEquals("{\"PLAIN\":0.5,\"AUTO\":-1.0E300}", sb.toString());
+        assertEquals(tuples, JsonFormat.object().read(new StringReader(sb.toString()), ColumnEncoding.class, Double.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteNonFiniteFails() throws Exception {
+        final TupleList<Integer, Double> tuples = TupleList.of(Integer.class, Double.class);
+        tuples.put(1, Double.NaN);
+        JsonFormat.pairs().write(tuples, new StringBuilder());
+    }
+
+    @Test
+    public void testReadPairs() throws Exception {
+        final TupleList<Long, Boolean> tuples = JsonFormat.pairs().read(
+                new StringReader(" [ [ -9223372036854775808 , true ] ,\n[\"42\",false],[ 7, null ] ] "),
+                Long.class, Boolean.class);
+        assertEquals(Arrays.asList(Tuple.of(Long.MIN_VALUE, true), Tuple.of(42L, false), Tuple.of(7L, null)), tuples);
+        assertTrue(JsonFormat.pairs().read(new StringReader("[]"), Long.class, Boolean.class).isEmpty());
+    }
+
+    @Test
+    public void testReadObjectKeepsDuplicateKeys() throws Exception {
+        final TupleList<Integer, BigDecimal> tuples = JsonFormat.object().read(
+                new StringReader("{\"1\": 0.10, \"1\": 2e2, \"-3\": \"4\"}"), Integer.class, BigDecimal.class);
+        assertEquals(Arrays.asList(Tuple.of(1, new BigDecimal("0.10")), Tuple.of(1, new BigDecimal("2e2")),
+                Tuple.of(-3, new BigDecimal("4"))), tuples);
+    }
+
+    @Test
+    public void testStringEscapesRoundTrip() throws Exception {
+        final TupleList<String, Character> tuples = TupleList.of(String.class, Character.class);
+        tuples.put("\u0000\u001f\"\\/\b\f\r\n\t", '"');
+        tuples.put("ünïcode 😀", 'ß');
+        tuples.put("", '\n');
+        final StringWriter out = new StringWriter();
+        JsonFormat.pairs().write(tuples, out);
+        assertEquals(tuples, JsonFormat.pairs().read(new StringReader(out.toString()), String.class, Character.class));
+        assertEquals(Collections.singletonList(Tuple.of("é/", 'A')), JsonFormat.pairs().read(
+                new StringReader("[[\"\\u00e9\\/\", \"\\u0041\"]]"), String.class, Character.class));
+    }
+
+    @Test
+    public void testReadLargeDocumentIncrementally() throws Exception {
+        final TupleList<Integer, String> tuples = TupleList.of(Integer.class, String.class);
+        for (int i = 0; i < 50_000; ++i) {
+            tuples.put(i, "value " + i);
+        }
+        final StringBuilder sb = new StringBuilder();
+        JsonFormat.pairs().write(tuples, sb);
+        // hand out the document in small pieces, so tokens span buffer boundaries
+        final Reader reader = new StringReader(sb.toString()) {
+            @Override
+            public int read(final char[] cbuf, final int off, final int len) throws java.io.IOException {
+                return super.read(cbuf, off, Math.min(len, 7));
+            }
+        };
+        assertEquals(tuples, JsonFormat.pairs().read(reader, Integer.class, String.class));
+    }
+
+    @Test
+    public void testMalformedDocumentLeavesTargetUnchanged() throws Exception {
+        final TupleList<Integer, String> tuples = TupleList.of(Integer.class, String.class);
+        tuples.put(0, "x");
+        for (final String input : Arrays.asList("[[1,\"a\"],[2,3]]", "[[1,\"a\"],[2,\"b\"]", "[[1,\"a\"]] x",
+                "[[1.5,\"a\"]]", "[[1,\"a\",2]]", "{\"1\":\"a\"}", "[[1,\"unterminated]]", "[[1,tru]]",
+                "[[2147483648,\"a\"]]", "[[1,[\"a\"]]]")) {
+            try {
+                JsonFormat.pairs().read(new StringReader(input), tuples);
+                fail("expected failure for " + input);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains(" at character "));
+            }
+            assertEquals(Collections.singletonList(Tuple.of(0, "x")), tuples);
+        }
+    }
+
+    @Test
+    public void testFailingReaderLeavesTargetUnchanged() throws Exception {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 10_000; ++i) {
+            sb.append('[').append(i).append(",\"a\"],");
+        }
+        // fail once a good part of the rows has been parsed
+        final Reader reader = new StringReader(sb.toString()) {
+            private int remaining = sb.length();
+
+            @Override
+            public int read(final char[] cbuf, final int off, final int len) throws IOException {
+                final int read = super.read(cbuf, off, len);
+                if (read < 0 || (remaining -= read) == 0) {
+                    throw new IOException("connection reset");
+                }
+                return read;
+            }
+        };
+        final TupleList<Integer, String> tuples = TupleList.of(Integer.class, String.class);
+        tuples.put(0, "x");
+        try {
+            JsonFormat.pairs().read(reader, tuples);
+            fail();
+        } catch (IOException e) {
+            assertEquals("connection reset", e.getMessage());
+        }
+        assertEquals(Collections.singletonList(Tuple.of(0, "x")), tuples);
+    }
+
+    @Test(timeout = 10_000)
+    public void testRollbackOfLargeDocumentIsLinear() throws Exception {
+        // removing the parsed rows one at a time takes minutes for this many rows
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 1_000_000; ++i) {
+            sb.append('[').append(i).append(",\"a\"],");
+        }
+        sb.append("[x]]");
+        final TupleList<Integer, String> tuples = TupleList.of(Integer.class, String.class);
+        tuples.put(0, "x");
+        try {
+            JsonFormat.pairs().read(new StringReader(sb.toString()), tuples);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(Collections.singletonList(Tuple.of(0, "x")), tuples);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedClassFails() throws Exception {
+        JsonFormat.pairs().read(new StringReader("[]"), Integer.class, List.class);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LazyTupleListTest {
+
+    private TupleList<String, Integer> tuples;
+
+    @Before
+    public void setUp() throws Exception {
+        tuples = TupleList.of(String.class, Integer.class);
+        tuples.zip(Arrays.asList("a", "b", "c", "d", "e"), Arrays.asList(1, 2, 3, 4, 5));
+    }
+
+    @Test
+    public void testMapFirstAndLast() throws Exception {
+        final TupleList<String, Integer> mapped = tuples.mapFirst(String::toUpperCase).mapLast(i -> i * 10);
+        assertEquals(5, mapped.size());
+        assertEquals(Tuple.of("C", 30), mapped.get(2));
+        assertTrue(mapped instanceof RandomAccess);
+        assertEquals(Object.class, mapped.firstClass());
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), mapped.firstElements());
+        assertEquals("TupleList<Object, Object>[(A, 10), (B, 20), ... 3 more]", mapped.toString(2));
+    }
+
+    @Test
+    public void testViewsAreLive() throws Exception {
+        final TupleList<String, Integer> mapped = tuples.mapLast(i -> -i);
+        tuples.put("f", 6);
+        assertEquals(6, mapped.size());
+        assertEquals(Tuple.of("f", -6), mapped.get(5));
+    }
+
+    @Test
+    public void testFilter() throws Exception {
+        final TupleList<String, Integer> odd = tuples.filter((s, i) -> i % 2 == 1);
+        assertFalse(odd instanceof RandomAccess);
+        assertEquals(3, odd.size());
+        assertEquals(Tuple.of("c", 3), odd.get(1));
+        assertEquals(2, odd.indexOf(Tuple.of("e", 5)));
+        assertEquals(-1, odd.indexOf(Tuple.of("b", 2)));
+        assertTrue(odd.contains(Tuple.of("a", 1)));
+        assertEquals(Arrays.asList(Tuple.of("a", 1), Tuple.of("c", 3), Tuple.of("e", 5)), odd);
+        assertEquals(odd, Arrays.asList(Tuple.of("a", 1), Tuple.of("c", 3), Tuple.of("e", 5)));
+        assertEquals(new ArrayList<>(odd).hashCode(), odd.hashCode());
+        assertTrue(tuples.filter((s, i) -> false).isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testFilteredGetOutOfBounds() throws Exception {
+        tuples.filter((s, i) -> i > 3).get(2);
+    }
+
+    @Test
+    public void testChainedStagesShareOnePass() throws Exception {
+        final AtomicInteger reads = new AtomicInteger();
+        final TupleList<Integer, String> swapped = tuples
+                .mapLast(i -> {
+                    reads.incrementAndGet();
+                    return i * i;
+                })
+                .filter((s, i) -> i > 4)
+                .mapToTuple((s, i) -> Tuple.of(i, s + s));
+        final List<Tuple<Integer, String>> expected =
+                Arrays.asList(Tuple.of(9, "cc"), Tuple.of(16, "dd"), Tuple.of(25, "ee"));
+        final List<Tuple<Integer, String>> actual = new ArrayList<>();
+        swapped.forEach((i, s) -> actual.add(Tuple.of(i, s)));
+        assertEquals(expected, actual);
+        assertEquals(5, reads.get());
+        assertTrue(swapped instanceof LazyTupleList);
+    }
+
+    @Test
+    public void testCursor() throws Exception {
+        final TupleCursor<String, Integer> cursor = tuples.filter((s, i) -> i > 3).cursor();
+        assertEquals(-1, cursor.index());
+        assertTrue(cursor.advance());
+        assertEquals("d", cursor.first());
+        assertEquals(0, cursor.index());
+        assertTrue(cursor.advance());
+        assertEquals(Integer.valueOf(5), cursor.last());
+        assertFalse(cursor.advance());
+        assertEquals(2, cursor.index());
+        try {
+            cursor.first();
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSubList() throws Exception {
+        final TupleList<String, Integer> mapped = tuples.mapLast(i -> i + 100);
+        assertEquals(Arrays.asList(Tuple.of("b", 102), Tuple.of("c", 103)), mapped.subList(1, 3));
+        final TupleList<String, Integer> even = tuples.filter((s, i) -> i % 2 == 0);
+        assertEquals(Collections.singletonList(Tuple.of("d", 4)), even.subList(1, 2));
+        assertTrue(even.subList(1, 1).isEmpty());
+        assertEquals(even, even.subList(0, 2));
+    }
+
+    @Test
+    public void testMaterialize() throws Exception {
+        final TupleList<String, Integer> result = tuples.filter((s, i) -> i != 3).mapLast(i -> i * 2).materialize();
+        assertEquals(Arrays.asList(Tuple.of("a", 2), Tuple.of("b", 4), Tuple.of("d", 8), Tuple.of("e", 10)), result);
+        assertTrue(result instanceof TupleListImpl);
+        assertEquals(Footprint.referenceArray(4) + 4 * Footprint.TUPLE, result.estimatedRetainedBytes());
+        result.put("f", 12);
+        assertEquals(5, tuples.size());
+
+        final TupleList<String, Integer> copy = tuples.materialize();
+        assertEquals(tuples, copy);
+        assertEquals(String.class, copy.firstClass());
+        assertEquals(Footprint.referenceArray(5) + 5 * Footprint.TUPLE, copy.estimatedRetainedBytes());
+    }
+
+    @Test
+    public void testMaterializeRunsStagesOnce() throws Exception {
+        final int[] calls = new int[2];
+        final TupleList<String, Integer> result = tuples
+                .filter((s, i) -> ++calls[0] > 0 && i % 2 == 1)
+                .mapLast(i -> ++calls[1])
+                .materialize();
+        assertEquals(5, calls[0]);
+        assertEquals(3, calls[1]);
+        assertEquals(Arrays.asList(1, 2, 3), result.lastElements());
+        assertEquals(Footprint.referenceArray(3) + 3 * Footprint.TUPLE, result.estimatedRetainedBytes());
+    }
+
+    @Test
+    public void testReadOnly() throws Exception {
+        final TupleList<String, Integer> mapped = tuples.mapLast(i -> i);
+        try {
+            mapped.put("x", 1);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            mapped.remove(0);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            mapped.cursor().setFirst("x");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        assertEquals(5, tuples.size());
+    }
+
+    @Test
+    public void testOverOtherStorage() throws Exception {
+        final TupleList<String, Integer> dictionary = TupleList.dictionaryEncoded(String.class, Integer.class);
+        dictionary.addAll(tuples);
+        assertEquals(Arrays.asList(2, 4), dictionary.filter((s, i) -> i % 2 == 0).lastElements());
+        final TupleList<Long, Integer> delta = TupleList.deltaEncoded(Integer.class);
+        delta.put(10L, 1);
+        delta.put(20L, 2);
+        assertEquals(Arrays.asList(11L, 21L), delta.mapFirst(k -> k + 1).firstElements());
+    }
+}
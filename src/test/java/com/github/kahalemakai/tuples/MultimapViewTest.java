@@ -0,0 +1,166 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class MultimapViewTest {
+
+    private TupleList<String, Integer> t0;
+    private Map<String, List<Integer>> m0;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.of(String.class, Integer.class)
+                .slurp(Arrays.asList("b", 2, "a", 3, "c", 1, "a", 1, null, 5, "b", 7));
+        m0 = t0.asMultimap();
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        assertEquals(Arrays.asList(2, 7), m0.get("b"));
+        assertEquals(Arrays.asList(3, 1), m0.get("a"));
+        assertEquals(Collections.singletonList(5), m0.get(null));
+        assertNull(m0.get("d"));
+        assertTrue(m0.containsKey(null));
+        assertFalse(m0.containsKey("d"));
+        assertEquals(4, m0.size());
+    }
+
+    @Test
+    public void testIterationOrder() throws Exception {
+        assertEquals(Arrays.asList("b", "a", "c", null), new ArrayList<>(m0.keySet()));
+        final Map<String, List<Integer>> expected = new HashMap<>();
+        expected.put("a", Arrays.asList(3, 1));
+        expected.put("b", Arrays.asList(2, 7));
+        expected.put("c", Collections.singletonList(1));
+        expected.put(null, Collections.singletonList(5));
+        assertEquals(expected, m0);
+    }
+
+    @Test
+    public void testRebuildAfterModification() throws Exception {
+        final List<Integer> group = m0.get("a");
+        t0.put("a", 9);
+        assertEquals(Arrays.asList(3, 1, 9), m0.get("a"));
+        t0.set(0, "a", 0);
+        assertEquals(Arrays.asList(0, 3, 1, 9), m0.get("a"));
+        assertEquals(Collections.singletonList(7), m0.get("b"));
+        try {
+            group.get(0);
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRebuildAfterSort() throws Exception {
+        assertEquals(Arrays.asList(3, 1), m0.get("a"));
+        t0.sort(Tuple.<String, Integer>byLast().reversed());
+        assertEquals(Arrays.asList(3, 1), m0.get("a"));
+        assertEquals(Arrays.asList(7, 2), m0.get("b"));
+        t0.sort(Tuple.byLast());
+        assertEquals(Arrays.asList(1, 3), m0.get("a"));
+    }
+
+    @Test
+    public void testRebuildAfterSortOfOtherImplementations() throws Exception {
+        final List<TupleList<String, Integer>> lists = Arrays.asList(TupleList.treeList(String.class, Integer.class),
+                TupleList.dictionaryEncoded(String.class, Integer.class),
+                TupleList.ringBuffer(10, String.class, Integer.class));
+        for (final TupleList<String, Integer> tuples : lists) {
+            tuples.addAll(t0);
+            final Map<String, List<Integer>> m = tuples.asMultimap();
+            assertEquals(Arrays.asList(3, 1), m.get("a"));
+            tuples.sort(Tuple.byLast());
+            assertEquals(Arrays.asList(1, 3), m.get("a"));
+            tuples.replaceAll(tuple -> Tuple.of(tuple.first(), -tuple.last()));
+            assertEquals(Arrays.asList(-1, -3), m.get("a"));
+            final TupleList<String, Integer> sl = tuples.subList(0, 4);
+            final Map<String, List<Integer>> m1 = sl.asMultimap();
+            assertEquals(Arrays.asList(-1, -3), m1.get("a"));
+            sl.sort(Tuple.byLast());
+            assertEquals(Arrays.asList(-3, -1), m1.get("a"));
+        }
+    }
+
+    @Test
+    public void testRebuildAfterSetOfOtherImplementations() throws Exception {
+        final List<TupleList<String, Integer>> lists = Arrays.asList(TupleList.treeList(String.class, Integer.class),
+                TupleList.dictionaryEncoded(String.class, Integer.class),
+                TupleList.ringBuffer(10, String.class, Integer.class));
+        for (final TupleList<String, Integer> tuples : lists) {
+            tuples.slurp(Arrays.asList("a", 1, "a", 2, "b", 3));
+            final Map<String, List<Integer>> m = tuples.asMultimap();
+            assertEquals(Arrays.asList(1, 2), m.get("a"));
+            tuples.set(0, Tuple.of("b", 1));
+            assertEquals(Collections.singletonList(2), m.get("a"));
+            assertEquals(Arrays.asList(1, 3), m.get("b"));
+
+            final TupleCursor<String, Integer> cursor = tuples.cursor();
+            cursor.advance();
+            cursor.setFirst("c");
+            assertEquals(Collections.singletonList(3), m.get("b"));
+            assertEquals(Collections.singletonList(1), m.get("c"));
+
+            final TupleList<String, Integer> sl = tuples.subList(1, 3);
+            final Map<String, List<Integer>> m1 = sl.asMultimap();
+            assertEquals(Collections.singletonList(2), m1.get("a"));
+            sl.set(0, Tuple.of("b", 2));
+            assertNull(m1.get("a"));
+            assertEquals(Arrays.asList(2, 3), m1.get("b"));
+        }
+    }
+
+    @Test
+    public void testSubList() throws Exception {
+        final Map<String, List<Integer>> m1 = t0.subList(1, 4).asMultimap();
+        assertEquals(Arrays.asList("a", "c"), new ArrayList<>(m1.keySet()));
+        assertEquals(Arrays.asList(3, 1), m1.get("a"));
+        t0.subList(1, 4).put("c", 4);
+        try {
+            m1.get("c");
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() throws Exception {
+        m0.put("d", Collections.singletonList(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGroupReadOnly() throws Exception {
+        m0.get("a").add(1);
+    }
+
+    @Test
+    public void testUnmodifiable() throws Exception {
+        assertEquals(m0, TupleList.unmodifiableTupleList(t0).asMultimap());
+    }
+
+}
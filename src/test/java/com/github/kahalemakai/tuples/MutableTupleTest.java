@@ -0,0 +1,96 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MutableTupleTest {
+    private MutableTuple<String, Integer> t1;
+    private TupleList<String, Integer> tuples;
+
+    @Before
+    public void setUp() throws Exception {
+        t1 = MutableTuple.of("a", 1);
+        tuples = TupleList.of(String.class, Integer.class);
+    }
+
+    @Test
+    public void testSetters() throws Exception {
+        t1.first("b").last(2);
+        assertEquals("b", t1.first());
+        assertEquals(Integer.valueOf(2), t1.last());
+        t1.set("c", 3);
+        assertEquals("c", t1.get(0));
+        assertEquals(3, t1.get(1));
+        t1.set(Tuple.of("d", 4));
+        assertEquals(Tuple.of("d", 4), t1.freeze());
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+        final Tuple<String, Integer> frozen = t1.freeze();
+        t1.set("b", 2);
+        assertEquals(Tuple.of("a", 1), frozen);
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        assertTrue(t1.contains("a"));
+        assertTrue(t1.contains(1));
+        assertFalse(new MutableTuple<String, Integer>().contains("a"));
+        assertTrue(new MutableTuple<String, Integer>().contains(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetThrows() throws Exception {
+        t1.get(2);
+    }
+
+    @Test
+    public void testPutIsNotRetained() throws Exception {
+        tuples.put(t1);
+        t1.set("b", 2);
+        tuples.put(t1);
+        tuples.put(0, t1.set("c", 3));
+        assertEquals(3, tuples.size());
+        assertEquals(Tuple.of("c", 3), tuples.get(0));
+        assertEquals(Tuple.of("a", 1), tuples.get(1));
+        assertEquals(Tuple.of("b", 2), tuples.get(2));
+    }
+
+    @Test
+    public void testSetAndGetFromTupleList() throws Exception {
+        tuples.put("a", 1);
+        tuples.put("b", 2);
+        tuples.set(1, t1.set("x", 9));
+        assertEquals(Tuple.of("x", 9), tuples.get(1));
+        final MutableTuple<String, Integer> target = new MutableTuple<>();
+        assertSame(target, tuples.get(0, target));
+        assertEquals("a", target.first());
+        assertEquals(Integer.valueOf(1), target.last());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPutOnUnmodifiableListThrows() throws Exception {
+        TupleList.unmodifiableTupleList(tuples).put(t1);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class NAryTupleTest {
+
+    @Test
+    public void testArity() throws Exception {
+        assertEquals(2, Tuple.of(1, 2).arity());
+        assertEquals(3, Triplet.of(1, 2, 3).arity());
+        assertEquals(4, Quadruple.of(1, 2, 3, 4).arity());
+        assertEquals(5, Quintuple.of(1, 2, 3, 4, 5).arity());
+        assertEquals(6, Sextuple.of(1, 2, 3, 4, 5, 6).arity());
+        assertEquals(7, Septuple.of(1, 2, 3, 4, 5, 6, 7).arity());
+        assertEquals(8, Octuple.of(1, 2, 3, 4, 5, 6, 7, 8).arity());
+        assertEquals(9, ArrayTuple.of(1, 2, 3, 4, 5, 6, 7, 8, 9).arity());
+    }
+
+    @Test
+    public void testDefaultArity() throws Exception {
+        final NTuple tuple = new NTuple() {
+            @Override
+            public Object get(int index) throws IndexOutOfBoundsException {
+                if (index < 0 || index > 2) throw new IndexOutOfBoundsException();
+                return index;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return false;
+            }
+        };
+        assertEquals(3, tuple.arity());
+    }
+
+    @Test
+    public void testGetters() throws Exception {
+        final Octuple<Integer, String, Long, Character, Double, Boolean, Byte, Short> t =
+                Octuple.of(1, "b", 3L, 'd', 5.0, true, (byte) 7, (short) 8);
+        assertEquals(Integer.valueOf(1), t.first());
+        assertEquals("b", t.second());
+        assertEquals(Long.valueOf(3L), t.third());
+        assertEquals(Character.valueOf('d'), t.fourth());
+        assertEquals(Double.valueOf(5.0), t.fifth());
+        assertEquals(Boolean.TRUE, t.sixth());
+        assertEquals(Byte.valueOf((byte) 7), t.seventh());
+        assertEquals(Short.valueOf((short) 8), t.last());
+        for (int i = 0; i < 8; ++i) {
+            assertNotNull(t.get(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetThrows() throws Exception {
+        Quintuple.of(1, 2, 3, 4, 5).get(5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArrayTupleGetThrows() throws Exception {
+        ArrayTuple.of(1, 2).get(-1);
+    }
+
+    @Test
+    public void testEqualsAndHashCode() throws Exception {
+        final Sextuple<Integer, Integer, Integer, Integer, Integer, String> t1 = Sextuple.of(1, 2, 3, 4, 5, "a");
+        final Sextuple<Integer, Integer, Integer, Integer, Integer, String> t2 = Sextuple.of(1, 2, 3, 4, 5, "a");
+        final Sextuple<Integer, Integer, Integer, Integer, Integer, String> t3 = Sextuple.of(1, 2, 3, 4, 5, null);
+        assertEquals(t1, t2);
+        assertEquals(t1.hashCode(), t2.hashCode());
+        assertNotEquals(t1, t3);
+        assertEquals(t3, Sextuple.of(1, 2, 3, 4, 5, null));
+        assertNotEquals(t1, Septuple.of(1, 2, 3, 4, 5, "a", 7));
+        final Set<NTuple> set = new HashSet<>();
+        set.add(t1);
+        set.add(t2);
+        set.add(ArrayTuple.of(1, 2, 3, 4, 5, "a"));
+        set.add(ArrayTuple.of(1, 2, 3, 4, 5, "a"));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        final Septuple<Integer, Integer, Integer, Integer, Integer, Integer, String> t =
+                Septuple.of(1, 2, 3, 4, 5, 6, null);
+        assertTrue(t.contains(6));
+        assertTrue(t.contains(null));
+        assertFalse(t.contains(7));
+        assertTrue(ArrayTuple.of("a", null).contains(null));
+        assertFalse(ArrayTuple.of("a").contains("b"));
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        assertEquals("(1, 2, 3, 4, 5)", Quintuple.of(1, 2, 3, 4, 5).toString());
+        assertEquals("(a, [b], null)", ArrayTuple.of("a", "[b]", null).toString());
+    }
+
+    @Test
+    public void testArrayTupleIsImmutable() throws Exception {
+        final Object[] elements = {1, 2};
+        final ArrayTuple t = ArrayTuple.of(elements);
+        elements[0] = 3;
+        t.toArray()[1] = 4;
+        assertEquals(1, t.first());
+        assertEquals(2, t.last());
+    }
+}
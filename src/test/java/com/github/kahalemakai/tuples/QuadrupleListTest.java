@@ -0,0 +1,121 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class QuadrupleListTest {
+
+    private QuadrupleList<String, Integer, Long, Boolean> t0;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = QuadrupleList.of(String.class, Integer.class, Long.class, Boolean.class)
+                .slurp(Arrays.asList("a", 1, 10L, true, "b", 2, 20L, false));
+    }
+
+    @Test
+    public void testSlurp() throws Exception {
+        assertEquals(2, t0.size());
+        assertEquals(Quadruple.of("a", 1, 10L, true), t0.get(0));
+        assertEquals(Quadruple.of("b", 2, 20L, false), t0.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSlurpThrowsOnBadLength() throws Exception {
+        t0.slurp(Arrays.asList("c", 3, 30L));
+    }
+
+    @Test
+    public void testZip() throws Exception {
+        final QuadrupleList<Integer, Integer, Integer, Integer> quadruples = QuadrupleList
+                .of(Integer.class)
+                .zip(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5, 6), Arrays.asList(7, 8));
+        assertEquals(Quadruple.of(1, 3, 5, 7), quadruples.get(0));
+        assertEquals(Quadruple.of(2, 4, 6, 8), quadruples.get(1));
+    }
+
+    @Test
+    public void testZipThrowsArgumentException() throws Exception {
+        try {
+            t0.zip(Arrays.asList("c", "d"), Arrays.asList(3, 4), Arrays.asList(30L, 40L), Collections.singletonList(true));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(2, t0.size());
+        }
+    }
+
+    @Test
+    public void testPutAndSet() throws Exception {
+        t0.put("c", 3, 30L, true);
+        t0.put(0, "z", 0, 0L, false);
+        t0.set(1, "A", 11, 110L, false);
+        assertEquals(Quadruple.of("z", 0, 0L, false), t0.get(0));
+        assertEquals(Quadruple.of("A", 11, 110L, false), t0.get(1));
+        assertEquals(Quadruple.of("c", 3, 30L, true), t0.get(3));
+    }
+
+    @Test
+    public void testColumns() throws Exception {
+        assertEquals("b", t0.first(1));
+        assertEquals(Integer.valueOf(2), t0.second(1));
+        assertEquals(Long.valueOf(20L), t0.third(1));
+        assertEquals(Boolean.FALSE, t0.last(1));
+        assertEquals(Arrays.asList("a", "b"), t0.firstElements());
+        assertEquals(Arrays.asList(1, 2), t0.secondElements());
+        assertEquals(Arrays.asList(10L, 20L), t0.thirdElements());
+        assertEquals(Arrays.asList(true, false), t0.lastElements());
+    }
+
+    @Test
+    public void testSubList() throws Exception {
+        final QuadrupleList<String, Integer, Long, Boolean> sl0 = t0.subList(1, 2);
+        assertEquals(Long.valueOf(20L), sl0.third(0));
+        assertEquals(Collections.singletonList(false), sl0.lastElements());
+        sl0.put(0, "x", 9, 90L, true);
+        assertEquals(2, sl0.size());
+        assertEquals(Arrays.asList("a", "x", "b"), t0.firstElements());
+        assertEquals(Collections.singletonList(90L), sl0.subList(0, 1).thirdElements());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSubListThrowsConcurrentModificationException() throws Exception {
+        final QuadrupleList<String, Integer, Long, Boolean> sl0 = t0.subList(0, 1);
+        t0.remove(1);
+        sl0.get(0);
+    }
+
+    @Test
+    public void testAlike() throws Exception {
+        assertEquals(QuadrupleList.emptyList(), t0.alike());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable() throws Exception {
+        final QuadrupleList<String, Integer, Long, Boolean> u = QuadrupleList.unmodifiableQuadrupleList(t0);
+        assertEquals(t0, u);
+        assertEquals(t0.thirdElements(), u.thirdElements());
+        u.put("c", 3, 30L, true);
+    }
+}
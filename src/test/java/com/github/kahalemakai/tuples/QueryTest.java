@@ -0,0 +1,133 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class QueryTest {
+
+    private TupleList<String, Integer> t0;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.of(String.class, Integer.class)
+                .slurp(Arrays.asList("b", 2, "a", 3, "c", 1, "a", 1, "d", 5, "b", 7));
+    }
+
+    @Test
+    public void testWhereSelectToList() throws Exception {
+        final TupleList<String, Integer> result = t0.query()
+                .where((s, i) -> i > 1)
+                .select((s, i) -> s + i, (s, i) -> -i)
+                .where((s, i) -> !s.startsWith("d"))
+                .toList();
+        assertEquals(Arrays.asList(Tuple.of("b2", -2), Tuple.of("a3", -3), Tuple.of("b7", -7)), result);
+        assertEquals(String.class, t0.query().toList().firstClass());
+        assertEquals(t0, t0.query().toList());
+    }
+
+    @Test
+    public void testLimit() throws Exception {
+        assertEquals(Arrays.asList(Tuple.of("a", 3), Tuple.of("a", 1)),
+                t0.query().where((s, i) -> s.equals("a") || s.equals("d")).limit(2).toList());
+        assertEquals(3, t0.query().limit(5).limit(3).count());
+        assertEquals(0, t0.query().limit(0).sumLong((s, i) -> i));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimit() throws Exception {
+        t0.query().limit(-1);
+    }
+
+    @Test
+    public void testAggregates() throws Exception {
+        final Query<String, Integer> query = t0.query().where((s, i) -> !s.equals("c"));
+        assertEquals(5, query.count());
+        assertEquals(18, query.sumLong((s, i) -> i));
+        assertEquals(OptionalLong.of(1), query.minLong((s, i) -> i));
+        assertEquals(OptionalLong.of(7), query.maxLong((s, i) -> i));
+        assertEquals(18.0, query.sumDouble((s, i) -> i), 0.0);
+        assertEquals(OptionalDouble.of(3.6), query.average((s, i) -> i));
+        assertEquals(OptionalDouble.of(1.0), query.minDouble((s, i) -> i));
+        assertEquals(OptionalDouble.of(7.0), query.maxDouble((s, i) -> i));
+        assertEquals("b,a,a,d,b", query.aggregate(Collectors.mapping(Tuple::first, Collectors.joining(","))));
+
+        final Query<String, Integer> none = query.where((s, i) -> false);
+        assertFalse(none.minLong((s, i) -> i).isPresent());
+        assertFalse(none.average((s, i) -> i).isPresent());
+        assertEquals(0, none.count());
+    }
+
+    @Test
+    public void testGroupBy() throws Exception {
+        final TupleList<String, Long> sums = t0.query().where((s, i) -> i < 7).groupByFirst().sumLong((s, i) -> i);
+        assertEquals(Arrays.asList(Tuple.of("b", 2L), Tuple.of("a", 4L), Tuple.of("c", 1L), Tuple.of("d", 5L)), sums);
+        assertEquals(String.class, sums.firstClass());
+
+        final TupleList<Boolean, Long> parity = t0.query().groupBy(Boolean.class, (s, i) -> i % 2 == 0).count();
+        assertEquals(Arrays.asList(Tuple.of(true, 1L), Tuple.of(false, 5L)), parity);
+
+        final TupleList<Integer, Double> averages = t0.query()
+                .select((s, i) -> s.length(), (s, i) -> i)
+                .groupByFirst()
+                .average((n, i) -> i);
+        assertEquals(Collections.singletonList(Tuple.of(1, 19 / 6.0)), averages);
+
+        final TupleList<Integer, String> names = t0.query().groupByLast()
+                .aggregate(String.class, Collectors.mapping(Tuple::first, Collectors.joining()));
+        assertEquals(Arrays.asList(2, 3, 1, 5, 7), names.firstElements());
+        assertEquals("ca", names.get(2).last());
+        assertEquals(Arrays.asList(7L, 3L, 1L, 5L), t0.query().groupByFirst().maxLong((s, i) -> i).lastElements());
+    }
+
+    @Test
+    public void testOtherStorage() throws Exception {
+        final TupleList<String, Integer> dictionary = TupleList.dictionaryEncoded(String.class, Integer.class);
+        dictionary.addAll(t0);
+        assertEquals(t0.query().groupByFirst().count(), dictionary.query().groupByFirst().count());
+        final TupleList<String, Integer> odd = t0.filter((s, i) -> i % 2 == 1);
+        assertEquals(5, odd.query().count());
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        final int n = 8 * Query.MIN_CHUNK_SIZE + 17;
+        final TupleList<Integer, Integer> tuples = TupleList.of(Integer.class, Integer.class);
+        for (int i = 0; i < n; ++i) {
+            tuples.put(i % 10, i);
+        }
+        final Query<Integer, Integer> query = tuples.query().where((k, v) -> v % 3 != 0);
+        final Query<Integer, Integer> parallel = query.parallel();
+        assertEquals(query.count(), parallel.count());
+        assertEquals(query.sumLong((k, v) -> v), parallel.sumLong((k, v) -> v));
+        assertEquals(query.maxDouble((k, v) -> v), parallel.maxDouble((k, v) -> v));
+        assertEquals(query.toList(), parallel.toList());
+        assertEquals(query.groupByFirst().average((k, v) -> v), parallel.groupByFirst().average((k, v) -> v));
+        assertEquals(query.groupByFirst().count(), parallel.groupByFirst().count());
+        assertEquals(query.aggregate(Collectors.counting()), parallel.aggregate(Collectors.counting()));
+        // queries with a limit see the first matching rows
+        assertEquals(query.limit(10).toList(), parallel.limit(10).toList());
+    }
+}
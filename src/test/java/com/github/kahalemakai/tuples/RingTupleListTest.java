@@ -0,0 +1,136 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RingTupleListTest {
+
+    private TupleList<String, Integer> t0;
+    private List<Tuple<String, Integer>> evicted;
+
+    @Before
+    public void setUp() throws Exception {
+        evicted = new ArrayList<>();
+        t0 = TupleList.ringBuffer(3, String.class, Integer.class, evicted::add);
+    }
+
+    @Test
+    public void testAppendAndEvict() throws Exception {
+        t0.slurp(Arrays.asList("a", 1, "b", 2, "c", 3));
+        assertTrue(evicted.isEmpty());
+        t0.put("d", 4);
+        t0.put("e", 5);
+        assertEquals(Arrays.asList(Tuple.of("c", 3), Tuple.of("d", 4), Tuple.of("e", 5)), t0);
+        assertEquals(Arrays.asList(Tuple.of("a", 1), Tuple.of("b", 2)), evicted);
+        assertEquals(Tuple.of("c", 3), t0.get(0));
+        assertEquals(Tuple.of("e", 5), t0.get(2));
+    }
+
+    @Test
+    public void testWrapAround() throws Exception {
+        for (int i = 0; i < 10; ++i) {
+            t0.put("x", i);
+        }
+        assertEquals(Arrays.asList(7, 8, 9), t0.lastElements());
+        assertEquals(Tuple.of("x", 8), t0.remove(1));
+        assertEquals(Arrays.asList(7, 9), t0.lastElements());
+        t0.put(1, "y", 8);
+        assertEquals(Arrays.asList(7, 8, 9), t0.lastElements());
+        assertEquals(Tuple.of("x", 7), t0.remove(0));
+        t0.put("x", 10);
+        t0.put("x", 11);
+        assertEquals(Arrays.asList(9, 10, 11), t0.lastElements());
+    }
+
+    @Test
+    public void testInsertIntoFullList() throws Exception {
+        t0.slurp(Arrays.asList("a", 1, "b", 2, "c", 3));
+        t0.put(2, "x", 0);
+        assertEquals(Arrays.asList("b", "x", "c"), t0.firstElements());
+        t0.put(0, "y", 0);
+        assertEquals(Arrays.asList("b", "x", "c"), t0.firstElements());
+        assertEquals(Arrays.asList(Tuple.of("a", 1), Tuple.of("y", 0)), evicted);
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        t0.slurp(Arrays.asList("a", 1, "b", 2, "c", 3, "d", 4));
+        t0.subList(0, 2).clear();
+        assertEquals(Collections.singletonList(Tuple.of("d", 4)), t0);
+        t0.clear();
+        assertTrue(t0.isEmpty());
+        t0.put("e", 5);
+        assertEquals(Tuple.of("e", 5), t0.get(0));
+    }
+
+    @Test
+    public void testSubList() throws Exception {
+        t0.slurp(Arrays.asList("a", 1, "b", 2, "c", 3, "d", 4));
+        final TupleList<String, Integer> sl = t0.subList(1, 3);
+        assertEquals(Arrays.asList("c", "d"), sl.firstElements());
+        sl.set(0, "z", 0);
+        assertEquals(Tuple.of("z", 0), t0.get(1));
+        try {
+            sl.put("q", 9);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        t0.put("e", 5);
+        try {
+            sl.get(0);
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAlike() throws Exception {
+        final TupleList<String, Integer> t1 = t0.alike();
+        t1.slurp(Arrays.asList("a", 1, "b", 2, "c", 3, "d", 4));
+        assertEquals(3, t1.size());
+        assertTrue(evicted.isEmpty());
+        assertEquals("TupleList<String, Integer>[(b, 2), (c, 3), (d, 4)]", t1.toString());
+    }
+
+    @Test
+    public void testZipAllOrNothing() throws Exception {
+        t0.put("a", 1);
+        try {
+            t0.zip(Arrays.asList("b", "c"), Collections.singletonList(2));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(Collections.singletonList(Tuple.of("a", 1)), t0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() throws Exception {
+        TupleList.ringBuffer(0, String.class, Integer.class);
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class SelectionTest {
+
+    private TupleList<String, Integer> t0;
+    private TupleList<Integer, Long> random;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.of(String.class, Integer.class)
+                .slurp(Arrays.asList("a", 5, "b", 2, "c", 9, "d", 1, "e", 7, "f", 3));
+        random = TupleList.of(Integer.class, Long.class);
+        final Random rng = new Random(42);
+        for (int i = 0; i < 5 * Selection.MIN_CHUNK_SIZE; ++i) {
+            random.put(i, rng.nextLong());
+        }
+    }
+
+    @Test
+    public void testTopK() throws Exception {
+        assertEquals(Arrays.asList(Tuple.of("c", 9), Tuple.of("e", 7), Tuple.of("a", 5)),
+                t0.topK(3, Tuple.byLast()));
+        assertEquals(Arrays.asList(Tuple.of("d", 1), Tuple.of("b", 2)), t0.bottomK(2, Tuple.byLast()));
+        assertTrue(t0.topK(0, Tuple.byLast()).isEmpty());
+        assertEquals(6, t0.topK(10, Tuple.byLast()).size());
+        assertEquals(Tuple.of("f", 3), t0.topK(10, Tuple.byLast()).get(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeK() throws Exception {
+        t0.topK(-1, Tuple.byLast());
+    }
+
+    @Test
+    public void testPrimitive() throws Exception {
+        assertEquals(Arrays.asList(Tuple.of("c", 9), Tuple.of("e", 7)), t0.topKByLong(2, t -> t.last()));
+        assertEquals(Arrays.asList(Tuple.of("d", 1), Tuple.of("b", 2), Tuple.of("f", 3)),
+                t0.bottomKByLong(3, t -> t.last()));
+        assertEquals(Arrays.asList(Tuple.of("c", 9), Tuple.of("e", 7)), t0.topKByDouble(2, t -> t.last()));
+        assertEquals(Arrays.asList(Tuple.of("d", 1), Tuple.of("b", 2)), t0.bottomKByDouble(2, t -> t.last()));
+    }
+
+    @Test
+    public void testPrimitiveExtremes() throws Exception {
+        final TupleList<String, Long> tuples = TupleList.of(String.class, Long.class)
+                .slurp(Arrays.asList("min", Long.MIN_VALUE, "max", Long.MAX_VALUE, "min+1", Long.MIN_VALUE + 1));
+        assertEquals(Arrays.asList("min", "min+1", "max"), tuples.bottomKByLong(3, Tuple::last).firstElements());
+        assertEquals(Arrays.asList("max", "min+1", "min"), tuples.topKByLong(3, Tuple::last).firstElements());
+    }
+
+    @Test
+    public void testAgainstSort() throws Exception {
+        final List<Tuple<Integer, Long>> sorted = new ArrayList<>(random);
+        sorted.sort(Tuple.<Integer, Long>byLast().reversed());
+        assertEquals(sorted.subList(0, 100), random.topK(100, Tuple.byLast()));
+        assertEquals(sorted.subList(0, 100), random.parallelTopK(100, Tuple.byLast()));
+        assertEquals(sorted.subList(0, 100), random.topKByLong(100, Tuple::last));
+        Collections.reverse(sorted);
+        assertEquals(sorted.subList(0, 50), random.bottomK(50, Tuple.byLast()));
+    }
+
+    @Test
+    public void testNth() throws Exception {
+        assertEquals(Tuple.of("d", 1), t0.nth(0, Tuple.byLast()));
+        assertEquals(Tuple.of("a", 5), t0.nth(3, Tuple.byLast()));
+        assertEquals(Tuple.of("c", 9), t0.nth(5, Tuple.byLast()));
+        assertEquals(Tuple.of("a", 5), t0.get(0));
+        final List<Tuple<Integer, Long>> sorted = new ArrayList<>(random);
+        sorted.sort(Tuple.byLast());
+        for (int n : new int[] {0, 1, 1000, random.size() / 2, random.size() - 1}) {
+            assertEquals(sorted.get(n), random.nth(n, Tuple.byLast()));
+        }
+        final TupleList<Integer, Integer> duplicates = TupleList.of(Integer.class);
+        for (int i = 0; i < 1000; ++i) {
+            duplicates.put(i, i % 3);
+        }
+        assertEquals(Integer.valueOf(1), duplicates.nth(500, Tuple.byLast()).last());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNthOutOfBounds() throws Exception {
+        t0.nth(6, Tuple.byLast());
+    }
+
+}
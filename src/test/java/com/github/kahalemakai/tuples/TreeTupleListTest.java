@@ -0,0 +1,127 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TreeTupleListTest {
+
+    private TupleList<Integer, String> t0;
+    private List<Tuple<Integer, String>> expected;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.treeList(Integer.class, String.class);
+        expected = new ArrayList<>();
+    }
+
+    @Test
+    public void testRandomEdits() throws Exception {
+        final Random rng = new Random(7);
+        for (int i = 0; i < 20_000; ++i) {
+            final int op = rng.nextInt(10);
+            if (op < 6 || expected.isEmpty()) {
+                final int index = rng.nextInt(expected.size() + 1);
+                t0.put(index, i, "x");
+                expected.add(index, Tuple.of(i, "x"));
+            } else if (op < 9) {
+                final int index = rng.nextInt(expected.size());
+                assertEquals(expected.remove(index), t0.remove(index));
+            } else {
+                final int index = rng.nextInt(expected.size());
+                t0.set(index, -i, "y");
+                expected.set(index, Tuple.of(-i, "y"));
+            }
+        }
+        assertEquals(expected.size(), t0.size());
+        assertEquals(expected, t0);
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i), t0.get(i));
+        }
+    }
+
+    @Test
+    public void testAppendAndDrain() throws Exception {
+        for (int i = 0; i < 10_000; ++i) {
+            t0.put(i, "a");
+        }
+        assertEquals(Tuple.of(5000, "a"), t0.get(5000));
+        while (t0.size() > 1) {
+            t0.remove(t0.size() / 2);
+        }
+        assertEquals(Collections.singletonList(Tuple.of(0, "a")), t0);
+        t0.remove(0);
+        assertTrue(t0.isEmpty());
+        t0.put(1, "b");
+        assertEquals(Tuple.of(1, "b"), t0.get(0));
+    }
+
+    @Test
+    public void testIteratorAndCursor() throws Exception {
+        for (int i = 0; i < 1000; ++i) {
+            t0.put(0, i, "c");
+        }
+        int expectedFirst = 999;
+        for (final Tuple<Integer, String> tuple : t0) {
+            assertEquals(Integer.valueOf(expectedFirst--), tuple.first());
+        }
+        assertTrue(t0.removeIf(t -> t.first() % 2 == 1));
+        assertEquals(500, t0.size());
+        final TupleCursor<Integer, String> cursor = t0.cursor();
+        assertEquals(-1, cursor.index());
+        while (cursor.advance()) {
+            cursor.setLast("d");
+        }
+        assertEquals(500, cursor.index());
+        assertEquals(Collections.singleton("d"), new HashSet<>(t0.lastElements()));
+        assertEquals(Tuple.of(998, "d"), t0.get(0));
+    }
+
+    @Test
+    public void testSubList() throws Exception {
+        t0.slurp(Arrays.asList(1, "a", 2, "b", 3, "c", 4, "d"));
+        final TupleList<Integer, String> sl = t0.subList(1, 3);
+        sl.put(5, "e");
+        assertEquals(Arrays.asList(2, 3, 5), sl.firstElements());
+        assertEquals(Arrays.asList(1, 2, 3, 5, 4), t0.firstElements());
+        sl.clear();
+        assertEquals(Arrays.asList(1, 4), t0.firstElements());
+        t0.put(6, "f");
+        try {
+            sl.size();
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testComodification() throws Exception {
+        t0.slurp(Arrays.asList(1, "a", 2, "b"));
+        for (final TupleCursor<Integer, String> cursor = t0.cursor(); cursor.advance();) {
+            t0.put(3, "c");
+        }
+    }
+
+}
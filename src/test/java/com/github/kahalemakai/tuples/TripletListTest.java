@@ -0,0 +1,246 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TripletListTest {
+
+    private TripletList<String, Integer, Long> t0;
+    private TripletList<String, Integer, Long> sl0;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TripletList.of(String.class, Integer.class, Long.class)
+                .slurp(Arrays.asList("a", 1, 10L, "b", 2, 20L, "c", 3, 30L));
+        sl0 = t0.subList(1, 3);
+    }
+
+    @Test
+    public void testSlurp() throws Exception {
+        assertEquals(3, t0.size());
+        assertEquals(Triplet.of("a", 1, 10L), t0.get(0));
+        assertEquals(Triplet.of("c", 3, 30L), t0.get(2));
+    }
+
+    @Test
+    public void testSlurpThrowsOnBadLength() throws Exception {
+        try {
+            t0.slurp(Arrays.asList("d", 4, 40L, "e", 5));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(3, t0.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSlurpThrowsOnBadTypes() throws Exception {
+        t0.slurp(Arrays.asList("d", 4, 4));
+    }
+
+    @Test
+    public void testZip() throws Exception {
+        final TripletList<Integer, String, Boolean> triplets = TripletList
+                .of(Integer.class, String.class, Boolean.class)
+                .zip(new LinkedList<>(Arrays.asList(1, 2)), Arrays.asList("a", "b"), Arrays.asList(true, false));
+        assertEquals(2, triplets.size());
+        assertEquals(Triplet.of(1, "a", true), triplets.get(0));
+        assertEquals(Triplet.of(2, "b", false), triplets.get(1));
+    }
+
+    @Test
+    public void testZipThrowsArgumentException() throws Exception {
+        try {
+            t0.zip(Arrays.asList("d", "e"), Arrays.asList(4, 5), Collections.singletonList(40L));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(3, t0.size());
+        }
+    }
+
+    @Test
+    public void testPutAndSet() throws Exception {
+        t0.put("d", 4, 40L);
+        t0.put(0, "z", 0, 0L);
+        t0.set(1, "A", 11, 110L);
+        t0.set(2, Triplet.of("B", 12, 120L));
+        assertEquals(5, t0.size());
+        assertEquals(Triplet.of("z", 0, 0L), t0.get(0));
+        assertEquals(Triplet.of("A", 11, 110L), t0.get(1));
+        assertEquals(Triplet.of("B", 12, 120L), t0.get(2));
+        assertEquals(Triplet.of("d", 4, 40L), t0.get(4));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPutThrows() throws Exception {
+        t0.put(4, "d", 4, 40L);
+    }
+
+    @Test
+    public void testColumns() throws Exception {
+        assertEquals("b", t0.first(1));
+        assertEquals(Integer.valueOf(2), t0.second(1));
+        assertEquals(Long.valueOf(20L), t0.last(1));
+        assertEquals(Arrays.asList("a", "b", "c"), t0.firstElements());
+        assertEquals(Arrays.asList(1, 2, 3), t0.secondElements());
+        assertEquals(Arrays.asList(10L, 20L, 30L), t0.lastElements());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testColumnsAreUnmodifiable() throws Exception {
+        t0.firstElements().set(0, "x");
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testColumnAccessThrows() throws Exception {
+        t0.first(3);
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        assertEquals(Triplet.of("a", 1, 10L), t0.remove(0));
+        assertTrue(t0.remove(Triplet.of("c", 3, 30L)));
+        assertEquals(1, t0.size());
+        t0.removeIf(t -> t.second() == 2);
+        assertTrue(t0.isEmpty());
+    }
+
+    @Test
+    public void testAddAll() throws Exception {
+        t0.addAll(1, Arrays.asList(Triplet.of("x", 0, 0L), Triplet.of("y", 0, 0L)));
+        assertEquals(Arrays.asList("a", "x", "y", "b", "c"), t0.firstElements());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddThrowsOnNull() throws Exception {
+        t0.add(null);
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        final TripletList<String, Integer, Long> t1 = t0.alike();
+        t1.addAll(t0);
+        assertEquals(t0, t1);
+        assertEquals(t0.hashCode(), t1.hashCode());
+        t1.remove(0);
+        assertNotEquals(t0, t1);
+        assertEquals(t1, sl0);
+    }
+
+    @Test
+    public void testAlike() throws Exception {
+        assertEquals(TripletList.emptyList(), t0.alike());
+        assertEquals(TripletList.emptyList(), sl0.alike());
+    }
+
+    @Test
+    public void testSort() throws Exception {
+        t0.sort(Comparator.comparing(Triplet::last, Comparator.reverseOrder()));
+        assertEquals(Arrays.asList("c", "b", "a"), t0.firstElements());
+    }
+
+    @Test
+    public void testSubList() throws Exception {
+        assertEquals(2, sl0.size());
+        assertEquals("b", sl0.first(0));
+        assertEquals(Long.valueOf(30L), sl0.last(1));
+        assertEquals(Arrays.asList(2, 3), sl0.secondElements());
+        sl0.put(1, "x", 9, 90L);
+        assertEquals(3, sl0.size());
+        assertEquals(4, t0.size());
+        assertEquals(Triplet.of("x", 9, 90L), t0.get(2));
+        sl0.set(0, "B", 2, 20L);
+        assertEquals("B", t0.first(1));
+        sl0.remove(2);
+        assertEquals(Arrays.asList("a", "B", "x"), t0.firstElements());
+    }
+
+    @Test
+    public void testNestedSubList() throws Exception {
+        final TripletList<String, Integer, Long> sl1 = sl0.subList(1, 2);
+        assertEquals(Triplet.of("c", 3, 30L), sl1.get(0));
+        sl1.put("d", 4, 40L);
+        assertEquals(2, sl1.size());
+        assertEquals(3, sl0.size());
+        assertEquals(4, t0.size());
+        assertEquals(Arrays.asList("a", "b", "c", "d"), t0.firstElements());
+        sl1.clear();
+        assertEquals(1, sl0.size());
+        assertEquals(Arrays.asList("a", "b"), t0.firstElements());
+    }
+
+    @Test
+    public void testRemoveFromSubListIterator() throws Exception {
+        for (Iterator<Triplet<String, Integer, Long>> it = sl0.iterator(); it.hasNext();) {
+            if (it.next().first().equals("b")) {
+                it.remove();
+            }
+        }
+        assertEquals(1, sl0.size());
+        assertEquals(Arrays.asList("a", "c"), t0.firstElements());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSubListThrowsConcurrentModificationException() throws Exception {
+        t0.put("d", 4, 40L);
+        sl0.size();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSiblingSubListThrowsConcurrentModificationException() throws Exception {
+        final TripletList<String, Integer, Long> sl1 = t0.subList(0, 1);
+        sl0.remove(0);
+        sl1.first(0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSubListSlurpThrows() throws Exception {
+        sl0.slurp(Collections.emptyList());
+    }
+
+    @Test
+    public void testUnmodifiable() throws Exception {
+        final TripletList<String, Integer, Long> u = TripletList.unmodifiableTripletList(t0);
+        assertEquals(t0, u);
+        assertEquals("c", u.first(2));
+        assertEquals(t0.lastElements(), u.lastElements());
+        assertEquals(sl0, u.subList(1, 3));
+        for (Runnable r : Arrays.<Runnable>asList(
+                () -> u.put("d", 4, 40L),
+                () -> u.set(0, "d", 4, 40L),
+                () -> u.remove(0),
+                u::clear,
+                () -> u.subList(0, 1).clear(),
+                () -> u.slurp(Collections.emptyList()),
+                () -> u.iterator().remove())) {
+            try {
+                r.run();
+                fail();
+            } catch (UnsupportedOperationException | IllegalStateException e) {
+                // expected
+            }
+        }
+        assertEquals(3, t0.size());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class TupleComparatorTest {
+
+    private TupleList<String, Integer> t0;
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.of(String.class, Integer.class)
+                .slurp(Arrays.asList("b", 2, "a", 3, "c", 1, "a", 1));
+    }
+
+    @Test
+    public void testByFirst() throws Exception {
+        t0.sort(Tuple.byFirst());
+        assertEquals(Arrays.asList("a", "a", "b", "c"), t0.firstElements());
+    }
+
+    @Test
+    public void testByLastReversed() throws Exception {
+        t0.sort(Tuple.<String, Integer>byLast().reversed());
+        assertEquals(Arrays.asList(3, 2, 1, 1), t0.lastElements());
+    }
+
+    @Test
+    public void testThenBy() throws Exception {
+        t0.sort(Tuple.<String, Integer>byFirst().thenBy(Tuple.byLast()));
+        assertEquals(Arrays.asList(
+                Tuple.of("a", 1), Tuple.of("a", 3), Tuple.of("b", 2), Tuple.of("c", 1)), t0);
+        t0.sort(Tuple.<String, Integer>byLast().thenBy(Tuple.<String, Integer>byFirst().reversed()));
+        assertEquals(Arrays.asList(
+                Tuple.of("c", 1), Tuple.of("a", 1), Tuple.of("b", 2), Tuple.of("a", 3)), t0);
+    }
+
+    @Test
+    public void testCustomOrder() throws Exception {
+        t0.sort(Tuple.byFirst(Comparator.<String>reverseOrder()));
+        assertEquals(Arrays.asList("c", "b", "a", "a"), t0.firstElements());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullsThrowByDefault() throws Exception {
+        t0.put(null, 0);
+        t0.sort(Tuple.byFirst());
+    }
+
+    @Test
+    public void testNullsFirstAndLast() throws Exception {
+        t0.put(null, 0);
+        t0.sort(Tuple.<String, Integer>byFirst().nullsFirst());
+        assertNull(t0.get(0).first());
+        t0.sort(Tuple.<String, Integer>byFirst().nullsLast());
+        assertNull(t0.get(4).first());
+        t0.sort(Tuple.<String, Integer>byFirst().reversed().nullsFirst());
+        assertNull(t0.get(0).first());
+        assertEquals("c", t0.get(1).first());
+        t0.sort(Tuple.<String, Integer>byLast().thenBy(Tuple.byFirst()).nullsLast());
+        assertEquals(Tuple.of("a", 1), t0.get(1));
+    }
+
+    @Test
+    public void testByPosition() throws Exception {
+        assertSame(Tuple.byFirst(), Tuple.byPosition(0));
+        assertSame(Tuple.byLast(), Tuple.byPosition(1));
+        assertSame(Triplet.bySecond(), Triplet.byPosition(1));
+        assertSame(Quadruple.byThird(), Quadruple.byPosition(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testByPositionThrows() throws Exception {
+        Triplet.byPosition(3);
+    }
+
+    @Test
+    public void testTripletAndQuadruple() throws Exception {
+        final List<Triplet<Integer, String, Long>> triplets = new ArrayList<>(Arrays.asList(
+                Triplet.of(1, "b", 3L), Triplet.of(2, "a", 2L), Triplet.of(3, "c", 1L)));
+        triplets.sort(Triplet.bySecond());
+        assertEquals(Arrays.asList(2, 1, 3), triplets.stream().map(Triplet.toFirst()).collect(Collectors.toList()));
+        triplets.sort(Triplet.byLast());
+        assertEquals(Arrays.asList(1L, 2L, 3L), triplets.stream().map(Triplet.toLast()).collect(Collectors.toList()));
+
+        final List<Quadruple<Integer, Integer, Integer, Integer>> quadruples = new ArrayList<>(Arrays.asList(
+                Quadruple.of(1, 2, 3, 4), Quadruple.of(4, 3, 2, 1)));
+        quadruples.sort(Quadruple.byThird());
+        assertEquals(Integer.valueOf(2), Quadruple.<Integer, Integer, Integer, Integer>toThird().apply(quadruples.get(0)));
+        quadruples.sort(Quadruple.byFirst());
+        assertEquals(Integer.valueOf(4), Quadruple.<Integer, Integer, Integer, Integer>toLast().apply(quadruples.get(0)));
+    }
+
+    @Test
+    public void testNTupleByPosition() throws Exception {
+        final List<Quintuple<Integer, Integer, Integer, Integer, String>> quintuples = new ArrayList<>(Arrays.asList(
+                Quintuple.of(1, 1, 1, 1, "b"), Quintuple.of(2, 2, 2, 2, "a")));
+        quintuples.sort(NTuple.byPosition(4));
+        assertEquals("a", quintuples.get(0).last());
+        assertEquals(2, NTuple.toPosition(0).apply(quintuples.get(0)));
+    }
+
+    @Test
+    public void testProjections() throws Exception {
+        assertEquals(t0.firstElements(), t0.stream().map(Tuple.toFirst()).collect(Collectors.toList()));
+        assertEquals(t0.lastElements(), t0.stream().map(Tuple.toLast()).collect(Collectors.toList()));
+        assertSame(Tuple.toFirst(), Tuple.toFirst());
+    }
+}
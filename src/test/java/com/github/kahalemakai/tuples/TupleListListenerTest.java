@@ -0,0 +1,199 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TupleListListenerTest {
+
+    private TupleList<String, Integer> t0;
+    private List<List<TupleChange>> batches;
+    private TupleListListener<Object, Object> listener;
+
+    private static TupleChange inserted(final int from, final int to) {
+        return new TupleChange(TupleChange.Type.INSERTED, from, to);
+    }
+
+    private static TupleChange removed(final int from, final int to) {
+        return new TupleChange(TupleChange.Type.REMOVED, from, to);
+    }
+
+    private static TupleChange replaced(final int from, final int to) {
+        return new TupleChange(TupleChange.Type.REPLACED, from, to);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        t0 = TupleList.of(String.class, Integer.class);
+        for (int i = 0; i < 10; ++i) {
+            t0.put("x" + i, i);
+        }
+        batches = new ArrayList<>();
+        listener = (source, changes) -> {
+            assertSame(t0, source);
+            batches.add(changes);
+        };
+        t0.addListener(listener);
+    }
+
+    @Test
+    public void testSingleModifications() throws Exception {
+        t0.put("a", 10);
+        t0.put(0, "b", 11);
+        t0.set(3, "c", 12);
+        t0.remove(4);
+        t0.addAll(2, Arrays.asList(Tuple.of("d", 13), Tuple.of("e", 14)));
+        assertEquals(Arrays.asList(
+                Collections.singletonList(inserted(10, 11)),
+                Collections.singletonList(inserted(0, 1)),
+                Collections.singletonList(replaced(3, 4)),
+                Collections.singletonList(removed(4, 5)),
+                Collections.singletonList(inserted(2, 4))), batches);
+    }
+
+    @Test
+    public void testNoEventsForNoOps() throws Exception {
+        t0.set(0, t0.get(0));
+        t0.addAll(Collections.emptyList());
+        t0.removeIf(tuple -> false);
+        t0.remove(Tuple.of("missing", 0));
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void testBatchCoalescesAdjacentChanges() throws Exception {
+        t0.batch(() -> {
+            t0.put("a", 10);
+            t0.put("b", 11);
+            t0.batch(() -> t0.put("c", 12));
+            t0.remove(2);
+            t0.remove(2);
+            t0.remove(1);
+            t0.set(5, "y", 0);
+            t0.set(6, "y", 0);
+            t0.set(4, "y", 0);
+            assertTrue(batches.isEmpty());
+        });
+        assertEquals(Collections.singletonList(Arrays.asList(inserted(10, 13), removed(1, 4), replaced(4, 7))), batches);
+    }
+
+    @Test
+    public void testRemoveIfReportsRuns() throws Exception {
+        t0.removeIf(tuple -> tuple.last() % 4 < 2);
+        assertEquals(Arrays.asList(2, 3, 6, 7), t0.lastElements());
+        assertEquals(Collections.singletonList(Arrays.asList(removed(0, 2), removed(2, 4), removed(4, 6))), batches);
+        batches.clear();
+        t0.retainAll(Collections.singleton(Tuple.of("x3", 3)));
+        assertEquals(Collections.singletonList(Arrays.asList(removed(0, 1), removed(1, 3))), batches);
+    }
+
+    @Test
+    public void testReplayReproducesList() throws Exception {
+        final List<Tuple<String, Integer>> mirror = new ArrayList<>(t0);
+        t0.addListener((source, changes) -> {
+            for (final TupleChange change : changes) {
+                switch (change.type()) {
+                    case INSERTED:
+                        mirror.addAll(change.from(), t0.subList(change.from(), change.to()));
+                        break;
+                    case REMOVED:
+                        mirror.subList(change.from(), change.to()).clear();
+                        break;
+                    default:
+                        break;
+                }
+            }
+            for (final TupleChange change : changes) {
+                if (change.type() == TupleChange.Type.REPLACED) {
+                    for (int i = change.from(); i < change.to(); ++i) {
+                        mirror.set(i, t0.get(i));
+                    }
+                }
+            }
+        });
+        t0.removeIf(tuple -> tuple.last() % 3 == 0);
+        t0.subList(1, 3).clear();
+        t0.sort(Tuple.byLast(Comparator.<Integer>reverseOrder()));
+        t0.batch(() -> {
+            t0.remove(0);
+            t0.put(1, "z", 100);
+        });
+        assertEquals(new ArrayList<>(t0), mirror);
+    }
+
+    @Test
+    public void testSubListModificationsAreReported() throws Exception {
+        final TupleList<String, Integer> sub = t0.subList(2, 8);
+        sub.put(0, "a", 10);
+        sub.subList(1, 4).clear();
+        sub.removeIf(tuple -> tuple.last() > 6);
+        for (final TupleCursor<String, Integer> cursor = sub.cursor(); cursor.advance();) {
+            cursor.setLast(-1);
+        }
+        assertEquals(Arrays.asList(
+                Collections.singletonList(inserted(2, 3)),
+                Collections.singletonList(removed(3, 6)),
+                Arrays.asList(removed(2, 3), removed(4, 5)),
+                Collections.singletonList(replaced(2, 3)),
+                Collections.singletonList(replaced(3, 4))), batches);
+        assertEquals(Arrays.asList(0, 1, -1, -1, 8, 9), t0.lastElements());
+    }
+
+    @Test
+    public void testRemoveListener() throws Exception {
+        assertTrue(t0.removeListener(listener));
+        assertFalse(t0.removeListener(listener));
+        t0.clear();
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void testListenersAreNotSerialized() throws Exception {
+        // tuples are not serializable, so only an empty list can be written
+        t0.clear();
+        batches.clear();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(t0);
+        }
+        final Object copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = in.readObject();
+        }
+        assertEquals(t0, copy);
+        @SuppressWarnings("unchecked")
+        final TupleList<String, Integer> tuples = (TupleList<String, Integer>) copy;
+        tuples.put("y", 0);
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnsupportedByOtherLists() throws Exception {
+        TupleList.treeList(String.class, Integer.class).addListener(listener);
+    }
+}
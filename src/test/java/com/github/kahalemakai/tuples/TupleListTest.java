@@ -233,4 +233,82 @@ public class TupleListTest {
         assertEquals(Tuple.of("d", 4), t0.get(3));
     }
 
+    @Test
+    public void testCursor() throws Exception {
+        final TupleCursor<String, Integer> cursor = t0.cursor();
+        assertEquals(-1, cursor.index());
+        assertTrue(cursor.advance());
+        assertEquals(0, cursor.index());
+        assertEquals("a", cursor.first());
+        assertEquals(Integer.valueOf(1), cursor.last());
+        assertTrue(cursor.advance());
+        assertEquals("b", cursor.first());
+        assertEquals(Integer.valueOf(2), cursor.last());
+        assertFalse(cursor.advance());
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testCursorSet() throws Exception {
+        for (TupleCursor<String, Integer> cursor = t0.cursor(); cursor.advance();) {
+            cursor.setFirst(cursor.first().toUpperCase());
+            cursor.setLast(cursor.last() * 10);
+        }
+        assertEquals(Tuple.of("A", 10), t0.get(0));
+        assertEquals(Tuple.of("B", 20), t0.get(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCursorThrowsBeforeAdvance() throws Exception {
+        t0.cursor().first();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testCursorThrowsConcurrentModificationException() throws Exception {
+        for (TupleCursor<String, Integer> cursor = t0.cursor(); cursor.advance();) {
+            t0.put("c", 3);
+        }
+    }
+
+    @Test
+    public void testForEachBiConsumer() throws Exception {
+        final List<Object> li = new ArrayList<>();
+        t0.forEach((first, last) -> {
+            li.add(first);
+            li.add(last);
+        });
+        assertEquals(li0, li);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testForEachBiConsumerThrowsConcurrentModificationException() throws Exception {
+        t0.forEach((first, last) -> t0.remove(0));
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        assertEquals("TupleList<String, Integer>[(a, 1), (b, 2)]", t0.toString());
+        assertEquals("UnmodifiableTupleList<String, Integer>[(a, 1), (b, 2)]", TupleList.unmodifiableTupleList(t0).toString());
+        assertEquals("TupleList<String, Integer>[]", TupleList.of(String.class, Integer.class).toString());
+    }
+
+    @Test
+    public void testAppendToTruncates() throws Exception {
+        assertEquals("TupleList<String, Integer>[(a, 1), ... 1 more]", t0.toString(1));
+        assertEquals("TupleList<String, Integer>[... 2 more]", t0.toString(0));
+        assertEquals(t0.toString(), t0.toString(2));
+        final TupleList<Integer, Integer> large = TupleList.of(Integer.class, Integer.class);
+        for (int i = 0; i < 5_000_000; ++i) {
+            large.put(i, -i);
+        }
+        final StringBuilder sb = new StringBuilder("log: ");
+        assertSame(sb, large.appendTo(sb, 3));
+        assertEquals("log: TupleList<Integer, Integer>[(0, 0), (1, -1), (2, -2), ... 4,999,997 more]", sb.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppendToNegativeMaxRowsFails() throws Exception {
+        t0.toString(-1);
+    }
+
 }
@@ -0,0 +1,112 @@
+/*
+Tuples – a type-safe tuple and tuple list implementation
+Copyright (C) 2016  Lars Winderling
+
+This program is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+This program is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.github.kahalemakai.tuples;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TupleMetricsTest {
+
+    private final Map<TupleMetrics.Counter, Integer> counters = new EnumMap<>(TupleMetrics.Counter.class);
+    private final List<Tuple<TupleMetrics.Operation, Long>> operations = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        TupleMetrics.install(new TupleMetrics() {
+            @Override
+            public synchronized void increment(final Counter counter) {
+                counters.merge(counter, 1, Integer::sum);
+            }
+
+            @Override
+            public synchronized void record(final Operation operation, final long nanos, final long size) {
+                assertTrue(nanos >= 0);
+                operations.add(Tuple.of(operation, size));
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TupleMetrics.install(null);
+    }
+
+    @Test
+    public void testBulkOperations() throws Exception {
+        final TupleList<String, Integer> tuples = TupleList.of(String.class, Integer.class);
+        tuples.slurp(Arrays.asList("b", 2, "a", 1));
+        tuples.zip(Arrays.asList("c", "d", "e"), Arrays.asList(3, 4, 5));
+        tuples.replaceLastElements(Arrays.asList(0, 0, 0, 0, 0));
+        tuples.sort(Tuple.byFirst());
+        assertEquals(Arrays.asList(Tuple.of(TupleMetrics.Operation.SLURP, 2L), Tuple.of(TupleMetrics.Operation.ZIP, 3L),
+                Tuple.of(TupleMetrics.Operation.REPLACE, 5L), Tuple.of(TupleMetrics.Operation.SORT, 5L)), operations);
+        operations.clear();
+        final TupleList<String, Integer> tree = TupleList.treeList(String.class, Integer.class);
+        tree.zip(Arrays.asList("x", "y"), Arrays.asList(1, 2));
+        tree.sort(Tuple.byLast());
+        assertEquals(Arrays.asList(Tuple.of(TupleMetrics.Operation.ZIP, 2L), Tuple.of(TupleMetrics.Operation.SORT, 2L)), operations);
+    }
+
+    @Test
+    public void testResizes() throws Exception {
+        final TupleList<Integer, Integer> tuples = TupleList.of(Integer.class, Integer.class);
+        for (int i = 0; i < 100_000; ++i) {
+            tuples.put(i, i);
+        }
+        final int resizes = counters.get(TupleMetrics.Counter.RESIZE);
+        // 10, 15, 22, ... grows by half each time
+        assertTrue("resizes: " + resizes, resizes > 20 && resizes < 30);
+        // only growths beyond 65536 elements are timed
+        assertEquals(2, operations.size());
+        for (final Tuple<TupleMetrics.Operation, Long> operation : operations) {
+            assertEquals(TupleMetrics.Operation.RESIZE, operation.first());
+            assertTrue(operation.last() >= TupleMetrics.LARGE_RESIZE);
+        }
+    }
+
+    @Test
+    public void testConcurrentModificationsAreCounted() throws Exception {
+        final TupleList<Integer, Integer> tuples = TupleList.of(Integer.class, Integer.class);
+        tuples.put(1, 1);
+        tuples.put(2, 2);
+        try {
+            for (final TupleCursor<Integer, Integer> cursor = tuples.cursor(); cursor.advance();) {
+                tuples.put(3, 3);
+            }
+            fail();
+        } catch (ConcurrentModificationException e) {
+            assertEquals(Integer.valueOf(1), counters.get(TupleMetrics.Counter.CONCURRENT_MODIFICATION));
+        }
+    }
+
+    @Test
+    public void testNothingIsReportedWhenDisabled() throws Exception {
+        TupleMetrics.install(null);
+        final TupleList<String, Integer> tuples = TupleList.of(String.class, Integer.class);
+        tuples.slurp(Arrays.asList("b", 2, "a", 1));
+        tuples.sort(Tuple.byFirst());
+        assertTrue(counters.isEmpty());
+        assertTrue(operations.isEmpty());
+    }
+}
@@ -27,6 +27,8 @@ import java.util.LinkedList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by lars on 19.04.16.
@@ -330,4 +332,40 @@ public class TupleSubListTest {
         assertEquals(Integer.valueOf(3), t1.get(2).last());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCursor() throws Exception {
+        final TupleList<String, Integer> sl2 = t1.subList(1, 3).subList(1, 2);
+        final TupleCursor<String, Integer> cursor = sl2.cursor();
+        assertTrue(cursor.advance());
+        assertEquals(0, cursor.index());
+        assertEquals("c", cursor.first());
+        assertEquals(Integer.valueOf(3), cursor.last());
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testCursorSet() throws Exception {
+        for (TupleCursor<String, Integer> cursor = sl1.cursor(); cursor.advance();) {
+            cursor.setLast(cursor.last() + 10);
+        }
+        assertEquals(2, sl1.size());
+        assertEquals(Tuple.of("a", 11), sl1.get(0));
+        assertEquals(Tuple.of("b", 12), t1.get(1));
+        assertEquals(tuple3, t1.get(2));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testCursorThrowsConcurrentModificationException() throws Exception {
+        final TupleCursor<String, Integer> cursor = sl1.cursor();
+        t1.add(tuple4);
+        cursor.advance();
+    }
+
+    @Test
+    public void testForEachBiConsumer() throws Exception {
+        final List<String> firsts = new LinkedList<>();
+        sl1.forEach((first, last) -> firsts.add(first));
+        assertEquals(sl1.firstElements(), firsts);
+    }
+
+}
@@ -72,4 +72,12 @@ public class TupleTest {
         assertTrue(t5.contains(1L));
         assertFalse(t1.contains("error"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAppendTo() throws Exception {
+        assertEquals("(1, a)", t1.toString());
+        assertEquals("x(1, a)", t1.appendTo(new StringBuilder("x")).toString());
+        assertEquals("(1, null, 2.0)", Triplet.of(1, null, 2.0).appendTo(new StringBuilder()).toString());
+        assertEquals(Triplet.of(1, null, 2.0).toString(), Triplet.of(1, null, 2.0).appendTo(new StringBuilder()).toString());
+    }
+}
@@ -25,6 +25,8 @@ import java.util.LinkedList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by lars on 17.04.16.
@@ -113,4 +115,23 @@ public class UnmodifiableTupleListTest {
     public void testReplaceLastElements1() throws Exception {
         t1.replaceLastElements(new LinkedList<>());
     }
+
+    @Test
+    public void testCursor() throws Exception {
+        final TupleCursor<Integer, String> cursor = t1.cursor();
+        assertTrue(cursor.advance());
+        assertEquals(Integer.valueOf(1), cursor.first());
+        assertEquals("a", cursor.last());
+        assertTrue(cursor.advance());
+        assertEquals(1, cursor.index());
+        assertFalse(cursor.advance());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCursorSetThrows() throws Exception {
+        final TupleCursor<Integer, String> cursor = t1.cursor();
+        cursor.advance();
+        cursor.setLast("b");
+    }
+
 }